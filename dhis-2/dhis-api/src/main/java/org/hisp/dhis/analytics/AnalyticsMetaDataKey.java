@@ -40,6 +40,7 @@ public enum AnalyticsMetaDataKey {
   ORG_UNIT_HIERARCHY("ouHierarchy"),
   ORG_UNIT_NAME_HIERARCHY("ouNameHierarchy"),
   ORG_UNIT_ANCESTORS("ouAncestors"),
+  SAMPLING("sampling"),
   USER_ORGUNIT("USER_ORGUNIT"),
 
   USER_ORGUNIT_CHILDREN("USER_ORGUNIT_CHILDREN"),
@@ -91,6 +91,8 @@ public interface CacheProvider {
 
   <V> Cache<V> createAnalyticsSqlCache();
 
+  <V> Cache<V> createAnalyticsQueryPlanCache();
+
   <V> Cache<V> createDataElementCache();
 
   <V> Cache<V> createPropertyTransformerCache();
@@ -117,6 +119,8 @@ public interface CacheProvider {
 
   <V> Cache<V> createApiKeyCache();
 
+  <V> Cache<V> createUnknownApiKeyCache();
+
   <V> Cache<V> createProgramCache();
 
   <V> Cache<V> createTeiAttributesCache();
@@ -135,4 +139,8 @@ public interface CacheProvider {
   <V> Cache<V> createDataIntegrityDetailsCache();
 
   <V> Cache<V> createQueryAliasCache();
+
+  <V> Cache<V> createVerifiedCredentialCache();
+
+  <V> Cache<V> createDatastoreIndexCache();
 }
@@ -100,6 +100,8 @@ public class EventDataQueryRequest {
 
   private boolean aggregateData;
 
+  private Double samplePercentage;
+
   private boolean includeMetadataDetails;
 
   private IdScheme dataIdScheme;
@@ -183,6 +185,7 @@ public class EventDataQueryRequest {
     queryRequest.programStatus = new LinkedHashSet<>(this.programStatus);
     queryRequest.collapseDataDimensions = this.collapseDataDimensions;
     queryRequest.aggregateData = this.aggregateData;
+    queryRequest.samplePercentage = this.samplePercentage;
     queryRequest.includeMetadataDetails = this.includeMetadataDetails;
     queryRequest.displayProperty = this.displayProperty;
     queryRequest.relativePeriodDate = this.relativePeriodDate;
@@ -247,6 +250,7 @@ public class EventDataQueryRequest {
               .relativePeriodDate(criteria.getRelativePeriodDate())
               .showHierarchy(criteria.isShowHierarchy())
               .skipRounding(criteria.isSkipRounding())
+              .samplePercentage(criteria.getSamplePercentage())
               .skipData(criteria.isSkipData())
               .skipMeta(criteria.isSkipMeta())
               .sortOrder(criteria.getSortOrder())
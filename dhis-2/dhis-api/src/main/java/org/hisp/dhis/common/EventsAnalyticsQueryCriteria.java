@@ -140,6 +140,12 @@ public class EventsAnalyticsQueryCriteria extends AnalyticsPagingCriteria {
   /** Whether to skip rounding of aggregate data values. */
   private boolean skipRounding;
 
+  /**
+   * Percentage of analytics table rows to sample for an approximate result, between 0 and 100.
+   * Experimental.
+   */
+  private Double samplePercentage;
+
   /** Whether to only show completed events. */
   private boolean completedOnly;
 
@@ -0,0 +1,96 @@
+/*
+ * Copyright (c) 2004-2022, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ * Neither the name of the HISP project nor the names of its contributors may
+ * be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.datastore;
+
+import static com.fasterxml.jackson.annotation.JsonProperty.Access.READ_ONLY;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import javax.annotation.Nonnull;
+import lombok.Value;
+import org.hisp.dhis.common.HashUtils;
+
+/**
+ * A {@link DatastoreIndex} declares a database index over the values of the {@link
+ * DatastoreEntry}s in a single namespace. Indexes are partial indexes restricted to the entries of
+ * their namespace.
+ *
+ * <p>A {@link Type#BTREE} index covers the text value at its path. It supports the text based
+ * comparisons of filters on exactly that path. A {@link Type#GIN} index covers the JSON value at
+ * its path, or the entire value for the root path {@code .}, and supports equality filters on that
+ * path or any path below it.
+ */
+@Value
+public class DatastoreIndex {
+
+  public enum Type {
+    BTREE,
+    GIN
+  }
+
+  @JsonProperty(access = READ_ONLY)
+  @Nonnull
+  String namespace;
+
+  @JsonProperty(access = READ_ONLY)
+  @Nonnull
+  String path;
+
+  @JsonProperty(access = READ_ONLY)
+  @Nonnull
+  Type type;
+
+  public DatastoreIndex(@Nonnull String namespace, @Nonnull String path, @Nonnull Type type) {
+    this.namespace = namespace;
+    this.path = DatastoreQuery.normalisePath(path);
+    this.type = type;
+  }
+
+  @JsonIgnore
+  public boolean isRootPath() {
+    return ".".equals(path);
+  }
+
+  /**
+   * @return the database name of the index; this is derived from namespace, path and type so that
+   *     each index can only exist once
+   */
+  @JsonIgnore
+  public String getName() {
+    String hash = HashUtils.hashSHA256(namespace + '\0' + path + '\0' + type);
+    return "in_datastore_" + hash.substring(0, 24);
+  }
+
+  /**
+   * @param filterPath a normalised path as used in a {@link DatastoreQuery.Filter}
+   * @return true, if the provided path is the indexed path or a path below it
+   */
+  public boolean covers(String filterPath) {
+    return isRootPath() || filterPath.equals(path) || filterPath.startsWith(path + ".");
+  }
+}
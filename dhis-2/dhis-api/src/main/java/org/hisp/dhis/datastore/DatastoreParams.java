@@ -54,4 +54,7 @@ public final class DatastoreParams {
   String order = "_";
 
   String filter;
+
+  /** When set the entries following after this key are returned (keyset pagination). */
+  String after;
 }
@@ -97,6 +97,18 @@ public final class DatastoreQuery {
 
   @Builder.Default private final Order order = KEY_ASC;
 
+  /**
+   * When set, the page starts after the entry with this key. This uses the key order instead of an
+   * offset and requires the query to be ordered by key.
+   */
+  private final String after;
+
+  /**
+   * The indexes declared for the namespace. These are attached by the planner so the filters can be
+   * expressed in a way that allows the database to use them.
+   */
+  @Builder.Default private final List<DatastoreIndex> indexes = emptyList();
+
   public enum Direction {
     ASC,
     DESC,
@@ -299,6 +311,7 @@ public final class DatastoreQuery {
         .page(pageNo)
         .pageSize(size)
         .filters(parseFilters(getFilters(params.getFilter())))
+        .after(params.getAfter())
         .build();
   }
 
@@ -29,6 +29,7 @@ package org.hisp.dhis.datastore;
 
 import java.util.Date;
 import java.util.List;
+import java.util.Map;
 import java.util.function.Function;
 import java.util.stream.Stream;
 import javax.annotation.CheckForNull;
@@ -80,6 +81,34 @@ public interface DatastoreService {
    */
   void removeProtection(String namespace);
 
+  /**
+   * @param namespace the namespace to list
+   * @return the valid indexes declared for the given namespace, empty if the namespace is hidden
+   *     from the current user
+   * @throws AccessDeniedException when the namespace is restricted and the current user has no
+   *     read access
+   */
+  @Nonnull
+  List<DatastoreIndex> getIndexes(@Nonnull String namespace);
+
+  /**
+   * Creates the database index for the provided declaration unless it does exist already.
+   *
+   * <p>The index is created concurrently, entries of the namespace can still be read and written
+   * while the index is built.
+   *
+   * @param index the index to create
+   * @throws ConflictException when the index declaration cannot be used as an index
+   */
+  void addIndex(@Nonnull DatastoreIndex index) throws ConflictException;
+
+  /**
+   * Drops the database index for the provided declaration if it exists.
+   *
+   * @param index the index to drop
+   */
+  void removeIndex(@Nonnull DatastoreIndex index);
+
   /**
    * True, if there is at least a single value for the provided namespace.
    *
@@ -192,6 +221,23 @@ public interface DatastoreService {
    */
   void saveOrUpdateEntry(DatastoreEntry entry) throws BadRequestException;
 
+  /**
+   * Creates, updates or deletes many entries of a namespace in a single transaction.
+   *
+   * <p>Unlike the single entry operations a key that cannot be written does not fail the entire
+   * operation, instead the outcome is reported for each key. Only a namespace protection that
+   * restricts writes fails all.
+   *
+   * @param namespace the namespace to write to
+   * @param valuesByKey the JSON value for each key, {@code null} to delete the entry
+   * @param encrypt true, to encrypt the values of created entries
+   * @return the outcome for each key in the order of the provided map, empty if the namespace is
+   *     hidden for the current user
+   * @throws AccessDeniedException when writes to the namespace are restricted for the current user
+   */
+  Map<String, DatastoreWriteStatus> writeEntries(
+      String namespace, Map<String, String> valuesByKey, boolean encrypt);
+
   /**
    * Deletes all entries associated with a given namespace.
    *
@@ -27,9 +27,11 @@
  */
 package org.hisp.dhis.datastore;
 
+import java.util.Collection;
 import java.util.Date;
 import java.util.List;
 import java.util.function.Function;
+import java.util.function.Supplier;
 import java.util.stream.Stream;
 import javax.annotation.CheckForNull;
 import javax.annotation.Nonnull;
@@ -97,6 +99,24 @@ public interface DatastoreStore extends IdentifiableObjectStore<DatastoreEntry>
    */
   DatastoreEntry getEntry(String namespace, String key);
 
+  /**
+   * Retrieves the entries of a namespace with the given keys. Keys that do not exist are ignored.
+   *
+   * @param namespace the namespace where the keys are stored
+   * @param keys the keys to fetch
+   * @return the existing entries
+   */
+  List<DatastoreEntry> getEntries(String namespace, Collection<String> keys);
+
+  /**
+   * Runs the provided writes with JDBC batching of the statements. The batch is flushed and the
+   * written entries are evicted from the session when the writes are done.
+   *
+   * @param writes calls to {@link #save(Object)}, {@link #update(Object)} and {@link
+   *     #delete(Object)} returning the entries written
+   */
+  void writeInBatch(Supplier<List<DatastoreEntry>> writes);
+
   /**
    * Deletes all values in the provided namespace.
    *
@@ -112,6 +132,30 @@ public interface DatastoreStore extends IdentifiableObjectStore<DatastoreEntry>
    */
   int countKeysInNamespace(String namespace);
 
+  /**
+   * @param namespace the namespace to list
+   * @return the valid indexes existing for the given namespace
+   */
+  List<DatastoreIndex> getIndexes(String namespace);
+
+  /**
+   * Creates the database index for the provided declaration if it does not exist.
+   *
+   * <p>As the index is created concurrently this must not be called within a transaction.
+   *
+   * @param index the index to create
+   */
+  void createIndex(DatastoreIndex index);
+
+  /**
+   * Drops the database index for the provided declaration if it exists.
+   *
+   * <p>As the index is dropped concurrently this must not be called within a transaction.
+   *
+   * @param index the index to drop
+   */
+  void dropIndex(DatastoreIndex index);
+
   /**
    * Updates the entry value (path is undefined or empty) or updates the existing value the the
    * provided path with the provided value.
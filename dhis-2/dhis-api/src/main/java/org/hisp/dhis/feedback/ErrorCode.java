@@ -446,6 +446,7 @@ public enum ErrorCode {
       "Query failed because a referenced table does not exist. Please ensure analytics job was run"),
   E7145("Query failed because of a syntax error"),
   E7146("A {0} date was not specified in periods, dimensions, filters"),
+  E7147("Too many analytics queries are running, please try again later"),
 
   /* Analytics outliers */
 
@@ -497,6 +498,7 @@ public enum ErrorCode {
   E7236("Program stage '{0}' is not associated to program '{0}'"),
   E7237("Sorting must have a valid dimension and a direction"),
   E7238("Sorting dimension ‘{0}’ is not a column"),
+  E7239("Sample percentage must be greater than 0 and at most 100: `{0}`"),
 
   /* TE analytics */
   E7250("Dimension is not a fully qualified: `{0}`"),
@@ -564,6 +566,8 @@ public enum ErrorCode {
   E7651("Illegal fields expression, expected `,`, `[` or `]` at position {0} but found `{1}`"),
   E7652("Illegal filter expression `{0}`: {1}"),
   E7653("Illegal filter `{0}`: {1}"),
+  E7654("Illegal index `{0}`: {1}"),
+  E7655("Illegal `after` key `{0}`: {1}"),
 
   /* GeoJSON import validation and conflicts */
   E7700("Error reading JSON input: {0}"),
@@ -121,6 +121,17 @@ public interface FileResourceContentStore {
    */
   void copyContent(String key, OutputStream output) throws IOException, NoSuchElementException;
 
+  /**
+   * Copies a byte range of the resource stored under key to the output stream.
+   *
+   * @param key the key used to store a resource
+   * @param output the output stream to copy the stream into
+   * @param offset the offset of the first byte to copy
+   * @param length the number of bytes to copy
+   */
+  void copyContent(String key, OutputStream output, long offset, long length)
+      throws IOException, NoSuchElementException;
+
   /**
    * Copies the content of the resource stored under key to the byte array.
    *
@@ -137,6 +137,18 @@ public interface FileResourceService {
   void copyFileResourceContent(FileResource fileResource, OutputStream outputStream)
       throws IOException, NoSuchElementException;
 
+  /**
+   * Copy the given byte range of the fileResource content to outputStream.
+   *
+   * @param fileResource the {@link FileResource}.
+   * @param outputStream the output stream to copy the content into.
+   * @param offset the offset of the first byte to copy.
+   * @param length the number of bytes to copy.
+   */
+  void copyFileResourceContent(
+      FileResource fileResource, OutputStream outputStream, long offset, long length)
+      throws IOException, NoSuchElementException;
+
   /** Copy fileResource content to a byte array */
   byte[] copyFileResourceContent(FileResource fileResource)
       throws IOException, NoSuchElementException;
@@ -28,12 +28,12 @@
 package org.hisp.dhis.fileresource.events;
 
 import java.io.File;
-import java.util.Map;
-import org.hisp.dhis.fileresource.ImageFileDimension;
 
 /**
+ * Published when the original file of an image file resource has been received. The resized
+ * variants are created by the listener, outside of the uploading thread.
+ *
  * @author Zubair Asghar.
  * @author Luca Cambi convert to record.
  */
-public record ImageFileSavedEvent(
-    String fileResource, Map<ImageFileDimension, File> imageFiles, String userUid) {}
+public record ImageFileSavedEvent(String fileResource, File file, String userUid) {}
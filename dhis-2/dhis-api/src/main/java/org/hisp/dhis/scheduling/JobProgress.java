@@ -33,6 +33,7 @@ import com.fasterxml.jackson.annotation.JsonCreator;
 import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import java.io.Serializable;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Date;
 import java.util.Deque;
@@ -47,7 +48,9 @@ import java.util.concurrent.CancellationException;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentLinkedDeque;
 import java.util.concurrent.ConcurrentLinkedQueue;
-import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.BiFunction;
 import java.util.function.Consumer;
@@ -497,6 +500,10 @@ public interface JobProgress {
    * <p>While the items are processed in parallel this method is synchronous for the caller and will
    * first return when all work is done.
    *
+   * <p>Items are started in the iteration order of the given collection. Callers with items of
+   * uneven cost should order them by descending cost so that the largest items do not end up
+   * running last.
+   *
    * <p>If cancellation is requested work items might be skipped entirely.
    *
    * @param parallelism number of items that at maximum should be processed in parallel
@@ -514,34 +521,36 @@ public interface JobProgress {
     AtomicInteger success = new AtomicInteger();
     AtomicInteger failed = new AtomicInteger();
 
-    Callable<Boolean> task =
-        () ->
-            items.parallelStream()
-                .map(
-                    item -> {
-                      if (isSkipCurrentStage()) {
-                        return false;
-                      }
-                      startingWorkItem(description.apply(item));
-                      try {
-                        work.accept(item);
-                        completedWorkItem(null);
-                        success.incrementAndGet();
-                        return true;
-                      } catch (Exception ex) {
-                        failedWorkItem(ex);
-                        failed.incrementAndGet();
-                        return false;
-                      }
-                    })
-                .reduce(Boolean::logicalAnd)
-                .orElse(false);
-
-    ForkJoinPool pool = new ForkJoinPool(parallelism);
+    Function<T, Boolean> task =
+        item -> {
+          if (isSkipCurrentStage()) {
+            return false;
+          }
+          startingWorkItem(description.apply(item));
+          try {
+            work.accept(item);
+            completedWorkItem(null);
+            success.incrementAndGet();
+            return true;
+          } catch (Exception ex) {
+            failedWorkItem(ex);
+            failed.incrementAndGet();
+            return false;
+          }
+        };
+
+    // a plain thread pool with a FIFO queue starts items in iteration order
+    // and does not compensate for workers blocked on I/O like a FJP does
+    ExecutorService pool = Executors.newFixedThreadPool(parallelism);
     try {
-      // this might not be obvious but running a parallel stream
-      // as task in a FJP makes the stream use the pool
-      boolean allSuccessful = pool.submit(task).get();
+      List<Future<Boolean>> results = new ArrayList<>(items.size());
+      for (T item : items) {
+        results.add(pool.submit(() -> task.apply(item)));
+      }
+      boolean allSuccessful = !results.isEmpty();
+      for (Future<Boolean> result : results) {
+        allSuccessful &= result.get();
+      }
       if (allSuccessful) {
         completedStage(null);
       } else {
@@ -557,7 +566,7 @@ public interface JobProgress {
     } catch (Exception ex) {
       failedStage(ex);
     } finally {
-      pool.shutdown();
+      pool.shutdownNow();
     }
   }
 
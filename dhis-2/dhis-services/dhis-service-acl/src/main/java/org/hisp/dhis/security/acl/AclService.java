@@ -372,6 +372,19 @@ public interface AclService {
   <T extends IdentifiableObject> Access getAccess(
       T object, UserDetails userDetails, Class<? extends T> objType);
 
+  /**
+   * Batch version of {@link #getAccess(IdentifiableObject, UserDetails)}.
+   *
+   * <p>Checks that only depend on the object type are done once per type and sharing checks are
+   * memoized for the duration of the call so that objects occurring multiple times are only
+   * checked once.
+   *
+   * @param objects Objects to check for access
+   * @param userDetails to check against
+   * @return the populated access instances in the same order as the given objects
+   */
+  List<Access> getAccess(List<? extends IdentifiableObject> objects, UserDetails userDetails);
+
   /**
    * Sets default sharing props on object, disregarding what is already there.
    *
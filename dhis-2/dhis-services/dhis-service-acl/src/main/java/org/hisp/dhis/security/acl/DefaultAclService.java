@@ -31,7 +31,10 @@ import static org.springframework.util.CollectionUtils.containsAny;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.function.Function;
 import org.hisp.dhis.cache.Cache;
@@ -552,6 +555,17 @@ public class DefaultAclService implements AclService {
     return access;
   }
 
+  @Override
+  public List<Access> getAccess(
+      List<? extends IdentifiableObject> objects, UserDetails userDetails) {
+    BatchCheck check = new BatchCheck(userDetails);
+    List<Access> result = new ArrayList<>(objects.size());
+    for (IdentifiableObject object : objects) {
+      result.add(check.getAccess(object));
+    }
+    return result;
+  }
+
   @Override
   public <T extends IdentifiableObject> void resetSharing(T object, User user) {
     resetSharing(object, UserDetails.fromUser(user));
@@ -851,12 +865,267 @@ public class DefaultAclService implements AclService {
   }
 
   private boolean hasUserGroupAccess(Set<String> userGroups, String userGroupUid) {
-    for (String groupUid : userGroups) {
-      if (groupUid.equals(userGroupUid)) {
+    return userGroups.contains(userGroupUid);
+  }
+
+  /**
+   * Checks that only depend on the object type. These are computed once per type within a {@link
+   * BatchCheck}.
+   */
+  private final class TypeCheck {
+    final Schema schema;
+
+    /** No schema or user has override authority, access is granted without further checks */
+    final boolean common;
+
+    final boolean dataShareable;
+
+    final boolean read;
+
+    final boolean dataRead;
+
+    final boolean write;
+
+    final boolean dataWrite;
+
+    final boolean update;
+
+    final boolean delete;
+
+    final boolean canMakePublic;
+
+    final boolean canMakePrivate;
+
+    final boolean canMakeExternal;
+
+    TypeCheck(UserDetails userDetails, Class<? extends IdentifiableObject> objType) {
+      this.common = readWriteCommonCheck(userDetails, objType);
+      this.schema = schemaService.getSchema(objType);
+      this.dataShareable = schema != null && schema.isDataShareable();
+      if (common) {
+        read = dataRead = write = dataWrite = update = delete = true;
+        canMakePublic = canMakePrivate = true;
+        canMakeExternal = false;
+        return;
+      }
+      this.canMakePublic = canMakeClassPublic(userDetails, objType);
+      this.canMakePrivate = canMakeClassPrivate(userDetails, objType);
+      this.canMakeExternal = canMakeClassExternal(userDetails, objType);
+      List<String> createAuthorities = new ArrayList<>();
+      createAuthorities.addAll(schema.getAuthorityByType(AuthorityType.CREATE_PRIVATE));
+      createAuthorities.addAll(schema.getAuthorityByType(AuthorityType.CREATE_PUBLIC));
+      this.read = canAccess(userDetails, schema.getAuthorityByType(AuthorityType.READ));
+      this.dataRead = canAccess(userDetails, schema.getAuthorityByType(AuthorityType.DATA_READ));
+      this.dataWrite = canAccess(userDetails, schema.getAuthorityByType(AuthorityType.DATA_CREATE));
+      this.write =
+          canAccess(userDetails, authoritiesOrElse(AuthorityType.CREATE, createAuthorities));
+      List<String> createAnyAuthorities =
+          new ArrayList<>(schema.getAuthorityByType(AuthorityType.CREATE));
+      createAnyAuthorities.addAll(createAuthorities);
+      this.update =
+          canAccess(userDetails, authoritiesOrElse(AuthorityType.UPDATE, createAnyAuthorities));
+      this.delete =
+          canAccess(userDetails, authoritiesOrElse(AuthorityType.DELETE, createAnyAuthorities));
+    }
+
+    private List<String> authoritiesOrElse(AuthorityType type, List<String> fallback) {
+      List<String> authorities = schema.getAuthorityByType(type);
+      return authorities.isEmpty() ? fallback : authorities;
+    }
+  }
+
+  /**
+   * Evaluates the access of one user for many objects in one pass.
+   *
+   * <p>Checks that only depend on the object type are done once per type and the sharing checks
+   * are memoized per object and permission so that objects referenced multiple times (like the
+   * options of {@link CategoryOptionCombo}s) are only checked once. The results are the same as
+   * for the corresponding single object checks.
+   */
+  private final class BatchCheck {
+    private final UserDetails userDetails;
+
+    private final Map<Class<?>, TypeCheck> typeChecks = new HashMap<>();
+
+    private final Map<Permission, Map<String, Boolean>> sharingChecks =
+        new EnumMap<>(Permission.class);
+
+    BatchCheck(UserDetails userDetails) {
+      this.userDetails = userDetails;
+    }
+
+    @SuppressWarnings("unchecked")
+    private TypeCheck getTypeCheck(IdentifiableObject object) {
+      return typeChecks.computeIfAbsent(
+          HibernateProxyUtils.getRealClass(object),
+          type -> new TypeCheck(userDetails, (Class<? extends IdentifiableObject>) type));
+    }
+
+    /** Same as {@link DefaultAclService#getAccess(IdentifiableObject, UserDetails)} */
+    Access getAccess(IdentifiableObject object) {
+      if (object == null) {
+        return new Access(true);
+      }
+      TypeCheck type = getTypeCheck(object);
+      if (isSuper(userDetails)) {
+        Access access = new Access(true);
+        if (type.dataShareable) {
+          access.setData(new AccessData(true, true));
+        }
+        return access;
+      }
+      boolean update = canUpdate(object);
+      Access access = new Access();
+      access.setManage(update);
+      access.setExternalize(type.canMakeExternal);
+      access.setWrite(canWrite(object));
+      access.setRead(canRead(object));
+      access.setUpdate(update);
+      access.setDelete(canDelete(object));
+      if (type.dataShareable) {
+        access.setData(new AccessData(canDataRead(object), canDataWrite(object)));
+      }
+      return access;
+    }
+
+    boolean canRead(IdentifiableObject object) {
+      if (object == null) {
+        return true;
+      }
+      TypeCheck type = getTypeCheck(object);
+      if (type.common) {
         return true;
       }
+      if (!type.read) {
+        return false;
+      }
+      if (object instanceof CategoryOptionCombo optionCombo) {
+        return checkOptionCombo(optionCombo, Permission.READ);
+      }
+      return !type.schema.isShareable()
+          || object.getSharing().getPublicAccess() == null
+          || checkMetadataSharing(object, Permission.READ);
     }
 
-    return false;
+    boolean canDataRead(IdentifiableObject object) {
+      if (object == null) {
+        return true;
+      }
+      TypeCheck type = getTypeCheck(object);
+      if (type.common) {
+        return true;
+      }
+      if (!type.dataRead) {
+        return false;
+      }
+      if (object instanceof CategoryOptionCombo optionCombo) {
+        return checkOptionCombo(optionCombo, Permission.DATA_READ)
+            || checkOptionCombo(optionCombo, Permission.DATA_WRITE);
+      }
+      return type.dataShareable
+          && (checkSharing(object, Permission.DATA_READ)
+              || checkSharing(object, Permission.DATA_WRITE));
+    }
+
+    boolean canWrite(IdentifiableObject object) {
+      if (object == null) {
+        return true;
+      }
+      TypeCheck type = getTypeCheck(object);
+      if (type.common) {
+        return true;
+      }
+      if (type.write) {
+        if (object instanceof CategoryOptionCombo optionCombo) {
+          return checkOptionCombo(optionCombo, Permission.WRITE);
+        }
+        return !type.schema.isShareable()
+            || checkSharingAccess(type, object) && checkMetadataSharing(object, Permission.WRITE);
+      }
+      return type.schema.isImplicitPrivateAuthority() && checkSharingAccess(type, object);
+    }
+
+    boolean canDataWrite(IdentifiableObject object) {
+      if (object == null) {
+        return true;
+      }
+      TypeCheck type = getTypeCheck(object);
+      if (type.common) {
+        return true;
+      }
+      if (!type.dataWrite) {
+        return false;
+      }
+      if (object instanceof CategoryOptionCombo optionCombo) {
+        return checkOptionCombo(optionCombo, Permission.DATA_WRITE);
+      }
+      return type.dataShareable && checkSharing(object, Permission.DATA_WRITE);
+    }
+
+    boolean canUpdate(IdentifiableObject object) {
+      TypeCheck type = getTypeCheck(object);
+      if (type.common) {
+        return true;
+      }
+      if (type.update) {
+        return !type.schema.isShareable()
+            || checkSharingAccess(type, object) && checkMetadataSharing(object, Permission.WRITE);
+      }
+      return type.schema.isImplicitPrivateAuthority()
+          && checkSharingAccess(type, object)
+          && checkMetadataSharing(object, Permission.WRITE);
+    }
+
+    boolean canDelete(IdentifiableObject object) {
+      TypeCheck type = getTypeCheck(object);
+      if (type.common) {
+        return true;
+      }
+      if (type.delete) {
+        return !type.schema.isShareable()
+            || object.getSharing().getPublicAccess() == null
+            || checkSharingAccess(type, object) && checkMetadataSharing(object, Permission.WRITE);
+      }
+      return type.schema.isImplicitPrivateAuthority()
+          && checkMetadataSharing(object, Permission.WRITE);
+    }
+
+    /** Same as {@link #checkSharingAccess(UserDetails, IdentifiableObject, Class)} */
+    private boolean checkSharingAccess(TypeCheck type, IdentifiableObject object) {
+      boolean allowed =
+          AccessStringHelper.DEFAULT.equals(object.getSharing().getPublicAccess())
+              ? type.canMakePublic || type.canMakePrivate
+              : type.canMakePublic;
+      return allowed && (!object.getSharing().isExternal() || type.canMakeExternal);
+    }
+
+    /** Same as {@link #checkOptionComboSharingPermission} */
+    private boolean checkOptionCombo(CategoryOptionCombo optionCombo, Permission permission) {
+      if (optionCombo.isDefault() || optionCombo.getCategoryOptions().isEmpty()) {
+        return true;
+      }
+      for (CategoryOption option : optionCombo.getCategoryOptions()) {
+        if (!checkSharing(option, permission)) {
+          return false;
+        }
+      }
+      return true;
+    }
+
+    /** Same as {@link #checkMetadataSharingPermission} but memoized */
+    private boolean checkMetadataSharing(IdentifiableObject object, Permission permission) {
+      return checkOwner(userDetails, object) || checkSharing(object, permission);
+    }
+
+    /** Same as {@link #checkSharingPermission} but memoized */
+    private boolean checkSharing(IdentifiableObject object, Permission permission) {
+      String uid = object.getUid();
+      if (uid == null) {
+        return checkSharingPermission(userDetails, object, permission);
+      }
+      return sharingChecks
+          .computeIfAbsent(permission, key -> new HashMap<>())
+          .computeIfAbsent(uid, key -> checkSharingPermission(userDetails, object, permission));
+    }
   }
 }
@@ -32,6 +32,7 @@ import java.util.Map;
 import org.hisp.dhis.common.AnalyticalObject;
 import org.hisp.dhis.common.Grid;
 import org.hisp.dhis.dxf2.datavalueset.DataValueSet;
+import org.hisp.dhis.system.grid.GridRowWriter;
 
 /**
  * This interface is responsible for retrieving aggregated data. Data will be returned in a grid
@@ -127,6 +128,16 @@ public interface AnalyticsService {
    */
   Grid getRawDataValues(DataQueryParams params);
 
+  /**
+   * Streams raw data values for the given query to the given writer. The headers are written up
+   * front and the rows are written as they are read from the database, without building a grid in
+   * memory. Meta data is not included. The writer is closed when all rows are written.
+   *
+   * @param params the data query parameters.
+   * @param writer the {@link GridRowWriter}.
+   */
+  void streamRawDataValues(DataQueryParams params, GridRowWriter writer);
+
   /**
    * Generates a data value set for the given query. The query must contain a data, period and
    * organisation unit dimension.
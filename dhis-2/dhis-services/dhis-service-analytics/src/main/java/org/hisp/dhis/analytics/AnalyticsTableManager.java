@@ -31,6 +31,8 @@ import java.util.Collection;
 import java.util.Date;
 import java.util.List;
 import java.util.Set;
+import org.hisp.dhis.analytics.table.model.AnalyticsClusterTable;
+import org.hisp.dhis.analytics.table.model.AnalyticsRollup;
 import org.hisp.dhis.analytics.table.model.AnalyticsTable;
 import org.hisp.dhis.analytics.table.model.AnalyticsTablePartition;
 import org.hisp.dhis.db.model.Index;
@@ -174,6 +176,17 @@ public interface AnalyticsTableManager {
    */
   void analyzeTable(Table table);
 
+  /**
+   * Returns the estimated number of rows of the given partition, based on the statistics of the
+   * partition from the previous table update. Used to populate the largest partitions first.
+   *
+   * @param partition the {@link AnalyticsTablePartition}.
+   * @return the estimated number of rows, or 0 if no estimate is available.
+   */
+  default long getRowEstimate(AnalyticsTablePartition partition) {
+    return 0L;
+  }
+
   /**
    * Applies aggregation level logic to the given table.
    *
@@ -183,4 +196,40 @@ public interface AnalyticsTableManager {
    */
   default void applyAggregationLevels(
       Table table, Collection<String> dataElements, int aggregationLevel) {}
+
+  /**
+   * Returns the pre-aggregated rollup tables to create for this table type.
+   *
+   * @return a list of {@link AnalyticsRollup}.
+   */
+  default List<AnalyticsRollup> getRollups() {
+    return List.of();
+  }
+
+  /**
+   * Drops, creates and populates the given rollup table from the main analytics table.
+   *
+   * @param rollup the {@link AnalyticsRollup}.
+   */
+  default void createRollupTable(AnalyticsRollup rollup) {}
+
+  /** Drops existing rollup tables of this table type which are no longer configured. */
+  default void dropObsoleteRollupTables() {}
+
+  /**
+   * Returns the pre-aggregated cluster tables to create for the given swapped analytics tables.
+   *
+   * @param tables the list of {@link AnalyticsTable}.
+   * @return a list of {@link AnalyticsClusterTable}.
+   */
+  default List<AnalyticsClusterTable> getClusterTables(List<AnalyticsTable> tables) {
+    return List.of();
+  }
+
+  /**
+   * Drops, creates and populates the given cluster table from its analytics table.
+   *
+   * @param clusterTable the {@link AnalyticsClusterTable}.
+   */
+  default void createClusterTable(AnalyticsClusterTable clusterTable) {}
 }
@@ -569,6 +569,46 @@ public class DataQueryParams {
     return getQueryKey().build();
   }
 
+  /**
+   * Returns a key representing the query plan of this query. In addition to the properties covered
+   * by {@link #getKey()}, the key includes the query modifiers of the dimension items and the
+   * internal properties which are set when queries are derived from other queries. The key is
+   * suitable for caching query plans.
+   */
+  public String getPlanKey() {
+    QueryKey key = getQueryKey();
+
+    Stream.concat(dimensions.stream(), filters.stream())
+        .flatMap(dimension -> dimension.getItems().stream())
+        .forEach(item -> key.add("itemQueryMods", item.getDimensionItemWithQueryModsId()));
+
+    dataApprovalLevels.entrySet().stream()
+        .map(entry -> entry.getKey().getUid() + entry.getValue())
+        .sorted()
+        .forEach(level -> key.add("dataApprovalLevel", level));
+
+    return key.addIgnoreNull("program", program, () -> program.getUid())
+        .addIgnoreNull("programStage", programStage, () -> programStage.getUid())
+        .addIgnoreNull("partitions", partitions, () -> partitions.getPartitions().toString())
+        .addIgnoreNull("tableName", tableName)
+        .addIgnoreNull("dataType", dataType)
+        .addIgnoreNull("valueColumn", valueColumn)
+        .addIgnoreNull("queryModsId", queryModsId)
+        .addIgnoreNull("periodType", periodType)
+        .addIgnoreNull("dataPeriodType", dataPeriodType, () -> dataPeriodType.getName())
+        .add("skipPartitioning", skipPartitioning)
+        .add("timely", timely)
+        .add("orgUnitLevels", orgUnitLevels.stream().map(OrganisationUnitLevel::getLevel).toList())
+        .add("restrictByOrgUnitOpeningClosedDate", restrictByOrgUnitOpeningClosedDate)
+        .add("restrictByCategoryOptionStartEndDate", restrictByCategoryOptionStartEndDate)
+        .addIgnoreNull("startDateRestriction", startDateRestriction)
+        .addIgnoreNull("endDateRestriction", endDateRestriction)
+        .addIgnoreNull("userOrgUnitType", userOrgUnitType)
+        .add("processingHints", processingHints.stream().sorted().toList())
+        .addIgnoreNull("explainOrderId", explainOrderId)
+        .build();
+  }
+
   /** Returns a unique {@link QueryKey}. */
   protected QueryKey getQueryKey() {
     QueryKey key = new QueryKey();
@@ -2120,6 +2160,10 @@ public class DataQueryParams {
     return ObjectUtils.firstNonNull(valueColumn, VALUE_COLUMN_NAME);
   }
 
+  public String getQueryModsId() {
+    return queryModsId;
+  }
+
   public String getPeriodType() {
     return periodType;
   }
@@ -27,6 +27,8 @@
  */
 package org.hisp.dhis.analytics;
 
+import java.util.List;
+import java.util.function.Consumer;
 import org.hisp.dhis.common.Grid;
 
 /**
@@ -43,4 +45,14 @@ public interface RawAnalyticsManager {
    * @return a grid with data.
    */
   Grid getRawDataValues(DataQueryParams params, Grid grid);
+
+  /**
+   * Streams raw analytics data based on the given query to the given consumer, one row at a time
+   * in the column order of {@link #getRawDataValues(DataQueryParams, Grid)}. Rows are read with a
+   * forward-only cursor and are not retained.
+   *
+   * @param params the {@link DataQueryParams}.
+   * @param consumer the consumer of rows.
+   */
+  void streamRawDataValues(DataQueryParams params, Consumer<List<Object>> consumer);
 }
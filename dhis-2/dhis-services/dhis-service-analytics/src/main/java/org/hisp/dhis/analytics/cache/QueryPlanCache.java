@@ -0,0 +1,383 @@
+/*
+ * Copyright (c) 2004-2022, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ * Neither the name of the HISP project nor the names of its contributors may
+ * be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.analytics.cache;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiFunction;
+import lombok.extern.slf4j.Slf4j;
+import org.hisp.dhis.analytics.AnalyticsAggregationType;
+import org.hisp.dhis.analytics.DataQueryGroups;
+import org.hisp.dhis.analytics.DataQueryParams;
+import org.hisp.dhis.analytics.DataType;
+import org.hisp.dhis.analytics.QueryPlannerParams;
+import org.hisp.dhis.analytics.table.model.Partitions;
+import org.hisp.dhis.analytics.util.PeriodOffsetUtils;
+import org.hisp.dhis.cache.Cache;
+import org.hisp.dhis.cache.CacheProvider;
+import org.hisp.dhis.common.BaseDimensionalObject;
+import org.hisp.dhis.common.DimensionalItemObject;
+import org.hisp.dhis.common.DimensionalObject;
+import org.hisp.dhis.common.event.ApplicationCacheClearedEvent;
+import org.hisp.dhis.commons.collection.ListUtils;
+import org.hisp.dhis.period.PeriodType;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Cache for analytics query plans. Plans are cached by the plan key of the query together with the
+ * planner parameters, so that repeated queries skip query planning, including the lookup of
+ * existing partitions. The cache keeps track of the planning time saved and is cleared when the
+ * analytics tables are updated.
+ *
+ * <p>Only identifiers are cached. A cached plan holds the dimension item identifiers and the
+ * properties of each planned query, and is resolved against the items of the current query when
+ * used, so that no metadata objects are shared between requests. The most recent last updated
+ * timestamp of the query items is part of the cache key, so that changes to the metadata which
+ * drives planning, such as aggregation type, value type or period type, lead to a new plan. The
+ * cache is only used when analytics caching is enabled.
+ */
+@Slf4j
+@Component
+public class QueryPlanCache {
+  private final Cache<QueryPlan> planCache;
+
+  private final AnalyticsCacheSettings analyticsCacheSettings;
+
+  private final AtomicLong hits = new AtomicLong();
+
+  private final AtomicLong misses = new AtomicLong();
+
+  private final AtomicLong savedNanos = new AtomicLong();
+
+  public QueryPlanCache(
+      CacheProvider cacheProvider, AnalyticsCacheSettings analyticsCacheSettings) {
+    checkNotNull(cacheProvider);
+    checkNotNull(analyticsCacheSettings);
+
+    this.planCache = cacheProvider.createAnalyticsQueryPlanCache();
+    this.analyticsCacheSettings = analyticsCacheSettings;
+  }
+
+  /**
+   * Returns the cached plan for the given query if present. Otherwise, the query is planned with
+   * the given planner and the plan is cached. Queries with custom query groupers are always
+   * planned, as the groupers cannot be part of the cache key. Queries are also always planned when
+   * analytics caching is disabled.
+   *
+   * @param params the {@link DataQueryParams}.
+   * @param plannerParams the {@link QueryPlannerParams}.
+   * @param planner the function which plans the query.
+   * @return the {@link DataQueryGroups}.
+   */
+  public DataQueryGroups getOrPlan(
+      DataQueryParams params,
+      QueryPlannerParams plannerParams,
+      BiFunction<DataQueryParams, QueryPlannerParams, DataQueryGroups> planner) {
+    if (!plannerParams.getQueryGroupers().isEmpty() || !isEnabled()) {
+      return planner.apply(params, plannerParams);
+    }
+
+    String key = getKey(params, plannerParams);
+
+    Optional<QueryPlan> cachedPlan = planCache.getIfPresent(key);
+
+    if (cachedPlan.isPresent()) {
+      Optional<DataQueryGroups> queryGroups = cachedPlan.get().resolve(params);
+
+      if (queryGroups.isPresent()) {
+        hits.incrementAndGet();
+        savedNanos.addAndGet(cachedPlan.get().planningNanos());
+
+        return queryGroups.get();
+      }
+    }
+
+    long start = System.nanoTime();
+
+    DataQueryGroups queryGroups = planner.apply(params, plannerParams);
+
+    misses.incrementAndGet();
+    planCache.put(key, QueryPlan.of(queryGroups, System.nanoTime() - start));
+
+    return queryGroups;
+  }
+
+  /** Indicates whether analytics caching, and thereby query plan caching, is enabled. */
+  public boolean isEnabled() {
+    return analyticsCacheSettings.isCachingEnabled();
+  }
+
+  /** Returns the number of queries for which a cached plan was used. */
+  public long getHits() {
+    return hits.get();
+  }
+
+  /** Returns the number of queries which were planned and cached. */
+  public long getMisses() {
+    return misses.get();
+  }
+
+  /** Returns the total planning time in milliseconds saved by using cached plans. */
+  public long getPlanningTimeSavedMillis() {
+    return TimeUnit.NANOSECONDS.toMillis(savedNanos.get());
+  }
+
+  /** Clears the current cache by removing all existing entries. */
+  public void invalidateAll() {
+    planCache.invalidateAll();
+
+    log.info(
+        "Analytics query plan cache cleared, hits: {}, misses: {}, planning time saved: {} ms",
+        getHits(),
+        getMisses(),
+        getPlanningTimeSavedMillis());
+  }
+
+  @EventListener
+  public void handleApplicationCachesCleared(ApplicationCacheClearedEvent event) {
+    invalidateAll();
+  }
+
+  private String getKey(DataQueryParams params, QueryPlannerParams plannerParams) {
+    return plannerParams.getTableType()
+        + "-"
+        + plannerParams.getOptimalQueries()
+        + "-"
+        + getLastUpdated(params)
+        + "-"
+        + params.getPlanKey();
+  }
+
+  /**
+   * Returns the most recent last updated timestamp in milliseconds of the dimension items of the
+   * given query, or 0 if no item has a last updated timestamp.
+   */
+  private long getLastUpdated(DataQueryParams params) {
+    return params.getAllDimensionItems().stream()
+        .map(DimensionalItemObject::getLastUpdated)
+        .filter(Objects::nonNull)
+        .mapToLong(Date::getTime)
+        .max()
+        .orElse(0L);
+  }
+
+  /**
+   * A cached query plan.
+   *
+   * @param queries the planned queries.
+   * @param planningNanos the time it took to plan the query in nanoseconds.
+   */
+  private record QueryPlan(List<PlannedQuery> queries, long planningNanos) {
+    static QueryPlan of(DataQueryGroups queryGroups, long planningNanos) {
+      return new QueryPlan(
+          queryGroups.getAllQueries().stream().map(PlannedQuery::of).toList(), planningNanos);
+    }
+
+    /**
+     * Resolves this plan against the items of the given query. Returns an empty optional if an
+     * item of the plan is not part of the query.
+     */
+    Optional<DataQueryGroups> resolve(DataQueryParams params) {
+      DataQueryParams query = PeriodOffsetUtils.addShiftedPeriods(params);
+
+      Map<String, Map<String, DimensionalItemObject>> items = new HashMap<>();
+      Map<String, DimensionalObject> dimensions = new HashMap<>();
+
+      for (DimensionalObject dimension :
+          ListUtils.union(query.getDimensions(), query.getFilters())) {
+        dimensions.putIfAbsent(dimension.getDimension(), dimension);
+
+        Map<String, DimensionalItemObject> dimensionItems =
+            items.computeIfAbsent(dimension.getDimension(), dim -> new HashMap<>());
+
+        dimension
+            .getItems()
+            .forEach(
+                item -> dimensionItems.putIfAbsent(item.getDimensionItemWithQueryModsId(), item));
+      }
+
+      List<DataQueryParams> resolved = new ArrayList<>();
+
+      for (PlannedQuery plannedQuery : queries) {
+        Optional<DataQueryParams> resolvedQuery = plannedQuery.resolve(query, dimensions, items);
+
+        if (resolvedQuery.isEmpty()) {
+          return Optional.empty();
+        }
+
+        resolved.add(resolvedQuery.get());
+      }
+
+      return Optional.of(DataQueryGroups.newBuilder().withQueries(resolved).build());
+    }
+  }
+
+  /** The identifiers and planned properties of a single query of a plan. */
+  private record PlannedQuery(
+      List<PlannedDimension> dimensions,
+      List<PlannedDimension> filters,
+      String tableName,
+      Partitions partitions,
+      String periodType,
+      String dataPeriodType,
+      DataType dataType,
+      String valueColumn,
+      String queryModsId,
+      AnalyticsAggregationType aggregationType,
+      Date startDate,
+      Date endDate,
+      Date startDateRestriction,
+      Date endDateRestriction) {
+    static PlannedQuery of(DataQueryParams params) {
+      return new PlannedQuery(
+          params.getDimensions().stream().map(PlannedDimension::of).toList(),
+          params.getFilters().stream().map(PlannedDimension::of).toList(),
+          params.getTableName(),
+          new Partitions(params.getPartitions()),
+          params.getPeriodType(),
+          params.getDataPeriodType() != null ? params.getDataPeriodType().getName() : null,
+          params.getDataType(),
+          params.getValueColumn(),
+          params.getQueryModsId(),
+          params.getAggregationType() != null ? params.getAggregationType().instance() : null,
+          params.getStartDate(),
+          params.getEndDate(),
+          params.getStartDateRestriction(),
+          params.getEndDateRestriction());
+    }
+
+    Optional<DataQueryParams> resolve(
+        DataQueryParams params,
+        Map<String, DimensionalObject> sourceDimensions,
+        Map<String, Map<String, DimensionalItemObject>> sourceItems) {
+      List<DimensionalObject> resolvedDimensions =
+          resolveAll(dimensions, sourceDimensions, sourceItems);
+      List<DimensionalObject> resolvedFilters = resolveAll(filters, sourceDimensions, sourceItems);
+
+      if (resolvedDimensions == null || resolvedFilters == null) {
+        return Optional.empty();
+      }
+
+      return Optional.of(
+          DataQueryParams.newBuilder(params)
+              .withDimensions(resolvedDimensions)
+              .withFilters(resolvedFilters)
+              .withTableName(tableName)
+              .withPartitions(new Partitions(partitions))
+              .withPeriodType(periodType)
+              .withDataPeriodType(
+                  dataPeriodType != null ? PeriodType.getPeriodTypeByName(dataPeriodType) : null)
+              .withDataType(dataType)
+              .withValueColumn(valueColumn)
+              .withQueryModsId(queryModsId)
+              .withAggregationType(aggregationType != null ? aggregationType.instance() : null)
+              .withStartDate(startDate)
+              .withEndDate(endDate)
+              .withStartDateRestriction(startDateRestriction)
+              .withEndDateRestriction(endDateRestriction)
+              .build());
+    }
+
+    /** Returns the resolved dimensions, or null if any of the dimensions cannot be resolved. */
+    private static List<DimensionalObject> resolveAll(
+        Collection<PlannedDimension> plannedDimensions,
+        Map<String, DimensionalObject> sourceDimensions,
+        Map<String, Map<String, DimensionalItemObject>> sourceItems) {
+      List<DimensionalObject> resolved = new ArrayList<>();
+
+      for (PlannedDimension plannedDimension : plannedDimensions) {
+        DimensionalObject dimension = plannedDimension.resolve(sourceDimensions, sourceItems);
+
+        if (dimension == null) {
+          return null;
+        }
+
+        resolved.add(dimension);
+      }
+
+      return resolved;
+    }
+  }
+
+  /** The identifiers and planned properties of a dimension or filter of a planned query. */
+  private record PlannedDimension(
+      String dimension, String dimensionName, boolean fixed, List<String> items) {
+    static PlannedDimension of(DimensionalObject dimension) {
+      return new PlannedDimension(
+          dimension.getDimension(),
+          dimension.getDimensionName(),
+          dimension.isFixed(),
+          dimension.getItems().stream()
+              .map(DimensionalItemObject::getDimensionItemWithQueryModsId)
+              .toList());
+    }
+
+    /** Returns the resolved dimension, or null if the dimension or an item cannot be resolved. */
+    DimensionalObject resolve(
+        Map<String, DimensionalObject> sourceDimensions,
+        Map<String, Map<String, DimensionalItemObject>> sourceItems) {
+      DimensionalObject source = sourceDimensions.get(dimension);
+      Map<String, DimensionalItemObject> itemMap = sourceItems.get(dimension);
+
+      if (source == null || itemMap == null) {
+        return null;
+      }
+
+      List<DimensionalItemObject> resolvedItems = new ArrayList<>();
+
+      for (String item : items) {
+        DimensionalItemObject resolvedItem = itemMap.get(item);
+
+        if (resolvedItem == null) {
+          return null;
+        }
+
+        resolvedItems.add(resolvedItem);
+      }
+
+      BaseDimensionalObject resolved =
+          (BaseDimensionalObject) ((BaseDimensionalObject) source).instance();
+      resolved.setDimensionName(dimensionName);
+      resolved.setFixed(fixed);
+      resolved.setItems(resolvedItems);
+
+      return resolved;
+    }
+  }
+}
@@ -28,6 +28,7 @@
 package org.hisp.dhis.analytics.common;
 
 import java.util.Date;
+import java.util.Optional;
 import org.hisp.dhis.program.AnalyticsType;
 import org.hisp.dhis.program.ProgramIndicator;
 import org.hisp.dhis.relationship.RelationshipType;
@@ -101,4 +102,15 @@ public interface ProgramIndicatorSubqueryBuilder {
       AnalyticsType outerSqlEntity,
       Date earliestStartDate,
       Date latestDate);
+
+  /**
+   * Generates the sub-query of the given event program indicator to be used within an enrollment
+   * query, if the sub-query does not depend on the reporting period. Such program indicator values
+   * can be computed in advance and stored in the enrollment analytics table.
+   *
+   * @param programIndicator the {@link ProgramIndicator}.
+   * @return a program indicator sub-query, or empty if the program indicator is not an event
+   *     program indicator or depends on the reporting period.
+   */
+  Optional<String> getMaterializableClauseForProgramIndicator(ProgramIndicator programIndicator);
 }
@@ -0,0 +1,172 @@
+/*
+ * Copyright (c) 2004-2022, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ * Neither the name of the HISP project nor the names of its contributors may
+ * be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.analytics.data;
+
+import static org.hisp.dhis.external.conf.ConfigurationKey.ANALYTICS_CONNECTION_POOL_MAX_SIZE;
+import static org.hisp.dhis.external.conf.ConfigurationKey.ANALYTICS_QUERY_MAX_CONCURRENCY;
+import static org.hisp.dhis.external.conf.ConfigurationKey.ANALYTICS_QUERY_MAX_USER_CONCURRENCY;
+import static org.hisp.dhis.external.conf.ConfigurationKey.ANALYTICS_QUERY_QUEUE_TIMEOUT;
+import static org.hisp.dhis.external.conf.ConfigurationKey.ANALYTICS_QUERY_TIMEOUT;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.math.NumberUtils;
+import org.hisp.dhis.common.QueryRuntimeException;
+import org.hisp.dhis.external.conf.ConfigurationKey;
+import org.hisp.dhis.external.conf.DhisConfigurationProvider;
+import org.hisp.dhis.feedback.ErrorCode;
+import org.hisp.dhis.user.CurrentUserUtil;
+import org.springframework.stereotype.Component;
+
+/**
+ * Limits the number of analytics queries running concurrently, in total and per user, so that a
+ * single large request cannot occupy all connections of the analytics connection pool. Waiting
+ * queries are served in arrival order, and a user can hold no more than the per-user budget.
+ */
+@Slf4j
+@Component
+public class AnalyticsQueryScheduler {
+  private static final String SYSTEM_USER = "system";
+
+  /** Max number of queries running concurrently for all users. */
+  @Getter private final int maxConcurrency;
+
+  /** Max number of queries running concurrently per user. */
+  @Getter private final int maxUserConcurrency;
+
+  /** Max time in seconds to wait for free permits. */
+  private final int queueTimeout;
+
+  /** Max time in seconds a query can run, 0 means no limit. */
+  @Getter private final int queryTimeout;
+
+  private final Semaphore permits;
+
+  private final Map<String, Semaphore> userPermits = new ConcurrentHashMap<>();
+
+  public AnalyticsQueryScheduler(DhisConfigurationProvider config) {
+    int defaultConcurrency = getInt(config, ANALYTICS_CONNECTION_POOL_MAX_SIZE) / 2;
+    String concurrency = config.getProperty(ANALYTICS_QUERY_MAX_CONCURRENCY);
+
+    this.maxConcurrency = Math.max(1, NumberUtils.toInt(concurrency, defaultConcurrency));
+    this.maxUserConcurrency = Math.max(1, getInt(config, ANALYTICS_QUERY_MAX_USER_CONCURRENCY));
+    this.queueTimeout = Math.max(0, getInt(config, ANALYTICS_QUERY_QUEUE_TIMEOUT));
+    this.queryTimeout = Math.max(0, getInt(config, ANALYTICS_QUERY_TIMEOUT));
+    this.permits = new Semaphore(maxConcurrency, true);
+
+    log.info(
+        "Analytics query concurrency: {}, per user: {}, query timeout: {} s",
+        maxConcurrency,
+        maxUserConcurrency,
+        queryTimeout);
+  }
+
+  /**
+   * Returns the max number of queries a single request can run in parallel.
+   *
+   * @return the max number of queries.
+   */
+  public int getMaxRequestConcurrency() {
+    return Math.min(maxConcurrency, maxUserConcurrency);
+  }
+
+  /**
+   * Acquires permits for running the given number of queries in parallel on behalf of the current
+   * user. Waits until permits are available for the user and in total. The returned {@link Permit}
+   * must be closed when the queries are done.
+   *
+   * @param queries the number of queries, capped at {@link #getMaxRequestConcurrency()}.
+   * @return a {@link Permit}.
+   * @throws QueryRuntimeException if permits could not be acquired within the queue timeout.
+   */
+  public Permit acquire(int queries) {
+    int count = Math.max(1, Math.min(queries, getMaxRequestConcurrency()));
+
+    Semaphore userSemaphore =
+        userPermits.computeIfAbsent(getUsername(), u -> new Semaphore(maxUserConcurrency, true));
+
+    acquire(userSemaphore, count);
+
+    try {
+      acquire(permits, count);
+    } catch (RuntimeException ex) {
+      userSemaphore.release(count);
+      throw ex;
+    }
+
+    return new Permit(userSemaphore, count);
+  }
+
+  /**
+   * Acquires the given number of permits from the given semaphore.
+   *
+   * @param semaphore the {@link Semaphore}.
+   * @param count the number of permits.
+   * @throws QueryRuntimeException if permits could not be acquired within the queue timeout.
+   */
+  private void acquire(Semaphore semaphore, int count) {
+    try {
+      if (!semaphore.tryAcquire(count, queueTimeout, TimeUnit.SECONDS)) {
+        throw new QueryRuntimeException(ErrorCode.E7147);
+      }
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+      throw new QueryRuntimeException(ErrorCode.E7147);
+    }
+  }
+
+  private String getUsername() {
+    return CurrentUserUtil.hasCurrentUser() ? CurrentUserUtil.getCurrentUsername() : SYSTEM_USER;
+  }
+
+  private int getInt(DhisConfigurationProvider config, ConfigurationKey key) {
+    return NumberUtils.toInt(config.getProperty(key), Integer.parseInt(key.getDefaultValue()));
+  }
+
+  /** Permits held for running queries, released on {@link #close()}. */
+  public class Permit implements AutoCloseable {
+    private final Semaphore userSemaphore;
+
+    private final int count;
+
+    private Permit(Semaphore userSemaphore, int count) {
+      this.userSemaphore = userSemaphore;
+      this.count = count;
+    }
+
+    @Override
+    public void close() {
+      permits.release(count);
+      userSemaphore.release(count);
+    }
+  }
+}
@@ -53,6 +53,7 @@ import org.hisp.dhis.common.DimensionalItemObject;
 import org.hisp.dhis.common.Grid;
 import org.hisp.dhis.common.IdentifiableObjectUtils;
 import org.hisp.dhis.dxf2.datavalueset.DataValueSet;
+import org.hisp.dhis.system.grid.GridRowWriter;
 import org.hisp.dhis.system.grid.ListGrid;
 import org.hisp.dhis.visualization.Visualization;
 import org.springframework.stereotype.Service;
@@ -122,6 +123,16 @@ public class DefaultAnalyticsService implements AnalyticsService {
     return dataAggregator.getRawDataGrid(params);
   }
 
+  @Override
+  @Transactional(readOnly = true)
+  public void streamRawDataValues(DataQueryParams params, GridRowWriter writer) {
+    params = checkSecurityConstraints(params);
+
+    queryValidator.validate(params);
+
+    dataAggregator.streamRawDataGrid(params, writer);
+  }
+
   @Override
   @Transactional(readOnly = true)
   public DataValueSet getAggregatedDataValueSet(DataQueryParams params) {
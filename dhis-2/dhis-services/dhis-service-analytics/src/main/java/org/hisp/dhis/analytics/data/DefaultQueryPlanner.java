@@ -32,13 +32,16 @@ import static org.hisp.dhis.analytics.util.AnalyticsUtils.throwIllegalQueryEx;
 import static org.hisp.dhis.common.DimensionalObject.DATA_X_DIM_ID;
 import static org.hisp.dhis.common.DimensionalObject.ORGUNIT_DIM_ID;
 import static org.hisp.dhis.common.DimensionalObject.PERIOD_DIM_ID;
+import static org.hisp.dhis.common.DimensionalObject.VALUE_COLUMN_NAME;
 import static org.hisp.dhis.util.DateUtils.getEarliest;
 import static org.hisp.dhis.util.DateUtils.getLatest;
 
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.Lists;
 import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Objects;
 import java.util.function.Function;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -51,7 +54,9 @@ import org.hisp.dhis.analytics.DataType;
 import org.hisp.dhis.analytics.QueryPlanner;
 import org.hisp.dhis.analytics.QueryPlannerParams;
 import org.hisp.dhis.analytics.partition.PartitionManager;
+import org.hisp.dhis.analytics.table.model.AnalyticsRollup;
 import org.hisp.dhis.analytics.table.model.Partitions;
+import org.hisp.dhis.analytics.table.setting.AnalyticsTableSettings;
 import org.hisp.dhis.analytics.table.util.PartitionUtils;
 import org.hisp.dhis.analytics.util.PeriodOffsetUtils;
 import org.hisp.dhis.common.BaseDimensionalObject;
@@ -80,6 +85,8 @@ import org.springframework.stereotype.Component;
 public class DefaultQueryPlanner implements QueryPlanner {
   private final PartitionManager partitionManager;
 
+  private final AnalyticsTableSettings analyticsTableSettings;
+
   // -------------------------------------------------------------------------
   // QueryPlanner implementation
   // -------------------------------------------------------------------------
@@ -117,6 +124,10 @@ public class DefaultQueryPlanner implements QueryPlanner {
       currentQueries.forEach(query -> queries.addAll(grouper.apply(query)));
     }
 
+    // Route plain sum queries to pre-aggregated rollup tables where possible
+
+    queries.replaceAll(query -> withRollupTable(query, plannerParams));
+
     // Split queries until the optimal number is reached
 
     DataQueryGroups queryGroups = DataQueryGroups.newBuilder().withQueries(queries).build();
@@ -707,4 +718,79 @@ public class DefaultQueryPlanner implements QueryPlanner {
       log.debug("Split on '{}': {}", splitCriteria, queries.size());
     }
   }
+
+  /**
+   * Returns a query which reads from the smallest existing and configured rollup table which holds
+   * all dimensions and filters of the given query. Rollup tables hold sums only, so only plain
+   * numeric sum queries without any row level restrictions are routed. Returns the given query if
+   * no rollup table applies.
+   *
+   * @param params the {@link DataQueryParams}.
+   * @param plannerParams the {@link QueryPlannerParams}.
+   * @return a {@link DataQueryParams}.
+   */
+  private DataQueryParams withRollupTable(
+      DataQueryParams params, QueryPlannerParams plannerParams) {
+    AnalyticsAggregationType aggregationType = params.getAggregationType();
+
+    if (plannerParams.getTableType() != AnalyticsTableType.DATA_VALUE
+        || !params.isDataType(DataType.NUMERIC)
+        || aggregationType == null
+        || !aggregationType.isAggregationType(AggregationType.SUM)
+        || aggregationType.getPeriodAggregationType() != AggregationType.SUM
+        || !VALUE_COLUMN_NAME.equals(params.getValueColumn())
+        || params.isDisaggregation()
+        || params.hasSubexpressions()
+        || params.hasPreAggregateMeasureCriteria()
+        || params.isDataApproval()
+        || params.isRestrictByOrgUnitOpeningClosedDate()
+        || params.isRestrictByCategoryOptionStartEndDate()
+        || params.hasStartDate()
+        || params.hasEndDate()
+        || params.hasStartEndDateRestriction()
+        || params.isTimely()
+        || params.isSkipPartitioning()) {
+      return params;
+    }
+
+    List<AnalyticsRollup> configured = getConfiguredRollups();
+
+    if (configured.isEmpty()) {
+      return params;
+    }
+
+    List<String> columns =
+        params.getDimensionsAndFilters().stream().map(DimensionalObject::getDimensionName).toList();
+
+    return partitionManager.getAnalyticsPartitions(AnalyticsTableType.DATA_VALUE).stream()
+        .map(AnalyticsRollup::fromTableName)
+        .filter(Objects::nonNull)
+        .filter(configured::contains)
+        .filter(rollup -> rollup.getDimensionColumns().containsAll(columns))
+        .min(Comparator.comparingInt(AnalyticsRollup::getLevel))
+        // the list of partitions is cached and the table might have been dropped since
+        .filter(rollup -> partitionManager.tableExists(rollup.getTableName()))
+        .map(
+            rollup ->
+                DataQueryParams.newBuilder(params)
+                    .withTableName(rollup.getTableName())
+                    .withPartitions(new Partitions())
+                    .build())
+        .orElse(params);
+  }
+
+  /**
+   * Returns the rollup tables configured in the analytics table settings. Tables of rollups which
+   * are no longer configured are not maintained and must not be queried.
+   *
+   * @return a list of {@link AnalyticsRollup}.
+   */
+  private List<AnalyticsRollup> getConfiguredRollups() {
+    try {
+      return analyticsTableSettings.getRollups();
+    } catch (IllegalArgumentException ex) {
+      log.warn("Rollup tables are not used: {}", ex.getMessage());
+      return List.of();
+    }
+  }
 }
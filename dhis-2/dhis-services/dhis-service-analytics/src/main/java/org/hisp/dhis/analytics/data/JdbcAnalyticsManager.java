@@ -93,6 +93,8 @@ import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.dao.DataAccessResourceFailureException;
 import org.springframework.jdbc.BadSqlGrammarException;
 import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.SqlRowSetResultSetExtractor;
+import org.springframework.jdbc.core.StatementCallback;
 import org.springframework.jdbc.support.rowset.SqlRowSet;
 import org.springframework.scheduling.annotation.Async;
 import org.springframework.scheduling.annotation.AsyncResult;
@@ -157,6 +159,8 @@ public class JdbcAnalyticsManager implements AnalyticsManager {
 
   private final SqlBuilder sqlBuilder;
 
+  private final AnalyticsQueryScheduler queryScheduler;
+
   // -------------------------------------------------------------------------
   // AnalyticsManager implementation
   // -------------------------------------------------------------------------
@@ -926,6 +930,28 @@ public class JdbcAnalyticsManager implements AnalyticsManager {
     return sql;
   }
 
+  /**
+   * Executes the given SQL query. Applies the query timeout of the {@link AnalyticsQueryScheduler}
+   * if set, in which case the JDBC driver cancels the statement when the timeout is exceeded.
+   *
+   * @param sql the SQL query.
+   * @return a {@link SqlRowSet}.
+   */
+  private SqlRowSet queryForRowSet(String sql) {
+    int queryTimeout = queryScheduler.getQueryTimeout();
+
+    if (queryTimeout <= 0) {
+      return jdbcTemplate.queryForRowSet(sql);
+    }
+
+    return jdbcTemplate.execute(
+        (StatementCallback<SqlRowSet>)
+            statement -> {
+              statement.setQueryTimeout(queryTimeout);
+              return new SqlRowSetResultSetExtractor().extractData(statement.executeQuery(sql));
+            });
+  }
+
   /**
    * Retrieves data from the database based on the given query and SQL and puts into a value key and
    * value mapping.
@@ -939,7 +965,7 @@ public class JdbcAnalyticsManager implements AnalyticsManager {
 
     log.debug("Analytics query SQL: '{}'", sql);
 
-    SqlRowSet rowSet = jdbcTemplate.queryForRowSet(sql);
+    SqlRowSet rowSet = queryForRowSet(sql);
 
     int counter = 0;
 
@@ -35,8 +35,11 @@ import static org.hisp.dhis.analytics.DataQueryParams.PERIOD_START_DATE_NAME;
 import static org.hisp.dhis.common.IdentifiableObjectUtils.getUids;
 import static org.hisp.dhis.util.DateUtils.toMediumDate;
 
+import java.sql.ResultSet;
+import java.sql.Statement;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -56,6 +59,7 @@ import org.hisp.dhis.db.sql.SqlBuilder;
 import org.hisp.dhis.organisationunit.OrganisationUnit;
 import org.hisp.dhis.util.ObjectUtils;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.jdbc.core.ConnectionCallback;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.jdbc.support.rowset.SqlRowSet;
 import org.springframework.stereotype.Service;
@@ -72,6 +76,8 @@ import org.springframework.util.Assert;
 public class JdbcRawAnalyticsManager implements RawAnalyticsManager {
   private static final String DIM_NAME_OU = "ou.path";
 
+  private static final int STREAM_FETCH_SIZE = 1000;
+
   private final SqlBuilder sqlBuilder;
 
   @Qualifier("analyticsReadOnlyJdbcTemplate")
@@ -85,21 +91,7 @@ public class JdbcRawAnalyticsManager implements RawAnalyticsManager {
   public Grid getRawDataValues(DataQueryParams params, Grid grid) {
     Assert.isTrue(params.hasStartEndDate(), "Start and end dates must be specified");
 
-    List<DimensionalObject> dimensions = new ArrayList<>();
-    dimensions.addAll(params.getDimensions());
-    dimensions.addAll(params.getOrgUnitLevelsAsDimensions());
-
-    if (params.isIncludePeriodStartEndDates()) {
-      dimensions.add(
-          new BaseDimensionalObject(
-              PERIOD_START_DATE_ID,
-              DimensionType.STATIC,
-              PERIOD_START_DATE_NAME,
-              new ArrayList<>()));
-      dimensions.add(
-          new BaseDimensionalObject(
-              PERIOD_END_DATE_ID, DimensionType.STATIC, PERIOD_END_DATE_NAME, List.of()));
-    }
+    List<DimensionalObject> dimensions = getDimensions(params);
 
     String sql = getSelectStatement(params, dimensions);
 
@@ -120,10 +112,82 @@ public class JdbcRawAnalyticsManager implements RawAnalyticsManager {
     return grid;
   }
 
+  @Override
+  public void streamRawDataValues(DataQueryParams params, Consumer<List<Object>> consumer) {
+    Assert.isTrue(params.hasStartEndDate(), "Start and end dates must be specified");
+
+    List<DimensionalObject> dimensions = getDimensions(params);
+
+    String sql = getSelectStatement(params, dimensions);
+
+    log.debug("Analytics raw data stream SQL: '{}'", sql);
+
+    jdbcTemplate.execute(
+        (ConnectionCallback<Void>)
+            connection -> {
+              // PostgreSQL only uses a cursor for the fetch size outside of auto-commit mode
+              boolean autoCommit = connection.getAutoCommit();
+              connection.setAutoCommit(false);
+
+              try (Statement statement =
+                  connection.createStatement(
+                      ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+                statement.setFetchSize(STREAM_FETCH_SIZE);
+
+                try (ResultSet resultSet = statement.executeQuery(sql)) {
+                  while (resultSet.next()) {
+                    List<Object> row = new ArrayList<>(dimensions.size() + 1);
+
+                    for (DimensionalObject dim : dimensions) {
+                      row.add(resultSet.getString(dim.getDimensionName()));
+                    }
+
+                    row.add(resultSet.getDouble("value"));
+                    consumer.accept(row);
+                  }
+                }
+              } finally {
+                if (autoCommit) {
+                  connection.rollback();
+                  connection.setAutoCommit(true);
+                }
+              }
+
+              return null;
+            });
+  }
+
   // -------------------------------------------------------------------------
   // Supportive methods
   // -------------------------------------------------------------------------
 
+  /**
+   * Returns the dimensions to select for the given query, including org unit levels and period
+   * start and end dates if requested.
+   *
+   * @param params the {@link DataQueryParams}.
+   * @return a list of {@link DimensionalObject}.
+   */
+  private List<DimensionalObject> getDimensions(DataQueryParams params) {
+    List<DimensionalObject> dimensions = new ArrayList<>();
+    dimensions.addAll(params.getDimensions());
+    dimensions.addAll(params.getOrgUnitLevelsAsDimensions());
+
+    if (params.isIncludePeriodStartEndDates()) {
+      dimensions.add(
+          new BaseDimensionalObject(
+              PERIOD_START_DATE_ID,
+              DimensionType.STATIC,
+              PERIOD_START_DATE_NAME,
+              new ArrayList<>()));
+      dimensions.add(
+          new BaseDimensionalObject(
+              PERIOD_END_DATE_ID, DimensionType.STATIC, PERIOD_END_DATE_NAME, List.of()));
+    }
+
+    return dimensions;
+  }
+
   /**
    * Returns a SQL select statement.
    *
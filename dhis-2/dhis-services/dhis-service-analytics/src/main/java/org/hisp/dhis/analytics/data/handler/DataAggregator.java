@@ -35,11 +35,14 @@ import static org.hisp.dhis.analytics.ProcessingHint.SINGLE_PROGRAM_INDICATOR_RE
 import static org.hisp.dhis.analytics.SortOrder.ASC;
 import static org.hisp.dhis.common.DimensionalObject.DATA_X_DIM_ID;
 
+import java.util.List;
+import java.util.Map;
 import javax.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import org.hisp.dhis.analytics.DataQueryParams;
 import org.hisp.dhis.common.DimensionalObject;
 import org.hisp.dhis.common.Grid;
+import org.hisp.dhis.system.grid.GridRowWriter;
 import org.hisp.dhis.system.grid.ListGrid;
 import org.springframework.stereotype.Component;
 
@@ -134,6 +137,44 @@ public class DataAggregator {
     return grid;
   }
 
+  /**
+   * Streams headers and raw data rows for the given query to the given writer, without retaining
+   * the rows in a grid. Meta data is not included.
+   *
+   * @param params the {@link DataQueryParams}.
+   * @param writer the {@link GridRowWriter}.
+   */
+  public void streamRawDataGrid(DataQueryParams params, GridRowWriter writer) {
+    Grid grid = new ListGrid();
+
+    params = dataHandler.prepareForRawDataQuery(params);
+
+    headerHandler.addHeaders(params, grid);
+
+    Map<String, String> idSchemeMap = metaDataHandler.getIdSchemeMap(params);
+    List<Integer> metaColumns = grid.getMetaColumnIndexes();
+
+    grid.substituteMetaData(idSchemeMap);
+
+    writer.writeHeaders(grid.getHeaders());
+
+    dataHandler.streamRawData(
+        params,
+        row -> {
+          for (int column : metaColumns) {
+            String value = idSchemeMap.get(row.get(column));
+
+            if (value != null) {
+              row.set(column, value);
+            }
+          }
+
+          writer.writeRow(row);
+        });
+
+    writer.close();
+  }
+
   /**
    * Performs pre-handling of the given query and returns the immutable, handled query. If the query
    * has a single indicator as item for the data filter, the filter is set as a dimension and
@@ -107,6 +107,7 @@ import static org.hisp.dhis.system.util.MathUtils.getWithin;
 import static org.hisp.dhis.system.util.MathUtils.isZero;
 import static org.hisp.dhis.util.ObjectUtils.firstNonNull;
 
+import com.google.common.collect.Lists;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
@@ -114,6 +115,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.Future;
+import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
@@ -129,6 +131,8 @@ import org.hisp.dhis.analytics.QueryPlanner;
 import org.hisp.dhis.analytics.QueryPlannerParams;
 import org.hisp.dhis.analytics.RawAnalyticsManager;
 import org.hisp.dhis.analytics.analyze.ExecutionPlanStore;
+import org.hisp.dhis.analytics.cache.QueryPlanCache;
+import org.hisp.dhis.analytics.data.AnalyticsQueryScheduler;
 import org.hisp.dhis.analytics.event.EventAnalyticsService;
 import org.hisp.dhis.analytics.event.EventQueryParams;
 import org.hisp.dhis.analytics.resolver.ExpressionResolver;
@@ -191,6 +195,10 @@ public class DataHandler {
 
   private final ExecutionPlanStore executionPlanStore;
 
+  private final QueryPlanCache queryPlanCache;
+
+  private final AnalyticsQueryScheduler queryScheduler;
+
   /**
    * Adds performance metrics.
    *
@@ -322,26 +330,36 @@ public class DataHandler {
 
     handleEmptyDimensionItemPermutations(dimensionItemPermutations);
 
-    for (Indicator indicator : indicators) {
-      for (List<DimensionItem> dimensionItems : dimensionItemPermutations) {
-        IndicatorValue value =
-            getIndicatorValue(
-                filterPeriods,
-                itemMap,
-                permutationOrgUnitTargetMap,
-                permutationDimensionItemValueMap,
-                indicator,
-                dimensionItems);
+    IndicatorValue[][] values = new IndicatorValue[dimensionItemPermutations.size()][];
+
+    for (int p = 0; p < dimensionItemPermutations.size(); p++) {
+      values[p] =
+          getIndicatorValues(
+              filterPeriods,
+              itemMap,
+              permutationOrgUnitTargetMap,
+              permutationDimensionItemValueMap,
+              indicators,
+              dimensionItemPermutations.get(p));
+    }
 
+    for (int i = 0; i < indicators.size(); i++) {
+      for (int p = 0; p < dimensionItemPermutations.size(); p++) {
         addIndicatorValuesToGrid(
-            dataQueryParams, grid, dataSourceParams, indicator, dimensionItems, value);
+            dataQueryParams,
+            grid,
+            dataSourceParams,
+            indicators.get(i),
+            dimensionItemPermutations.get(p),
+            values[p][i]);
       }
     }
   }
 
   /**
-   * Based on the given indicator plus additional parameters, this method will find the respective
-   * IndicatorValue.
+   * Based on the given indicators plus additional parameters, this method will find the respective
+   * IndicatorValues for a single dimension item permutation. The value map, periods and org unit
+   * counts of the permutation are resolved once and reused for every indicator.
    *
    * @param filterPeriods the filter periods. See {@link ConstantService#getConstantMap()}.
    * @param permutationOrgUnitTargetMap the org unit permutation map. See {@link
@@ -349,23 +367,25 @@ public class DataHandler {
    * @param itemMap Every dimensional item to process.
    * @param permutationDimensionItemValueMap the dimension item permutation map. See {@link
    *     #getPermutationDimensionItemValueMap(DataQueryParams, List<DimensionalItemObject>)}.
-   * @param indicator the input Indicator where the IndicatorValue will be based.
+   * @param indicators the input Indicators where the IndicatorValues will be based.
    * @param dimensionItems the dimensional items permutation map. See {@link
    *     DataQueryParams#getDimensionItemPermutations()}.
-   * @return the IndicatorValue
+   * @return the IndicatorValues, in the order of the given indicators.
    */
-  private IndicatorValue getIndicatorValue(
+  private IndicatorValue[] getIndicatorValues(
       List<Period> filterPeriods,
       Map<DimensionalItemId, DimensionalItemObject> itemMap,
       Map<String, Map<String, Integer>> permutationOrgUnitTargetMap,
       Map<String, List<DimensionItemObjectValue>> permutationDimensionItemValueMap,
-      Indicator indicator,
+      List<Indicator> indicators,
       List<DimensionItem> dimensionItems) {
     String permKey = asItemKey(dimensionItems);
 
     List<DimensionItemObjectValue> values =
         permutationDimensionItemValueMap.getOrDefault(permKey, new ArrayList<>());
 
+    Map<DimensionalItemObject, Object> valueMap = convertToDimItemValueMap(values);
+
     List<Period> periods =
         !filterPeriods.isEmpty() ? filterPeriods : List.of((Period) getPeriodItem(dimensionItems));
 
@@ -376,8 +396,15 @@ public class DataHandler {
     Map<String, Integer> orgUnitCountMap =
         permutationOrgUnitTargetMap != null ? permutationOrgUnitTargetMap.get(ou) : null;
 
-    return expressionService.getIndicatorValueObject(
-        indicator, periods, itemMap, convertToDimItemValueMap(values), orgUnitCountMap);
+    IndicatorValue[] indicatorValues = new IndicatorValue[indicators.size()];
+
+    for (int i = 0; i < indicators.size(); i++) {
+      indicatorValues[i] =
+          expressionService.getIndicatorValueObject(
+              indicators.get(i), periods, itemMap, valueMap, orgUnitCountMap);
+    }
+
+    return indicatorValues;
   }
 
   /**
@@ -553,6 +580,26 @@ public class DataHandler {
     }
   }
 
+  /**
+   * Streams raw data rows for the given data query parameters to the given consumer.
+   *
+   * @param params the {@link DataQueryParams}.
+   * @param consumer the consumer of rows.
+   */
+  @Transactional(readOnly = true)
+  public void streamRawData(DataQueryParams params, Consumer<List<Object>> consumer) {
+    if (!params.isSkipData()) {
+      QueryPlannerParams plannerParams =
+          QueryPlannerParams.newBuilder().withTableType(DATA_VALUE).build();
+
+      params = queryPlanner.withTableNameAndPartitions(params, plannerParams);
+
+      final DataQueryParams immutableParams = DataQueryParams.newBuilder(params).build();
+      withExceptionHandling(
+          () -> rawAnalyticsManager.streamRawDataValues(immutableParams, consumer));
+    }
+  }
+
   /**
    * Prepares the given data query parameters.
    *
@@ -1432,7 +1479,8 @@ public class DataHandler {
             .withQueryGroupers(queryGroupers)
             .build();
 
-    DataQueryGroups queryGroups = queryPlanner.planQuery(params, plannerParams);
+    DataQueryGroups queryGroups =
+        queryPlanCache.getOrPlan(params, plannerParams, queryPlanner::planQuery);
 
     timer.getSplitTime(
         "Planned analytics query, got: "
@@ -1452,7 +1500,8 @@ public class DataHandler {
   }
 
   /**
-   * Executes the given list of queries in parallel.
+   * Executes the given list of queries in parallel, in batches limited by the concurrency budget of
+   * the {@link AnalyticsQueryScheduler}.
    *
    * @param tableType the {@link AnalyticsTableType}.
    * @param maxLimit the max limit of records to retrieve.
@@ -1464,6 +1513,28 @@ public class DataHandler {
       int maxLimit,
       Map<String, Object> map,
       List<DataQueryParams> queries) {
+    int batchSize = queryScheduler.getMaxRequestConcurrency();
+
+    for (List<DataQueryParams> batch : Lists.partition(queries, batchSize)) {
+      try (AnalyticsQueryScheduler.Permit permit = queryScheduler.acquire(batch.size())) {
+        executeQueriesInParallel(tableType, maxLimit, map, batch);
+      }
+    }
+  }
+
+  /**
+   * Executes the given list of queries in parallel. Cancels the remaining queries if a query fails.
+   *
+   * @param tableType the {@link AnalyticsTableType}.
+   * @param maxLimit the max limit of records to retrieve.
+   * @param map the map of metadata identifiers to data values.
+   * @param queries the list of {@link DataQueryParams} to execute.
+   */
+  private void executeQueriesInParallel(
+      AnalyticsTableType tableType,
+      int maxLimit,
+      Map<String, Object> map,
+      List<DataQueryParams> queries) {
     List<Future<Map<String, Object>>> futures = new ArrayList<>();
 
     for (DataQueryParams query : queries) {
@@ -1478,6 +1549,12 @@ public class DataHandler {
           map.putAll(taskValues);
         }
       } catch (Exception ex) {
+        futures.forEach(f -> f.cancel(true));
+
+        if (ex instanceof InterruptedException) {
+          Thread.currentThread().interrupt();
+        }
+
         log.error(getStackTrace(ex));
         log.error(getStackTrace(ex.getCause()));
 
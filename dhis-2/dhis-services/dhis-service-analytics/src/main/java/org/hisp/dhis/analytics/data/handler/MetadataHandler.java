@@ -177,4 +177,17 @@ public class MetadataHandler {
       grid.substituteMetaData(schemeIdResponseMapper.getSchemeIdResponseMap(params));
     }
   }
+
+  /**
+   * Returns the mapping from identifiers to the identifier scheme meta data property indicated in
+   * the query, as applied by {@link #applyIdScheme(DataQueryParams, Grid)}.
+   *
+   * @param params the {@link DataQueryParams}.
+   * @return a mapping of identifiers, empty if no custom identifier scheme applies.
+   */
+  Map<String, String> getIdSchemeMap(DataQueryParams params) {
+    return !params.isSkipMeta() && params.hasCustomIdSchemeSet()
+        ? schemeIdResponseMapper.getSchemeIdResponseMap(params)
+        : Map.of();
+  }
 }
@@ -192,6 +192,9 @@ public class EventQueryParams extends DataQueryParams {
   /** Size of cluster in meter. */
   private Long clusterSize;
 
+  /** Percentage of analytics table rows to sample for approximate aggregate values. */
+  private Double samplePercentage;
+
   /**
    * The coordinate fields to use as basis for spatial event analytics. The list is built as
    * collection of coordinate field and fallback fields. The order defines priority of geometry
@@ -289,6 +292,7 @@ public class EventQueryParams extends DataQueryParams {
     params.geometryOnly = this.geometryOnly;
     params.aggregateData = this.aggregateData;
     params.clusterSize = this.clusterSize;
+    params.samplePercentage = this.samplePercentage;
     params.coordinateFields = this.coordinateFields;
     params.bbox = this.bbox;
     params.includeClusterPoints = this.includeClusterPoints;
@@ -408,6 +412,7 @@ public class EventQueryParams extends DataQueryParams {
         .addIgnoreNull("geometryOnly", geometryOnly)
         .addIgnoreNull("aggregateData", aggregateData)
         .addIgnoreNull("clusterSize", clusterSize)
+        .addIgnoreNull("samplePercentage", samplePercentage)
         .addIgnoreNull("coordinateFields", coordinateFields)
         .addIgnoreNull("bbox", bbox)
         .addIgnoreNull("includeClusterPoints", includeClusterPoints)
@@ -824,6 +829,10 @@ public class EventQueryParams extends DataQueryParams {
     return clusterSize != null;
   }
 
+  public boolean hasSamplePercentage() {
+    return samplePercentage != null;
+  }
+
   public boolean hasProgramStatus() {
     return isNotEmpty(programStatus);
   }
@@ -973,6 +982,10 @@ public class EventQueryParams extends DataQueryParams {
     return clusterSize;
   }
 
+  public Double getSamplePercentage() {
+    return samplePercentage;
+  }
+
   public List<String> getCoordinateFields() {
     return coordinateFields;
   }
@@ -1270,6 +1283,11 @@ public class EventQueryParams extends DataQueryParams {
       return this;
     }
 
+    public Builder withSamplePercentage(Double samplePercentage) {
+      this.params.samplePercentage = samplePercentage;
+      return this;
+    }
+
     public Builder withCoordinateFields(List<String> coordinateFields) {
       this.params.coordinateFields = coordinateFields;
       return this;
@@ -49,6 +49,15 @@ public interface EventQueryPlanner {
    */
   EventQueryParams planEventQuery(EventQueryParams params);
 
+  /**
+   * Plans the given event cluster parameters. Routes the query to a pre-aggregated cluster table
+   * when one with a suitable grid cell size exists and the query can be answered from it.
+   *
+   * @param params the event query parameters.
+   * @return an {@link EventQueryParams}.
+   */
+  EventQueryParams planEventClusterQuery(EventQueryParams params);
+
   /**
    * Plans the given parameters and returns a list of parameters.
    *
@@ -38,8 +38,10 @@ import static org.apache.commons.lang3.StringUtils.EMPTY;
 import static org.apache.commons.lang3.StringUtils.SPACE;
 import static org.apache.commons.lang3.StringUtils.isBlank;
 import static org.apache.commons.lang3.StringUtils.isEmpty;
+import static org.hisp.dhis.analytics.AggregationType.COUNT;
 import static org.hisp.dhis.analytics.AggregationType.CUSTOM;
 import static org.hisp.dhis.analytics.AggregationType.NONE;
+import static org.hisp.dhis.analytics.AggregationType.SUM;
 import static org.hisp.dhis.analytics.AnalyticsConstants.DATE_PERIOD_STRUCT_ALIAS;
 import static org.hisp.dhis.analytics.DataQueryParams.LEVEL_PREFIX;
 import static org.hisp.dhis.analytics.DataQueryParams.NUMERATOR_DENOMINATOR_PROPERTIES_COUNT;
@@ -424,6 +426,20 @@ public abstract class AbstractJdbcEventAnalyticsManager {
         && queryItem.hasRepeatableStageParams();
   }
 
+  /**
+   * Returns the analytics table column holding the precomputed values of the given program
+   * indicator, if such a column exists for the query. Values are otherwise computed with a
+   * sub-query.
+   *
+   * @param params the {@link EventQueryParams}.
+   * @param programIndicator the {@link ProgramIndicator}.
+   * @return the quoted column, or empty if the program indicator is not materialized.
+   */
+  protected Optional<String> getMaterializedProgramIndicatorColumn(
+      EventQueryParams params, ProgramIndicator programIndicator) {
+    return Optional.empty();
+  }
+
   private ColumnAndAlias getColumnAndAlias(
       QueryItem queryItem, EventQueryParams params, boolean isGroupByClause, boolean isAggregated) {
     if (queryItem.isProgramIndicator()) {
@@ -432,6 +448,15 @@ public abstract class AbstractJdbcEventAnalyticsManager {
       String asClause = in.getUid();
       String programIndicatorSubquery;
 
+      Optional<String> materializedColumn =
+          queryItem.hasRelationshipType()
+              ? Optional.empty()
+              : getMaterializedProgramIndicatorColumn(params, in);
+
+      if (materializedColumn.isPresent()) {
+        return ColumnAndAlias.ofColumnAndAlias(materializedColumn.get(), asClause);
+      }
+
       if (queryItem.hasRelationshipType()) {
         programIndicatorSubquery =
             programIndicatorSubqueryBuilder.getAggregateClauseForProgramIndicator(
@@ -537,6 +562,10 @@ public abstract class AbstractJdbcEventAnalyticsManager {
   public Grid getAggregatedEventData(EventQueryParams params, Grid grid, int maxLimit) {
     String aggregateClause = getAggregateClause(params);
 
+    if (isSampleScalable(params)) {
+      aggregateClause = getScaledAggregateClause(params, aggregateClause);
+    }
+
     String sql =
         TextUtils.removeLastComma(
             "select "
@@ -695,6 +724,88 @@ public abstract class AbstractJdbcEventAnalyticsManager {
     }
   }
 
+  /**
+   * Returns a table sample SQL clause to follow the analytics table in the from clause if the
+   * aggregate query has a sample percentage, otherwise an empty string. Uses the {@code bernoulli}
+   * method which samples each row independently, so that the error of sampled counts can be
+   * estimated from the number of sampled rows.
+   *
+   * @param params the {@link EventQueryParams}.
+   * @return a table sample SQL clause.
+   */
+  protected String getTableSampleClause(EventQueryParams params) {
+    return params.hasSamplePercentage() && !params.isComingFromQuery()
+        ? "tablesample bernoulli (" + params.getSamplePercentage() + ") "
+        : EMPTY;
+  }
+
+  /**
+   * Indicates whether the aggregate values of the given query are sampled and can be scaled up to
+   * estimate the value for the full table, which applies to counts and sums. Distinct counts of
+   * enrollments and tracked entities are not scaled, as the number of distinct values does not grow
+   * in proportion to the number of rows.
+   *
+   * @param params the {@link EventQueryParams}.
+   * @return true if aggregate values should be scaled.
+   */
+  public static boolean isSampleScalable(EventQueryParams params) {
+    if (!params.hasSamplePercentage()
+        || !params.isAggregation()
+        || params.getAggregationTypeFallback().isFirstOrLastPeriodAggregationType()
+        || isDistinctCount(params)) {
+      return false;
+    }
+
+    AggregationType aggregationType = params.getAggregationTypeFallback().getAggregationType();
+
+    return isSampledCount(params) || aggregationType == SUM || aggregationType == COUNT;
+  }
+
+  /**
+   * Indicates whether the given query counts sampled events.
+   *
+   * @param params the {@link EventQueryParams}.
+   * @return true if the query counts sampled rows.
+   */
+  public static boolean isSampledCount(EventQueryParams params) {
+    return params.hasSamplePercentage()
+        && !params.hasValueDimension()
+        && !params.hasProgramIndicatorDimension()
+        && !isDistinctCount(params);
+  }
+
+  /**
+   * Indicates whether the given query counts distinct enrollments or tracked entities, see {@link
+   * #getAggregateClause(EventQueryParams)}.
+   *
+   * @param params the {@link EventQueryParams}.
+   * @return true if the query counts distinct enrollments or tracked entities.
+   */
+  private static boolean isDistinctCount(EventQueryParams params) {
+    EventOutputType outputType = params.getOutputType();
+
+    return !params.hasValueDimension()
+        && !params.hasProgramIndicatorDimension()
+        && (EventOutputType.ENROLLMENT == outputType
+            || (EventOutputType.TRACKED_ENTITY_INSTANCE == outputType
+                && params.isProgramRegistration()));
+  }
+
+  /**
+   * Returns the given aggregate clause scaled up by the inverse of the sample fraction. Counts are
+   * rounded to whole numbers.
+   *
+   * @param params the {@link EventQueryParams}.
+   * @param aggregateClause the aggregate clause.
+   * @return the scaled aggregate clause.
+   */
+  private String getScaledAggregateClause(EventQueryParams params, String aggregateClause) {
+    double factor = 100d / params.getSamplePercentage();
+    String scaled = "(" + aggregateClause + " * " + factor + ")";
+
+    return isSampledCount(params) ? "round" + scaled : scaled;
+  }
+
   /**
    * Returns the aggregate clause based on value dimension and output type.
    *
@@ -30,6 +30,7 @@ package org.hisp.dhis.analytics.event.data;
 import static com.google.common.base.Preconditions.checkNotNull;
 import static org.hisp.dhis.analytics.AnalyticsMetaDataKey.DIMENSIONS;
 import static org.hisp.dhis.analytics.AnalyticsMetaDataKey.ITEMS;
+import static org.hisp.dhis.analytics.AnalyticsMetaDataKey.SAMPLING;
 import static org.hisp.dhis.analytics.DataQueryParams.DENOMINATOR_HEADER_NAME;
 import static org.hisp.dhis.analytics.DataQueryParams.DENOMINATOR_ID;
 import static org.hisp.dhis.analytics.DataQueryParams.DIVISOR_HEADER_NAME;
@@ -118,6 +119,7 @@ import org.hisp.dhis.legend.Legend;
 import org.hisp.dhis.option.Option;
 import org.hisp.dhis.system.database.DatabaseInfoProvider;
 import org.hisp.dhis.system.grid.ListGrid;
+import org.hisp.dhis.system.util.MathUtils;
 import org.hisp.dhis.trackedentity.TrackedEntityAttributeService;
 import org.hisp.dhis.user.UserService;
 import org.hisp.dhis.util.Timer;
@@ -602,9 +604,48 @@ public class DefaultEventAnalyticsService extends AbstractAnalyticsService
 
     addMetadata(params, grid);
 
+    if (params.hasSamplePercentage()) {
+      grid.addMetaData(SAMPLING.getKey(), getSamplingMetadata(params, grid));
+    }
+
     return grid;
   }
 
+  /**
+   * Returns metadata describing the sample of an approximate query. For event counts, includes the
+   * largest relative standard error of the values in the grid, estimated from the number of sampled
+   * rows, as rows are sampled independently.
+   *
+   * @param params the {@link EventQueryParams}.
+   * @param grid the {@link Grid}.
+   * @return a map of sampling metadata.
+   */
+  private Map<String, Object> getSamplingMetadata(EventQueryParams params, Grid grid) {
+    Map<String, Object> sampling = new LinkedHashMap<>();
+    sampling.put("percentage", params.getSamplePercentage());
+    sampling.put("scaled", AbstractJdbcEventAnalyticsManager.isSampleScalable(params));
+
+    int valueIndex = grid.getIndexOfHeader(VALUE_ID);
+
+    if (AbstractJdbcEventAnalyticsManager.isSampledCount(params) && valueIndex >= 0) {
+      double fraction = params.getSamplePercentage() / 100d;
+
+      grid.getRows().stream()
+          .map(row -> row.get(valueIndex))
+          .filter(Number.class::isInstance)
+          .mapToDouble(value -> ((Number) value).doubleValue() * fraction)
+          .filter(sampled -> sampled > 0)
+          .min()
+          .ifPresent(
+              sampled ->
+                  sampling.put(
+                      "maxRelativeStandardError",
+                      MathUtils.getRounded(Math.sqrt((1 - fraction) / sampled))));
+    }
+
+    return sampling;
+  }
+
   // -------------------------------------------------------------------------
   // Query
   // -------------------------------------------------------------------------
@@ -653,7 +694,7 @@ public class DefaultEventAnalyticsService extends AbstractAnalyticsService
     // Data
     // ---------------------------------------------------------------------
 
-    params = queryPlanner.planEventQuery(params);
+    params = queryPlanner.planEventClusterQuery(params);
 
     eventAnalyticsManager.getEventClusters(params, grid, queryValidator.getMaxLimit());
 
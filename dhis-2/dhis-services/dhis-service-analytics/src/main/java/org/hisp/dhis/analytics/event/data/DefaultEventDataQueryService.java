@@ -180,6 +180,7 @@ public class DefaultEventDataQueryService implements EventDataQueryService {
         params
             .withValue(getValueDimension(request.getValue()))
             .withSkipRounding(request.isSkipRounding())
+            .withSamplePercentage(request.getSamplePercentage())
             .withShowHierarchy(request.isShowHierarchy())
             .withSortOrder(request.getSortOrder())
             .withLimit(request.getLimit())
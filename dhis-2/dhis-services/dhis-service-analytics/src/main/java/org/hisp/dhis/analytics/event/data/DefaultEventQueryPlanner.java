@@ -28,28 +28,39 @@
 package org.hisp.dhis.analytics.event.data;
 
 import static org.hisp.dhis.analytics.AnalyticsAggregationType.fromAggregationType;
+import static org.hisp.dhis.common.DimensionalObject.PERIOD_DIM_ID;
 
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.Lists;
 import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Objects;
+import java.util.Set;
 import java.util.function.Function;
 import lombok.RequiredArgsConstructor;
+import org.apache.commons.lang3.StringUtils;
 import org.hisp.dhis.analytics.AggregationType;
 import org.hisp.dhis.analytics.AnalyticsAggregationType;
 import org.hisp.dhis.analytics.AnalyticsTableType;
+import org.hisp.dhis.analytics.EventOutputType;
 import org.hisp.dhis.analytics.OrgUnitField;
+import org.hisp.dhis.analytics.OrgUnitFieldType;
 import org.hisp.dhis.analytics.QueryPlanner;
 import org.hisp.dhis.analytics.data.QueryPlannerUtils;
 import org.hisp.dhis.analytics.event.EventQueryParams;
 import org.hisp.dhis.analytics.event.EventQueryPlanner;
 import org.hisp.dhis.analytics.partition.PartitionManager;
+import org.hisp.dhis.analytics.table.model.AnalyticsClusterTable;
 import org.hisp.dhis.analytics.table.model.AnalyticsTable;
 import org.hisp.dhis.analytics.table.model.Partitions;
 import org.hisp.dhis.analytics.table.util.PartitionUtils;
+import org.hisp.dhis.common.DimensionType;
 import org.hisp.dhis.common.DimensionalItemObject;
+import org.hisp.dhis.common.FallbackCoordinateFieldType;
 import org.hisp.dhis.common.QueryItem;
 import org.hisp.dhis.period.Period;
+import org.hisp.dhis.period.PeriodTypeEnum;
 import org.hisp.dhis.program.ProgramIndicator;
 import org.hisp.dhis.util.ObjectUtils;
 import org.springframework.stereotype.Service;
@@ -60,6 +71,19 @@ import org.springframework.stereotype.Service;
 @Service("org.hisp.dhis.analytics.event.EventQueryPlanner")
 @RequiredArgsConstructor
 public class DefaultEventQueryPlanner implements EventQueryPlanner {
+  /**
+   * Minimum ratio of cluster size to the grid cell size of the cluster table used to answer a
+   * cluster query. Clusters are regrouped from cells, so the cell size bounds the deviation of the
+   * cluster boundaries from clustering the events directly.
+   */
+  static final long CLUSTER_RESOLUTION_FACTOR = 10;
+
+  private static final Set<DimensionType> CLUSTER_TABLE_EXCLUDED_DIMENSION_TYPES =
+      Set.of(
+          DimensionType.CATEGORY,
+          DimensionType.CATEGORY_OPTION_GROUP_SET,
+          DimensionType.ORGANISATION_UNIT_GROUP_SET);
+
   private final QueryPlanner queryPlanner;
 
   private final PartitionManager partitionManager;
@@ -95,6 +119,11 @@ public class DefaultEventQueryPlanner implements EventQueryPlanner {
     return withTableNameAndPartitions(params);
   }
 
+  @Override
+  public EventQueryParams planEventClusterQuery(EventQueryParams params) {
+    return withClusterTable(withTableNameAndPartitions(params));
+  }
+
   @Override
   public EventQueryParams planEnrollmentQuery(EventQueryParams params) {
     return new EventQueryParams.Builder(params)
@@ -136,6 +165,93 @@ public class DefaultEventQueryPlanner implements EventQueryPlanner {
         .build();
   }
 
+  /**
+   * Sets the name of the pre-aggregated cluster table with the largest grid cell size of at most
+   * the cluster size divided by {@link #CLUSTER_RESOLUTION_FACTOR} on the given query, if the query
+   * is eligible for cluster tables and such a table exists.
+   *
+   * @param params the event query parameters.
+   * @return a {@link EventQueryParams}.
+   */
+  private EventQueryParams withClusterTable(EventQueryParams params) {
+    if (!isClusterTableEligible(params)) {
+      return params;
+    }
+
+    String program = params.getProgram().getUid().toLowerCase();
+    long maxResolution = params.getClusterSize() / CLUSTER_RESOLUTION_FACTOR;
+
+    return partitionManager.getAnalyticsPartitions(AnalyticsTableType.EVENT).stream()
+        .map(AnalyticsClusterTable::fromTableName)
+        .filter(Objects::nonNull)
+        .filter(table -> table.getProgram().equals(program))
+        .filter(table -> table.getResolution() <= maxResolution)
+        .max(Comparator.comparingInt(AnalyticsClusterTable::getResolution))
+        .map(
+            table ->
+                new EventQueryParams.Builder(params).withTableName(table.getTableName()).build())
+        .orElse(params);
+  }
+
+  /**
+   * Indicates whether the given cluster query can be answered from a cluster table, which holds
+   * the event geometry, date, yearly period and org unit hierarchy only. Periods are only supported
+   * as start and end dates or as yearly periods, as the cluster table has no other period columns.
+   *
+   * @param params the event query parameters.
+   * @return true if the query can use a cluster table.
+   */
+  static boolean isClusterTableEligible(EventQueryParams params) {
+    return params.hasClusterSize()
+        && params.getProgram() != null
+        && !params.isIncludeClusterPoints()
+        && params.getItems().isEmpty()
+        && params.getItemFilters().isEmpty()
+        && !params.hasProgramStage()
+        && !params.hasProgramIndicatorDimension()
+        && !params.hasProgramStatus()
+        && !params.hasEventStatus()
+        && !params.isCompletedOnly()
+        && !params.hasNonDefaultBoundaries()
+        && !params.hasTimeField()
+        && !params.hasTimeDateRanges()
+        && params.getOutputType() != EventOutputType.ENROLLMENT
+        && params.getOrgUnitField().getType() == OrgUnitFieldType.DEFAULT
+        && !params.getAggregationTypeFallback().isFirstOrLastPeriodAggregationType()
+        && params.getDimensionsAndFilters(CLUSTER_TABLE_EXCLUDED_DIMENSION_TYPES).isEmpty()
+        && isDefaultCoordinateField(params.getCoordinateFields())
+        && (params.useStartEndDates() || isYearlyPeriods(params));
+  }
+
+  /**
+   * Indicates whether all periods of the given query are yearly periods.
+   *
+   * @param params the event query parameters.
+   * @return true if all periods are yearly periods.
+   */
+  private static boolean isYearlyPeriods(EventQueryParams params) {
+    return params.getAllDimensionOrFilterItems(PERIOD_DIM_ID).stream()
+        .allMatch(
+            item ->
+                item instanceof Period period
+                    && PeriodTypeEnum.YEARLY == period.getPeriodType().getPeriodTypeEnum());
+  }
+
+  /**
+   * Indicates whether the given coordinate fields resolve to the event geometry.
+   *
+   * @param coordinateFields the coordinate fields.
+   * @return true if the coordinate fields resolve to the event geometry.
+   */
+  private static boolean isDefaultCoordinateField(List<String> coordinateFields) {
+    return coordinateFields == null
+        || coordinateFields.stream()
+            .allMatch(
+                field ->
+                    StringUtils.isBlank(field)
+                        || FallbackCoordinateFieldType.PSI_GEOMETRY.getValue().equals(field));
+  }
+
   /**
    * Sets table name and partition on each query in the given list.
    *
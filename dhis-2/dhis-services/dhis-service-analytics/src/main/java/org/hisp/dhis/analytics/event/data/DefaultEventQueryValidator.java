@@ -133,6 +133,10 @@ public class DefaultEventQueryValidator implements EventQueryValidator {
     if ((params.hasBbox() || params.hasClusterSize()) && params.getCoordinateFields() == null) {
       return new ErrorMessage(ErrorCode.E7214);
     }
+    if (params.hasSamplePercentage()
+        && !(params.getSamplePercentage() > 0 && params.getSamplePercentage() <= 100)) {
+      return new ErrorMessage(ErrorCode.E7239, params.getSamplePercentage());
+    }
 
     for (QueryItem item : params.getItemsAndItemFilters()) {
       if (item.hasLegendSet() && item.hasOptionSet()) {
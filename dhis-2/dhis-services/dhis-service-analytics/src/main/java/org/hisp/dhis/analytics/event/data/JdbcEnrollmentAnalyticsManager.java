@@ -32,6 +32,7 @@ import static org.apache.commons.lang3.StringUtils.EMPTY;
 import static org.hisp.dhis.analytics.AnalyticsConstants.ANALYTICS_TBL_ALIAS;
 import static org.hisp.dhis.analytics.DataType.BOOLEAN;
 import static org.hisp.dhis.analytics.event.data.OrgUnitTableJoiner.joinOrgUnitTables;
+import static org.hisp.dhis.analytics.table.JdbcEnrollmentAnalyticsTableManager.getProgramIndicatorColumnName;
 import static org.hisp.dhis.analytics.util.AnalyticsUtils.withExceptionHandling;
 import static org.hisp.dhis.common.DataDimensionType.ATTRIBUTE;
 import static org.hisp.dhis.common.DimensionItemType.DATA_ELEMENT;
@@ -51,9 +52,11 @@ import java.util.Optional;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.StringUtils;
 import org.hisp.dhis.analytics.analyze.ExecutionPlanStore;
+import org.hisp.dhis.analytics.cache.TableColumnCache;
 import org.hisp.dhis.analytics.common.ProgramIndicatorSubqueryBuilder;
 import org.hisp.dhis.analytics.event.EnrollmentAnalyticsManager;
 import org.hisp.dhis.analytics.event.EventQueryParams;
+import org.hisp.dhis.analytics.table.setting.AnalyticsTableSettings;
 import org.hisp.dhis.category.CategoryOption;
 import org.hisp.dhis.common.DimensionItemType;
 import org.hisp.dhis.common.DimensionType;
@@ -72,6 +75,7 @@ import org.hisp.dhis.db.sql.SqlBuilder;
 import org.hisp.dhis.event.EventStatus;
 import org.hisp.dhis.organisationunit.OrganisationUnit;
 import org.hisp.dhis.program.AnalyticsType;
+import org.hisp.dhis.program.ProgramIndicator;
 import org.hisp.dhis.program.ProgramIndicatorService;
 import org.locationtech.jts.util.Assert;
 import org.springframework.beans.factory.annotation.Qualifier;
@@ -89,6 +93,10 @@ public class JdbcEnrollmentAnalyticsManager extends AbstractJdbcEventAnalyticsMa
     implements EnrollmentAnalyticsManager {
   private final EnrollmentTimeFieldSqlRenderer timeFieldSqlRenderer;
 
+  private final TableColumnCache tableColumnCache;
+
+  private final AnalyticsTableSettings analyticsTableSettings;
+
   private static final String ANALYTICS_EVENT = "analytics_event_";
 
   private static final String DIRECTION_PLACEHOLDER = "#DIRECTION_PLACEHOLDER";
@@ -124,7 +132,9 @@ public class JdbcEnrollmentAnalyticsManager extends AbstractJdbcEventAnalyticsMa
       ProgramIndicatorSubqueryBuilder programIndicatorSubqueryBuilder,
       EnrollmentTimeFieldSqlRenderer timeFieldSqlRenderer,
       ExecutionPlanStore executionPlanStore,
-      SqlBuilder sqlBuilder) {
+      SqlBuilder sqlBuilder,
+      TableColumnCache tableColumnCache,
+      AnalyticsTableSettings analyticsTableSettings) {
     super(
         jdbcTemplate,
         programIndicatorService,
@@ -132,6 +142,8 @@ public class JdbcEnrollmentAnalyticsManager extends AbstractJdbcEventAnalyticsMa
         executionPlanStore,
         sqlBuilder);
     this.timeFieldSqlRenderer = timeFieldSqlRenderer;
+    this.tableColumnCache = tableColumnCache;
+    this.analyticsTableSettings = analyticsTableSettings;
   }
 
   @Override
@@ -318,6 +330,7 @@ public class JdbcEnrollmentAnalyticsManager extends AbstractJdbcEventAnalyticsMa
         + " as "
         + ANALYTICS_TBL_ALIAS
         + " "
+        + getTableSampleClause(params)
         + joinOrgUnitTables(params, getAnalyticsType());
   }
 
@@ -751,6 +764,23 @@ public class JdbcEnrollmentAnalyticsManager extends AbstractJdbcEventAnalyticsMa
         "Can not query item with program stage but no program:" + item.getItemName());
   }
 
+  @Override
+  protected Optional<String> getMaterializedProgramIndicatorColumn(
+      EventQueryParams params, ProgramIndicator programIndicator) {
+    if (StringUtils.isBlank(params.getTableName())
+        || !analyticsTableSettings
+            .getMaterializedProgramIndicators()
+            .contains(programIndicator.getUid())) {
+      return Optional.empty();
+    }
+
+    String column = getProgramIndicatorColumnName(programIndicator);
+
+    return tableColumnCache.getColumns(params.getTableName()).contains(column)
+        ? Optional.of(quoteAlias(column))
+        : Optional.empty();
+  }
+
   @Override
   protected AnalyticsType getAnalyticsType() {
     return AnalyticsType.ENROLLMENT;
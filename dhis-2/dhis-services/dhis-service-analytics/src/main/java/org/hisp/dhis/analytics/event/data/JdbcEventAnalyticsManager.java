@@ -66,6 +66,7 @@ import org.hisp.dhis.analytics.analyze.ExecutionPlanStore;
 import org.hisp.dhis.analytics.common.ProgramIndicatorSubqueryBuilder;
 import org.hisp.dhis.analytics.event.EventAnalyticsManager;
 import org.hisp.dhis.analytics.event.EventQueryParams;
+import org.hisp.dhis.analytics.table.model.AnalyticsClusterTable;
 import org.hisp.dhis.common.DimensionType;
 import org.hisp.dhis.common.DimensionalItemObject;
 import org.hisp.dhis.common.DimensionalObject;
@@ -183,6 +184,34 @@ public class JdbcEventAnalyticsManager extends AbstractJdbcEventAnalyticsManager
 
   @Override
   public Grid getEventClusters(EventQueryParams params, Grid grid, int maxLimit) {
+    String sql =
+        AnalyticsClusterTable.fromTableName(params.getTableName()) != null
+            ? getClusterTableSql(params)
+            : getEventClusterSql(params);
+
+    log.debug("Analytics event cluster SQL: '{}'", sql);
+
+    SqlRowSet rowSet = queryForRows(sql);
+
+    while (rowSet.next()) {
+      grid.addRow()
+          .addValue(rowSet.getLong("count"))
+          .addValue(rowSet.getString("center"))
+          .addValue(rowSet.getString("extent"))
+          .addValue(rowSet.getString("points"));
+    }
+
+    return grid;
+  }
+
+  /**
+   * Returns the SQL for clustering the events of the given query directly from the event analytics
+   * table.
+   *
+   * @param params the {@link EventQueryParams}.
+   * @return the SQL statement.
+   */
+  private String getEventClusterSql(EventQueryParams params) {
     List<String> clusterFields = params.getCoordinateFields();
     String sqlClusterFields =
         getCoalesce(clusterFields, FallbackCoordinateFieldType.PSI_GEOMETRY.getValue());
@@ -216,19 +245,32 @@ public class JdbcEventAnalyticsManager extends AbstractJdbcEventAnalyticsManager
             + params.getClusterSize()
             + ") ";
 
-    log.debug("Analytics event cluster SQL: '{}'", sql);
+    return sql;
+  }
 
-    SqlRowSet rowSet = queryForRows(sql);
+  /**
+   * Returns the SQL for clustering the events of the given query from the pre-aggregated cluster
+   * table set as table name of the query. The grid cells of the cluster table are regrouped by the
+   * cluster size, and the center of a cluster is the mean of the event coordinates.
+   *
+   * @param params the {@link EventQueryParams}.
+   * @return the SQL statement.
+   */
+  private String getClusterTableSql(EventQueryParams params) {
+    String sql =
+        """
+        select sum(eventcount) as count, ST_Extent(psigeometry) as extent, \
+        ST_AsGeoJSON(ST_SetSRID(ST_MakePoint(sum(sumx) / sum(eventcount), \
+        sum(sumy) / sum(eventcount)), 4326), 6) as center, \
+        case when sum(eventcount) = 1 then max(psi) end as points\s""";
 
-    while (rowSet.next()) {
-      grid.addRow()
-          .addValue(rowSet.getLong("count"))
-          .addValue(rowSet.getString("center"))
-          .addValue(rowSet.getString("extent"))
-          .addValue(rowSet.getString("points"));
-    }
+    sql += getFromClause(params);
 
-    return grid;
+    sql += getWhereClause(params);
+
+    sql += "group by ST_SnapToGrid(cell, " + params.getClusterSize() + ") ";
+
+    return sql;
   }
 
   @Override
@@ -362,13 +404,12 @@ public class JdbcEventAnalyticsManager extends AbstractJdbcEventAnalyticsManager
     String sql = " from ";
 
     if (params.getAggregationTypeFallback().isFirstOrLastPeriodAggregationType()) {
-      sql += getFirstOrLastValueSubquerySql(params);
+      sql += getFirstOrLastValueSubquerySql(params) + " as " + ANALYTICS_TBL_ALIAS + " ";
     } else {
-      sql += params.getTableName();
+      sql += params.getTableName() + " as " + ANALYTICS_TBL_ALIAS + " ";
+      sql += getTableSampleClause(params);
     }
 
-    sql += " as " + ANALYTICS_TBL_ALIAS + " ";
-
     if (params.hasTimeField()) {
       String joinCol = quoteAlias(params.getTimeFieldAsField());
       sql +=
@@ -34,6 +34,7 @@ import static org.hisp.dhis.analytics.DataType.NUMERIC;
 import com.google.common.base.Strings;
 import java.util.Date;
 import java.util.Map;
+import java.util.Optional;
 import lombok.RequiredArgsConstructor;
 import org.hisp.dhis.analytics.AggregationType;
 import org.hisp.dhis.analytics.AnalyticsTableType;
@@ -45,6 +46,7 @@ import org.hisp.dhis.program.AnalyticsType;
 import org.hisp.dhis.program.ProgramIndicator;
 import org.hisp.dhis.program.ProgramIndicatorService;
 import org.hisp.dhis.relationship.RelationshipType;
+import org.hisp.dhis.util.DateUtils;
 import org.springframework.stereotype.Component;
 
 @Component
@@ -57,6 +59,18 @@ public class DefaultProgramIndicatorSubqueryBuilder implements ProgramIndicatorS
 
   private static final String SUBQUERY_TABLE_ALIAS = "subax";
 
+  /**
+   * Two distinct reporting periods used to detect whether the sub-query of a program indicator
+   * depends on the reporting period.
+   */
+  private static final Date PROBE_START_DATE_A = DateUtils.parseDate("2000-01-01");
+
+  private static final Date PROBE_END_DATE_A = DateUtils.parseDate("2000-12-31");
+
+  private static final Date PROBE_START_DATE_B = DateUtils.parseDate("2010-03-01");
+
+  private static final Date PROBE_END_DATE_B = DateUtils.parseDate("2010-05-31");
+
   private final ProgramIndicatorService programIndicatorService;
 
   @Override
@@ -77,6 +91,23 @@ public class DefaultProgramIndicatorSubqueryBuilder implements ProgramIndicatorS
         programIndicator, relationshipType, outerSqlEntity, earliestStartDate, latestDate);
   }
 
+  @Override
+  public Optional<String> getMaterializableClauseForProgramIndicator(
+      ProgramIndicator programIndicator) {
+    if (AnalyticsType.EVENT != programIndicator.getAnalyticsType()) {
+      return Optional.empty();
+    }
+
+    String sql =
+        getAggregateClauseForProgramIndicator(
+            programIndicator, AnalyticsType.ENROLLMENT, PROBE_START_DATE_A, PROBE_END_DATE_A);
+    String otherSql =
+        getAggregateClauseForProgramIndicator(
+            programIndicator, AnalyticsType.ENROLLMENT, PROBE_START_DATE_B, PROBE_END_DATE_B);
+
+    return sql.equals(otherSql) ? Optional.of(sql) : Optional.empty();
+  }
+
   /**
    * Generate a subquery based on the result of a Program Indicator and an (optional) Relationship
    * Type
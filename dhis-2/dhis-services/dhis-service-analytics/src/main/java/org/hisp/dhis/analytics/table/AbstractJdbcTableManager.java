@@ -274,6 +274,13 @@ public abstract class AbstractJdbcTableManager implements AnalyticsTableManager
     executeSilently(sqlBuilder.analyzeTable(table));
   }
 
+  @Override
+  public long getRowEstimate(AnalyticsTablePartition partition) {
+    String sql = sqlBuilder.estimateRows(partition.getMainName());
+    List<Long> estimates = jdbcTemplate.queryForList(sql, Long.class);
+    return estimates.isEmpty() || estimates.get(0) == null ? 0L : Math.max(estimates.get(0), 0L);
+  }
+
   @Override
   public int invokeAnalyticsTableSqlHooks() {
     AnalyticsTableType type = getAnalyticsTableType();
@@ -313,7 +320,7 @@ public abstract class AbstractJdbcTableManager implements AnalyticsTableManager
    * @param name the table name.
    * @return true if a table with the given name exists.
    */
-  private boolean tableExists(String name) {
+  protected boolean tableExists(String name) {
     return !jdbcTemplate.queryForList(sqlBuilder.tableExists(name)).isEmpty();
   }
 
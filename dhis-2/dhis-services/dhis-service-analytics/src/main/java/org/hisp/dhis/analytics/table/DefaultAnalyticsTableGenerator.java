@@ -45,6 +45,8 @@ import org.hisp.dhis.analytics.AnalyticsTableType;
 import org.hisp.dhis.analytics.AnalyticsTableUpdateParams;
 import org.hisp.dhis.analytics.cache.AnalyticsCache;
 import org.hisp.dhis.analytics.cache.OutliersCache;
+import org.hisp.dhis.analytics.cache.QueryPlanCache;
+import org.hisp.dhis.analytics.cache.TableColumnCache;
 import org.hisp.dhis.resourcetable.ResourceTableService;
 import org.hisp.dhis.scheduling.JobProgress;
 import org.hisp.dhis.setting.SettingKey;
@@ -69,6 +71,10 @@ public class DefaultAnalyticsTableGenerator implements AnalyticsTableGenerator {
 
   private final OutliersCache outliersCache;
 
+  private final QueryPlanCache queryPlanCache;
+
+  private final TableColumnCache tableColumnCache;
+
   // TODO introduce last successful timestamps per table type
 
   @Override
@@ -114,6 +120,8 @@ public class DefaultAnalyticsTableGenerator implements AnalyticsTableGenerator {
     progress.startingStage("Invalidate analytics caches", SKIP_STAGE);
     progress.runStage(analyticsCache::invalidateAll);
     progress.runStage(outliersCache::invalidateAll);
+    progress.runStage(queryPlanCache::invalidateAll);
+    progress.runStage(tableColumnCache::invalidateAll);
     progress.completedProcess("Analytics tables updated: {}", clock.time());
   }
 
@@ -33,14 +33,20 @@ import static org.hisp.dhis.scheduling.JobProgress.FailurePolicy.SKIP_STAGE;
 import static org.hisp.dhis.util.DateUtils.toLongDate;
 
 import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.hisp.dhis.analytics.AnalyticsTableManager;
 import org.hisp.dhis.analytics.AnalyticsTableService;
 import org.hisp.dhis.analytics.AnalyticsTableType;
 import org.hisp.dhis.analytics.AnalyticsTableUpdateParams;
+import org.hisp.dhis.analytics.table.model.AnalyticsClusterTable;
+import org.hisp.dhis.analytics.table.model.AnalyticsRollup;
 import org.hisp.dhis.analytics.table.model.AnalyticsTable;
 import org.hisp.dhis.analytics.table.model.AnalyticsTablePartition;
 import org.hisp.dhis.common.IdentifiableObjectUtils;
@@ -74,6 +80,9 @@ public class DefaultAnalyticsTableService implements AnalyticsTableService {
 
   private final SqlBuilder sqlBuilder;
 
+  /** Milliseconds spent populating each partition in the previous table update. */
+  private final Map<String, Long> populateTimings = new ConcurrentHashMap<>();
+
   @Override
   public AnalyticsTableType getAnalyticsTableType() {
     return tableManager.getAnalyticsTableType();
@@ -174,6 +183,30 @@ public class DefaultAnalyticsTableService implements AnalyticsTableService {
 
     swapTables(params, tables, progress);
 
+    List<AnalyticsRollup> rollups = tableManager.getRollups();
+
+    if (!rollups.isEmpty()) {
+      progress.startingStage(
+          "Creating " + rollups.size() + " rollup tables " + tableType,
+          rollups.size(),
+          SKIP_ITEM_OUTLIER);
+      createRollupTables(rollups, progress);
+      clock.logTime("Created rollup tables");
+    }
+
+    tableManager.dropObsoleteRollupTables();
+
+    List<AnalyticsClusterTable> clusterTables = tableManager.getClusterTables(tables);
+
+    if (!clusterTables.isEmpty()) {
+      progress.startingStage(
+          "Creating " + clusterTables.size() + " cluster tables " + tableType,
+          clusterTables.size(),
+          SKIP_ITEM_OUTLIER);
+      createClusterTables(clusterTables, progress);
+      clock.logTime("Created cluster tables");
+    }
+
     clock.logTime("Table update done: '{}'", tableType.getTableName());
   }
 
@@ -236,9 +269,50 @@ public class DefaultAnalyticsTableService implements AnalyticsTableService {
 
     progress.runStageInParallel(
         parallelism,
-        partitions,
+        getPartitionsByCost(partitions),
         AnalyticsTablePartition::getName,
-        partition -> tableManager.populateTable(params, partition));
+        partition -> populateTable(params, partition));
+  }
+
+  /**
+   * Populates the given partition and records the time spent.
+   *
+   * @param params the {@link AnalyticsTableUpdateParams}.
+   * @param partition the {@link AnalyticsTablePartition}.
+   */
+  private void populateTable(AnalyticsTableUpdateParams params, AnalyticsTablePartition partition) {
+    long start = System.currentTimeMillis();
+    tableManager.populateTable(params, partition);
+    populateTimings.put(partition.getName(), System.currentTimeMillis() - start);
+  }
+
+  /**
+   * Returns the given partitions ordered by descending cost, so that the largest partitions are
+   * started first and do not end up dominating the total time when started last. The cost is the
+   * time spent in the previous table update if known for all partitions, otherwise the estimated
+   * number of rows.
+   *
+   * @param partitions the list of {@link AnalyticsTablePartition}.
+   * @return a list of {@link AnalyticsTablePartition}.
+   */
+  List<AnalyticsTablePartition> getPartitionsByCost(List<AnalyticsTablePartition> partitions) {
+    boolean timed = partitions.stream().allMatch(p -> populateTimings.containsKey(p.getName()));
+
+    Map<String, Long> costs = new HashMap<>();
+
+    for (AnalyticsTablePartition partition : partitions) {
+      long cost =
+          timed ? populateTimings.get(partition.getName()) : tableManager.getRowEstimate(partition);
+      costs.put(partition.getName(), cost);
+    }
+
+    log.info("Partition cost by {}: {}", timed ? "previous timings" : "row estimates", costs);
+
+    return partitions.stream()
+        .sorted(
+            Comparator.comparingLong((AnalyticsTablePartition p) -> costs.get(p.getName()))
+                .reversed())
+        .toList();
   }
 
   /**
@@ -311,6 +385,32 @@ public class DefaultAnalyticsTableService implements AnalyticsTableService {
         getParallelJobs(), tables, Table::getName, tableManager::analyzeTable);
   }
 
+  /**
+   * Creates the given rollup tables from the swapped analytics tables.
+   *
+   * @param rollups the list of {@link AnalyticsRollup}.
+   * @param progress the {@link JobProgress}.
+   */
+  private void createRollupTables(List<AnalyticsRollup> rollups, JobProgress progress) {
+    progress.runStageInParallel(
+        getParallelJobs(), rollups, AnalyticsRollup::getTableName, tableManager::createRollupTable);
+  }
+
+  /**
+   * Creates the given cluster tables from the swapped analytics tables.
+   *
+   * @param clusterTables the list of {@link AnalyticsClusterTable}.
+   * @param progress the {@link JobProgress}.
+   */
+  private void createClusterTables(
+      List<AnalyticsClusterTable> clusterTables, JobProgress progress) {
+    progress.runStageInParallel(
+        getParallelJobs(),
+        clusterTables,
+        AnalyticsClusterTable::getTableName,
+        tableManager::createClusterTable);
+  }
+
   /**
    * Swaps the given analytics tables.
    *
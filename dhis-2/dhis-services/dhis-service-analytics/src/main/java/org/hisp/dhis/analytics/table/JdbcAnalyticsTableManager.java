@@ -49,6 +49,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.stream.Collectors;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.StringUtils;
 import org.hisp.dhis.analytics.AggregationType;
@@ -57,6 +58,7 @@ import org.hisp.dhis.analytics.AnalyticsTableType;
 import org.hisp.dhis.analytics.AnalyticsTableUpdateParams;
 import org.hisp.dhis.analytics.DataQueryParams;
 import org.hisp.dhis.analytics.partition.PartitionManager;
+import org.hisp.dhis.analytics.table.model.AnalyticsRollup;
 import org.hisp.dhis.analytics.table.model.AnalyticsTable;
 import org.hisp.dhis.analytics.table.model.AnalyticsTableColumn;
 import org.hisp.dhis.analytics.table.model.AnalyticsTablePartition;
@@ -64,10 +66,13 @@ import org.hisp.dhis.analytics.table.model.Skip;
 import org.hisp.dhis.analytics.table.setting.AnalyticsTableSettings;
 import org.hisp.dhis.analytics.util.AnalyticsUtils;
 import org.hisp.dhis.category.CategoryService;
+import org.hisp.dhis.common.CodeGenerator;
 import org.hisp.dhis.common.IdentifiableObjectManager;
 import org.hisp.dhis.common.ValueType;
 import org.hisp.dhis.commons.util.TextUtils;
 import org.hisp.dhis.dataapproval.DataApprovalLevelService;
+import org.hisp.dhis.db.model.Column;
+import org.hisp.dhis.db.model.Index;
 import org.hisp.dhis.db.model.Table;
 import org.hisp.dhis.db.sql.SqlBuilder;
 import org.hisp.dhis.organisationunit.OrganisationUnitLevel;
@@ -713,6 +718,103 @@ public class JdbcAnalyticsTableManager extends AbstractJdbcTableManager {
     jdbcTemplate.execute(updateQuery);
   }
 
+  @Override
+  public List<AnalyticsRollup> getRollups() {
+    return analyticsTableSettings.getRollups();
+  }
+
+  @Override
+  public void dropObsoleteRollupTables() {
+    List<AnalyticsRollup> rollups = analyticsTableSettings.getRollups();
+    List<String> tables =
+        jdbcTemplate.queryForList(
+            "select table_name from information_schema.tables "
+                + "where table_name like ? and table_type = 'BASE TABLE'",
+            String.class,
+            AnalyticsRollup.TABLE_PREFIX + "%");
+
+    for (String table : tables) {
+      AnalyticsRollup rollup = AnalyticsRollup.fromTableName(table);
+
+      if (rollup != null && !rollups.contains(rollup)) {
+        log.info("Dropping rollup table which is no longer configured: '{}'", table);
+        dropTable(table);
+      }
+    }
+  }
+
+  @Override
+  public void createRollupTable(AnalyticsRollup rollup) {
+    String periodColumn = rollup.getPeriodColumn();
+
+    if (rollup.getLevel() > organisationUnitService.getNumberOfOrganisationalLevels()
+        || analyticsTableSettings.getSkipColumnDimensions().contains(periodColumn)) {
+      log.warn("Skipping rollup table: '{}', level or period column not available", rollup);
+      // the previous table would no longer match the analytics table
+      dropTable(rollup.getTableName());
+      return;
+    }
+
+    try {
+      populateRollupTable(rollup);
+    } catch (RuntimeException ex) {
+      dropTable(rollup.getTableName());
+      throw ex;
+    }
+  }
+
+  /**
+   * Creates and populates the staging table of the given rollup and swaps it with the rollup table.
+   *
+   * @param rollup the {@link AnalyticsRollup}.
+   */
+  private void populateRollupTable(AnalyticsRollup rollup) {
+    String periodColumn = rollup.getPeriodColumn();
+    List<String> dimensions = rollup.getDimensionColumns();
+    List<Column> columns = new ArrayList<>();
+
+    for (String dimension : dimensions) {
+      columns.add(new Column(dimension, dimension.equals(periodColumn) ? TEXT : CHARACTER_11));
+    }
+
+    columns.add(new Column("value", DOUBLE));
+
+    Table table =
+        new Table(
+            Table.toStaging(rollup.getTableName()),
+            columns,
+            List.of(),
+            analyticsTableSettings.getTableLogged());
+
+    dropTable(table);
+    jdbcTemplate.execute(sqlBuilder.createTable(table));
+
+    String sql =
+        replace(
+            """
+            insert into ${rollupTable} (${columns},${value}) \
+            select ${columns}, sum(${value}) from ${tableName} \
+            where ${value} is not null \
+            group by ${columns};""",
+            Map.of(
+                "rollupTable", quote(table.getName()),
+                "columns", dimensions.stream().map(this::quote).collect(Collectors.joining(",")),
+                "value", quote("value"),
+                "tableName", quote(getAnalyticsTableType().getTableName())));
+
+    invokeTimeAndLog(sql, "Populating rollup table: '{}'", table.getName());
+
+    createIndex(
+        Index.builder()
+            .name("in_" + rollup.getTableName() + "_dx_" + CodeGenerator.generateCode(5))
+            .tableName(table.getName())
+            .columns(List.of("dx", periodColumn))
+            .build());
+
+    analyzeTable(table);
+    jdbcTemplate.execute(sqlBuilder.swapTable(table, rollup.getTableName()));
+  }
+
   /**
    * Indicates whether the system should ignore data which has not been approved in analytics
    * tables.
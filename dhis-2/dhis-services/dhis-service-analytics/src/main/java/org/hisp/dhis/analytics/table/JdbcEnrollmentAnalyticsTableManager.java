@@ -41,12 +41,19 @@ import static org.hisp.dhis.db.model.constraint.Nullable.NOT_NULL;
 import static org.hisp.dhis.util.DateUtils.toLongDate;
 
 import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.Date;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+import lombok.extern.slf4j.Slf4j;
 import org.hisp.dhis.analytics.AnalyticsTableHookService;
 import org.hisp.dhis.analytics.AnalyticsTableType;
 import org.hisp.dhis.analytics.AnalyticsTableUpdateParams;
+import org.hisp.dhis.analytics.common.ProgramIndicatorSubqueryBuilder;
 import org.hisp.dhis.analytics.partition.PartitionManager;
 import org.hisp.dhis.analytics.table.model.AnalyticsTable;
 import org.hisp.dhis.analytics.table.model.AnalyticsTableColumn;
@@ -63,6 +70,7 @@ import org.hisp.dhis.db.sql.SqlBuilder;
 import org.hisp.dhis.organisationunit.OrganisationUnitService;
 import org.hisp.dhis.period.PeriodDataProvider;
 import org.hisp.dhis.program.Program;
+import org.hisp.dhis.program.ProgramIndicator;
 import org.hisp.dhis.resourcetable.ResourceTableService;
 import org.hisp.dhis.setting.SystemSettingManager;
 import org.hisp.dhis.system.database.DatabaseInfoProvider;
@@ -74,8 +82,12 @@ import org.springframework.transaction.annotation.Transactional;
 /**
  * @author Markus Bekken
  */
+@Slf4j
 @Service("org.hisp.dhis.analytics.EnrollmentAnalyticsTableManager")
 public class JdbcEnrollmentAnalyticsTableManager extends AbstractEventJdbcTableManager {
+  /** Name prefix of columns holding materialized program indicator values. */
+  public static final String PROGRAM_INDICATOR_COL_PREFIX = "programindicator_";
+
   private static final List<AnalyticsTableColumn> FIXED_COLS =
       List.of(
           AnalyticsTableColumn.builder()
@@ -208,6 +220,8 @@ public class JdbcEnrollmentAnalyticsTableManager extends AbstractEventJdbcTableM
               .selectExpression("coalesce(registrationou.uid,ou.uid)")
               .build());
 
+  private final ProgramIndicatorSubqueryBuilder programIndicatorSubqueryBuilder;
+
   public JdbcEnrollmentAnalyticsTableManager(
       IdentifiableObjectManager idObjectManager,
       OrganisationUnitService organisationUnitService,
@@ -221,7 +235,8 @@ public class JdbcEnrollmentAnalyticsTableManager extends AbstractEventJdbcTableM
       @Qualifier("analyticsJdbcTemplate") JdbcTemplate jdbcTemplate,
       AnalyticsTableSettings analyticsExportSettings,
       PeriodDataProvider periodDataProvider,
-      SqlBuilder sqlBuilder) {
+      SqlBuilder sqlBuilder,
+      ProgramIndicatorSubqueryBuilder programIndicatorSubqueryBuilder) {
     super(
         idObjectManager,
         organisationUnitService,
@@ -236,6 +251,7 @@ public class JdbcEnrollmentAnalyticsTableManager extends AbstractEventJdbcTableM
         analyticsExportSettings,
         periodDataProvider,
         sqlBuilder);
+    this.programIndicatorSubqueryBuilder = programIndicatorSubqueryBuilder;
   }
 
   @Override
@@ -304,6 +320,92 @@ public class JdbcEnrollmentAnalyticsTableManager extends AbstractEventJdbcTableM
                 "startTime", toLongDate(params.getStartTime())));
 
     populateTableInternal(partition, fromClause);
+    populateProgramIndicatorColumns(partition, program);
+  }
+
+  /**
+   * Populates the columns of the materialized program indicators of the given program. The values
+   * are computed from the event analytics table of the program, which is updated before the
+   * enrollment analytics tables.
+   *
+   * @param partition the {@link AnalyticsTablePartition}.
+   * @param program the {@link Program}.
+   */
+  private void populateProgramIndicatorColumns(AnalyticsTablePartition partition, Program program) {
+    Map<ProgramIndicator, String> programIndicators = getMaterializedProgramIndicators(program);
+
+    if (programIndicators.isEmpty()) {
+      return;
+    }
+
+    String setClause =
+        programIndicators.entrySet().stream()
+            .map(e -> quote(getProgramIndicatorColumnName(e.getKey())) + " = " + e.getValue())
+            .collect(Collectors.joining(", "));
+
+    String sql =
+        replace(
+            "update ${tableName} as ax set ${setClause}",
+            Map.of("tableName", quote(partition.getName()), "setClause", setClause));
+
+    invokeTimeAndLog(sql, "Populating program indicator columns: '{}'", partition.getName());
+  }
+
+  /**
+   * Returns the name of the column holding the materialized values of the given program indicator.
+   *
+   * @param programIndicator the {@link ProgramIndicator}.
+   * @return a column name.
+   */
+  public static String getProgramIndicatorColumnName(ProgramIndicator programIndicator) {
+    return PROGRAM_INDICATOR_COL_PREFIX + programIndicator.getUid();
+  }
+
+  /**
+   * Returns the configured program indicators of the given program which can be materialized in the
+   * enrollment analytics table, mapped to the sub-query computing the value, ordered by identifier.
+   * The values are computed from the event analytics table of the program, so no program indicators
+   * are materialized if that table does not exist.
+   *
+   * @param program the {@link Program}.
+   * @return a map of {@link ProgramIndicator} and sub-query.
+   */
+  private Map<ProgramIndicator, String> getMaterializedProgramIndicators(Program program) {
+    Set<String> uids = analyticsTableSettings.getMaterializedProgramIndicators();
+    Map<ProgramIndicator, String> programIndicators = new LinkedHashMap<>();
+
+    if (uids.isEmpty()
+        || program.getProgramIndicators().stream().noneMatch(pi -> uids.contains(pi.getUid()))) {
+      return programIndicators;
+    }
+
+    String eventTableName = AnalyticsTable.getTableName(AnalyticsTableType.EVENT, program);
+
+    if (!tableExists(eventTableName)) {
+      log.warn(
+          "Program indicators not materialized as event analytics table does not exist: '{}'",
+          eventTableName);
+      return programIndicators;
+    }
+
+    List<ProgramIndicator> candidates =
+        program.getProgramIndicators().stream()
+            .filter(pi -> uids.contains(pi.getUid()))
+            .sorted(Comparator.comparing(ProgramIndicator::getUid))
+            .toList();
+
+    for (ProgramIndicator pi : candidates) {
+      Optional<String> sql =
+          programIndicatorSubqueryBuilder.getMaterializableClauseForProgramIndicator(pi);
+
+      if (sql.isPresent()) {
+        programIndicators.put(pi, sql.get());
+      } else {
+        log.warn("Program indicator cannot be materialized: '{}'", pi.getUid());
+      }
+    }
+
+    return programIndicators;
   }
 
   private List<AnalyticsTableColumn> getColumns(Program program) {
@@ -330,6 +432,16 @@ public class JdbcEnrollmentAnalyticsTableManager extends AbstractEventJdbcTableM
               .build());
     }
 
+    for (ProgramIndicator programIndicator : getMaterializedProgramIndicators(program).keySet()) {
+      columns.add(
+          AnalyticsTableColumn.builder()
+              .name(getProgramIndicatorColumnName(programIndicator))
+              .dataType(DOUBLE)
+              .selectExpression("null")
+              .skipIndex(Skip.SKIP)
+              .build());
+    }
+
     return filterDimensionColumns(columns);
   }
 }
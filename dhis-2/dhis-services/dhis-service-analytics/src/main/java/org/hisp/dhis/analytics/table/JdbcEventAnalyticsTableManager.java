@@ -34,7 +34,9 @@ import static org.hisp.dhis.analytics.util.AnalyticsUtils.getColumnType;
 import static org.hisp.dhis.analytics.util.DisplayNameUtils.getDisplayName;
 import static org.hisp.dhis.commons.util.TextUtils.format;
 import static org.hisp.dhis.commons.util.TextUtils.replace;
+import static org.hisp.dhis.db.model.DataType.BIGINT;
 import static org.hisp.dhis.db.model.DataType.CHARACTER_11;
+import static org.hisp.dhis.db.model.DataType.DATE;
 import static org.hisp.dhis.db.model.DataType.DOUBLE;
 import static org.hisp.dhis.db.model.DataType.GEOMETRY;
 import static org.hisp.dhis.db.model.DataType.INTEGER;
@@ -63,6 +65,7 @@ import org.hisp.dhis.analytics.AnalyticsTableHookService;
 import org.hisp.dhis.analytics.AnalyticsTableType;
 import org.hisp.dhis.analytics.AnalyticsTableUpdateParams;
 import org.hisp.dhis.analytics.partition.PartitionManager;
+import org.hisp.dhis.analytics.table.model.AnalyticsClusterTable;
 import org.hisp.dhis.analytics.table.model.AnalyticsColumnType;
 import org.hisp.dhis.analytics.table.model.AnalyticsTable;
 import org.hisp.dhis.analytics.table.model.AnalyticsTableColumn;
@@ -73,14 +76,18 @@ import org.hisp.dhis.analytics.table.util.PartitionUtils;
 import org.hisp.dhis.calendar.Calendar;
 import org.hisp.dhis.category.Category;
 import org.hisp.dhis.category.CategoryService;
+import org.hisp.dhis.common.CodeGenerator;
 import org.hisp.dhis.common.IdentifiableObjectManager;
 import org.hisp.dhis.common.ValueType;
 import org.hisp.dhis.commons.collection.ListUtils;
 import org.hisp.dhis.dataapproval.DataApprovalLevelService;
 import org.hisp.dhis.dataelement.DataElement;
+import org.hisp.dhis.db.model.Column;
 import org.hisp.dhis.db.model.DataType;
+import org.hisp.dhis.db.model.Index;
 import org.hisp.dhis.db.model.IndexType;
 import org.hisp.dhis.db.model.Logged;
+import org.hisp.dhis.db.model.Table;
 import org.hisp.dhis.db.sql.SqlBuilder;
 import org.hisp.dhis.organisationunit.OrganisationUnitService;
 import org.hisp.dhis.period.PeriodDataProvider;
@@ -518,6 +525,98 @@ public class JdbcEventAnalyticsTableManager extends AbstractEventJdbcTableManage
     }
   }
 
+  @Override
+  public List<AnalyticsClusterTable> getClusterTables(List<AnalyticsTable> tables) {
+    if (!isSpatialSupport()) {
+      return List.of();
+    }
+
+    List<Integer> resolutions = analyticsTableSettings.getClusterResolutions();
+
+    return tables.stream()
+        .flatMap(
+            table ->
+                resolutions.stream()
+                    .map(resolution -> new AnalyticsClusterTable(table.getProgram(), resolution)))
+        .toList();
+  }
+
+  @Override
+  public void createClusterTable(AnalyticsClusterTable clusterTable) {
+    List<String> dimensions = new ArrayList<>(List.of("ou", "yearly"));
+
+    getOrganisationUnitLevelColumns().stream()
+        .filter(column -> !skipColumn(column))
+        .map(AnalyticsTableColumn::getName)
+        .forEach(dimensions::add);
+
+    List<Column> columns = new ArrayList<>();
+    columns.add(new Column("cell", GEOMETRY));
+
+    for (String dimension : dimensions) {
+      columns.add(new Column(dimension, dimension.equals("yearly") ? TEXT : CHARACTER_11));
+    }
+
+    columns.add(new Column("occurreddate", DATE));
+    columns.add(new Column("eventcount", BIGINT));
+    columns.add(new Column("sumx", DOUBLE));
+    columns.add(new Column("sumy", DOUBLE));
+    columns.add(new Column("psigeometry", GEOMETRY));
+    columns.add(new Column("psi", CHARACTER_11));
+
+    Table table =
+        new Table(
+            Table.toStaging(clusterTable.getTableName()),
+            columns,
+            List.of(),
+            analyticsTableSettings.getTableLogged());
+
+    dropTable(table);
+    jdbcTemplate.execute(sqlBuilder.createTable(table));
+
+    String dimensionColumns = dimensions.stream().map(this::quote).collect(Collectors.joining(","));
+
+    String groupBy =
+        replace(
+            """
+            ST_SnapToGrid(ST_Transform(ST_SetSRID(ST_Centroid(psigeometry), 4326), 3785), \
+            ${resolution}),${dimensions},cast(occurreddate as date)""",
+            Map.of(
+                "resolution", String.valueOf(clusterTable.getResolution()),
+                "dimensions", dimensionColumns));
+
+    String sql =
+        replace(
+            """
+            insert into ${clusterTable} \
+            (cell,${dimensions},occurreddate,eventcount,sumx,sumy,psigeometry,psi) \
+            select ${groupBy},count(psi), \
+            sum(ST_X(ST_Centroid(psigeometry))),sum(ST_Y(ST_Centroid(psigeometry))), \
+            ST_SetSRID(cast(ST_Extent(psigeometry) as geometry), 4326), \
+            case when count(psi) = 1 then min(psi) end \
+            from ${tableName} \
+            where psigeometry is not null \
+            group by ${groupBy};""",
+            Map.of(
+                "clusterTable", quote(table.getName()),
+                "dimensions", dimensionColumns,
+                "groupBy", groupBy,
+                "tableName", quote(clusterTable.getSourceTableName())));
+
+    invokeTimeAndLog(sql, "Populating cluster table: '{}'", table.getName());
+
+    createIndex(
+        Index.builder()
+            .name("in_" + clusterTable.getTableName() + "_geom_" + CodeGenerator.generateCode(5))
+            .tableName(table.getName())
+            .indexType(IndexType.GIST)
+            .columns(List.of("psigeometry"))
+            .build());
+
+    analyzeTable(table);
+    jdbcTemplate.execute(sqlBuilder.swapTable(table, clusterTable.getTableName()));
+  }
+
   @Override
   protected List<String> getPartitionChecks(Integer year, Date endDate) {
     Objects.requireNonNull(year);
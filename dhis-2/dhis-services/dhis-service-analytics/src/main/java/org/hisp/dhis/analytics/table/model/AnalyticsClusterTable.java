@@ -0,0 +1,97 @@
+/*
+ * Copyright (c) 2004-2022, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ * Neither the name of the HISP project nor the names of its contributors may
+ * be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.analytics.table.model;
+
+import javax.annotation.CheckForNull;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.math.NumberUtils;
+import org.hisp.dhis.analytics.AnalyticsTableType;
+import org.hisp.dhis.program.Program;
+
+/**
+ * Class representing a pre-aggregated cluster table of an event analytics table. A cluster table
+ * holds the count, coordinate sums and extent of the geo-tagged events per grid cell of a fixed
+ * size in meters, org unit and event date.
+ */
+@Getter
+@ToString
+@EqualsAndHashCode
+public class AnalyticsClusterTable {
+  public static final String TABLE_PREFIX = AnalyticsTableType.EVENT.getTableName() + "_cluster_";
+
+  /** Lower case program identifier. */
+  private final String program;
+
+  /** The grid cell size in meters. */
+  private final int resolution;
+
+  public AnalyticsClusterTable(String program, int resolution) {
+    this.program = program;
+    this.resolution = resolution;
+  }
+
+  public AnalyticsClusterTable(Program program, int resolution) {
+    this(program.getUid().toLowerCase(), resolution);
+  }
+
+  /** Returns the name of the cluster table. */
+  public String getTableName() {
+    return TABLE_PREFIX + program + "_" + resolution;
+  }
+
+  /** Returns the name of the event analytics table the cluster table is aggregated from. */
+  public String getSourceTableName() {
+    return AnalyticsTableType.EVENT.getTableName() + "_" + program;
+  }
+
+  /**
+   * Returns the cluster table for the given table name.
+   *
+   * @param tableName the table name.
+   * @return the {@link AnalyticsClusterTable} or null if the name is not a cluster table name.
+   */
+  @CheckForNull
+  public static AnalyticsClusterTable fromTableName(String tableName) {
+    if (!StringUtils.startsWith(tableName, TABLE_PREFIX)) {
+      return null;
+    }
+
+    String name = tableName.substring(TABLE_PREFIX.length());
+    String program = StringUtils.substringBeforeLast(name, "_");
+    String resolution = StringUtils.substringAfterLast(name, "_");
+
+    if (program.isEmpty() || !NumberUtils.isDigits(resolution)) {
+      return null;
+    }
+
+    return new AnalyticsClusterTable(program, Integer.parseInt(resolution));
+  }
+}
@@ -0,0 +1,104 @@
+/*
+ * Copyright (c) 2004-2022, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ * Neither the name of the HISP project nor the names of its contributors may
+ * be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.analytics.table.model;
+
+import static org.hisp.dhis.analytics.DataQueryParams.LEVEL_PREFIX;
+
+import java.util.ArrayList;
+import java.util.List;
+import javax.annotation.CheckForNull;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.math.NumberUtils;
+import org.hisp.dhis.analytics.AnalyticsTableType;
+
+/**
+ * Class representing a pre-aggregated rollup of the data value analytics table. A rollup holds the
+ * sum of values per data element, category option combo, attribute option combo, org unit
+ * hierarchy down to a level and period of a single period type.
+ */
+@Getter
+@ToString
+@EqualsAndHashCode
+public class AnalyticsRollup {
+  public static final String TABLE_PREFIX =
+      AnalyticsTableType.DATA_VALUE.getTableName() + "_rollup_";
+
+  /** Name of the period type column, e.g. {@code monthly}. */
+  private final String periodColumn;
+
+  /** The lowest org unit level included in the rollup. */
+  private final int level;
+
+  public AnalyticsRollup(String periodColumn, int level) {
+    this.periodColumn = periodColumn;
+    this.level = level;
+  }
+
+  /** Returns the name of the rollup table. */
+  public String getTableName() {
+    return TABLE_PREFIX + periodColumn + "_" + level;
+  }
+
+  /** Returns the names of the dimension columns of the rollup table. */
+  public List<String> getDimensionColumns() {
+    List<String> columns = new ArrayList<>(List.of("dx", "co", "ao"));
+
+    for (int i = 1; i <= level; i++) {
+      columns.add(LEVEL_PREFIX + i);
+    }
+
+    columns.add(periodColumn);
+    return columns;
+  }
+
+  /**
+   * Returns the rollup for the given table name.
+   *
+   * @param tableName the table name.
+   * @return the {@link AnalyticsRollup} or null if the name is not a rollup table name.
+   */
+  @CheckForNull
+  public static AnalyticsRollup fromTableName(String tableName) {
+    if (!StringUtils.startsWith(tableName, TABLE_PREFIX)) {
+      return null;
+    }
+
+    String name = tableName.substring(TABLE_PREFIX.length());
+    String periodColumn = StringUtils.substringBeforeLast(name, "_");
+    String level = StringUtils.substringAfterLast(name, "_");
+
+    if (periodColumn.isEmpty() || !NumberUtils.isDigits(level)) {
+      return null;
+    }
+
+    return new AnalyticsRollup(periodColumn, Integer.parseInt(level));
+  }
+}
@@ -34,6 +34,9 @@ import static org.hisp.dhis.db.model.Logged.UNLOGGED;
 import static org.hisp.dhis.external.conf.ConfigurationKey.ANALYTICS_DATABASE;
 import static org.hisp.dhis.external.conf.ConfigurationKey.ANALYTICS_DATABASE_CATALOG;
 import static org.hisp.dhis.external.conf.ConfigurationKey.ANALYTICS_DATABASE_DRIVER_FILENAME;
+import static org.hisp.dhis.external.conf.ConfigurationKey.ANALYTICS_TABLE_CLUSTER_RESOLUTIONS;
+import static org.hisp.dhis.external.conf.ConfigurationKey.ANALYTICS_TABLE_MATERIALIZED_PROGRAM_INDICATORS;
+import static org.hisp.dhis.external.conf.ConfigurationKey.ANALYTICS_TABLE_ROLLUPS;
 import static org.hisp.dhis.external.conf.ConfigurationKey.ANALYTICS_TABLE_SKIP_COLUMN;
 import static org.hisp.dhis.external.conf.ConfigurationKey.ANALYTICS_TABLE_SKIP_INDEX;
 import static org.hisp.dhis.external.conf.ConfigurationKey.ANALYTICS_TABLE_UNLOGGED;
@@ -41,16 +44,20 @@ import static org.hisp.dhis.setting.SettingKey.ANALYTICS_MAX_PERIOD_YEARS_OFFSET
 import static org.hisp.dhis.util.ObjectUtils.isNull;
 
 import com.google.common.collect.Lists;
+import java.util.List;
 import java.util.Objects;
 import java.util.Set;
 import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
 import org.apache.commons.lang3.EnumUtils;
 import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.math.NumberUtils;
+import org.hisp.dhis.analytics.table.model.AnalyticsRollup;
 import org.hisp.dhis.analytics.table.model.Skip;
 import org.hisp.dhis.db.model.Database;
 import org.hisp.dhis.db.model.Logged;
 import org.hisp.dhis.external.conf.DhisConfigurationProvider;
+import org.hisp.dhis.period.PeriodType;
 import org.hisp.dhis.setting.SystemSettingManager;
 import org.springframework.stereotype.Component;
 
@@ -150,6 +157,90 @@ public class AnalyticsTableSettings {
     return toSet(config.getProperty(ANALYTICS_TABLE_SKIP_COLUMN));
   }
 
+  /**
+   * Returns the pre-aggregated rollup tables to create for the data value analytics table.
+   *
+   * @return a list of {@link AnalyticsRollup}.
+   * @throws IllegalArgumentException if a rollup is not a valid period type and level pair.
+   */
+  public List<AnalyticsRollup> getRollups() {
+    return toSet(config.getProperty(ANALYTICS_TABLE_ROLLUPS)).stream()
+        .map(this::toRollup)
+        .distinct()
+        .toList();
+  }
+
+  /**
+   * Returns the grid cell sizes in meters of the pre-aggregated event cluster tables to create for
+   * the event analytics tables, in ascending order.
+   *
+   * @return a list of cell sizes.
+   * @throws IllegalArgumentException if a cell size is not a positive integer.
+   */
+  public List<Integer> getClusterResolutions() {
+    return toSet(config.getProperty(ANALYTICS_TABLE_CLUSTER_RESOLUTIONS)).stream()
+        .map(this::toClusterResolution)
+        .distinct()
+        .sorted()
+        .toList();
+  }
+
+  /**
+   * Returns a set of identifiers of event program indicators for which to store values as columns
+   * in the enrollment analytics tables.
+   *
+   * @return a set of program indicator identifiers.
+   */
+  public Set<String> getMaterializedProgramIndicators() {
+    return toSet(config.getProperty(ANALYTICS_TABLE_MATERIALIZED_PROGRAM_INDICATORS));
+  }
+
+  /**
+   * Returns the cluster grid cell size for the given value.
+   *
+   * @param value the string value.
+   * @return the cell size in meters.
+   * @throws IllegalArgumentException if the value is not a positive integer.
+   */
+  int toClusterResolution(String value) {
+    if (!NumberUtils.isDigits(value) || Integer.parseInt(value) < 1) {
+      String message =
+          format(
+              "Property '{}' has illegal value: '{}', expected a positive number of meters",
+              ANALYTICS_TABLE_CLUSTER_RESOLUTIONS.getKey(),
+              value);
+      throw new IllegalArgumentException(message);
+    }
+
+    return Integer.parseInt(value);
+  }
+
+  /**
+   * Returns the {@link AnalyticsRollup} for the given value in the format {@code <period
+   * type>:<org unit level>}.
+   *
+   * @param value the string value.
+   * @return the {@link AnalyticsRollup}.
+   * @throws IllegalArgumentException if the value is not a valid period type and level pair.
+   */
+  AnalyticsRollup toRollup(String value) {
+    String periodType = StringUtils.substringBefore(value, ":").trim();
+    String level = StringUtils.substringAfter(value, ":").trim();
+
+    if (PeriodType.getPeriodTypeByName(periodType) == null
+        || !NumberUtils.isDigits(level)
+        || Integer.parseInt(level) < 1) {
+      String message =
+          format(
+              "Property '{}' has illegal value: '{}', expected format: <period type>:<level>",
+              ANALYTICS_TABLE_ROLLUPS.getKey(),
+              value);
+      throw new IllegalArgumentException(message);
+    }
+
+    return new AnalyticsRollup(periodType.toLowerCase(), Integer.parseInt(level));
+  }
+
   /**
    * Returns the {@link Database} matching the given value.
    *
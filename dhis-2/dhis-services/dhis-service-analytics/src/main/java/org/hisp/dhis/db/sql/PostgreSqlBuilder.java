@@ -335,6 +335,13 @@ public class PostgreSqlBuilder extends AbstractSqlBuilder {
         singleQuote(name));
   }
 
+  @Override
+  public String estimateRows(String name) {
+    return String.format(
+        "select c.reltuples as row_estimate from pg_class c where c.relname = %s;",
+        singleQuote(name));
+  }
+
   @Override
   public String createIndex(Index index) {
     String unique = index.getUnique() == Unique.UNIQUE ? "unique " : "";
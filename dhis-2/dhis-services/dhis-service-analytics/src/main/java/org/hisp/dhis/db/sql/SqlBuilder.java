@@ -335,6 +335,13 @@ public interface SqlBuilder {
    */
   String countRows(Table table);
 
+  /**
+   * @param name the table name.
+   * @return a statement which returns the estimated number of rows of the table based on table
+   *     statistics, or no rows if the table does not exist.
+   */
+  String estimateRows(String name);
+
   /**
    * @param index the {@link Index}.
    * @return a create index statement.
@@ -0,0 +1,205 @@
+/*
+ * Copyright (c) 2004-2022, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ * Neither the name of the HISP project nor the names of its contributors may
+ * be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.analytics.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.Mockito.when;
+
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import org.hisp.dhis.analytics.AnalyticsTableType;
+import org.hisp.dhis.analytics.DataQueryGroups;
+import org.hisp.dhis.analytics.DataQueryParams;
+import org.hisp.dhis.analytics.QueryPlannerParams;
+import org.hisp.dhis.cache.Cache;
+import org.hisp.dhis.cache.CacheBuilder;
+import org.hisp.dhis.cache.DefaultCacheProvider;
+import org.hisp.dhis.cache.LocalCache;
+import org.hisp.dhis.cache.SimpleCacheBuilder;
+import org.hisp.dhis.dataelement.DataElement;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class QueryPlanCacheTest {
+  @Mock private DefaultCacheProvider cacheProvider;
+
+  @Mock private AnalyticsCacheSettings analyticsCacheSettings;
+
+  private QueryPlanCache queryPlanCache;
+
+  private final AtomicInteger plannedQueries = new AtomicInteger();
+
+  private final BiFunction<DataQueryParams, QueryPlannerParams, DataQueryGroups> planner =
+      (params, plannerParams) -> {
+        plannedQueries.incrementAndGet();
+        return DataQueryGroups.newBuilder().withQueries(List.of(params)).build();
+      };
+
+  private final QueryPlannerParams plannerParams =
+      QueryPlannerParams.newBuilder()
+          .withOptimalQueries(4)
+          .withTableType(AnalyticsTableType.DATA_VALUE)
+          .build();
+
+  @BeforeEach
+  void setUp() {
+    CacheBuilder<Object> cacheBuilder = new SimpleCacheBuilder<>();
+    cacheBuilder.expireAfterWrite(1L, TimeUnit.MINUTES);
+    Cache<Object> cache = new LocalCache<>(cacheBuilder);
+
+    Mockito.<Cache<Object>>when(cacheProvider.createAnalyticsQueryPlanCache()).thenReturn(cache);
+
+    queryPlanCache = new QueryPlanCache(cacheProvider, analyticsCacheSettings);
+  }
+
+  @Test
+  void testGetOrPlanReusesPlan() {
+    when(analyticsCacheSettings.isCachingEnabled()).thenReturn(true);
+
+    DataQueryParams params = getParams("deA");
+    DataQueryParams nextParams = getParams("deA");
+
+    DataQueryGroups planned = queryPlanCache.getOrPlan(params, plannerParams, planner);
+    DataQueryGroups cached = queryPlanCache.getOrPlan(nextParams, plannerParams, planner);
+
+    assertNotSame(planned, cached);
+    assertEquals(1, cached.getAllQueries().size());
+    assertEquals(1, plannedQueries.get());
+    assertEquals(1, queryPlanCache.getHits());
+    assertEquals(1, queryPlanCache.getMisses());
+  }
+
+  @Test
+  void testGetOrPlanResolvesItemsOfCurrentQuery() {
+    when(analyticsCacheSettings.isCachingEnabled()).thenReturn(true);
+
+    DataQueryParams params = getParams("deA");
+    DataQueryParams nextParams = getParams("deA");
+
+    queryPlanCache.getOrPlan(params, plannerParams, planner);
+    DataQueryGroups cached = queryPlanCache.getOrPlan(nextParams, plannerParams, planner);
+
+    DataQueryParams cachedQuery = cached.getAllQueries().get(0);
+
+    assertEquals(1, plannedQueries.get());
+    assertSame(nextParams.getDataElements().get(0), cachedQuery.getDataElements().get(0));
+    assertNotSame(params.getDataElements().get(0), cachedQuery.getDataElements().get(0));
+  }
+
+  @Test
+  void testGetOrPlanAfterMetadataUpdate() {
+    when(analyticsCacheSettings.isCachingEnabled()).thenReturn(true);
+
+    DataQueryParams params = getParams("deA");
+    DataQueryParams updatedParams = getParams("deA", new Date());
+
+    queryPlanCache.getOrPlan(params, plannerParams, planner);
+    queryPlanCache.getOrPlan(updatedParams, plannerParams, planner);
+
+    assertEquals(2, plannedQueries.get());
+    assertEquals(0, queryPlanCache.getHits());
+  }
+
+  @Test
+  void testGetOrPlanWithCachingDisabled() {
+    when(analyticsCacheSettings.isCachingEnabled()).thenReturn(false);
+
+    queryPlanCache.getOrPlan(getParams("deA"), plannerParams, planner);
+    queryPlanCache.getOrPlan(getParams("deA"), plannerParams, planner);
+
+    assertEquals(2, plannedQueries.get());
+    assertEquals(0, queryPlanCache.getHits());
+    assertEquals(0, queryPlanCache.getMisses());
+  }
+
+  @Test
+  void testGetOrPlanDifferentQueries() {
+    when(analyticsCacheSettings.isCachingEnabled()).thenReturn(true);
+
+    queryPlanCache.getOrPlan(getParams("deA"), plannerParams, planner);
+    queryPlanCache.getOrPlan(getParams("deB"), plannerParams, planner);
+    queryPlanCache.getOrPlan(
+        DataQueryParams.newBuilder(getParams("deA")).withTimely(true).build(),
+        plannerParams,
+        planner);
+
+    assertEquals(3, plannedQueries.get());
+    assertEquals(0, queryPlanCache.getHits());
+  }
+
+  @Test
+  void testGetOrPlanWithQueryGroupers() {
+    Function<DataQueryParams, List<DataQueryParams>> grouper = List::of;
+
+    QueryPlannerParams groupedPlannerParams =
+        QueryPlannerParams.newBuilder()
+            .withOptimalQueries(4)
+            .withTableType(AnalyticsTableType.DATA_VALUE)
+            .withQueryGroupers(List.of(grouper))
+            .build();
+
+    queryPlanCache.getOrPlan(getParams("deA"), groupedPlannerParams, planner);
+    queryPlanCache.getOrPlan(getParams("deA"), groupedPlannerParams, planner);
+
+    assertEquals(2, plannedQueries.get());
+  }
+
+  @Test
+  void testInvalidateAll() {
+    when(analyticsCacheSettings.isCachingEnabled()).thenReturn(true);
+
+    queryPlanCache.getOrPlan(getParams("deA"), plannerParams, planner);
+    queryPlanCache.invalidateAll();
+    queryPlanCache.getOrPlan(getParams("deA"), plannerParams, planner);
+
+    assertEquals(2, plannedQueries.get());
+  }
+
+  private DataQueryParams getParams(String dataElementUid) {
+    return getParams(dataElementUid, null);
+  }
+
+  private DataQueryParams getParams(String dataElementUid, Date lastUpdated) {
+    DataElement dataElement = new DataElement(dataElementUid);
+    dataElement.setUid(dataElementUid);
+    dataElement.setLastUpdated(lastUpdated);
+
+    return DataQueryParams.newBuilder().withDataElements(List.of(dataElement)).build();
+  }
+}
@@ -80,6 +80,8 @@ class AnalyticsManagerTest extends DhisConvenienceTest {
 
   @Mock private ExecutionPlanStore executionPlanStore;
 
+  @Mock private AnalyticsQueryScheduler queryScheduler;
+
   private final SqlBuilder sqlBuilder = new PostgreSqlBuilder();
 
   private JdbcAnalyticsManager analyticsManager;
@@ -95,7 +97,8 @@ class AnalyticsManagerTest extends DhisConvenienceTest {
   @BeforeEach
   void before() {
     analyticsManager =
-        new JdbcAnalyticsManager(queryPlanner, jdbcTemplate, executionPlanStore, sqlBuilder);
+        new JdbcAnalyticsManager(
+            queryPlanner, jdbcTemplate, executionPlanStore, sqlBuilder, queryScheduler);
   }
 
   @ParameterizedTest
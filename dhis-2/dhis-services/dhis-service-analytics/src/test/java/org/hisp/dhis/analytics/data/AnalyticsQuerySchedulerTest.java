@@ -0,0 +1,101 @@
+/*
+ * Copyright (c) 2004-2022, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ * Neither the name of the HISP project nor the names of its contributors may
+ * be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.analytics.data;
+
+import static org.hisp.dhis.external.conf.ConfigurationKey.ANALYTICS_CONNECTION_POOL_MAX_SIZE;
+import static org.hisp.dhis.external.conf.ConfigurationKey.ANALYTICS_QUERY_MAX_CONCURRENCY;
+import static org.hisp.dhis.external.conf.ConfigurationKey.ANALYTICS_QUERY_MAX_USER_CONCURRENCY;
+import static org.hisp.dhis.external.conf.ConfigurationKey.ANALYTICS_QUERY_QUEUE_TIMEOUT;
+import static org.hisp.dhis.external.conf.ConfigurationKey.ANALYTICS_QUERY_TIMEOUT;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.when;
+
+import org.hisp.dhis.common.QueryRuntimeException;
+import org.hisp.dhis.external.conf.DhisConfigurationProvider;
+import org.hisp.dhis.feedback.ErrorCode;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class AnalyticsQuerySchedulerTest {
+  @Mock private DhisConfigurationProvider config;
+
+  private AnalyticsQueryScheduler getScheduler(String maxConcurrency, String maxUserConcurrency) {
+    when(config.getProperty(ANALYTICS_CONNECTION_POOL_MAX_SIZE)).thenReturn("20");
+    when(config.getProperty(ANALYTICS_QUERY_MAX_CONCURRENCY)).thenReturn(maxConcurrency);
+    when(config.getProperty(ANALYTICS_QUERY_MAX_USER_CONCURRENCY)).thenReturn(maxUserConcurrency);
+    when(config.getProperty(ANALYTICS_QUERY_QUEUE_TIMEOUT)).thenReturn("0");
+    when(config.getProperty(ANALYTICS_QUERY_TIMEOUT)).thenReturn("30");
+
+    return new AnalyticsQueryScheduler(config);
+  }
+
+  @Test
+  void testGetConcurrency() {
+    AnalyticsQueryScheduler scheduler = getScheduler("", "4");
+
+    assertEquals(10, scheduler.getMaxConcurrency());
+    assertEquals(4, scheduler.getMaxUserConcurrency());
+    assertEquals(4, scheduler.getMaxRequestConcurrency());
+    assertEquals(30, scheduler.getQueryTimeout());
+  }
+
+  @Test
+  void testGetMaxRequestConcurrency() {
+    AnalyticsQueryScheduler scheduler = getScheduler("2", "4");
+
+    assertEquals(2, scheduler.getMaxRequestConcurrency());
+  }
+
+  @Test
+  void testAcquireExceedsUserBudget() {
+    AnalyticsQueryScheduler scheduler = getScheduler("6", "3");
+
+    try (AnalyticsQueryScheduler.Permit permit = scheduler.acquire(3)) {
+      QueryRuntimeException ex =
+          assertThrows(QueryRuntimeException.class, () -> scheduler.acquire(1));
+      assertEquals(ErrorCode.E7147, ex.getErrorCode());
+    }
+
+    try (AnalyticsQueryScheduler.Permit permit = scheduler.acquire(3)) {
+      assertEquals(3, scheduler.getMaxRequestConcurrency());
+    }
+  }
+
+  @Test
+  void testAcquireIsCappedAtRequestBudget() {
+    AnalyticsQueryScheduler scheduler = getScheduler("2", "8");
+
+    try (AnalyticsQueryScheduler.Permit permit = scheduler.acquire(5)) {
+      assertThrows(QueryRuntimeException.class, () -> scheduler.acquire(1));
+    }
+  }
+}
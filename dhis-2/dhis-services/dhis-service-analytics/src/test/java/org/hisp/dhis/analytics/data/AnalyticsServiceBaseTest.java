@@ -42,6 +42,7 @@ import org.hisp.dhis.analytics.RawAnalyticsManager;
 import org.hisp.dhis.analytics.analyze.ExecutionPlanStore;
 import org.hisp.dhis.analytics.cache.AnalyticsCache;
 import org.hisp.dhis.analytics.cache.AnalyticsCacheSettings;
+import org.hisp.dhis.analytics.cache.QueryPlanCache;
 import org.hisp.dhis.analytics.data.handler.DataAggregator;
 import org.hisp.dhis.analytics.data.handler.DataHandler;
 import org.hisp.dhis.analytics.data.handler.HeaderHandler;
@@ -49,6 +50,8 @@ import org.hisp.dhis.analytics.data.handler.MetadataHandler;
 import org.hisp.dhis.analytics.data.handler.SchemeIdResponseMapper;
 import org.hisp.dhis.analytics.event.EventAnalyticsService;
 import org.hisp.dhis.analytics.resolver.ExpressionResolvers;
+import org.hisp.dhis.cache.CacheProvider;
+import org.hisp.dhis.cache.NoOpCache;
 import org.hisp.dhis.expression.ExpressionService;
 import org.hisp.dhis.external.conf.DhisConfigurationProvider;
 import org.hisp.dhis.organisationunit.OrganisationUnitService;
@@ -102,10 +105,14 @@ abstract class AnalyticsServiceBaseTest {
 
   @Mock private UserService userService;
 
+  @Mock private CacheProvider cacheProvider;
+
   DataAggregator target;
 
   @BeforeEach
   public void baseSetUp() {
+    when(cacheProvider.createAnalyticsQueryPlanCache()).thenReturn(new NoOpCache<>());
+
     HeaderHandler headerHandler = new HeaderHandler();
     MetadataHandler metadataHandler =
         new MetadataHandler(dataQueryService, schemeIdResponseMapper, userService);
@@ -119,7 +126,9 @@ abstract class AnalyticsServiceBaseTest {
             systemSettingManager,
             analyticsManager,
             organisationUnitService,
-            executionPlanStore);
+            executionPlanStore,
+            new QueryPlanCache(cacheProvider, analyticsCacheSettings),
+            new AnalyticsQueryScheduler(dhisConfig));
 
     target = new DataAggregator(headerHandler, metadataHandler, dataHandler);
     target.feedHandlers();
@@ -47,6 +47,7 @@ import org.hisp.dhis.analytics.DataType;
 import org.hisp.dhis.analytics.QueryPlanner;
 import org.hisp.dhis.analytics.analyze.ExecutionPlanStore;
 import org.hisp.dhis.analytics.partition.PartitionManager;
+import org.hisp.dhis.analytics.table.setting.AnalyticsTableSettings;
 import org.hisp.dhis.common.BaseDimensionalObject;
 import org.hisp.dhis.common.DimensionType;
 import org.hisp.dhis.common.ValueType;
@@ -76,6 +77,8 @@ class JdbcAnalyticsManagerTest {
 
   @Mock private PartitionManager partitionManager;
 
+  @Mock private AnalyticsTableSettings analyticsTableSettings;
+
   @Mock private JdbcTemplate jdbcTemplate;
 
   @Mock private SqlRowSet rowSet;
@@ -90,11 +93,15 @@ class JdbcAnalyticsManagerTest {
 
   @Mock private ExecutionPlanStore executionPlanStore;
 
+  @Mock private AnalyticsQueryScheduler queryScheduler;
+
   @BeforeEach
   public void setUp() {
-    QueryPlanner queryPlanner = new DefaultQueryPlanner(partitionManager);
+    QueryPlanner queryPlanner = new DefaultQueryPlanner(partitionManager, analyticsTableSettings);
 
-    subject = new JdbcAnalyticsManager(queryPlanner, jdbcTemplate, executionPlanStore, sqlBuilder);
+    subject =
+        new JdbcAnalyticsManager(
+            queryPlanner, jdbcTemplate, executionPlanStore, sqlBuilder, queryScheduler);
   }
 
   @Test
@@ -48,6 +48,7 @@ import org.hisp.dhis.analytics.DataType;
 import org.hisp.dhis.analytics.QueryPlanner;
 import org.hisp.dhis.analytics.analyze.ExecutionPlanStore;
 import org.hisp.dhis.analytics.partition.PartitionManager;
+import org.hisp.dhis.analytics.table.setting.AnalyticsTableSettings;
 import org.hisp.dhis.category.CategoryOptionCombo;
 import org.hisp.dhis.common.BaseDimensionalObject;
 import org.hisp.dhis.common.DimensionType;
@@ -76,10 +77,14 @@ import org.springframework.jdbc.core.JdbcTemplate;
 class JdbcSubexpressionQueryGeneratorTest {
   @Mock private PartitionManager partitionManager;
 
+  @Mock private AnalyticsTableSettings analyticsTableSettings;
+
   @Mock private JdbcTemplate jdbcTemplate;
 
   @Mock private ExecutionPlanStore executionPlanStore;
 
+  @Mock private AnalyticsQueryScheduler queryScheduler;
+
   private final SqlBuilder sqlBuilder = new PostgreSqlBuilder();
 
   private JdbcAnalyticsManager jam;
@@ -89,9 +94,11 @@ class JdbcSubexpressionQueryGeneratorTest {
 
   @BeforeAll
   public void setUp() {
-    QueryPlanner queryPlanner = new DefaultQueryPlanner(partitionManager);
+    QueryPlanner queryPlanner = new DefaultQueryPlanner(partitionManager, analyticsTableSettings);
 
-    jam = new JdbcAnalyticsManager(queryPlanner, jdbcTemplate, executionPlanStore, sqlBuilder);
+    jam =
+        new JdbcAnalyticsManager(
+            queryPlanner, jdbcTemplate, executionPlanStore, sqlBuilder, queryScheduler);
   }
 
   @Test
@@ -38,6 +38,7 @@ import static org.hisp.dhis.DhisConvenienceTest.getDate;
 import static org.hisp.dhis.analytics.AnalyticsConstants.ANALYTICS_TBL_ALIAS;
 import static org.hisp.dhis.analytics.DataType.NUMERIC;
 import static org.hisp.dhis.analytics.QueryKey.NV;
+import static org.hisp.dhis.analytics.table.JdbcEnrollmentAnalyticsTableManager.getProgramIndicatorColumnName;
 import static org.hisp.dhis.common.DimensionalObject.OPTION_SEP;
 import static org.hisp.dhis.common.QueryOperator.EQ;
 import static org.hisp.dhis.common.QueryOperator.IN;
@@ -47,7 +48,11 @@ import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -55,11 +60,16 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.Date;
 import java.util.List;
+import java.util.Optional;
+import java.util.Set;
 import java.util.function.Consumer;
 import org.hisp.dhis.analytics.TimeField;
 import org.hisp.dhis.analytics.analyze.ExecutionPlanStore;
+import org.hisp.dhis.analytics.cache.TableColumnCache;
+import org.hisp.dhis.analytics.common.TableInfoReader;
 import org.hisp.dhis.analytics.event.EventQueryParams;
 import org.hisp.dhis.analytics.event.data.programindicator.DefaultProgramIndicatorSubqueryBuilder;
+import org.hisp.dhis.analytics.table.setting.AnalyticsTableSettings;
 import org.hisp.dhis.common.BaseDimensionalItemObject;
 import org.hisp.dhis.common.DimensionalItemObject;
 import org.hisp.dhis.common.Grid;
@@ -103,6 +113,8 @@ class EnrollmentAnalyticsManagerTest extends EventAnalyticsTest {
 
   @Mock private ExecutionPlanStore executionPlanStore;
 
+  @Mock private AnalyticsTableSettings analyticsTableSettings;
+
   @Mock private SqlRowSet rowSet;
 
   @Mock private ProgramIndicatorService programIndicatorService;
@@ -134,7 +146,9 @@ class EnrollmentAnalyticsManagerTest extends EventAnalyticsTest {
             programIndicatorSubqueryBuilder,
             new EnrollmentTimeFieldSqlRenderer(sqlBuilder),
             executionPlanStore,
-            sqlBuilder);
+            sqlBuilder,
+            new TableColumnCache(new TableInfoReader(jdbcTemplate)),
+            analyticsTableSettings);
   }
 
   @Test
@@ -915,4 +929,44 @@ class EnrollmentAnalyticsManagerTest extends EventAnalyticsTest {
 
     assertThat(columnSql, is(EMPTY));
   }
+
+  @Test
+  void verifyMaterializedProgramIndicatorColumnNotConfigured() {
+    ProgramIndicator programIndicator = createProgramIndicator('A', programA, "", "");
+    EventQueryParams params =
+        new EventQueryParams.Builder(createRequestParams())
+            .withTableName("analytics_enrollment_prabcdefgha")
+            .build();
+
+    assertEquals(
+        Optional.empty(), subject.getMaterializedProgramIndicatorColumn(params, programIndicator));
+
+    verify(jdbcTemplate, never()).queryForList(anyString(), eq(String.class), any());
+  }
+
+  @Test
+  void verifyMaterializedProgramIndicatorColumnIsCachedPerTable() {
+    ProgramIndicator programIndicator = createProgramIndicator('A', programA, "", "");
+    String column = getProgramIndicatorColumnName(programIndicator);
+    EventQueryParams params =
+        new EventQueryParams.Builder(createRequestParams())
+            .withTableName("analytics_enrollment_prabcdefgha")
+            .build();
+
+    when(analyticsTableSettings.getMaterializedProgramIndicators())
+        .thenReturn(Set.of(programIndicator.getUid()));
+    when(jdbcTemplate.queryForList(
+            anyString(), eq(String.class), eq("analytics_enrollment_prabcdefgha")))
+        .thenReturn(List.of("pi", column));
+
+    assertEquals(
+        Optional.of(sqlBuilder.quoteAx(column)),
+        subject.getMaterializedProgramIndicatorColumn(params, programIndicator));
+    assertEquals(
+        Optional.of(sqlBuilder.quoteAx(column)),
+        subject.getMaterializedProgramIndicatorColumn(params, programIndicator));
+
+    verify(jdbcTemplate, times(1))
+        .queryForList(anyString(), eq(String.class), eq("analytics_enrollment_prabcdefgha"));
+  }
 }
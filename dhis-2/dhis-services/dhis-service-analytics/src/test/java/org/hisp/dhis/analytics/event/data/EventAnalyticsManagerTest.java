@@ -38,6 +38,7 @@ import static org.hisp.dhis.DhisConvenienceTest.createOrganisationUnitGroup;
 import static org.hisp.dhis.DhisConvenienceTest.createPeriod;
 import static org.hisp.dhis.DhisConvenienceTest.createProgram;
 import static org.hisp.dhis.DhisConvenienceTest.createProgramIndicator;
+import static org.hisp.dhis.DhisConvenienceTest.getDate;
 import static org.hisp.dhis.analytics.QueryKey.NV;
 import static org.hisp.dhis.common.DimensionalObject.DATA_X_DIM_ID;
 import static org.hisp.dhis.common.DimensionalObject.OPTION_SEP;
@@ -49,6 +50,7 @@ import static org.hisp.dhis.common.QueryOperator.IN;
 import static org.hisp.dhis.common.QueryOperator.NEQ;
 import static org.hisp.dhis.common.RequestTypeAware.EndpointAction.AGGREGATE;
 import static org.hisp.dhis.common.RequestTypeAware.EndpointAction.QUERY;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.mock;
@@ -63,6 +65,7 @@ import org.hisp.dhis.analytics.AggregationType;
 import org.hisp.dhis.analytics.AnalyticsAggregationType;
 import org.hisp.dhis.analytics.DataQueryParams;
 import org.hisp.dhis.analytics.DataType;
+import org.hisp.dhis.analytics.EventOutputType;
 import org.hisp.dhis.analytics.analyze.ExecutionPlanStore;
 import org.hisp.dhis.analytics.event.EventQueryParams;
 import org.hisp.dhis.analytics.event.data.programindicator.DefaultProgramIndicatorSubqueryBuilder;
@@ -166,6 +169,69 @@ class EventAnalyticsManagerTest extends EventAnalyticsTest {
     assertThat(sql.getValue(), is(expected));
   }
 
+  @Test
+  void verifyGetEventClustersSqlWithClusterTable() {
+    mockEmptyRowSet();
+
+    String clusterTable = "analytics_event_cluster_" + programA.getUid().toLowerCase() + "_1000";
+    EventQueryParams params =
+        createRequestParamsBuilder()
+            .withPeriods(getList(createPeriod("2000")), "yearly")
+            .withTableName(clusterTable)
+            .withClusterSize(20000L)
+            .build();
+
+    subject.getEventClusters(params, createGrid(), 100);
+
+    verify(jdbcTemplate).queryForRowSet(sql.capture());
+
+    assertThat(sql.getValue(), containsString("select sum(eventcount) as count"));
+    assertThat(sql.getValue(), containsString("(ax.\"yearly\" in ('2000') )"));
+    assertThat(sql.getValue(), containsString(" from " + clusterTable + " as ax "));
+    assertThat(sql.getValue(), containsString("ax.\"uidlevel1\" in ('ouabcdefghA')"));
+    assertThat(sql.getValue(), containsString("group by ST_SnapToGrid(cell, 20000)"));
+  }
+
+  @Test
+  void verifyGetEventClustersSqlWithClusterTableAndStartEndDates() {
+    mockEmptyRowSet();
+
+    String clusterTable = "analytics_event_cluster_" + programA.getUid().toLowerCase() + "_1000";
+    EventQueryParams params =
+        createRequestParamsBuilder()
+            .removeDimensionOrFilter(PERIOD_DIM_ID)
+            .withStartDate(getDate(2017, 1, 1))
+            .withEndDate(getDate(2017, 12, 31))
+            .withTableName(clusterTable)
+            .withClusterSize(20000L)
+            .build();
+
+    subject.getEventClusters(params, createGrid(), 100);
+
+    verify(jdbcTemplate).queryForRowSet(sql.capture());
+
+    assertThat(sql.getValue(), containsString(" from " + clusterTable + " as ax "));
+    assertThat(
+        sql.getValue(),
+        containsString(
+            "ax.\"occurreddate\" >= '2017-01-01' and ax.\"occurreddate\" < '2018-01-01'"));
+    assertThat(sql.getValue(), not(containsString("quarterly")));
+  }
+
+  @Test
+  void verifyGetEventClustersSqlWithEventTable() {
+    mockEmptyRowSet();
+
+    EventQueryParams params = createRequestParamsBuilder().withClusterSize(20000L).build();
+
+    subject.getEventClusters(params, createGrid(), 100);
+
+    verify(jdbcTemplate).queryForRowSet(sql.capture());
+
+    assertThat(sql.getValue(), containsString("select count(psi) as count"));
+    assertThat(sql.getValue(), not(containsString("eventcount")));
+  }
+
   @Test
   void verifyGetEventQueryWithUnlimitedAnalyticsPageSizeAndPageSize50() {
     mockGivenRowsRowSet(101);
@@ -494,6 +560,44 @@ class EventAnalyticsManagerTest extends EventAnalyticsTest {
     assertThat(sql.getValue(), is(expected));
   }
 
+  @Test
+  void verifyGetAggregatedEventQueryWithSamplePercentage() {
+    mockRowSet();
+
+    EventQueryParams params =
+        new EventQueryParams.Builder(createRequestParams(programStage, ValueType.INTEGER))
+            .withSamplePercentage(10d)
+            .build();
+
+    subject.getAggregatedEventData(params, createGrid(), 200000);
+
+    verify(jdbcTemplate).queryForRowSet(sql.capture());
+
+    assertThat(
+        sql.getValue(), containsString("select round((count(ax.\"psi\") * 10.0)) as value,"));
+    assertThat(sql.getValue(), containsString(" as ax tablesample bernoulli (10.0) where "));
+  }
+
+  @Test
+  void verifyGetAggregatedEnrollmentCountWithSamplePercentageIsNotScaled() {
+    mockRowSet();
+
+    EventQueryParams params =
+        new EventQueryParams.Builder(createRequestParams(programStage, ValueType.INTEGER))
+            .withOutputType(EventOutputType.ENROLLMENT)
+            .withSamplePercentage(10d)
+            .build();
+
+    subject.getAggregatedEventData(params, createGrid(), 200000);
+
+    verify(jdbcTemplate).queryForRowSet(sql.capture());
+
+    assertThat(sql.getValue(), containsString("select count(distinct ax.\"pi\") as value,"));
+    assertThat(sql.getValue(), containsString(" as ax tablesample bernoulli (10.0) where "));
+    assertFalse(AbstractJdbcEventAnalyticsManager.isSampleScalable(params));
+    assertFalse(AbstractJdbcEventAnalyticsManager.isSampledCount(params));
+  }
+
   @Test
   void verifyGetAggregatedEventQueryWithFilter() {
 
@@ -422,6 +422,22 @@ class EventQueryValidatorTest extends DhisConvenienceTest {
     assertEquals(ErrorCode.E7212, error.getErrorCode());
   }
 
+  @Test
+  void validateErrorSamplePercentage() {
+    EventQueryParams params =
+        new EventQueryParams.Builder()
+            .withProgram(prA)
+            .withStartDate(new DateTime(2010, 6, 1, 0, 0).toDate())
+            .withEndDate(new DateTime(2012, 3, 20, 0, 0).toDate())
+            .withOrganisationUnits(List.of(ouB))
+            .withSamplePercentage(120d)
+            .build();
+
+    ErrorMessage error = eventQueryValidator.validateForErrorMessage(params);
+
+    assertEquals(ErrorCode.E7239, error.getErrorCode());
+  }
+
   /**
    * Asserts whether the given error code is thrown by the query validator for the given query.
    *
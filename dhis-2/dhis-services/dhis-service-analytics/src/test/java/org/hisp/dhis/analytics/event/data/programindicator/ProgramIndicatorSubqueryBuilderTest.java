@@ -34,9 +34,12 @@ import static org.hisp.dhis.DhisConvenienceTest.createProgramIndicator;
 import static org.hisp.dhis.DhisConvenienceTest.getDate;
 import static org.hisp.dhis.analytics.DataType.BOOLEAN;
 import static org.hisp.dhis.analytics.DataType.NUMERIC;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.when;
 
 import java.util.Date;
+import java.util.Optional;
 import org.hisp.dhis.program.AnalyticsType;
 import org.hisp.dhis.program.Program;
 import org.hisp.dhis.program.ProgramIndicator;
@@ -200,4 +203,52 @@ class ProgramIndicatorSubqueryBuilderTest {
                 + program.getUid().toLowerCase()
                 + " as subax WHERE pi = ax.pi AND (a = b))"));
   }
+
+  @Test
+  void verifyMaterializableClauseWhenIndependentOfReportingPeriod() {
+    ProgramIndicator pi = createProgramIndicator('A', program, DUMMY_EXPRESSION, "");
+
+    when(programIndicatorService.getAnalyticsSql(
+            eq(DUMMY_EXPRESSION),
+            eq(NUMERIC),
+            eq(pi),
+            any(Date.class),
+            any(Date.class),
+            eq("subax")))
+        .thenReturn("distinct psi");
+
+    Optional<String> sql = subject.getMaterializableClauseForProgramIndicator(pi);
+
+    assertThat(
+        sql,
+        is(
+            Optional.of(
+                "(SELECT avg (distinct psi) FROM analytics_event_"
+                    + program.getUid().toLowerCase()
+                    + " as subax WHERE pi = ax.pi)")));
+  }
+
+  @Test
+  void verifyNoMaterializableClauseWhenDependentOnReportingPeriod() {
+    ProgramIndicator pi = createProgramIndicator('A', program, DUMMY_EXPRESSION, "");
+
+    when(programIndicatorService.getAnalyticsSql(
+            eq(DUMMY_EXPRESSION),
+            eq(NUMERIC),
+            eq(pi),
+            any(Date.class),
+            any(Date.class),
+            eq("subax")))
+        .thenAnswer(invocation -> "occurreddate >= '" + invocation.getArgument(3) + "'");
+
+    assertThat(subject.getMaterializableClauseForProgramIndicator(pi), is(Optional.empty()));
+  }
+
+  @Test
+  void verifyNoMaterializableClauseForEnrollmentProgramIndicator() {
+    ProgramIndicator pi =
+        createProgramIndicator('A', AnalyticsType.ENROLLMENT, program, DUMMY_EXPRESSION, "");
+
+    assertThat(subject.getMaterializableClauseForProgramIndicator(pi), is(Optional.empty()));
+  }
 }
@@ -33,6 +33,7 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.Mockito.when;
 
 import java.util.List;
+import org.hisp.dhis.analytics.AnalyticsTableManager;
 import org.hisp.dhis.analytics.AnalyticsTableType;
 import org.hisp.dhis.analytics.table.model.AnalyticsTable;
 import org.hisp.dhis.analytics.table.model.AnalyticsTableColumn;
@@ -58,6 +59,8 @@ class AnalyticsTableServiceTest {
 
   @Mock private SqlBuilder sqlBuilder;
 
+  @Mock private AnalyticsTableManager tableManager;
+
   @InjectMocks private DefaultAnalyticsTableService tableService;
 
   @Test
@@ -91,6 +94,37 @@ class AnalyticsTableServiceTest {
     assertEquals(3, partitions.size());
   }
 
+  @Test
+  void testGetPartitionsByCost() {
+    AnalyticsTable table =
+        new AnalyticsTable(AnalyticsTableType.DATA_VALUE, List.of(), Logged.UNLOGGED);
+    table.addTablePartition(
+        List.of(),
+        2021,
+        new DateTime(2021, 1, 1, 0, 0).toDate(),
+        new DateTime(2021, 12, 31, 0, 0).toDate());
+    table.addTablePartition(
+        List.of(),
+        2022,
+        new DateTime(2022, 1, 1, 0, 0).toDate(),
+        new DateTime(2022, 12, 31, 0, 0).toDate());
+    table.addTablePartition(
+        List.of(),
+        2023,
+        new DateTime(2023, 1, 1, 0, 0).toDate(),
+        new DateTime(2023, 12, 31, 0, 0).toDate());
+    List<AnalyticsTablePartition> partitions = table.getTablePartitions();
+
+    when(tableManager.getRowEstimate(partitions.get(0))).thenReturn(100L);
+    when(tableManager.getRowEstimate(partitions.get(1))).thenReturn(5000L);
+    when(tableManager.getRowEstimate(partitions.get(2))).thenReturn(0L);
+
+    List<AnalyticsTablePartition> ordered = tableService.getPartitionsByCost(partitions);
+
+    assertEquals(
+        List.of(2022, 2021, 2023), ordered.stream().map(AnalyticsTablePartition::getYear).toList());
+  }
+
   @Test
   void testGetParallelJobsA() {
     when(systemSettingManager.getIntegerSetting(SettingKey.PARALLEL_JOBS_IN_ANALYTICS_TABLE_EXPORT))
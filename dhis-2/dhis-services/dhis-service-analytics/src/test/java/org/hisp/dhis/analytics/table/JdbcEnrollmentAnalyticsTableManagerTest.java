@@ -31,18 +31,29 @@ import static java.lang.String.format;
 import static org.hamcrest.CoreMatchers.containsString;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hisp.dhis.DhisConvenienceTest.createProgram;
+import static org.hisp.dhis.DhisConvenienceTest.createProgramIndicator;
 import static org.hisp.dhis.DhisConvenienceTest.createProgramTrackedEntityAttribute;
 import static org.hisp.dhis.DhisConvenienceTest.createTrackedEntityAttribute;
+import static org.hisp.dhis.analytics.table.JdbcEnrollmentAnalyticsTableManager.PROGRAM_INDICATOR_COL_PREFIX;
 import static org.hisp.dhis.system.util.SqlUtils.quote;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.util.Date;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
 import org.hisp.dhis.analytics.AnalyticsTableHookService;
 import org.hisp.dhis.analytics.AnalyticsTableUpdateParams;
+import org.hisp.dhis.analytics.common.ProgramIndicatorSubqueryBuilder;
 import org.hisp.dhis.analytics.partition.PartitionManager;
 import org.hisp.dhis.analytics.table.model.AnalyticsTable;
 import org.hisp.dhis.analytics.table.model.AnalyticsTablePartition;
@@ -56,6 +67,7 @@ import org.hisp.dhis.db.sql.SqlBuilder;
 import org.hisp.dhis.organisationunit.OrganisationUnitService;
 import org.hisp.dhis.period.PeriodDataProvider;
 import org.hisp.dhis.program.Program;
+import org.hisp.dhis.program.ProgramIndicator;
 import org.hisp.dhis.program.ProgramTrackedEntityAttribute;
 import org.hisp.dhis.resourcetable.ResourceTableService;
 import org.hisp.dhis.setting.SystemSettingManager;
@@ -86,6 +98,8 @@ class JdbcEnrollmentAnalyticsTableManagerTest {
 
   @Mock private PeriodDataProvider periodDataProvider;
 
+  @Mock private ProgramIndicatorSubqueryBuilder programIndicatorSubqueryBuilder;
+
   private final SqlBuilder sqlBuilder = new PostgreSqlBuilder();
 
   private JdbcEnrollmentAnalyticsTableManager subject;
@@ -109,7 +123,8 @@ class JdbcEnrollmentAnalyticsTableManagerTest {
             jdbcTemplate,
             analyticsTableSettings,
             periodDataProvider,
-            sqlBuilder);
+            sqlBuilder,
+            programIndicatorSubqueryBuilder);
   }
 
   @Test
@@ -149,4 +164,67 @@ class JdbcEnrollmentAnalyticsTableManagerTest {
 
     assertThat(sql.getValue(), containsString(ouQuery));
   }
+
+  @Test
+  void verifyMaterializedProgramIndicatorIsPopulatedFromSubquery() {
+    ArgumentCaptor<String> sql = ArgumentCaptor.forClass(String.class);
+    Program p1 = createProgram('A');
+    ProgramIndicator pi = createProgramIndicator('A', p1, "#{ps.de}", null);
+    p1.setProgramIndicators(Set.of(pi));
+
+    String subquery = "(SELECT avg (1) FROM analytics_event_prabcdefgha as subax WHERE pi = ax.pi)";
+
+    when(idObjectManager.getAllNoAcl(Program.class)).thenReturn(List.of(p1));
+    when(analyticsTableSettings.getMaterializedProgramIndicators())
+        .thenReturn(Set.of(pi.getUid()));
+    when(programIndicatorSubqueryBuilder.getMaterializableClauseForProgramIndicator(pi))
+        .thenReturn(Optional.of(subquery));
+    when(jdbcTemplate.queryForList(sqlBuilder.tableExists("analytics_event_prabcdefgha")))
+        .thenReturn(List.of(Map.of("table_name", "analytics_event_prabcdefgha")));
+
+    AnalyticsTableUpdateParams params =
+        AnalyticsTableUpdateParams.newBuilder().withLastYears(2).withStartTime(START_TIME).build();
+
+    List<AnalyticsTable> analyticsTables = subject.getAnalyticsTables(params);
+    AnalyticsTable table = analyticsTables.get(0);
+    String column = PROGRAM_INDICATOR_COL_PREFIX + pi.getUid();
+
+    assertTrue(table.getAnalyticsTableColumns().stream().anyMatch(c -> column.equals(c.getName())));
+
+    AnalyticsTablePartition partition = new AnalyticsTablePartition(table);
+
+    subject.populateTable(params, partition);
+    verify(jdbcTemplate, times(2)).execute(sql.capture());
+
+    assertEquals(
+        "update " + quote(partition.getName()) + " as ax set " + quote(column) + " = " + subquery,
+        sql.getAllValues().get(1));
+  }
+
+  @Test
+  void verifyProgramIndicatorIsNotMaterializedWithoutEventTable() {
+    Program p1 = createProgram('A');
+    ProgramIndicator pi = createProgramIndicator('A', p1, "#{ps.de}", null);
+    p1.setProgramIndicators(Set.of(pi));
+
+    when(idObjectManager.getAllNoAcl(Program.class)).thenReturn(List.of(p1));
+    when(analyticsTableSettings.getMaterializedProgramIndicators())
+        .thenReturn(Set.of(pi.getUid()));
+
+    AnalyticsTableUpdateParams params =
+        AnalyticsTableUpdateParams.newBuilder().withLastYears(2).withStartTime(START_TIME).build();
+
+    List<AnalyticsTable> analyticsTables = subject.getAnalyticsTables(params);
+    AnalyticsTable table = analyticsTables.get(0);
+    String column = PROGRAM_INDICATOR_COL_PREFIX + pi.getUid();
+
+    assertFalse(
+        table.getAnalyticsTableColumns().stream().anyMatch(c -> column.equals(c.getName())));
+
+    subject.populateTable(params, new AnalyticsTablePartition(table));
+
+    verify(jdbcTemplate, times(1)).execute(anyString());
+    verify(programIndicatorSubqueryBuilder, never())
+        .getMaterializableClauseForProgramIndicator(pi);
+  }
 }
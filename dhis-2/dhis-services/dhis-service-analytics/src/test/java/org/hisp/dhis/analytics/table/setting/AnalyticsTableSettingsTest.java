@@ -28,10 +28,14 @@
 package org.hisp.dhis.analytics.table.setting;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.Mockito.when;
 
+import java.util.List;
 import java.util.Set;
+import org.hisp.dhis.analytics.table.model.AnalyticsClusterTable;
+import org.hisp.dhis.analytics.table.model.AnalyticsRollup;
 import org.hisp.dhis.analytics.table.model.Skip;
 import org.hisp.dhis.db.model.Database;
 import org.hisp.dhis.external.conf.ConfigurationKey;
@@ -102,6 +106,69 @@ class AnalyticsTableSettingsTest {
         settings.getSkipColumnDimensions());
   }
 
+  @Test
+  void testGetMaterializedProgramIndicators() {
+    when(config.getProperty(ConfigurationKey.ANALYTICS_TABLE_MATERIALIZED_PROGRAM_INDICATORS))
+        .thenReturn("Wz2vJ5xtUQm, Lm3bA8yeSQr");
+
+    assertEquals(Set.of("Wz2vJ5xtUQm", "Lm3bA8yeSQr"), settings.getMaterializedProgramIndicators());
+  }
+
+  @Test
+  void testGetRollups() {
+    when(config.getProperty(ConfigurationKey.ANALYTICS_TABLE_ROLLUPS))
+        .thenReturn("Yearly:2, Monthly:3");
+
+    assertEquals(
+        Set.of(new AnalyticsRollup("yearly", 2), new AnalyticsRollup("monthly", 3)),
+        Set.copyOf(settings.getRollups()));
+  }
+
+  @Test
+  void testToRollupInvalid() {
+    assertThrows(IllegalArgumentException.class, () -> settings.toRollup("Hourly:2"));
+    assertThrows(IllegalArgumentException.class, () -> settings.toRollup("Monthly:x"));
+    assertThrows(IllegalArgumentException.class, () -> settings.toRollup("Monthly"));
+  }
+
+  @Test
+  void testRollupTableName() {
+    AnalyticsRollup rollup = new AnalyticsRollup("monthly", 3);
+
+    assertEquals("analytics_rollup_monthly_3", rollup.getTableName());
+    assertEquals(rollup, AnalyticsRollup.fromTableName("analytics_rollup_monthly_3"));
+    assertNull(AnalyticsRollup.fromTableName("analytics_rollup_monthly_3_temp"));
+    assertNull(AnalyticsRollup.fromTableName("analytics_2023"));
+  }
+
+  @Test
+  void testGetClusterResolutions() {
+    when(config.getProperty(ConfigurationKey.ANALYTICS_TABLE_CLUSTER_RESOLUTIONS))
+        .thenReturn("10000, 100,1000");
+
+    assertEquals(List.of(100, 1000, 10000), settings.getClusterResolutions());
+  }
+
+  @Test
+  void testToClusterResolutionInvalid() {
+    assertThrows(IllegalArgumentException.class, () -> settings.toClusterResolution("0"));
+    assertThrows(IllegalArgumentException.class, () -> settings.toClusterResolution("-100"));
+    assertThrows(IllegalArgumentException.class, () -> settings.toClusterResolution("1km"));
+  }
+
+  @Test
+  void testClusterTableName() {
+    AnalyticsClusterTable table = new AnalyticsClusterTable("prabcdefgha", 1000);
+
+    assertEquals("analytics_event_cluster_prabcdefgha_1000", table.getTableName());
+    assertEquals("analytics_event_prabcdefgha", table.getSourceTableName());
+    assertEquals(
+        table, AnalyticsClusterTable.fromTableName("analytics_event_cluster_prabcdefgha_1000"));
+    assertNull(
+        AnalyticsClusterTable.fromTableName("analytics_event_cluster_prabcdefgha_1000_temp"));
+    assertNull(AnalyticsClusterTable.fromTableName("analytics_event_prabcdefgha_2023"));
+  }
+
   @Test
   void testToSet() {
     Set<String> expected = Set.of("kJ7yGrfR413", "Hg5tGfr2fas", "Ju71jG19Kaq", "b5TgfRL9pUq");
@@ -357,6 +357,15 @@ class PostgreSqlBuilderTest {
     assertEquals(expected, sqlBuilder.countRows(getTableA()));
   }
 
+  @Test
+  void testEstimateRows() {
+    String expected =
+        """
+        select c.reltuples as row_estimate from pg_class c where c.relname = 'immunization';""";
+
+    assertEquals(expected, sqlBuilder.estimateRows("immunization"));
+  }
+
   @Test
   void testCreateIndexA() {
     List<Index> indexes = getIndexesA();
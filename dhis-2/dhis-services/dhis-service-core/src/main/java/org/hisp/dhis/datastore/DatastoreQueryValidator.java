@@ -54,6 +54,12 @@ public class DatastoreQueryValidator {
             f, "the operator `" + f.getOperator() + "` is unary and does not require a value");
       }
     }
+    if (query.getAfter() != null && !query.getOrder().isKeyPath()) {
+      throw new ConflictException(
+          ErrorCode.E7655,
+          query.getAfter(),
+          "keyset pagination requires the entries ordered by key");
+    }
   }
 
   private static ConflictException filterException(Filter f, String msg) {
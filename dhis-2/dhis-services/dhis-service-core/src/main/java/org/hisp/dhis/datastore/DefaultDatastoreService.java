@@ -30,8 +30,12 @@ package org.hisp.dhis.datastore;
 import static java.util.Collections.emptyList;
 import static java.util.Collections.singletonList;
 import static java.util.Comparator.comparing;
+import static java.util.stream.Collectors.toMap;
 
+import com.google.common.collect.Lists;
+import java.util.ArrayList;
 import java.util.Date;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -41,13 +45,16 @@ import java.util.function.Supplier;
 import java.util.stream.Stream;
 import javax.annotation.CheckForNull;
 import javax.annotation.Nonnull;
-import lombok.RequiredArgsConstructor;
+import org.hisp.dhis.cache.Cache;
+import org.hisp.dhis.cache.CacheProvider;
 import org.hisp.dhis.common.NonTransactional;
 import org.hisp.dhis.datastore.DatastoreNamespaceProtection.ProtectionType;
 import org.hisp.dhis.feedback.BadRequestException;
 import org.hisp.dhis.feedback.ConflictException;
+import org.hisp.dhis.feedback.ErrorCode;
 import org.hisp.dhis.jsontree.JsonNode;
 import org.hisp.dhis.security.acl.AclService;
+import org.hisp.dhis.system.database.DatabaseInfoProvider;
 import org.hisp.dhis.user.CurrentUserUtil;
 import org.hisp.dhis.user.UserDetails;
 import org.hisp.dhis.user.sharing.Sharing;
@@ -59,10 +66,12 @@ import org.springframework.transaction.annotation.Transactional;
  * @author Stian Sandvold (initial)
  * @author Jan Bernitt (namespace protection)
  */
-@RequiredArgsConstructor
 @Service
 public class DefaultDatastoreService implements DatastoreService {
 
+  /** Number of keys of a bulk write that are loaded and written together. */
+  private static final int BULK_CHUNK_SIZE = 1000;
+
   private final Map<String, DatastoreNamespaceProtection> protectionByNamespace =
       new ConcurrentHashMap<>();
 
@@ -70,6 +79,22 @@ public class DefaultDatastoreService implements DatastoreService {
 
   private final AclService aclService;
 
+  private final DatabaseInfoProvider databaseInfoProvider;
+
+  /** The indexes of a namespace as used when planning queries. */
+  private final Cache<List<DatastoreIndex>> indexesByNamespace;
+
+  public DefaultDatastoreService(
+      DatastoreStore store,
+      AclService aclService,
+      DatabaseInfoProvider databaseInfoProvider,
+      CacheProvider cacheProvider) {
+    this.store = store;
+    this.aclService = aclService;
+    this.databaseInfoProvider = databaseInfoProvider;
+    this.indexesByNamespace = cacheProvider.createDatastoreIndexCache();
+  }
+
   @Override
   @NonTransactional
   public DatastoreNamespaceProtection getProtection(@Nonnull String namespace) {
@@ -97,6 +122,35 @@ public class DefaultDatastoreService implements DatastoreService {
     protectionByNamespace.remove(namespace);
   }
 
+  @Nonnull
+  @Override
+  @NonTransactional
+  public List<DatastoreIndex> getIndexes(@Nonnull String namespace) {
+    return readProtectedIn(namespace, emptyList(), () -> store.getIndexes(namespace));
+  }
+
+  @Override
+  @NonTransactional
+  public void addIndex(@Nonnull DatastoreIndex index) throws ConflictException {
+    if ("_".equals(index.getPath())) {
+      throw new ConflictException(
+          ErrorCode.E7654, index.getPath(), "keys are always indexed within a namespace");
+    }
+    if (index.isRootPath() && index.getType() == DatastoreIndex.Type.BTREE) {
+      throw new ConflictException(
+          ErrorCode.E7654, index.getPath(), "the root value can only be indexed using GIN");
+    }
+    store.createIndex(index);
+    indexesByNamespace.invalidate(index.getNamespace());
+  }
+
+  @Override
+  @NonTransactional
+  public void removeIndex(@Nonnull DatastoreIndex index) {
+    store.dropIndex(index);
+    indexesByNamespace.invalidate(index.getNamespace());
+  }
+
   @Override
   @Transactional(readOnly = true)
   public List<String> getNamespaces() {
@@ -127,7 +181,11 @@ public class DefaultDatastoreService implements DatastoreService {
   @Override
   public DatastoreQuery plan(DatastoreQuery query) throws ConflictException {
     DatastoreQueryValidator.validate(query);
-    return query;
+    if (query.getFilters().isEmpty() || databaseInfoProvider.isInMemory()) {
+      return query;
+    }
+    List<DatastoreIndex> indexes = indexesByNamespace.get(query.getNamespace(), store::getIndexes);
+    return indexes.isEmpty() ? query : query.toBuilder().indexes(indexes).build();
   }
 
   @Override
@@ -176,6 +234,78 @@ public class DefaultDatastoreService implements DatastoreService {
     }
   }
 
+  @Override
+  @Transactional
+  public Map<String, DatastoreWriteStatus> writeEntries(
+      String namespace, Map<String, String> valuesByKey, boolean encrypt) {
+    DatastoreNamespaceProtection protection = protectionByNamespace.get(namespace);
+    if (!userHasNamespaceWriteAccess(protection)) {
+      if (protection.getWrites() == ProtectionType.RESTRICTED) {
+        throw accessDeniedTo(namespace);
+      }
+      // HIDDEN: the operation silently just isn't run
+      return Map.of();
+    }
+    UserDetails user = CurrentUserUtil.getCurrentUserDetails();
+    Map<String, DatastoreWriteStatus> statusByKey = new LinkedHashMap<>();
+    for (List<String> keys : Lists.partition(List.copyOf(valuesByKey.keySet()), BULK_CHUNK_SIZE)) {
+      Map<String, DatastoreEntry> existingByKey =
+          store.getEntries(namespace, keys).stream()
+              .collect(toMap(DatastoreEntry::getKey, Function.identity()));
+      store.writeInBatch(
+          () -> {
+            List<DatastoreEntry> written = new ArrayList<>();
+            for (String key : keys) {
+              DatastoreEntry existing = existingByKey.get(key);
+              String value = valuesByKey.get(key);
+              statusByKey.put(
+                  key, writeEntry(namespace, key, value, existing, user, encrypt, written));
+            }
+            return written;
+          });
+    }
+    return statusByKey;
+  }
+
+  private DatastoreWriteStatus writeEntry(
+      String namespace,
+      String key,
+      String value,
+      DatastoreEntry existing,
+      UserDetails user,
+      boolean encrypt,
+      List<DatastoreEntry> written) {
+    if (key.isBlank() || (value != null && !isValidJson(value))) {
+      return DatastoreWriteStatus.INVALID;
+    }
+    if (existing == null && value == null) {
+      return DatastoreWriteStatus.NOT_FOUND;
+    }
+    if (existing != null && !aclService.canWrite(user, existing)) {
+      return DatastoreWriteStatus.DENIED;
+    }
+    try {
+      if (value == null) {
+        store.delete(existing);
+        written.add(existing);
+        return DatastoreWriteStatus.DELETED;
+      }
+      if (existing != null) {
+        existing.setValue(value);
+        store.update(existing);
+        written.add(existing);
+        return DatastoreWriteStatus.UPDATED;
+      }
+      DatastoreEntry entry = new DatastoreEntry(namespace, key, value, encrypt);
+      store.save(entry);
+      written.add(entry);
+      return DatastoreWriteStatus.CREATED;
+    } catch (AccessDeniedException ex) {
+      // the store checks access before the write is added to the batch
+      return DatastoreWriteStatus.DENIED;
+    }
+  }
+
   @Override
   @Transactional
   public void deleteNamespace(String namespace) {
@@ -308,10 +438,17 @@ public class DefaultDatastoreService implements DatastoreService {
 
   private static void validateEntry(String key, String value) throws BadRequestException {
     if (value == null) return;
+    if (!isValidJson(value)) {
+      throw new BadRequestException(String.format("Invalid JSON value for key '%s'", key));
+    }
+  }
+
+  private static boolean isValidJson(String value) {
     try {
       JsonNode.of(value).visit(JsonNode::value);
+      return true;
     } catch (RuntimeException e) {
-      throw new BadRequestException(String.format("Invalid JSON value for key '%s'", key));
+      return false;
     }
   }
 }
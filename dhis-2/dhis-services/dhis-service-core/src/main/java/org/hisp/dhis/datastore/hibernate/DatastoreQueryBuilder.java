@@ -36,12 +36,17 @@ import static java.util.stream.Collectors.toList;
 
 import java.util.Arrays;
 import java.util.List;
+import java.util.Optional;
+import java.util.Set;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.BiConsumer;
 import java.util.stream.Collectors;
 import lombok.AllArgsConstructor;
+import org.apache.commons.text.StringEscapeUtils;
+import org.hisp.dhis.datastore.DatastoreIndex;
 import org.hisp.dhis.datastore.DatastoreQuery;
 import org.hisp.dhis.datastore.DatastoreQuery.Comparison;
+import org.hisp.dhis.datastore.DatastoreQuery.Direction;
 import org.hisp.dhis.datastore.DatastoreQuery.Filter;
 import org.hisp.dhis.datastore.DatastoreQuery.Order;
 import org.hisp.dhis.system.util.SqlUtils;
@@ -51,6 +56,11 @@ import org.hisp.dhis.system.util.SqlUtils;
  * parameters for the filter value placeholders in that query using {@link
  * #applyParameterValues(BiConsumer)}.
  *
+ * <p>Equality filters covered by a {@link DatastoreIndex.Type#GIN} index of the query get an
+ * additional containment condition which is implied by the filter but can use the index. Text
+ * comparisons extract the value in the same form as {@link DatastoreIndex.Type#BTREE} indexes so
+ * these can be used as is.
+ *
  * @author Jan Bernitt
  */
 @AllArgsConstructor
@@ -64,20 +74,41 @@ public class DatastoreQueryBuilder {
     String nonNullFilters = createHasNonNullFieldsFilters();
     String orders = createOrderHQL();
     String filters = createFilterHQL();
+    String after = createAfterHQL();
 
     return format(
-        "select key %s %s and (%s) and (%s) order by %s",
-        fields, tableAndBaseFilterHql, nonNullFilters, filters, orders);
+        "select key %s %s and (%s) and (%s) and (%s) order by %s",
+        fields, tableAndBaseFilterHql, nonNullFilters, filters, after, orders);
   }
 
   public void applyParameterValues(BiConsumer<String, Object> setParameter) {
     int i = 0;
     for (Filter f : query.getFilters()) {
       if (!f.getOperator().isUnary() && !f.isNullValue()) {
-        setParameter.accept("f_" + i, toTypedFilterArgument(f));
+        Object arg = toTypedFilterArgument(f);
+        setParameter.accept("f_" + i, arg);
+        Optional<DatastoreIndex> index = findContainmentIndex(f);
+        if (index.isPresent()) {
+          setParameter.accept("c_" + i, toContainedJson(f, index.get(), arg));
+        }
       }
       i++;
     }
+    if (query.getAfter() != null) {
+      setParameter.accept("after", query.getAfter());
+    }
+  }
+
+  /**
+   * Keyset pagination: the page starts after the given key in key order. As the key is unique
+   * within a namespace this is stable even when entries are added or removed between pages.
+   */
+  private String createAfterHQL() {
+    if (query.getAfter() == null) {
+      return "1=1";
+    }
+    Direction dir = query.getOrder().getDirection();
+    return dir == Direction.DESC || dir == Direction.NDESC ? "key < :after" : "key > :after";
   }
 
   private String createFieldsHQL() {
@@ -125,10 +156,61 @@ public class DatastoreQueryBuilder {
     }
     AtomicInteger index = new AtomicInteger();
     return filters.stream()
-        .map(f -> createFilterHQL(f, index.getAndIncrement()))
+        .map(f -> createIndexedFilterHQL(f, index.getAndIncrement()))
         .collect(joining(query.isAnyFilter() ? " or " : " and "));
   }
 
+  private String createIndexedFilterHQL(Filter filter, int id) {
+    String hql = createFilterHQL(filter, id);
+    Optional<DatastoreIndex> index = findContainmentIndex(filter);
+    if (index.isEmpty()) {
+      return hql;
+    }
+    String indexed =
+        index.get().isRootPath() ? "jbPlainValue" : toValueAtPathHQL(index.get().getPath());
+    return format("(%s and jsonb_contains(%s, :c_%d) = true)", hql, indexed, id);
+  }
+
+  /**
+   * @param filter a filter of the query
+   * @return the GIN index that can be used to find the matches of the filter using containment
+   */
+  private Optional<DatastoreIndex> findContainmentIndex(Filter filter) {
+    if (query.getIndexes().isEmpty()
+        || filter.getOperator() != Comparison.EQUAL
+        || filter.isKeyPath()
+        || filter.isValuePath()
+        || filter.getPath().matches("(?:.*\\.)?[0-9]+(?:\\..*)?")
+        || !Set.of("string", "number", "boolean").contains(deriveNodeType(filter))) {
+      return Optional.empty();
+    }
+    return query.getIndexes().stream()
+        .filter(i -> i.getType() == DatastoreIndex.Type.GIN && i.covers(filter.getPath()))
+        .findFirst();
+  }
+
+  /**
+   * Creates the JSON for a containment test equivalent to the filter.
+   *
+   * <pre>
+   * index: a, filter: a.b.c:eq:x => {"b":{"c":"x"}}
+   * </pre>
+   */
+  private static String toContainedJson(Filter filter, DatastoreIndex index, Object arg) {
+    String json =
+        arg instanceof String str
+            ? "\"" + StringEscapeUtils.escapeJson(str) + "\""
+            : arg.toString();
+    String path = filter.getPath();
+    String relative = index.isRootPath() ? path : path.substring(index.getPath().length());
+    List<String> segments =
+        Arrays.stream(relative.split("\\.")).filter(s -> !s.isEmpty()).collect(toList());
+    for (int i = segments.size() - 1; i >= 0; i--) {
+      json = "{\"" + segments.get(i) + "\":" + json + "}";
+    }
+    return json;
+  }
+
   private static String createFilterHQL(Filter filter, int id) {
     switch (filter.getOperator()) {
       case EMPTY:
@@ -32,18 +32,25 @@ import static java.util.Arrays.copyOfRange;
 import static java.util.Collections.emptyList;
 import static org.hisp.dhis.query.JpaQueryUtils.generateHqlQueryForSharingCheck;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.Date;
 import java.util.List;
 import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import javax.annotation.CheckForNull;
 import javax.annotation.Nonnull;
 import javax.persistence.EntityManager;
 import javax.persistence.criteria.CriteriaBuilder;
+import org.hibernate.Session;
 import org.hibernate.query.Query;
 import org.hisp.dhis.common.hibernate.HibernateIdentifiableObjectStore;
 import org.hisp.dhis.datastore.DatastoreEntry;
 import org.hisp.dhis.datastore.DatastoreFields;
+import org.hisp.dhis.datastore.DatastoreIndex;
 import org.hisp.dhis.datastore.DatastoreQuery;
 import org.hisp.dhis.datastore.DatastoreStore;
 import org.hisp.dhis.security.acl.AclService;
@@ -58,6 +65,10 @@ import org.springframework.stereotype.Repository;
 @Repository
 public class HibernateDatastoreStore extends HibernateIdentifiableObjectStore<DatastoreEntry>
     implements DatastoreStore {
+
+  /** Number of statements sent to the database at once by {@link #writeInBatch(Supplier)}. */
+  private static final int WRITE_BATCH_SIZE = 100;
+
   public HibernateDatastoreStore(
       EntityManager entityManager,
       JdbcTemplate jdbcTemplate,
@@ -132,9 +143,10 @@ public class HibernateDatastoreStore extends HibernateIdentifiableObjectStore<Da
 
     if (query.isPaging()) {
       int size = Math.min(1000, Math.max(1, query.getPageSize()));
-      int offset = Math.max(0, (query.getPage() - 1) * size);
       hQuery.setMaxResults(size);
-      hQuery.setFirstResult(offset);
+      if (query.getAfter() == null) {
+        hQuery.setFirstResult(Math.max(0, (query.getPage() - 1) * size));
+      }
     }
 
     if (query.getFields().isEmpty()) {
@@ -164,6 +176,29 @@ public class HibernateDatastoreStore extends HibernateIdentifiableObjectStore<Da
             .addPredicate(root -> builder.equal(root.get("key"), key)));
   }
 
+  @Override
+  public List<DatastoreEntry> getEntries(String namespace, Collection<String> keys) {
+    if (keys.isEmpty()) {
+      return List.of();
+    }
+    String hql = "from DatastoreEntry where namespace = :namespace and key in (:keys)";
+    return getQuery(hql).setParameter("namespace", namespace).setParameterList("keys", keys).list();
+  }
+
+  @Override
+  public void writeInBatch(Supplier<List<DatastoreEntry>> writes) {
+    Session session = getSession();
+    Integer batchSize = session.getJdbcBatchSize();
+    session.setJdbcBatchSize(WRITE_BATCH_SIZE);
+    try {
+      List<DatastoreEntry> written = writes.get();
+      session.flush();
+      written.forEach(session::evict);
+    } finally {
+      session.setJdbcBatchSize(batchSize);
+    }
+  }
+
   @Override
   public void deleteNamespace(String ns) {
     String sql = "delete from keyjsonvalue ds where ds.namespace = :ns";
@@ -179,6 +214,74 @@ public class HibernateDatastoreStore extends HibernateIdentifiableObjectStore<Da
     throw new IllegalStateException("Count did not return a number but: " + count);
   }
 
+  @Override
+  public List<DatastoreIndex> getIndexes(String namespace) {
+    String sql =
+        """
+        select obj_description(c.oid, 'pg_class') from pg_class c
+        join pg_index i on i.indexrelid = c.oid
+        where c.relname like 'in\\_datastore\\_%' and i.indisvalid""";
+    List<DatastoreIndex> indexes = new ArrayList<>();
+    for (String comment : jdbcTemplate.queryForList(sql, String.class)) {
+      // datastore:<type>:<path>:<namespace>
+      String[] parts = comment == null ? new String[0] : comment.split(":", 4);
+      if (parts.length == 4 && "datastore".equals(parts[0]) && parts[3].equals(namespace)) {
+        indexes.add(new DatastoreIndex(parts[3], parts[2], DatastoreIndex.Type.valueOf(parts[1])));
+      }
+    }
+    return indexes;
+  }
+
+  @Override
+  public void createIndex(DatastoreIndex index) {
+    String expression =
+        switch (index.getType()) {
+          case BTREE ->
+              "(jsonb_extract_path_text(jbvalue, %s))".formatted(toPathSegments(index.getPath()));
+          case GIN ->
+              index.isRootPath()
+                  ? "using gin (jbvalue jsonb_path_ops)"
+                  : "using gin ((jsonb_extract_path(jbvalue, %s)) jsonb_path_ops)"
+                      .formatted(toPathSegments(index.getPath()));
+        };
+    String name = index.getName();
+    List<Boolean> valid =
+        jdbcTemplate.queryForList(
+            "select indisvalid from pg_index where indexrelid = to_regclass(?)",
+            Boolean.class,
+            name);
+    if (!valid.isEmpty() && !Boolean.TRUE.equals(valid.get(0))) {
+      // a failed concurrent build leaves an invalid index behind which "if not exists" would keep
+      jdbcTemplate.execute("drop index concurrently if exists " + name);
+    }
+    String sql =
+        "create index concurrently if not exists %s on keyjsonvalue %s where namespace = '%s'"
+            .formatted(name, expression, escapeLiteral(index.getNamespace()));
+    jdbcTemplate.execute(sql);
+    String comment =
+        "datastore:%s:%s:%s".formatted(index.getType(), index.getPath(), index.getNamespace());
+    jdbcTemplate.execute("comment on index %s is '%s'".formatted(name, escapeLiteral(comment)));
+  }
+
+  @Override
+  public void dropIndex(DatastoreIndex index) {
+    jdbcTemplate.execute("drop index concurrently if exists " + index.getName());
+  }
+
+  /**
+   * @param path a normalised path (segments are restricted to alphanumeric characters, - and _)
+   * @return the path segments as SQL arguments of the jsonb extract functions
+   */
+  private static String toPathSegments(String path) {
+    return Arrays.stream(path.split("\\."))
+        .map(segment -> "'" + segment + "'")
+        .collect(Collectors.joining(", "));
+  }
+
+  private static String escapeLiteral(String value) {
+    return value.replace("'", "''");
+  }
+
   @Override
   public boolean updateEntry(
       @Nonnull String ns,
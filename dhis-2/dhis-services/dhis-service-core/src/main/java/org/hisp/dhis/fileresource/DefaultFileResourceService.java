@@ -35,7 +35,6 @@ import java.io.InputStream;
 import java.io.OutputStream;
 import java.net.URI;
 import java.util.List;
-import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.Optional;
 import java.util.function.Predicate;
@@ -85,8 +84,6 @@ public class DefaultFileResourceService implements FileResourceService {
 
   private final FileResourceContentStore fileResourceContentStore;
 
-  private final ImageProcessingService imageProcessingService;
-
   private final ApplicationEventPublisher fileEventPublisher;
 
   private final EntityManager entityManager;
@@ -190,12 +187,9 @@ public class DefaultFileResourceService implements FileResourceService {
     entityManager.flush();
 
     if (hasMultiDimensionImageSupport(fileResource)) {
-      Map<ImageFileDimension, File> imageFiles =
-          imageProcessingService.createImages(fileResource, file);
-
       fileEventPublisher.publishEvent(
           new ImageFileSavedEvent(
-              fileResource.getUid(), imageFiles, CurrentUserUtil.getCurrentUserDetails().getUid()));
+              fileResource.getUid(), file, CurrentUserUtil.getCurrentUserDetails().getUid()));
       return;
     }
 
@@ -309,6 +303,14 @@ public class DefaultFileResourceService implements FileResourceService {
     fileResourceContentStore.copyContent(fileResource.getStorageKey(), outputStream);
   }
 
+  @Override
+  public void copyFileResourceContent(
+      FileResource fileResource, OutputStream outputStream, long offset, long length)
+      throws IOException, NoSuchElementException {
+    fileResourceContentStore.copyContent(
+        fileResource.getStorageKey(), outputStream, offset, length);
+  }
+
   @Override
   public byte[] copyFileResourceContent(FileResource fileResource)
       throws IOException, NoSuchElementException {
@@ -27,22 +27,41 @@
  */
 package org.hisp.dhis.fileresource;
 
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import java.awt.image.BufferedImage;
 import java.io.BufferedInputStream;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.UncheckedIOException;
 import java.net.URLConnection;
+import java.nio.file.Files;
 import java.util.EnumMap;
+import java.util.Iterator;
 import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.annotation.PreDestroy;
 import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
 import lombok.extern.slf4j.Slf4j;
 import org.hisp.dhis.commons.util.DebugUtils;
 import org.imgscalr.Scalr;
 import org.springframework.stereotype.Service;
 
 /**
+ * Creates the resized variants of an image. The source image is decoded once, subsampled while
+ * decoding when it is much larger than the largest variant, and the variants are resized and
+ * encoded in parallel on a bounded pool. When the pool is saturated, the calling thread resizes
+ * the variant itself, which throttles callers rather than queuing without bounds.
+ *
  * @Author Zubair Asghar.
  */
 @Slf4j
@@ -54,39 +73,185 @@ public class DefaultImageProcessingService implements ImageProcessingService {
           ImageFileDimension.MEDIUM, new ImageSize(512, 512),
           ImageFileDimension.LARGE, new ImageSize(1024, 1024));
 
+  /**
+   * Sources are only subsampled down to twice the width of the largest variant, so that the final
+   * resize still filters the image.
+   */
+  private static final int SUBSAMPLING_MIN_WIDTH = 2 * 1024;
+
+  private static final int RESIZE_QUEUE_CAPACITY = 64;
+
+  private final ThreadPoolExecutor resizeExecutor;
+
+  private final AtomicLong processedImages = new AtomicLong();
+
+  private final AtomicLong failedImages = new AtomicLong();
+
+  private final AtomicLong subsampledImages = new AtomicLong();
+
+  private final AtomicLong processingNanos = new AtomicLong();
+
+  public DefaultImageProcessingService() {
+    int threads = Math.min(IMAGE_FILE_SIZES.size(), Runtime.getRuntime().availableProcessors());
+
+    this.resizeExecutor =
+        new ThreadPoolExecutor(
+            threads,
+            threads,
+            0L,
+            TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(RESIZE_QUEUE_CAPACITY),
+            new ThreadFactoryBuilder().setNameFormat("image-resize-%d").setDaemon(true).build(),
+            new ThreadPoolExecutor.CallerRunsPolicy());
+  }
+
   @Override
   public Map<ImageFileDimension, File> createImages(FileResource fileResource, File file) {
     if (!isInputValid(fileResource, file)) {
       return new EnumMap<>(ImageFileDimension.class);
     }
 
-    Map<ImageFileDimension, File> images = new EnumMap<>(ImageFileDimension.class);
+    long startTime = System.nanoTime();
+
+    Map<ImageFileDimension, CompletableFuture<File>> resizes =
+        new EnumMap<>(ImageFileDimension.class);
 
     try {
-      BufferedImage image = ImageIO.read(file);
+      BufferedImage image = readImage(file);
+
+      if (image == null) {
+        throw new IOException("No image reader available for file: " + file.getName());
+      }
 
       for (ImageFileDimension dimension : ImageFileDimension.values()) {
-        if (ImageFileDimension.ORIGINAL == dimension) {
-          images.put(dimension, file);
-          continue;
+        if (ImageFileDimension.ORIGINAL != dimension) {
+          resizes.put(
+              dimension,
+              CompletableFuture.supplyAsync(
+                  () -> writeImage(fileResource, file, image, dimension), resizeExecutor));
         }
+      }
+
+      Map<ImageFileDimension, File> images = new EnumMap<>(ImageFileDimension.class);
+      images.put(ImageFileDimension.ORIGINAL, file);
+
+      for (Map.Entry<ImageFileDimension, CompletableFuture<File>> resize : resizes.entrySet()) {
+        images.put(resize.getKey(), resize.getValue().join());
+      }
+
+      processedImages.incrementAndGet();
+
+      return images;
+    } catch (IOException | CompletionException e) {
+      log.error("Image file resource cannot be processed", e);
+      failedImages.incrementAndGet();
+      deleteResizedImages(resizes);
+      return new EnumMap<>(ImageFileDimension.class);
+    } finally {
+      processingNanos.addAndGet(System.nanoTime() - startTime);
+    }
+  }
+
+  /** Returns the number of images for which all variants were created. */
+  public long getProcessedImages() {
+    return processedImages.get();
+  }
+
+  /** Returns the number of images which could not be decoded, resized or encoded. */
+  public long getFailedImages() {
+    return failedImages.get();
+  }
+
+  /** Returns the number of images which were subsampled while decoding. */
+  public long getSubsampledImages() {
+    return subsampledImages.get();
+  }
+
+  /** Returns the total time spent creating images in nanoseconds. */
+  public long getProcessingNanos() {
+    return processingNanos.get();
+  }
 
-        ImageSize size = IMAGE_FILE_SIZES.get(dimension);
+  /** Returns the number of resize tasks waiting for a thread of the pool. */
+  public int getQueuedResizes() {
+    return resizeExecutor.getQueue().size();
+  }
 
-        BufferedImage resizedImage = resize(image, size);
+  @PreDestroy
+  public void shutdown() {
+    resizeExecutor.shutdownNow();
+  }
 
-        File tempFile = new File(file.getPath() + dimension.getDimension());
+  /**
+   * Decodes the first image of the given file. Sources at least twice as wide as {@link
+   * #SUBSAMPLING_MIN_WIDTH} are subsampled by the reader, which avoids holding the full resolution
+   * raster in memory.
+   *
+   * @return the decoded image, or null if no reader supports the file.
+   */
+  private BufferedImage readImage(File file) throws IOException {
+    try (ImageInputStream input = ImageIO.createImageInputStream(file)) {
+      if (input == null) {
+        return null;
+      }
 
-        ImageIO.write(resizedImage, fileResource.getFormat(), tempFile);
+      Iterator<ImageReader> readers = ImageIO.getImageReaders(input);
 
-        images.put(dimension, tempFile);
+      if (!readers.hasNext()) {
+        return null;
       }
+
+      ImageReader reader = readers.next();
+
+      try {
+        reader.setInput(input, true, true);
+
+        ImageReadParam param = reader.getDefaultReadParam();
+        int subsampling = getSubsampling(reader.getWidth(0));
+
+        if (subsampling > 1) {
+          param.setSourceSubsampling(subsampling, subsampling, 0, 0);
+          subsampledImages.incrementAndGet();
+        }
+
+        return reader.read(0, param);
+      } finally {
+        reader.dispose();
+      }
+    }
+  }
+
+  static int getSubsampling(int width) {
+    return Math.max(1, width / SUBSAMPLING_MIN_WIDTH);
+  }
+
+  private File writeImage(
+      FileResource fileResource, File file, BufferedImage image, ImageFileDimension dimension) {
+    BufferedImage resizedImage = resize(image, IMAGE_FILE_SIZES.get(dimension));
+
+    File tempFile = new File(file.getPath() + dimension.getDimension());
+
+    try {
+      ImageIO.write(resizedImage, fileResource.getFormat(), tempFile);
     } catch (IOException e) {
-      log.error("Image file resource cannot be processed", e);
-      return new EnumMap<>(ImageFileDimension.class);
+      throw new UncheckedIOException(e);
     }
 
-    return images;
+    return tempFile;
+  }
+
+  private void deleteResizedImages(Map<ImageFileDimension, CompletableFuture<File>> resizes) {
+    for (CompletableFuture<File> resize : resizes.values()) {
+      File resizedImage = resize.exceptionally(ex -> null).join();
+
+      if (resizedImage != null) {
+        try {
+          Files.deleteIfExists(resizedImage.toPath());
+        } catch (IOException e) {
+          log.warn(String.format("Temporary file '%s' could not be deleted.", resizedImage), e);
+        }
+      }
+    }
   }
 
   private BufferedImage resize(BufferedImage image, ImageSize dimensions) {
@@ -47,7 +47,8 @@ import org.springframework.stereotype.Component;
 /**
  * Job will fetch all the image FileResources with flag hasMultiple set to false. It will process
  * those image FileResources create three images files for each of them. Once created, images will
- * be stored at EWS and flag hasMultiple is set to true.
+ * be stored at EWS and flag hasMultiple is set to true. Images are processed in parallel, using
+ * half of the available processors as each image is resized on several threads itself.
  *
  * @author Zubair Asghar.
  */
@@ -72,11 +73,16 @@ public class ImageResizingJob implements Job {
 
     List<FileResource> images = fileResourceService.getAllUnProcessedImagesFiles();
     progress.startingStage("Creating and storing images", images.size(), SKIP_ITEM_OUTLIER);
-    progress.runStage(images, FileResource::getStorageKey, this::storeImageFiles);
+    progress.runStageInParallel(
+        getParallelism(), images, FileResource::getStorageKey, this::storeImageFiles);
 
     progress.completedProcess(format("Number of FileResources processed: %d", images.size()));
   }
 
+  private static int getParallelism() {
+    return Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+  }
+
   private void storeImageFiles(FileResource image) {
     String key = image.getStorageKey();
 
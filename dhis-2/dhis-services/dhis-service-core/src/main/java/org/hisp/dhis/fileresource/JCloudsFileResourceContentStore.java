@@ -49,6 +49,7 @@ import org.jclouds.blobstore.ContainerNotFoundException;
 import org.jclouds.blobstore.LocalBlobRequestSigner;
 import org.jclouds.blobstore.domain.Blob;
 import org.jclouds.blobstore.internal.RequestSigningUnsupported;
+import org.jclouds.blobstore.options.GetOptions;
 import org.jclouds.http.HttpRequest;
 import org.joda.time.Minutes;
 import org.springframework.stereotype.Service;
@@ -219,6 +220,18 @@ public class JCloudsFileResourceContentStore implements FileResourceContentStore
     }
   }
 
+  @Override
+  public void copyContent(String key, OutputStream output, long offset, long length)
+      throws IOException, NoSuchElementException {
+    ensureBlobExists(key);
+
+    GetOptions options = GetOptions.Builder.range(offset, offset + length - 1);
+
+    try (InputStream in = jCloudsStore.getBlob(key, options).getPayload().openStream()) {
+      IOUtils.copy(in, output);
+    }
+  }
+
   @Override
   public byte[] copyContent(String key) throws IOException, NoSuchElementException {
     ensureBlobExists(key);
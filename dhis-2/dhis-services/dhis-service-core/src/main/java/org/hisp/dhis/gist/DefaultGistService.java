@@ -34,13 +34,21 @@ import static org.hisp.dhis.gist.GistBuilder.createFetchBuilder;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import java.net.URI;
+import java.util.ArrayList;
 import java.util.Date;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Consumer;
 import javax.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
+import org.hibernate.ScrollMode;
+import org.hibernate.ScrollableResults;
 import org.hibernate.Session;
+import org.hibernate.dialect.PostgreSQL81Dialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.persister.entity.AbstractEntityPersister;
+import org.hibernate.persister.entity.EntityPersister;
 import org.hibernate.query.Query;
 import org.hisp.dhis.attribute.Attribute;
 import org.hisp.dhis.attribute.AttributeService;
@@ -52,6 +60,7 @@ import org.hisp.dhis.security.acl.AclService;
 import org.hisp.dhis.user.CurrentUserUtil;
 import org.hisp.dhis.user.UserService;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.util.UriComponentsBuilder;
 
 /**
@@ -66,6 +75,9 @@ public class DefaultGistService implements GistService, GistBuilder.GistBuilderS
    */
   private static final String NOW_PARAMETER_VALUE = "now";
 
+  /** Number of rows fetched per database round-trip when streaming all matches. */
+  private static final int STREAM_FETCH_SIZE = 1000;
+
   private final EntityManager entityManager;
 
   private final SchemaService schemaService;
@@ -98,7 +110,42 @@ public class DefaultGistService implements GistService, GistBuilder.GistBuilderS
             query,
             queryBuilder,
             getSession().createQuery(queryBuilder.buildFetchHQL(), Object[].class));
-    return queryBuilder.transform(rows);
+    Integer total = queryBuilder.extractTotal(rows);
+    List<?> elements = queryBuilder.transform(rows);
+    return total == null ? elements : new TotalRows(elements, total);
+  }
+
+  @Override
+  @Transactional(readOnly = true)
+  public void gist(GistQuery query, Consumer<Object> consumer) {
+    GistAccessControl access = createGistAccessControl();
+    RelativePropertyContext context = createPropertyContext(query);
+    new GistValidator(query, context, access).validateQuery();
+    GistBuilder queryBuilder = createFetchBuilder(query, context, access, this);
+    Query<Object[]> fetch = getSession().createQuery(queryBuilder.buildFetchHQL(), Object[].class);
+    queryBuilder.addFetchParameters(fetch::setParameter, this::parseFilterArgument);
+    fetch.setFetchSize(STREAM_FETCH_SIZE);
+    fetch.setReadOnly(true);
+    fetch.setCacheable(false);
+    try (ScrollableResults rows = fetch.scroll(ScrollMode.FORWARD_ONLY)) {
+      while (rows.next()) {
+        Object[] row = rows.get();
+        consumer.accept(queryBuilder.transformRow(row.length == 1 ? row[0] : row));
+      }
+    }
+  }
+
+  /**
+   * Result rows of a {@link GistQuery} where the total was computed by the fetch query using a
+   * window function so that the {@link #pager(GistQuery, List, Map)} does not need to count.
+   */
+  private static final class TotalRows extends ArrayList<Object> {
+    private final int total;
+
+    TotalRows(List<?> rows, int total) {
+      super(rows);
+      this.total = total;
+    }
   }
 
   @Override
@@ -108,8 +155,11 @@ public class DefaultGistService implements GistService, GistBuilder.GistBuilderS
     String prev = null;
     String next = null;
     Integer total = null;
+    boolean keyset = query.getAfter() != null;
     if (query.isTotal()) {
-      if (rows.size() < query.getPageSize() && !rows.isEmpty()) {
+      if (rows instanceof TotalRows totalRows) {
+        total = totalRows.total;
+      } else if (!keyset && rows.size() < query.getPageSize() && !rows.isEmpty()) {
         // NB. only do this when rows are returned as otherwise the page
         // simply might not exist which leads to zero rows
         total = query.getPageOffset() + rows.size();
@@ -117,9 +167,14 @@ public class DefaultGistService implements GistService, GistBuilder.GistBuilderS
         GistAccessControl access = createGistAccessControl();
         RelativePropertyContext context = createPropertyContext(query);
         GistBuilder countBuilder = createCountBuilder(query, context, access, this);
-        total =
-            countWithParameters(
-                countBuilder, getSession().createQuery(countBuilder.buildCountHQL(), Long.class));
+        if (query.getTotalType() == GistTotalType.ESTIMATE && countBuilder.isUnfiltered()) {
+          total = estimateCount(query.getElementType());
+        }
+        if (total == null) {
+          total =
+              countWithParameters(
+                  countBuilder, getSession().createQuery(countBuilder.buildCountHQL(), Long.class));
+        }
       }
     }
     if (schema.hasApiEndpoint()) {
@@ -131,7 +186,16 @@ public class DefaultGistService implements GistService, GistBuilder.GistBuilderS
                 .build()
                 .toString();
       }
-      if (total != null && query.getPageOffset() + rows.size() < total
+      if (keyset) {
+        Object lastId = getLastId(query, rows);
+        if (lastId != null && query.getPageSize() == rows.size()) {
+          next =
+              UriComponentsBuilder.fromUri(baseURL)
+                  .replaceQueryParam("after", lastId)
+                  .build()
+                  .toString();
+        }
+      } else if (total != null && query.getPageOffset() + rows.size() < total
           || total == null && query.getPageSize() == rows.size()) {
         next =
             UriComponentsBuilder.fromUri(baseURL)
@@ -143,6 +207,18 @@ public class DefaultGistService implements GistService, GistBuilder.GistBuilderS
     return new GistPager(page, query.getPageSize(), total, prev, next);
   }
 
+  /**
+   * @return the ID of the last row in keyset paging or null if the ID is not one of the fields
+   */
+  private static Object getLastId(GistQuery query, List<?> rows) {
+    int idIndex = query.getFieldNames().indexOf("id");
+    if (idIndex < 0 || rows.isEmpty()) {
+      return null;
+    }
+    Object last = rows.get(rows.size() - 1);
+    return last instanceof Object[] row ? row[idIndex] : last;
+  }
+
   @Override
   public Map<String, ?> describe(GistQuery unplanned) {
     GistAccessControl access = createGistAccessControl();
@@ -177,7 +253,7 @@ public class DefaultGistService implements GistService, GistBuilder.GistBuilderS
 
     // describe HQL queries
     if (access.canReadHQL()) {
-      if (planned.isTotal()) {
+      if (planned.isTotal() && planned.getTotalType() == GistTotalType.QUERY) {
         description.put(
             "hql.count", createCountBuilder(planned, context, access, this).buildCountHQL());
       }
@@ -216,6 +292,37 @@ public class DefaultGistService implements GistService, GistBuilder.GistBuilderS
     return query.getSingleResult().intValue();
   }
 
+  /**
+   * Estimates the number of rows in the table of the given entity type based on the table
+   * statistics of the database.
+   *
+   * @param type the entity type
+   * @return the estimated row count or null when no estimate is available
+   */
+  private Integer estimateCount(Class<?> type) {
+    SessionFactoryImplementor sessionFactory =
+        getSession().getSessionFactory().unwrap(SessionFactoryImplementor.class);
+    if (!(sessionFactory.getJdbcServices().getDialect() instanceof PostgreSQL81Dialect)) {
+      // table statistics are only available on PostgreSQL
+      return null;
+    }
+    EntityPersister persister = sessionFactory.getMetamodel().entityPersister(type);
+    if (!(persister instanceof AbstractEntityPersister entityPersister)) {
+      return null;
+    }
+    List<?> estimate =
+        getSession()
+            .createNativeQuery(
+                "select cast(reltuples as bigint) from pg_class where oid = to_regclass(:table)")
+            .setParameter("table", entityPersister.getTableName())
+            .list();
+    if (estimate.isEmpty() || !(estimate.get(0) instanceof Number n) || n.longValue() < 0) {
+      // table does not exist in the search path or was never analyzed
+      return null;
+    }
+    return n.intValue();
+  }
+
   @SuppressWarnings("unchecked")
   private <T> T parseFilterArgument(String value, Class<T> type) {
     if (type == Date.class && NOW_PARAMETER_VALUE.equals(value)) {
@@ -131,6 +131,12 @@ final class GistBuilder {
    */
   private static final String HQL_NULL = "cast(null as char)";
 
+  /**
+   * Renders as {@code count(*) over()} window function (registered by the DHIS2 dialects) to
+   * compute the total number of matches as part of the fetch query.
+   */
+  private static final String HQL_COUNT_OVER = "count_over()";
+
   private static final String TRANSLATIONS_PROPERTY = "translations";
 
   private static final String ID_PROPERTY = "id";
@@ -266,23 +272,60 @@ final class GistBuilder {
     @SuppressWarnings("unchecked")
     List<Object> rowsObjects = (List<Object>) rows;
     for (int i = 0; i < rowsObjects.size(); i++) {
-      Object rowValue = rowsObjects.get(i);
-      if (rowValue != null && rowValue.getClass() == Object[].class) {
-        Object[] row = (Object[]) rowValue;
-        for (Consumer<Object[]> transformer : fieldResultTransformers) {
-          transformer.accept(row);
-        }
-      } else if (rowValue != null) {
-        Object[] row = new Object[] {rowValue};
-        for (Consumer<Object[]> transformer : fieldResultTransformers) {
-          transformer.accept(row);
-        }
-        rowsObjects.set(i, row[0]);
-      }
+      rowsObjects.set(i, transformRow(rowsObjects.get(i)));
     }
     return rowsObjects;
   }
 
+  /**
+   * Same as {@link #transform(List)} for a single row.
+   *
+   * @param rowValue either a single value (one column) or an {@link Object[]} (multiple columns)
+   * @return the transformed row, for multiple columns this is the same array
+   */
+  public Object transformRow(Object rowValue) {
+    if (rowValue == null || fieldResultTransformers.isEmpty()) {
+      return rowValue;
+    }
+    if (rowValue.getClass() == Object[].class) {
+      Object[] row = (Object[]) rowValue;
+      for (Consumer<Object[]> transformer : fieldResultTransformers) {
+        transformer.accept(row);
+      }
+      return row;
+    }
+    Object[] row = new Object[] {rowValue};
+    for (Consumer<Object[]> transformer : fieldResultTransformers) {
+      transformer.accept(row);
+    }
+    return row[0];
+  }
+
+  /**
+   * Removes the total column added by {@link #isTotalInFetch()} from the rows.
+   *
+   * @param rows the raw rows as returned by running the {@link #buildFetchHQL()} query
+   * @return the total number of matches as returned by the window function or null if no row was
+   *     returned so that the total is unknown
+   */
+  public Integer extractTotal(List<?> rows) {
+    if (!isTotalInFetch() || rows.isEmpty()) {
+      return null;
+    }
+    @SuppressWarnings("unchecked")
+    List<Object> rowsObjects = (List<Object>) rows;
+    int columns = query.getFields().size();
+    Integer total = null;
+    for (int i = 0; i < rowsObjects.size(); i++) {
+      Object[] row = (Object[]) rowsObjects.get(i);
+      if (total == null) {
+        total = ((Number) row[columns]).intValue();
+      }
+      rowsObjects.set(i, columns == 1 ? row[0] : Arrays.copyOf(row, columns));
+    }
+    return total;
+  }
+
   private void addTransformer(Consumer<Object[]> transformer) {
     fieldResultTransformers.add(transformer);
   }
@@ -340,10 +383,38 @@ final class GistBuilder {
    * HQL query building...
    */
 
+  /**
+   * @return true, when the total is computed by the fetch query using a window function instead of
+   *     running a separate {@link #buildCountHQL()} query
+   */
+  public boolean isTotalInFetch() {
+    if (!query.isTotal()) {
+      return false;
+    }
+    GistTotalType type = query.getTotalType();
+    return type == GistTotalType.WINDOW || type == GistTotalType.ESTIMATE && !isUnfiltered();
+  }
+
+  /**
+   * @return true, when the query is a plain list of all elements of a type so that the total
+   *     matches the number of rows in the element table
+   */
+  public boolean isUnfiltered() {
+    return query.getOwner() == null
+        && query.getFilters().isEmpty()
+        && !isFilterBySharing(context);
+  }
+
   public String buildFetchHQL() {
     String fields = createFieldsHQL();
+    if (isTotalInFetch()) {
+      fields += ", " + HQL_COUNT_OVER;
+    }
     String accessFilters = createAccessFilterHQL(context, "e");
     String userFilters = createFiltersHQL();
+    if (isKeysetContinuation()) {
+      userFilters = "(" + userFilters + ") and e." + getMemberPath(ID_PROPERTY) + " > :After";
+    }
     String orders = createOrdersHQL();
     String elementTable = query.getElementType().getSimpleName();
     Owner owner = query.getOwner();
@@ -951,7 +1022,19 @@ final class GistBuilder {
     }
   }
 
+  /**
+   * @return true, when the query continues a keyset paged list after a given ID
+   */
+  private boolean isKeysetContinuation() {
+    String after = query.getAfter();
+    return after != null && !after.isEmpty();
+  }
+
   private String createOrdersHQL() {
+    if (query.getAfter() != null) {
+      // keyset paging requires a stable order by the key
+      return "e." + getMemberPath(ID_PROPERTY) + " asc";
+    }
     return join(
         query.getOrders(),
         ",",
@@ -1052,6 +1135,9 @@ final class GistBuilder {
         dest.accept("p_" + field.getPropertyPath(), field.getTransformationArgument());
       }
     }
+    if (isKeysetContinuation()) {
+      dest.accept("After", query.getAfter());
+    }
     addCountParameters(dest, argumentParser);
   }
 
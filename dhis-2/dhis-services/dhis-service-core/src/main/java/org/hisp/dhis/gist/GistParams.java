@@ -49,6 +49,18 @@ public final class GistParams {
 
   int pageSize = 50;
 
+  /**
+   * When set to false the list is not paged but all matches are streamed to the response as they
+   * are read from the database.
+   */
+  boolean paging = true;
+
+  /**
+   * Keyset paging: only list elements with an ID after the given ID ordered by ID. An empty value
+   * starts at the first element.
+   */
+  String after;
+
   /**
    * The name of the property in the response object that holds the list of response objects when a
    * paged response is used.
@@ -64,6 +76,9 @@ public final class GistParams {
 
   Boolean totalPages;
 
+  /** How to compute the total when {@link #isCountTotalPages()} is true. */
+  GistTotalType totalType = GistTotalType.QUERY;
+
   boolean absoluteUrls = false;
 
   boolean headless;
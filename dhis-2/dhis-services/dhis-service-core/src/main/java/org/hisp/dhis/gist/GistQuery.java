@@ -102,9 +102,24 @@ public final class GistQuery {
 
   @JsonProperty private final int pageSize;
 
+  /**
+   * When false, all matches are listed and {@link #pageSize} and {@link #pageOffset} do not apply.
+   * Default true.
+   */
+  @JsonProperty @Builder.Default private final boolean paging = true;
+
+  /**
+   * Keyset paging: list elements with an ID after this ID ordered by ID. An empty ID starts at the
+   * first element. Default null (offset paging).
+   */
+  @JsonProperty private final String after;
+
   /** Include total match count in pager? Default false. */
   @JsonProperty private final boolean total;
 
+  /** How the total is computed in case {@link #total} is requested. Default query. */
+  @JsonProperty private final GistTotalType totalType;
+
   private final String contextRoot;
 
   private final Locale translationLocale;
@@ -164,6 +179,10 @@ public final class GistQuery {
     return getAutoType() == null ? Transform.AUTO : getAutoType().getDefaultTransformation();
   }
 
+  public GistTotalType getTotalType() {
+    return totalType == null ? GistTotalType.QUERY : totalType;
+  }
+
   public String getEndpointRoot() {
     return isAbsoluteUrls() ? getContextRoot() : "";
   }
@@ -175,12 +194,20 @@ public final class GistQuery {
   public GistQuery with(GistParams params) throws BadRequestException {
     int page = abs(params.getPage());
     int size = Math.min(1000, abs(params.getPageSize()));
+    String after = params.getAfter();
+    if (after != null && params.getOrder() != null && !params.getOrder().isEmpty()) {
+      throw new BadRequestException("after cannot be combined with order as it orders by id");
+    }
+    boolean paging = params.isPaging();
     return toBuilder()
         .pageSize(size)
-        .pageOffset(Math.max(0, page - 1) * size)
+        .pageOffset(after != null || !paging ? 0 : Math.max(0, page - 1) * size)
+        .paging(paging)
+        .after(after)
         .translate(params.isTranslate())
         .inverse(params.isInverse())
-        .total(params.isCountTotalPages())
+        .total(paging && params.isCountTotalPages())
+        .totalType(params.getTotalType())
         .absoluteUrls(params.isAbsoluteUrls())
         .headless(params.isHeadless())
         .describe(params.isDescribe())
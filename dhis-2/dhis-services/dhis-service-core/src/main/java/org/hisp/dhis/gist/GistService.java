@@ -29,6 +29,7 @@ package org.hisp.dhis.gist;
 
 import java.util.List;
 import java.util.Map;
+import java.util.function.Consumer;
 
 /**
  * The GIST API gives convenient access to (potentially large) collections. Good performance is
@@ -62,6 +63,18 @@ public interface GistService {
    */
   List<?> gist(GistQuery query);
 
+  /**
+   * Run a gist query for all matches ignoring paging. Rows are read using a forward only cursor and
+   * each row is passed to the consumer as soon as it is read so that memory use is independent of
+   * the number of matches.
+   *
+   * @param query query to run and which has been {@link #plan(GistQuery)}ned
+   * @param consumer receives each matching entry, either a simple value (one {@link
+   *     org.hisp.dhis.gist.GistQuery.Field} query) or a {@link Object[]} containing the values for
+   *     {@link GistQuery#getFields()}
+   */
+  void gist(GistQuery query, Consumer<Object> consumer);
+
   /**
    * Create a pager for the given {@link GistQuery}, its results rows and the request params.
    *
@@ -46,6 +46,7 @@ import org.jclouds.blobstore.BlobStoreContext;
 import org.jclouds.blobstore.domain.Blob;
 import org.jclouds.blobstore.domain.PageSet;
 import org.jclouds.blobstore.domain.StorageMetadata;
+import org.jclouds.blobstore.options.GetOptions;
 import org.jclouds.blobstore.options.ListContainerOptions;
 import org.jclouds.domain.Location;
 import org.jclouds.domain.LocationBuilder;
@@ -195,6 +196,10 @@ public class JCloudsStore {
     return getBlobStore().getBlob(getBlobContainer(), key);
   }
 
+  public Blob getBlob(String key, GetOptions options) {
+    return getBlobStore().getBlob(getBlobContainer(), key, options);
+  }
+
   public PageSet<? extends StorageMetadata> getBlobList(ListContainerOptions options) {
     return getBlobStore().list(getBlobContainer(), options);
   }
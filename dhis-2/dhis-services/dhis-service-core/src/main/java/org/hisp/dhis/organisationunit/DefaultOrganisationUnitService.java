@@ -41,6 +41,7 @@ import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
 import java.util.stream.Collectors;
 import javax.annotation.Nonnull;
@@ -79,6 +80,7 @@ public class DefaultOrganisationUnitService implements OrganisationUnitService {
   private final UserSettingService userSettingService;
   private final Cache<Boolean> inUserOrgUnitHierarchyCache;
   private final Cache<Boolean> inUserOrgUnitSearchHierarchyCache;
+  private final OrganisationUnitHierarchyIndex hierarchyIndex;
 
   public DefaultOrganisationUnitService(
       OrganisationUnitStore organisationUnitStore,
@@ -86,7 +88,8 @@ public class DefaultOrganisationUnitService implements OrganisationUnitService {
       OrganisationUnitLevelStore organisationUnitLevelStore,
       ConfigurationService configurationService,
       UserSettingService userSettingService,
-      CacheProvider cacheProvider) {
+      CacheProvider cacheProvider,
+      OrganisationUnitHierarchyIndex hierarchyIndex) {
 
     checkNotNull(organisationUnitStore);
     checkNotNull(idObjectManager);
@@ -94,12 +97,14 @@ public class DefaultOrganisationUnitService implements OrganisationUnitService {
     checkNotNull(configurationService);
     checkNotNull(userSettingService);
     checkNotNull(cacheProvider);
+    checkNotNull(hierarchyIndex);
 
     this.organisationUnitStore = organisationUnitStore;
     this.idObjectManager = idObjectManager;
     this.organisationUnitLevelStore = organisationUnitLevelStore;
     this.configurationService = configurationService;
     this.userSettingService = userSettingService;
+    this.hierarchyIndex = hierarchyIndex;
 
     this.inUserOrgUnitHierarchyCache = cacheProvider.createInUserOrgUnitHierarchyCache();
     this.inUserOrgUnitSearchHierarchyCache =
@@ -394,6 +399,10 @@ public class DefaultOrganisationUnitService implements OrganisationUnitService {
   @Override
   @Transactional(readOnly = true)
   public boolean isInUserHierarchyCached(User user, OrganisationUnit organisationUnit) {
+    Boolean indexed = isDescendantIndexed(organisationUnit, user.getOrganisationUnits());
+    if (indexed != null) {
+      return indexed;
+    }
     String cacheKey = joinHyphen(user.getUsername(), organisationUnit.getUid());
     return inUserOrgUnitHierarchyCache.get(
         cacheKey, ou -> isInUserHierarchy(user, organisationUnit));
@@ -406,6 +415,11 @@ public class DefaultOrganisationUnitService implements OrganisationUnitService {
       return false;
     }
 
+    Boolean indexed = isDescendantIndexed(organisationUnit, user.getOrganisationUnits());
+    if (indexed != null) {
+      return indexed;
+    }
+
     OrganisationUnit unit = organisationUnitStore.getByUid(organisationUnit.getUid());
 
     if (unit == null) {
@@ -422,12 +436,23 @@ public class DefaultOrganisationUnitService implements OrganisationUnitService {
       return false;
     }
 
+    Boolean indexed =
+        isDescendantIndexed(organisationUnit, user.getDataViewOrganisationUnitsWithFallback());
+    if (indexed != null) {
+      return indexed;
+    }
+
     return organisationUnit.isDescendant(user.getDataViewOrganisationUnitsWithFallback());
   }
 
   @Override
   @Transactional(readOnly = true)
   public boolean isInUserSearchHierarchyCached(User user, OrganisationUnit organisationUnit) {
+    Boolean indexed =
+        isDescendantIndexed(organisationUnit, user.getTeiSearchOrganisationUnitsWithFallback());
+    if (indexed != null) {
+      return indexed;
+    }
     String cacheKey = joinHyphen(user.getUsername(), organisationUnit.getUid());
 
     return inUserOrgUnitSearchHierarchyCache.get(
@@ -441,17 +466,47 @@ public class DefaultOrganisationUnitService implements OrganisationUnitService {
       return false;
     }
 
+    Boolean indexed =
+        isDescendantIndexed(organisationUnit, user.getTeiSearchOrganisationUnitsWithFallback());
+    if (indexed != null) {
+      return indexed;
+    }
+
     return organisationUnit.isDescendant(user.getTeiSearchOrganisationUnitsWithFallback());
   }
 
   @Override
   @Transactional(readOnly = true)
   public boolean isInUserHierarchy(String uid, Set<OrganisationUnit> organisationUnits) {
+    Boolean indexed = hierarchyIndex.isDescendant(uid, getUids(organisationUnits));
+    if (indexed != null) {
+      return indexed;
+    }
+
     OrganisationUnit organisationUnit = organisationUnitStore.getByUid(uid);
 
     return organisationUnit != null && organisationUnit.isDescendant(organisationUnits);
   }
 
+  /**
+   * @return true/false if the {@link OrganisationUnitHierarchyIndex} can decide if the unit is a
+   *     descendant of any of the ancestors, null otherwise
+   */
+  private Boolean isDescendantIndexed(
+      OrganisationUnit organisationUnit, Collection<OrganisationUnit> ancestors) {
+    if (ancestors == null) {
+      return null;
+    }
+    return hierarchyIndex.isDescendant(organisationUnit.getUid(), getUids(ancestors));
+  }
+
+  private static List<String> getUids(Collection<OrganisationUnit> organisationUnits) {
+    return organisationUnits.stream()
+        .filter(Objects::nonNull)
+        .map(OrganisationUnit::getUid)
+        .toList();
+  }
+
   // -------------------------------------------------------------------------
   // OrganisationUnitLevel
   // -------------------------------------------------------------------------
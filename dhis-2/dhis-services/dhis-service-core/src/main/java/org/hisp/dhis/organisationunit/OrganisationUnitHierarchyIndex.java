@@ -0,0 +1,344 @@
+/*
+ * Copyright (c) 2004-2022, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ * Neither the name of the HISP project nor the names of its contributors may
+ * be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.organisationunit;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import javax.annotation.CheckForNull;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * In-memory index of the organisation unit hierarchy that numbers all units in pre-order so that
+ * each unit's subtree is the interval from its own number to the number of its last descendant.
+ * Ancestor/descendant checks then become two integer comparisons once the units are looked up.
+ *
+ * <p>The index is built from the {@code path} column in the background. Request threads never wait
+ * for a build. When units are added, removed or moved (see {@link
+ * org.hisp.dhis.organisationunit.hibernate.OrganisationUnitHierarchyIndexListener} and {@link
+ * OrganisationUnitCacheInvalidationEvent} for changes on other nodes of a cluster) the index is
+ * rebuilt while the old index keeps answering for all units outside of the changed subtrees.
+ *
+ * <p>Units the index cannot decide on (not yet indexed or in a changed subtree) make {@link
+ * #isDescendant(String, Collection)} return null, in which case callers fall back to checking the
+ * {@link OrganisationUnit#getPath()}.
+ */
+@Slf4j
+@Component
+public class OrganisationUnitHierarchyIndex {
+  private static final long MAX_AGE_MILLIS = TimeUnit.HOURS.toMillis(1);
+
+  /** Number of changed subtrees after which the old index is no longer used until rebuilt */
+  private static final int MAX_CHANGES = 1000;
+
+  /** Number of builds in a row before giving up when the hierarchy keeps changing */
+  private static final int MAX_BUILD_ATTEMPTS = 3;
+
+  private final JdbcTemplate jdbcTemplate;
+
+  private final Executor executor;
+
+  private final AtomicReference<State> state = new AtomicReference<>(State.EMPTY);
+
+  private final AtomicBoolean building = new AtomicBoolean();
+
+  @Autowired
+  public OrganisationUnitHierarchyIndex(JdbcTemplate jdbcTemplate) {
+    this(
+        jdbcTemplate,
+        Executors.newSingleThreadExecutor(
+            runnable -> {
+              Thread thread = new Thread(runnable, "org-unit-hierarchy-index");
+              thread.setDaemon(true);
+              return thread;
+            }));
+  }
+
+  OrganisationUnitHierarchyIndex(JdbcTemplate jdbcTemplate, Executor executor) {
+    this.jdbcTemplate = jdbcTemplate;
+    this.executor = executor;
+  }
+
+  /**
+   * Checks if a unit is the same as or a descendant of any of the given ancestors.
+   *
+   * @param uid of the unit to check
+   * @param ancestorUids of the potential ancestors
+   * @return true if the unit is in the hierarchy of any of the ancestors, false if it is not, null
+   *     if the index cannot decide as one of the units is not indexed or has changed
+   */
+  @CheckForNull
+  public Boolean isDescendant(String uid, Collection<String> ancestorUids) {
+    if (ancestorUids.isEmpty()) {
+      return false;
+    }
+    State current = getState();
+    Snapshot index = current.snapshot();
+    if (index == null) {
+      return null;
+    }
+    int unit = index.indexOf(uid);
+    if (unit < 0) {
+      return null;
+    }
+    int pre = index.pre()[unit];
+    if (current.isChanged(pre)) {
+      return null;
+    }
+    boolean found = false;
+    for (String ancestorUid : ancestorUids) {
+      int ancestor = index.indexOf(ancestorUid);
+      if (ancestor < 0) {
+        return null;
+      }
+      found |= pre >= index.pre()[ancestor] && pre <= index.last()[ancestor];
+    }
+    return found;
+  }
+
+  /**
+   * Marks the subtree of the given unit as changed and rebuilds the index in the background. Until
+   * then the index does not answer for the unit and its descendants.
+   *
+   * @param uid of the unit that was added, removed or moved
+   */
+  public void invalidate(String uid) {
+    state.updateAndGet(current -> current.withChange(uid));
+    rebuild();
+  }
+
+  /** Stops using the index until it has been rebuilt in the background. */
+  public void invalidate() {
+    state.updateAndGet(State::withoutSnapshot);
+    rebuild();
+  }
+
+  @EventListener
+  public void handleOrganisationUnitCacheInvalidation(
+      OrganisationUnitCacheInvalidationEvent event) {
+    List<String> paths =
+        jdbcTemplate.queryForList(
+            "select path from organisationunit where organisationunitid = ?",
+            String.class,
+            event.getOrganisationUnitId());
+    if (paths.isEmpty() || paths.get(0) == null) {
+      // removed, the UID is no longer known
+      invalidate();
+      return;
+    }
+    String[] uids = paths.get(0).substring(1).split("/");
+    String uid = uids[uids.length - 1];
+    String parentUid = uids.length > 1 ? uids[uids.length - 2] : null;
+    Snapshot index = state.get().snapshot();
+    if (index == null || !index.hasParent(uid, parentUid)) {
+      invalidate(uid);
+    }
+  }
+
+  private State getState() {
+    State current = state.get();
+    if (current.snapshot() == null || current.isExpired()) {
+      rebuild();
+      current = state.get();
+    }
+    return current;
+  }
+
+  /** Starts a build in the background unless one is already running. */
+  private void rebuild() {
+    if (building.compareAndSet(false, true)) {
+      executor.execute(this::build);
+    }
+  }
+
+  private void build() {
+    boolean built = false;
+    try {
+      for (int attempt = 0; attempt < MAX_BUILD_ATTEMPTS && !built; attempt++) {
+        State before = state.get();
+        long start = System.currentTimeMillis();
+        Snapshot index =
+            build(
+                jdbcTemplate.queryForList(
+                    "select path from organisationunit where path is not null", String.class));
+        // when the hierarchy changed while building the result might be stale
+        built = state.compareAndSet(before, new State(index));
+        if (built) {
+          log.info(
+              "Built organisation unit hierarchy index of {} units in {} ms",
+              index.uids().length,
+              System.currentTimeMillis() - start);
+        }
+      }
+    } catch (RuntimeException ex) {
+      log.error("Failed to build organisation unit hierarchy index", ex);
+    } finally {
+      building.set(false);
+    }
+    // changes that arrived after the last build started were not picked up
+    if (built && state.get().stale()) {
+      rebuild();
+    }
+  }
+
+  /**
+   * Builds the index from the paths of all units.
+   *
+   * <p>As all UIDs have the same length sorting the paths lexicographically yields a pre-order
+   * traversal of the hierarchy in which each subtree is a consecutive range.
+   */
+  static Snapshot build(List<String> paths) {
+    String[] sorted = paths.toArray(String[]::new);
+    Arrays.sort(sorted);
+    int n = sorted.length;
+    int[] last = new int[n];
+    int[] parent = new int[n];
+    Deque<Integer> open = new ArrayDeque<>();
+    for (int i = 0; i < n; i++) {
+      while (!open.isEmpty() && !isChildPath(sorted[open.peek()], sorted[i])) {
+        last[open.pop()] = i - 1;
+      }
+      parent[i] = open.isEmpty() ? -1 : open.peek();
+      open.push(i);
+    }
+    while (!open.isEmpty()) {
+      last[open.pop()] = n - 1;
+    }
+    // re-order by UID for lookup
+    Integer[] byUid = new Integer[n];
+    String[] uidsInPreOrder = new String[n];
+    for (int i = 0; i < n; i++) {
+      byUid[i] = i;
+      uidsInPreOrder[i] = sorted[i].substring(sorted[i].lastIndexOf('/') + 1);
+    }
+    Arrays.sort(byUid, (a, b) -> uidsInPreOrder[a].compareTo(uidsInPreOrder[b]));
+    String[] uids = new String[n];
+    int[] preByUid = new int[n];
+    int[] lastByUid = new int[n];
+    int[] parentByUid = new int[n];
+    for (int i = 0; i < n; i++) {
+      int pre = byUid[i];
+      uids[i] = uidsInPreOrder[pre];
+      preByUid[i] = pre;
+      lastByUid[i] = last[pre];
+      parentByUid[i] = parent[pre];
+    }
+    return new Snapshot(uids, preByUid, lastByUid, parentByUid, System.currentTimeMillis());
+  }
+
+  private static boolean isChildPath(String parentPath, String path) {
+    return path.length() > parentPath.length()
+        && path.startsWith(parentPath)
+        && path.charAt(parentPath.length()) == '/';
+  }
+
+  /**
+   * @param uids all indexed UIDs in sort order
+   * @param pre the pre-order number of the unit with the UID at the same index
+   * @param last the pre-order number of the last descendant of the unit with the UID at the same
+   *     index
+   * @param parent the pre-order number of the parent of the unit with the UID at the same index,
+   *     -1 for roots
+   */
+  record Snapshot(String[] uids, int[] pre, int[] last, int[] parent, long createdAt) {
+    int indexOf(String uid) {
+      return uid == null ? -1 : Arrays.binarySearch(uids, uid);
+    }
+
+    boolean hasParent(String uid, @CheckForNull String parentUid) {
+      int unit = indexOf(uid);
+      if (unit < 0) {
+        return false;
+      }
+      if (parentUid == null) {
+        return parent[unit] < 0;
+      }
+      int p = indexOf(parentUid);
+      return p >= 0 && pre[p] == parent[unit];
+    }
+  }
+
+  /**
+   * The current index together with the pre-order intervals of the subtrees that changed since it
+   * was built.
+   *
+   * @param snapshot the index, null when there is none or it must not be used
+   * @param changed pairs of first and last pre-order number of the changed subtrees
+   * @param stale true when the hierarchy changed since the index was built
+   */
+  record State(@CheckForNull Snapshot snapshot, int[] changed, boolean stale) {
+    static final State EMPTY = new State(null, new int[0], true);
+
+    State(Snapshot snapshot) {
+      this(snapshot, new int[0], false);
+    }
+
+    boolean isExpired() {
+      return snapshot != null && System.currentTimeMillis() - snapshot.createdAt() > MAX_AGE_MILLIS;
+    }
+
+    boolean isChanged(int pre) {
+      for (int i = 0; i < changed.length; i += 2) {
+        if (pre >= changed[i] && pre <= changed[i + 1]) {
+          return true;
+        }
+      }
+      return false;
+    }
+
+    State withoutSnapshot() {
+      return new State(null, new int[0], true);
+    }
+
+    State withChange(String uid) {
+      int unit = snapshot == null ? -1 : snapshot.indexOf(uid);
+      if (unit < 0) {
+        // new units are not in the index and cannot be answered for anyway
+        return new State(snapshot, changed, true);
+      }
+      if (changed.length / 2 >= MAX_CHANGES) {
+        return withoutSnapshot();
+      }
+      int[] next = Arrays.copyOf(changed, changed.length + 2);
+      next[changed.length] = snapshot.pre()[unit];
+      next[changed.length + 1] = snapshot.last()[unit];
+      return new State(snapshot, next, true);
+    }
+  }
+}
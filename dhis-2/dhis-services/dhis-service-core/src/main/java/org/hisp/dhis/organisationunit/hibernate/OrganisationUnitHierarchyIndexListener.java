@@ -0,0 +1,136 @@
+/*
+ * Copyright (c) 2004-2022, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ * Neither the name of the HISP project nor the names of its contributors may
+ * be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.organisationunit.hibernate;
+
+import javax.annotation.PostConstruct;
+import javax.persistence.EntityManagerFactory;
+import javax.persistence.PersistenceUnit;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostCommitDeleteEventListener;
+import org.hibernate.event.spi.PostCommitInsertEventListener;
+import org.hibernate.event.spi.PostCommitUpdateEventListener;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.internal.SessionFactoryImpl;
+import org.hibernate.persister.entity.EntityPersister;
+import org.hisp.dhis.organisationunit.OrganisationUnit;
+import org.hisp.dhis.organisationunit.OrganisationUnitHierarchyIndex;
+import org.springframework.stereotype.Component;
+
+/**
+ * Marks units as changed in the {@link OrganisationUnitHierarchyIndex} when they are added, removed
+ * or moved.
+ *
+ * <p>The change is marked when it is flushed so the writing transaction sees the change and again
+ * after commit so that an index rebuilt by another transaction in between is not stale.
+ */
+@Component
+@RequiredArgsConstructor
+public class OrganisationUnitHierarchyIndexListener
+    implements PostCommitInsertEventListener,
+        PostCommitUpdateEventListener,
+        PostCommitDeleteEventListener {
+  private static final String PARENT_PROPERTY = "parent";
+
+  @PersistenceUnit private EntityManagerFactory emf;
+
+  private final OrganisationUnitHierarchyIndex index;
+
+  @PostConstruct
+  protected void init() {
+    SessionFactoryImpl sessionFactory = emf.unwrap(SessionFactoryImpl.class);
+
+    EventListenerRegistry registry =
+        sessionFactory.getServiceRegistry().getService(EventListenerRegistry.class);
+
+    registry.getEventListenerGroup(EventType.POST_INSERT).appendListener(this);
+    registry.getEventListenerGroup(EventType.POST_UPDATE).appendListener(this);
+    registry.getEventListenerGroup(EventType.POST_DELETE).appendListener(this);
+    registry.getEventListenerGroup(EventType.POST_COMMIT_INSERT).appendListener(this);
+    registry.getEventListenerGroup(EventType.POST_COMMIT_UPDATE).appendListener(this);
+    registry.getEventListenerGroup(EventType.POST_COMMIT_DELETE).appendListener(this);
+  }
+
+  @Override
+  public boolean requiresPostCommitHanding(EntityPersister persister) {
+    return persister.getMappedClass() == OrganisationUnit.class;
+  }
+
+  @Override
+  public void onPostInsert(PostInsertEvent event) {
+    if (event.getEntity() instanceof OrganisationUnit unit) {
+      index.invalidate(unit.getUid());
+    }
+  }
+
+  @Override
+  public void onPostUpdate(PostUpdateEvent event) {
+    if (event.getEntity() instanceof OrganisationUnit unit && isParentChanged(event)) {
+      index.invalidate(unit.getUid());
+    }
+  }
+
+  @Override
+  public void onPostDelete(PostDeleteEvent event) {
+    if (event.getEntity() instanceof OrganisationUnit unit) {
+      index.invalidate(unit.getUid());
+    }
+  }
+
+  @Override
+  public void onPostInsertCommitFailed(PostInsertEvent event) {
+    onPostInsert(event);
+  }
+
+  @Override
+  public void onPostUpdateCommitFailed(PostUpdateEvent event) {
+    onPostUpdate(event);
+  }
+
+  @Override
+  public void onPostDeleteCommitFailed(PostDeleteEvent event) {
+    onPostDelete(event);
+  }
+
+  private static boolean isParentChanged(PostUpdateEvent event) {
+    int[] dirty = event.getDirtyProperties();
+    if (dirty == null) {
+      return true;
+    }
+    String[] names = event.getPersister().getPropertyNames();
+    for (int i : dirty) {
+      if (PARENT_PROPERTY.equals(names[i])) {
+        return true;
+      }
+    }
+    return false;
+  }
+}
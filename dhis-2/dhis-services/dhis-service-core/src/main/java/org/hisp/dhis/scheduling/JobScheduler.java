@@ -47,6 +47,8 @@ import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicLong;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.hisp.dhis.datasource.QueryStatistics.Source;
+import org.hisp.dhis.datasource.QueryStatisticsReporter;
 import org.hisp.dhis.setting.SettingKey;
 import org.hisp.dhis.setting.SystemSettingManager;
 import org.hisp.dhis.user.SystemUser;
@@ -95,6 +97,7 @@ public class JobScheduler implements Runnable, JobRunner {
   private final JobService jobService;
   private final JobSchedulerLoopService service;
   private final SystemSettingManager systemSettings;
+  private final QueryStatisticsReporter queryStatistics;
   private final ExecutorService workers = Executors.newCachedThreadPool();
   private final Map<JobType, Queue<String>> continuousJobsByType = new ConcurrentHashMap<>();
 
@@ -228,7 +231,12 @@ public class JobScheduler implements Runnable, JobRunner {
       AtomicLong lastAlive = new AtomicLong(currentTimeMillis());
       progress = service.startRun(jobId, config.getExecutedBy(), () -> alive(jobId, lastAlive));
 
-      jobService.getJob(config.getJobType()).execute(config, progress);
+      queryStatistics.begin(Source.JOB, config.getJobType().name());
+      try {
+        jobService.getJob(config.getJobType()).execute(config, progress);
+      } finally {
+        queryStatistics.end();
+      }
 
       if (progress.isCancelled() && !progress.isAborted()) {
         service.finishRunCancel(jobId);
@@ -35,6 +35,7 @@ import javax.annotation.CheckForNull;
 import javax.annotation.Nonnull;
 import org.apache.commons.lang3.StringUtils;
 import org.hisp.dhis.user.User;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -46,10 +47,15 @@ import org.springframework.transaction.annotation.Transactional;
 public class ApiTokenServiceImpl implements ApiTokenService {
   private final ApiTokenStore apiTokenStore;
 
-  public ApiTokenServiceImpl(ApiTokenStore apiTokenStore) {
+  private final ApplicationEventPublisher eventPublisher;
+
+  public ApiTokenServiceImpl(
+      ApiTokenStore apiTokenStore, ApplicationEventPublisher eventPublisher) {
     checkNotNull(apiTokenStore);
+    checkNotNull(eventPublisher);
 
     this.apiTokenStore = apiTokenStore;
+    this.eventPublisher = eventPublisher;
   }
 
   @Override
@@ -90,6 +96,7 @@ public class ApiTokenServiceImpl implements ApiTokenService {
   @Transactional
   public void save(@Nonnull ApiToken apiToken) {
     apiTokenStore.save(apiToken);
+    eventPublisher.publishEvent(new ApiTokenUpdatedEvent(this, apiToken.getKey()));
   }
 
   @Override
@@ -104,6 +111,7 @@ public class ApiTokenServiceImpl implements ApiTokenService {
     checkNotNull(apiToken.getVersion(), "Token must have an version value");
 
     apiTokenStore.update(apiToken);
+    eventPublisher.publishEvent(new ApiTokenUpdatedEvent(this, apiToken.getKey()));
   }
 
   @Override
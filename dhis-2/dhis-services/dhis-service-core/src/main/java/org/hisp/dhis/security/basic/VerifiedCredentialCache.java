@@ -0,0 +1,154 @@
+/*
+ * Copyright (c) 2004-2022, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ * Neither the name of the HISP project nor the names of its contributors may
+ * be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.security.basic;
+
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.Base64;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import org.hisp.dhis.cache.Cache;
+import org.hisp.dhis.cache.CacheProvider;
+import org.hisp.dhis.external.conf.ConfigurationKey;
+import org.hisp.dhis.external.conf.DhisConfigurationProvider;
+import org.springframework.stereotype.Component;
+
+/**
+ * Short-lived cache of successfully verified HTTP Basic credentials, which avoids computing the
+ * password hash on every request of clients authenticating each API call.
+ *
+ * <p>Entries hold a HMAC of the username, the raw password and the encoded password, computed with
+ * a random secret key which never leaves this instance. Raw passwords are never stored. As the
+ * encoded password is part of the HMAC, entries no longer match once the password is changed.
+ * Account status such as disablement and lockout is checked on every request before the cache is
+ * consulted, and entries are invalidated on lockout and failed verification.
+ */
+@Component
+public class VerifiedCredentialCache {
+  private static final String HMAC_ALGORITHM = "HmacSHA256";
+
+  private final Cache<String> verifiedCredentials;
+
+  private final boolean enabled;
+
+  private final SecretKeySpec secretKey;
+
+  private final AtomicLong hits = new AtomicLong();
+
+  private final AtomicLong misses = new AtomicLong();
+
+  public VerifiedCredentialCache(CacheProvider cacheProvider, DhisConfigurationProvider config) {
+    this.verifiedCredentials = cacheProvider.createVerifiedCredentialCache();
+    this.enabled = config.isEnabled(ConfigurationKey.BASIC_AUTH_CREDENTIAL_CACHE_ENABLED);
+
+    byte[] key = new byte[32];
+    new SecureRandom().nextBytes(key);
+    this.secretKey = new SecretKeySpec(key, HMAC_ALGORITHM);
+  }
+
+  /**
+   * Indicates whether the given credentials were verified recently. A hit means the password hash
+   * computation can be skipped.
+   *
+   * @param username the username.
+   * @param rawPassword the password provided by the client.
+   * @param encodedPassword the stored password hash of the user.
+   * @return true if the credentials were verified recently.
+   */
+  public boolean isVerified(String username, String rawPassword, String encodedPassword) {
+    if (!enabled) {
+      return false;
+    }
+
+    Optional<String> verified = verifiedCredentials.getIfPresent(username);
+    boolean hit =
+        verified.isPresent()
+            && MessageDigest.isEqual(
+                verified.get().getBytes(StandardCharsets.UTF_8),
+                hmac(username, rawPassword, encodedPassword).getBytes(StandardCharsets.UTF_8));
+
+    (hit ? hits : misses).incrementAndGet();
+    return hit;
+  }
+
+  /**
+   * Records the given credentials as verified.
+   *
+   * @param username the username.
+   * @param rawPassword the password provided by the client.
+   * @param encodedPassword the stored password hash of the user.
+   */
+  public void put(String username, String rawPassword, String encodedPassword) {
+    if (enabled) {
+      verifiedCredentials.put(username, hmac(username, rawPassword, encodedPassword));
+    }
+  }
+
+  /**
+   * Invalidates the verified credentials of the given user.
+   *
+   * @param username the username.
+   */
+  public void invalidate(String username) {
+    verifiedCredentials.invalidate(username);
+  }
+
+  /**
+   * @return the number of cache hits, which equals the number of avoided password hash
+   *     computations.
+   */
+  public long getHits() {
+    return hits.get();
+  }
+
+  /**
+   * @return the number of cache misses.
+   */
+  public long getMisses() {
+    return misses.get();
+  }
+
+  private String hmac(String username, String rawPassword, String encodedPassword) {
+    try {
+      Mac mac = Mac.getInstance(HMAC_ALGORITHM);
+      mac.init(secretKey);
+      mac.update(username.getBytes(StandardCharsets.UTF_8));
+      mac.update((byte) 0);
+      mac.update(rawPassword.getBytes(StandardCharsets.UTF_8));
+      mac.update((byte) 0);
+      return Base64.getEncoder()
+          .encodeToString(mac.doFinal(encodedPassword.getBytes(StandardCharsets.UTF_8)));
+    } catch (GeneralSecurityException ex) {
+      throw new IllegalStateException("Failed to compute credential HMAC", ex);
+    }
+  }
+}
@@ -31,6 +31,8 @@ import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.StringUtils;
 import org.hisp.dhis.security.ForwardedIpAwareWebAuthenticationDetails;
 import org.hisp.dhis.security.TwoFactoryAuthenticationUtils;
+import org.hisp.dhis.security.basic.HttpBasicWebAuthenticationDetails;
+import org.hisp.dhis.security.basic.VerifiedCredentialCache;
 import org.hisp.dhis.user.SystemUser;
 import org.hisp.dhis.user.User;
 import org.hisp.dhis.user.UserDetails;
@@ -57,13 +59,17 @@ import org.springframework.stereotype.Component;
 public class TwoFactorAuthenticationProvider extends DaoAuthenticationProvider {
   private UserService userService;
 
+  private VerifiedCredentialCache verifiedCredentialCache;
+
   @Autowired
   public TwoFactorAuthenticationProvider(
       @Qualifier("userDetailsService") UserDetailsService detailsService,
       PasswordEncoder passwordEncoder,
-      @Lazy UserService userService) {
+      @Lazy UserService userService,
+      VerifiedCredentialCache verifiedCredentialCache) {
 
     this.userService = userService;
+    this.verifiedCredentialCache = verifiedCredentialCache;
     setUserDetailsService(detailsService);
     setPasswordEncoder(passwordEncoder);
   }
@@ -82,6 +88,7 @@ public class TwoFactorAuthenticationProvider extends DaoAuthenticationProvider {
     // If enabled, temporarily block user with too many failed attempts
     if (userService.isLocked(username)) {
       log.debug("Temporary lockout for user: '{}' and IP: {}", username, ip);
+      verifiedCredentialCache.invalidate(username);
       throw new LockedException(String.format("IP is temporarily locked: %s", ip));
     }
 
@@ -105,6 +112,39 @@ public class TwoFactorAuthenticationProvider extends DaoAuthenticationProvider {
         principal, result.getCredentials(), result.getAuthorities());
   }
 
+  /**
+   * Skips the password hash computation for HTTP Basic credentials which were verified recently.
+   * Account status checks are performed before this method is invoked.
+   */
+  @Override
+  protected void additionalAuthenticationChecks(
+      org.springframework.security.core.userdetails.UserDetails userDetails,
+      UsernamePasswordAuthenticationToken authentication)
+      throws AuthenticationException {
+    if (!(authentication.getDetails() instanceof HttpBasicWebAuthenticationDetails)
+        || authentication.getCredentials() == null
+        || userDetails.getPassword() == null) {
+      super.additionalAuthenticationChecks(userDetails, authentication);
+      return;
+    }
+
+    String username = userDetails.getUsername();
+    String password = authentication.getCredentials().toString();
+
+    if (verifiedCredentialCache.isVerified(username, password, userDetails.getPassword())) {
+      return;
+    }
+
+    try {
+      super.additionalAuthenticationChecks(userDetails, authentication);
+    } catch (AuthenticationException ex) {
+      verifiedCredentialCache.invalidate(username);
+      throw ex;
+    }
+
+    verifiedCredentialCache.put(username, password, userDetails.getPassword());
+  }
+
   private void validateTwoFactor(UserDetails userDetails, Object details) {
     // If the user has 2FA enabled and tries to authenticate with HTTP Basic or OAuth
     if (userDetails.isTwoFactorEnabled()
@@ -134,9 +134,10 @@ public class HibernateUserDatastoreStore
 
     if (query.isPaging()) {
       int size = Math.min(1000, Math.max(1, query.getPageSize()));
-      int offset = Math.max(0, (query.getPage() - 1) * size);
       hQuery.setMaxResults(size);
-      hQuery.setFirstResult(offset);
+      if (query.getAfter() == null) {
+        hQuery.setFirstResult(Math.max(0, (query.getPage() - 1) * size));
+      }
     }
 
     if (query.getFields().isEmpty()) {
@@ -0,0 +1,122 @@
+/*
+ * Copyright (c) 2004-2022, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ * Neither the name of the HISP project nor the names of its contributors may
+ * be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.datastore.hibernate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.hisp.dhis.datastore.DatastoreIndex;
+import org.hisp.dhis.datastore.DatastoreQuery;
+import org.hisp.dhis.datastore.DatastoreQuery.Direction;
+import org.hisp.dhis.datastore.DatastoreQuery.Order;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests the index and keyset related parts of the HQL created by the {@link DatastoreQueryBuilder}.
+ */
+class DatastoreQueryBuilderTest {
+
+  private static final DatastoreIndex ROOT_GIN =
+      new DatastoreIndex("pets", ".", DatastoreIndex.Type.GIN);
+
+  private static final DatastoreIndex OWNER_GIN =
+      new DatastoreIndex("pets", "owner", DatastoreIndex.Type.GIN);
+
+  @Test
+  void testFilter_RootGinIndex() {
+    DatastoreQueryBuilder builder = createBuilder("name:eq:Pluto", ROOT_GIN);
+    assertTrue(builder.createFetchHQL().contains("jsonb_contains(jbPlainValue, :c_0) = true"));
+    assertEquals("{\"name\":\"Pluto\"}", getParameters(builder).get("c_0"));
+    assertEquals("Pluto", getParameters(builder).get("f_0"));
+  }
+
+  @Test
+  void testFilter_PathGinIndex() {
+    DatastoreQueryBuilder builder = createBuilder("owner.address.zip:eq:42", OWNER_GIN);
+    assertTrue(
+        builder
+            .createFetchHQL()
+            .contains("jsonb_contains(jsonb_extract_path(jbPlainValue, 'owner' ), :c_0) = true"));
+    assertEquals("{\"address\":{\"zip\":42}}", getParameters(builder).get("c_0"));
+  }
+
+  @Test
+  void testFilter_GinIndexEscapesStrings() {
+    DatastoreQueryBuilder builder = createBuilder("name:eq:Say \"hi\"", ROOT_GIN);
+    assertEquals("{\"name\":\"Say \\\"hi\\\"\"}", getParameters(builder).get("c_0"));
+  }
+
+  @Test
+  void testFilter_GinIndexNotCovering() {
+    assertNoContainment(createBuilder("name:eq:Pluto", OWNER_GIN));
+    assertNoContainment(createBuilder("name:ieq:Pluto", ROOT_GIN));
+    assertNoContainment(createBuilder("name:like:Pl", ROOT_GIN));
+    assertNoContainment(createBuilder("toys.0.name:eq:ball", ROOT_GIN));
+    DatastoreIndex btree = new DatastoreIndex("pets", "name", DatastoreIndex.Type.BTREE);
+    assertNoContainment(createBuilder("name:eq:Pluto", btree));
+  }
+
+  @Test
+  void testAfter_KeyOrder() {
+    DatastoreQuery query = DatastoreQuery.builder().namespace("pets").after("cow").build();
+    DatastoreQueryBuilder builder = new DatastoreQueryBuilder("from DatastoreEntry ds", query);
+    assertTrue(builder.createFetchHQL().contains("key > :after"));
+    assertEquals("cow", getParameters(builder).get("after"));
+
+    query = query.toBuilder().order(new Order("_", Direction.DESC)).build();
+    assertTrue(
+        new DatastoreQueryBuilder("from DatastoreEntry ds", query)
+            .createFetchHQL()
+            .contains("key < :after"));
+  }
+
+  private static DatastoreQueryBuilder createBuilder(String filter, DatastoreIndex index) {
+    DatastoreQuery query =
+        DatastoreQuery.builder()
+            .namespace("pets")
+            .filters(DatastoreQuery.parseFilters(List.of(filter)))
+            .indexes(List.of(index))
+            .build();
+    return new DatastoreQueryBuilder("from DatastoreEntry ds", query);
+  }
+
+  private static Map<String, Object> getParameters(DatastoreQueryBuilder builder) {
+    Map<String, Object> params = new HashMap<>();
+    builder.applyParameterValues(params::put);
+    return params;
+  }
+
+  private static void assertNoContainment(DatastoreQueryBuilder builder) {
+    assertFalse(builder.createFetchHQL().contains("jsonb_contains"));
+    assertFalse(getParameters(builder).containsKey("c_0"));
+  }
+}
@@ -28,10 +28,8 @@
 package org.hisp.dhis.fileresource;
 
 import static org.hamcrest.MatcherAssert.assertThat;
-import static org.hamcrest.Matchers.hasKey;
 import static org.hamcrest.Matchers.is;
 import static org.junit.jupiter.api.Assertions.assertEquals;
-import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.Mockito.mockStatic;
@@ -40,7 +38,6 @@ import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.io.File;
-import java.util.Map;
 import javax.persistence.EntityManager;
 import org.hisp.dhis.common.IllegalQueryException;
 import org.hisp.dhis.fileresource.events.FileDeletedEvent;
@@ -72,8 +69,6 @@ class FileResourceServiceTest {
 
   @Mock private FileResourceContentStore fileResourceContentStore;
 
-  @Mock private ImageProcessingService imageProcessingService;
-
   @Mock private ApplicationEventPublisher fileEventPublisher;
 
   @Mock private EntityManager entityManager;
@@ -95,7 +90,6 @@ class FileResourceServiceTest {
             fileResourceStore,
             periodService,
             fileResourceContentStore,
-            imageProcessingService,
             fileEventPublisher,
             entityManager);
   }
@@ -161,10 +155,6 @@ class FileResourceServiceTest {
 
     File file = new File("");
 
-    Map<ImageFileDimension, File> imageFiles = Map.of(ImageFileDimension.LARGE, file);
-
-    when(imageProcessingService.createImages(fileResource, file)).thenReturn(imageFiles);
-
     fileResource.setUid("imageUid1");
 
     try (MockedStatic<CurrentUserUtil> userUtilMockedStatic = mockStatic(CurrentUserUtil.class)) {
@@ -183,9 +173,7 @@ class FileResourceServiceTest {
       ImageFileSavedEvent event = imageFileSavedEventCaptor.getValue();
 
       assertThat(event.fileResource(), is("imageUid1"));
-      assertFalse(event.imageFiles().isEmpty());
-      assertThat(event.imageFiles().size(), is(1));
-      assertThat(event.imageFiles(), hasKey(ImageFileDimension.LARGE));
+      assertThat(event.file(), is(file));
       assertEquals(user.getUid(), event.userUid());
     }
   }
@@ -223,10 +211,6 @@ class FileResourceServiceTest {
 
     File file = new File("");
 
-    Map<ImageFileDimension, File> imageFiles = Map.of(ImageFileDimension.LARGE, file);
-
-    when(imageProcessingService.createImages(fileResource, file)).thenReturn(imageFiles);
-
     fileResource.setUid("imageUid1");
 
     try (MockedStatic<CurrentUserUtil> userUtilMockedStatic = mockStatic(CurrentUserUtil.class)) {
@@ -245,9 +229,7 @@ class FileResourceServiceTest {
       ImageFileSavedEvent event = imageFileSavedEventCaptor.getValue();
 
       assertThat(event.fileResource(), is("imageUid1"));
-      assertFalse(event.imageFiles().isEmpty());
-      assertThat(event.imageFiles().size(), is(1));
-      assertThat(event.imageFiles(), hasKey(ImageFileDimension.LARGE));
+      assertThat(event.file(), is(file));
       assertEquals(user.getUid(), event.userUid());
     }
   }
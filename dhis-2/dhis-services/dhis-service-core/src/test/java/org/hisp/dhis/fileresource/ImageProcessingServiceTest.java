@@ -36,6 +36,7 @@ import java.io.IOException;
 import java.nio.file.Files;
 import java.util.Map;
 import javax.imageio.ImageIO;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -53,13 +54,18 @@ class ImageProcessingServiceTest {
 
   private static final int LARGE_IMAGE_WIDTH = 1024;
 
-  private ImageProcessingService subject;
+  private DefaultImageProcessingService subject;
 
   @BeforeEach
   public void setUp() {
     subject = new DefaultImageProcessingService();
   }
 
+  @AfterEach
+  public void tearDown() {
+    subject.shutdown();
+  }
+
   @Test
   void test_create_images_with_null_values() {
     Map<ImageFileDimension, File> images = subject.createImages(new FileResource(), null);
@@ -108,5 +114,16 @@ class ImageProcessingServiceTest {
     Files.deleteIfExists(smallImage.toPath());
     Files.deleteIfExists(mediumImage.toPath());
     Files.deleteIfExists(largeImage.toPath());
+
+    assertEquals(1, subject.getProcessedImages());
+    assertEquals(0, subject.getFailedImages());
+  }
+
+  @Test
+  void test_subsampling_keeps_twice_the_largest_width() {
+    assertEquals(1, DefaultImageProcessingService.getSubsampling(800));
+    assertEquals(1, DefaultImageProcessingService.getSubsampling(4095));
+    assertEquals(2, DefaultImageProcessingService.getSubsampling(4096));
+    assertEquals(3, DefaultImageProcessingService.getSubsampling(6500));
   }
 }
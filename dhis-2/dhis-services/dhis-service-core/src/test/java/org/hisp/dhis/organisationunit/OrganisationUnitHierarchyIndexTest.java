@@ -0,0 +1,204 @@
+/*
+ * Copyright (c) 2004-2022, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ * Neither the name of the HISP project nor the names of its contributors may
+ * be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.organisationunit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/** Tests the {@link OrganisationUnitHierarchyIndex}. */
+class OrganisationUnitHierarchyIndexTest {
+  private static final String A = "aaaaaaaaaaA";
+  private static final String B = "bbbbbbbbbbB";
+  private static final String C = "ccccccccccC";
+  private static final String D = "ddddddddddD";
+  private static final String E = "eeeeeeeeeeE";
+
+  private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+
+  private final List<Runnable> builds = new ArrayList<>();
+
+  private final OrganisationUnitHierarchyIndex index =
+      new OrganisationUnitHierarchyIndex(jdbcTemplate, Runnable::run);
+
+  private final OrganisationUnitHierarchyIndex queuedIndex =
+      new OrganisationUnitHierarchyIndex(jdbcTemplate, builds::add);
+
+  @BeforeEach
+  void setUp() {
+    // A has children E and B, B has child D, C is a second root
+    when(jdbcTemplate.queryForList(anyString(), eq(String.class)))
+        .thenReturn(
+            List.of(
+                "/" + A + "/" + E,
+                "/" + C,
+                "/" + A,
+                "/" + A + "/" + B + "/" + D,
+                "/" + A + "/" + B));
+  }
+
+  @Test
+  void testIsDescendant_Self() {
+    assertTrue(index.isDescendant(A, List.of(A)));
+    assertTrue(index.isDescendant(D, List.of(D)));
+  }
+
+  @Test
+  void testIsDescendant_Descendant() {
+    assertTrue(index.isDescendant(B, List.of(A)));
+    assertTrue(index.isDescendant(D, List.of(A)));
+    assertTrue(index.isDescendant(E, List.of(A)));
+    assertTrue(index.isDescendant(D, List.of(C, B)));
+  }
+
+  @Test
+  void testIsDescendant_NotDescendant() {
+    assertFalse(index.isDescendant(A, List.of(B)));
+    assertFalse(index.isDescendant(E, List.of(B)));
+    assertFalse(index.isDescendant(C, List.of(A)));
+    assertFalse(index.isDescendant(D, List.of(E, C)));
+    assertFalse(index.isDescendant(A, List.of()));
+  }
+
+  @Test
+  void testIsDescendant_NotIndexed() {
+    assertNull(index.isDescendant("xxxxxxxxxxX", List.of(A)));
+    assertNull(index.isDescendant(A, List.of("xxxxxxxxxxX")));
+  }
+
+  @Test
+  void testInvalidate() {
+    assertTrue(index.isDescendant(B, List.of(A)));
+    assertTrue(index.isDescendant(D, List.of(A)));
+    index.invalidate();
+    assertTrue(index.isDescendant(B, List.of(A)));
+    verify(jdbcTemplate, times(2)).queryForList(anyString(), eq(String.class));
+  }
+
+  @Test
+  void testIsDescendant_NotYetBuilt() {
+    assertNull(queuedIndex.isDescendant(B, List.of(A)));
+    runBuilds();
+    assertTrue(queuedIndex.isDescendant(B, List.of(A)));
+  }
+
+  @Test
+  void testInvalidate_ServesOldIndexWhileRebuilding() {
+    queuedIndex.isDescendant(B, List.of(A));
+    runBuilds();
+    queuedIndex.invalidate(B);
+    assertEquals(1, builds.size());
+    // B and its subtree changed, the rest is still answered by the old index
+    assertNull(queuedIndex.isDescendant(B, List.of(A)));
+    assertNull(queuedIndex.isDescendant(D, List.of(A)));
+    assertTrue(queuedIndex.isDescendant(E, List.of(A)));
+    assertFalse(queuedIndex.isDescendant(C, List.of(A)));
+    runBuilds();
+    assertTrue(queuedIndex.isDescendant(D, List.of(A)));
+  }
+
+  @Test
+  void testInvalidate_OnlyOneBuildAtATime() {
+    queuedIndex.isDescendant(B, List.of(A));
+    queuedIndex.isDescendant(B, List.of(A));
+    queuedIndex.invalidate(B);
+    assertEquals(1, builds.size());
+  }
+
+  @Test
+  void testHandleCacheInvalidation_Moved() {
+    queuedIndex.isDescendant(B, List.of(A));
+    runBuilds();
+    when(jdbcTemplate.queryForList(anyString(), eq(String.class), eq(42L)))
+        .thenReturn(List.of("/" + C + "/" + B));
+    queuedIndex.handleOrganisationUnitCacheInvalidation(
+        new OrganisationUnitCacheInvalidationEvent(this, 42L));
+    assertNull(queuedIndex.isDescendant(D, List.of(A)));
+    assertEquals(1, builds.size());
+  }
+
+  @Test
+  void testHandleCacheInvalidation_NotMoved() {
+    queuedIndex.isDescendant(B, List.of(A));
+    runBuilds();
+    when(jdbcTemplate.queryForList(anyString(), eq(String.class), eq(42L)))
+        .thenReturn(List.of("/" + A + "/" + B));
+    queuedIndex.handleOrganisationUnitCacheInvalidation(
+        new OrganisationUnitCacheInvalidationEvent(this, 42L));
+    assertTrue(queuedIndex.isDescendant(D, List.of(A)));
+    assertTrue(builds.isEmpty());
+  }
+
+  @Test
+  void testHandleCacheInvalidation_Removed() {
+    queuedIndex.isDescendant(B, List.of(A));
+    runBuilds();
+    when(jdbcTemplate.queryForList(anyString(), eq(String.class), eq(42L))).thenReturn(List.of());
+    queuedIndex.handleOrganisationUnitCacheInvalidation(
+        new OrganisationUnitCacheInvalidationEvent(this, 42L));
+    assertNull(queuedIndex.isDescendant(E, List.of(A)));
+    runBuilds();
+    assertTrue(queuedIndex.isDescendant(E, List.of(A)));
+  }
+
+  @Test
+  void testBuild() {
+    OrganisationUnitHierarchyIndex.Snapshot snapshot =
+        OrganisationUnitHierarchyIndex.build(
+            List.of("/" + A, "/" + A + "/" + B, "/" + A + "/" + B + "/" + D, "/" + C));
+    int a = snapshot.indexOf(A);
+    int b = snapshot.indexOf(B);
+    assertEquals(0, snapshot.pre()[a]);
+    assertEquals(2, snapshot.last()[a]);
+    assertEquals(1, snapshot.pre()[b]);
+    assertEquals(2, snapshot.last()[b]);
+    assertEquals(3, snapshot.pre()[snapshot.indexOf(C)]);
+    assertTrue(snapshot.hasParent(B, A));
+    assertTrue(snapshot.hasParent(C, null));
+    assertFalse(snapshot.hasParent(D, A));
+  }
+
+  private void runBuilds() {
+    List<Runnable> queued = List.copyOf(builds);
+    builds.clear();
+    queued.forEach(Runnable::run);
+  }
+}
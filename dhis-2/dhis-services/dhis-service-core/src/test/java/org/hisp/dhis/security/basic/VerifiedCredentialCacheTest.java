@@ -0,0 +1,96 @@
+/*
+ * Copyright (c) 2004-2022, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ * Neither the name of the HISP project nor the names of its contributors may
+ * be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.security.basic;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.when;
+
+import org.hisp.dhis.cache.CacheProvider;
+import org.hisp.dhis.cache.TestCache;
+import org.hisp.dhis.external.conf.ConfigurationKey;
+import org.hisp.dhis.external.conf.DhisConfigurationProvider;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class VerifiedCredentialCacheTest {
+  private static final String HASH = "$2a$10$hash";
+
+  @Mock private CacheProvider cacheProvider;
+
+  @Mock private DhisConfigurationProvider config;
+
+  private VerifiedCredentialCache cache;
+
+  @BeforeEach
+  void setUp() {
+    when(cacheProvider.createVerifiedCredentialCache()).thenReturn(new TestCache<>());
+    when(config.isEnabled(ConfigurationKey.BASIC_AUTH_CREDENTIAL_CACHE_ENABLED)).thenReturn(true);
+
+    cache = new VerifiedCredentialCache(cacheProvider, config);
+  }
+
+  @Test
+  void testIsVerified() {
+    assertFalse(cache.isVerified("admin", "district", HASH));
+
+    cache.put("admin", "district", HASH);
+
+    assertTrue(cache.isVerified("admin", "district", HASH));
+    assertEquals(1, cache.getHits());
+    assertEquals(1, cache.getMisses());
+  }
+
+  @Test
+  void testIsVerifiedWrongPassword() {
+    cache.put("admin", "district", HASH);
+
+    assertFalse(cache.isVerified("admin", "District", HASH));
+    assertFalse(cache.isVerified("android", "district", HASH));
+  }
+
+  @Test
+  void testIsVerifiedAfterPasswordChange() {
+    cache.put("admin", "district", HASH);
+
+    assertFalse(cache.isVerified("admin", "district", "$2a$10$changed"));
+  }
+
+  @Test
+  void testInvalidate() {
+    cache.put("admin", "district", HASH);
+    cache.invalidate("admin");
+
+    assertFalse(cache.isVerified("admin", "district", HASH));
+  }
+}
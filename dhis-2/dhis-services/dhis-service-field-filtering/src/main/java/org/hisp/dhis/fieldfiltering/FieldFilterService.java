@@ -63,6 +63,7 @@ import org.hisp.dhis.fieldfiltering.transformers.SizeFieldTransformer;
 import org.hisp.dhis.hibernate.HibernateProxyUtils;
 import org.hisp.dhis.schema.Schema;
 import org.hisp.dhis.schema.SchemaService;
+import org.hisp.dhis.security.acl.Access;
 import org.hisp.dhis.security.acl.AclService;
 import org.hisp.dhis.user.CurrentUserUtil;
 import org.hisp.dhis.user.User;
@@ -262,8 +263,9 @@ public class FieldFilterService {
 
     Map<String, List<FieldTransformer>> fieldTransformers = getTransformers(paths);
 
+    applyAccess(objects, paths, isSkipSharing, currentUserDetails);
+
     for (Object object : objects) {
-      applyAccess(object, paths, isSkipSharing, currentUserDetails);
       applySharingDisplayNames(object, paths, isSkipSharing);
       applyAttributeValuesAttribute(object, paths, isSkipSharing);
 
@@ -534,18 +536,35 @@ public class FieldFilterService {
         });
   }
 
+  /**
+   * Sets the {@link Access} of all objects (and nested objects) that have an access field in the
+   * filter. The access of all objects is computed in one batch so that checks are only done once
+   * per object type and shared objects.
+   */
   private void applyAccess(
-      Object object, List<FieldPath> fieldPaths, boolean isSkipSharing, UserDetails userDetails) {
-    applyFieldPathVisitor(
-        object,
-        fieldPaths,
-        isSkipSharing,
-        s -> s.equals("access") || s.endsWith(".access"),
-        o -> {
-          if (o instanceof BaseIdentifiableObject identifiableObject) {
-            identifiableObject.setAccess(
-                aclService.getAccess(((IdentifiableObject) o), userDetails));
-          }
-        });
+      List<?> objects, List<FieldPath> fieldPaths, boolean isSkipSharing, UserDetails userDetails) {
+    List<BaseIdentifiableObject> targets = new ArrayList<>();
+    for (Object object : objects) {
+      applyFieldPathVisitor(
+          object,
+          fieldPaths,
+          isSkipSharing,
+          s -> s.equals("access") || s.endsWith(".access"),
+          o -> {
+            if (o instanceof BaseIdentifiableObject identifiableObject) {
+              targets.add(identifiableObject);
+            }
+          });
+    }
+
+    if (targets.isEmpty()) {
+      return;
+    }
+
+    List<Access> access = aclService.getAccess(targets, userDetails);
+
+    for (int i = 0; i < targets.size(); i++) {
+      targets.get(i).setAccess(access.get(i));
+    }
   }
 }
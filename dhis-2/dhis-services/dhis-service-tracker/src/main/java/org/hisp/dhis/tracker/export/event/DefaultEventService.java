@@ -30,6 +30,7 @@ package org.hisp.dhis.tracker.export.event;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.function.Consumer;
 import javax.annotation.Nonnull;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -234,6 +235,13 @@ class DefaultEventService implements EventService {
     return eventStore.getEvents(queryParams, pageParams);
   }
 
+  @Override
+  public void streamEvents(EventOperationParams operationParams, Consumer<Event> consumer)
+      throws BadRequestException, ForbiddenException {
+    EventQueryParams queryParams = paramsMapper.map(operationParams);
+    eventStore.streamEvents(queryParams, consumer);
+  }
+
   public RelationshipItem getEventInRelationshipItem(String uid, EventParams eventParams)
       throws NotFoundException {
     RelationshipItem relationshipItem = new RelationshipItem();
@@ -29,6 +29,7 @@ package org.hisp.dhis.tracker.export.event;
 
 import java.util.List;
 import java.util.Set;
+import java.util.function.Consumer;
 import org.hisp.dhis.common.UID;
 import org.hisp.dhis.feedback.BadRequestException;
 import org.hisp.dhis.feedback.ForbiddenException;
@@ -61,6 +62,14 @@ public interface EventService {
   Page<Event> getEvents(EventOperationParams params, PageParams pageParams)
       throws BadRequestException, ForbiddenException;
 
+  /**
+   * Get all events matching given params one by one without holding them all in memory. Events
+   * are passed to the consumer in the same order {@link #getEvents(EventOperationParams)} returns
+   * them.
+   */
+  void streamEvents(EventOperationParams params, Consumer<Event> consumer)
+      throws BadRequestException, ForbiddenException;
+
   RelationshipItem getEventInRelationshipItem(String uid, EventParams eventParams)
       throws NotFoundException, ForbiddenException;
 
@@ -29,6 +29,7 @@ package org.hisp.dhis.tracker.export.event;
 
 import java.util.List;
 import java.util.Set;
+import java.util.function.Consumer;
 import org.hisp.dhis.program.Event;
 import org.hisp.dhis.tracker.export.Page;
 import org.hisp.dhis.tracker.export.PageParams;
@@ -43,6 +44,12 @@ public interface EventStore {
   /** Get a page of events matching given params. */
   Page<Event> getEvents(EventQueryParams params, PageParams pageParams);
 
+  /**
+   * Reads all events matching given params using a forward-only cursor and passes each event to
+   * the consumer as soon as it is mapped. Must be called within a transaction.
+   */
+  void streamEvents(EventQueryParams params, Consumer<Event> consumer);
+
   /**
    * Fields the {@link #getEvents(EventQueryParams)} can order events by. Ordering by fields other
    * than these is considered a programmer error. Validation of user provided field names should
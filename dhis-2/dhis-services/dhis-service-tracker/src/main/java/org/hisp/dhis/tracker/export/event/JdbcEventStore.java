@@ -56,6 +56,7 @@ import java.util.Map.Entry;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.function.Consumer;
 import java.util.function.LongSupplier;
 import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
@@ -106,6 +107,7 @@ import org.locationtech.jts.io.ParseException;
 import org.locationtech.jts.io.WKTReader;
 import org.postgresql.util.PGobject;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.jdbc.core.RowCallbackHandler;
 import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
 import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
@@ -184,6 +186,10 @@ class JdbcEventStore implements EventStore {
   private static final String COLUMN_USER_UID = "u_uid";
   private static final String COLUMN_ORG_UNIT_PATH = "ou_path";
   private static final String DEFAULT_ORDER = COLUMN_EVENT_ID + " desc";
+
+  private static final int STREAM_BATCH_SIZE = 1000;
+
+  private static final Gson GSON = new Gson();
   private static final String USER_SCOPE_ORG_UNIT_PATH_LIKE_MATCH_QUERY =
       " ou.path like CONCAT(orgunit.path, '%') ";
   private static final String CUSTOM_ORG_UNIT_PATH_LIKE_MATCH_QUERY =
@@ -249,6 +255,25 @@ class JdbcEventStore implements EventStore {
     return getPage(pageParams, events, eventCount);
   }
 
+  @Override
+  public void streamEvents(EventQueryParams queryParams, Consumer<Event> consumer) {
+    User currentUser = userService.getUserByUsername(CurrentUserUtil.getCurrentUsername());
+    setAccessiblePrograms(currentUser, queryParams);
+
+    final MapSqlParameterSource mapSqlParameterSource = new MapSqlParameterSource();
+
+    // rows of the same event (one per note) must be adjacent, so the event id breaks any ties
+    String sql =
+        buildSql(queryParams, null, mapSqlParameterSource, currentUser) + ", " + COLUMN_EVENT_ID;
+
+    JdbcTemplate cursor = new JdbcTemplate(jdbcTemplate.getJdbcTemplate().getDataSource());
+    cursor.setFetchSize(STREAM_BATCH_SIZE);
+
+    EventStreamHandler handler = new EventStreamHandler(queryParams, consumer);
+    new NamedParameterJdbcTemplate(cursor).query(sql, mapSqlParameterSource, handler);
+    handler.flush();
+  }
+
   private List<Event> fetchEvents(EventQueryParams queryParams, PageParams pageParams) {
     User currentUser = userService.getUserByUsername(CurrentUserUtil.getCurrentUsername());
     setAccessiblePrograms(currentUser, queryParams);
@@ -262,8 +287,6 @@ class JdbcEventStore implements EventStore {
     List<Event> events = new ArrayList<>();
     List<Long> relationshipIds = new ArrayList<>();
 
-    final Gson gson = new Gson();
-
     final MapSqlParameterSource mapSqlParameterSource = new MapSqlParameterSource();
 
     String sql = buildSql(queryParams, pageParams, mapSqlParameterSource, currentUser);
@@ -283,157 +306,218 @@ class JdbcEventStore implements EventStore {
 
             validateIdentifiersPresence(resultSet, queryParams.getIdSchemes());
 
-            Event event;
-            if (eventsByUid.containsKey(eventUid)) {
-              event = eventsByUid.get(eventUid);
-            } else {
-              event = new Event();
-              event.setUid(eventUid);
+            Event event = eventsByUid.get(eventUid);
+            if (event == null) {
+              event = mapEvent(resultSet, queryParams, relationshipIds);
               eventsByUid.put(eventUid, event);
-
-              TrackedEntity te = new TrackedEntity();
-              te.setUid(resultSet.getString(COLUMN_TRACKEDENTITY_UID));
-              event.setStatus(EventStatus.valueOf(resultSet.getString(COLUMN_EVENT_STATUS)));
-              ProgramType programType = ProgramType.fromValue(resultSet.getString("p_type"));
-              Program program = new Program();
-              program.setUid(resultSet.getString("p_identifier"));
-              program.setProgramType(programType);
-              Enrollment enrollment = new Enrollment();
-              enrollment.setUid(resultSet.getString(COLUMN_ENROLLMENT_UID));
-              enrollment.setProgram(program);
-              enrollment.setTrackedEntity(te);
-              OrganisationUnit ou = new OrganisationUnit();
-              ou.setUid(resultSet.getString(COLUMN_ORG_UNIT_UID));
-              ou.setCode(resultSet.getString(COLUMN_ORG_UNIT_CODE));
-              ProgramStage ps = new ProgramStage();
-              ps.setUid(resultSet.getString("ps_identifier"));
-              ps.setName(resultSet.getString(COLUMN_PROGRAM_STAGE_NAME));
-              event.setDeleted(resultSet.getBoolean(COLUMN_EVENT_DELETED));
-
-              enrollment.setStatus(
-                  ProgramStatus.valueOf(resultSet.getString(COLUMN_ENROLLMENT_STATUS)));
-              enrollment.setFollowup(resultSet.getBoolean(COLUMN_ENROLLMENT_FOLLOWUP));
-              event.setEnrollment(enrollment);
-              event.setProgramStage(ps);
-              event.setOrganisationUnit(ou);
-
-              CategoryOptionCombo coc = new CategoryOptionCombo();
-              coc.setUid(resultSet.getString("coc_identifier"));
-              Set<CategoryOption> options =
-                  Arrays.stream(resultSet.getString("co_uids").split(TextUtils.COMMA))
-                      .map(
-                          optionUid -> {
-                            CategoryOption option = new CategoryOption();
-                            option.setUid(optionUid);
-                            return option;
-                          })
-                      .collect(Collectors.toSet());
-              coc.setCategoryOptions(options);
-              event.setAttributeOptionCombo(coc);
-
-              event.setStoredBy(resultSet.getString(COLUMN_EVENT_STORED_BY));
-              event.setScheduledDate(resultSet.getTimestamp(COLUMN_EVENT_SCHEDULED_DATE));
-              event.setOccurredDate(resultSet.getTimestamp(COLUMN_EVENT_OCCURRED_DATE));
-              event.setCreated(resultSet.getTimestamp(COLUMN_EVENT_CREATED));
-              event.setCreatedAtClient(resultSet.getTimestamp(COLUMN_EVENT_CREATED_AT_CLIENT));
-              event.setCreatedByUserInfo(
-                  EventUtils.jsonToUserInfo(
-                      resultSet.getString(COLUMN_EVENT_CREATED_BY), jsonMapper));
-              event.setLastUpdated(resultSet.getTimestamp(COLUMN_EVENT_LAST_UPDATED));
-              event.setLastUpdatedAtClient(
-                  resultSet.getTimestamp(COLUMN_EVENT_LAST_UPDATED_AT_CLIENT));
-              event.setLastUpdatedByUserInfo(
-                  EventUtils.jsonToUserInfo(
-                      resultSet.getString(COLUMN_EVENT_LAST_UPDATED_BY), jsonMapper));
-
-              event.setCompletedBy(resultSet.getString(COLUMN_EVENT_COMPLETED_BY));
-              event.setCompletedDate(resultSet.getTimestamp(COLUMN_EVENT_COMPLETED_DATE));
-
-              if (resultSet.getObject("ev_geometry") != null) {
-                try {
-                  Geometry geom = new WKTReader().read(resultSet.getString("ev_geometry"));
-
-                  event.setGeometry(geom);
-                } catch (ParseException e) {
-                  log.error("Unable to read geometry for event: '{}'", event.getUid(), e);
-                }
-              }
-
-              if (resultSet.getObject("user_assigned") != null) {
-                User eventUser = new User();
-                eventUser.setUid(resultSet.getString("user_assigned"));
-                eventUser.setUsername(resultSet.getString(COLUMN_EVENT_ASSIGNED_USER_USERNAME));
-                eventUser.setName(resultSet.getString(COLUMN_EVENT_ASSIGNED_USER_DISPLAY_NAME));
-                eventUser.setFirstName(resultSet.getString("user_assigned_first_name"));
-                eventUser.setSurname(resultSet.getString("user_assigned_surname"));
-                event.setAssignedUser(eventUser);
-              }
-
-              if (!StringUtils.isEmpty(resultSet.getString("ev_eventdatavalues"))) {
-                Set<EventDataValue> eventDataValues =
-                    convertEventDataValueJsonIntoSet(resultSet.getString("ev_eventdatavalues"));
-
-                event.getEventDataValues().addAll(eventDataValues);
-              }
-
-              if (queryParams.isIncludeRelationships() && resultSet.getObject("ev_rl") != null) {
-                PGobject pGobject = (PGobject) resultSet.getObject("ev_rl");
-
-                if (pGobject != null) {
-                  String value = pGobject.getValue();
-
-                  relationshipIds.addAll(Lists.newArrayList(gson.fromJson(value, Long[].class)));
-                }
-              }
-
               events.add(event);
             }
 
-            if (resultSet.getString("note_text") != null
-                && !notes.contains(resultSet.getString("note_id"))) {
-              Note note = new Note();
-              note.setUid(resultSet.getString("note_uid"));
-              note.setNoteText(resultSet.getString("note_text"));
-              note.setCreated(resultSet.getDate("note_created"));
-              note.setCreator(resultSet.getString("note_creator"));
-
-              if (resultSet.getObject("note_user_id") != null) {
-                User noteLastUpdatedBy = new User();
-                noteLastUpdatedBy.setId(resultSet.getLong("note_user_id"));
-                noteLastUpdatedBy.setCode(resultSet.getString("note_user_code"));
-                noteLastUpdatedBy.setUid(resultSet.getString("note_user_uid"));
-                noteLastUpdatedBy.setUsername(resultSet.getString("note_user_username"));
-                noteLastUpdatedBy.setFirstName(resultSet.getString("note_user_firstname"));
-                noteLastUpdatedBy.setSurname(resultSet.getString("note_user_surname"));
-                note.setLastUpdatedBy(noteLastUpdatedBy);
-              }
-
-              note.setLastUpdated(resultSet.getDate("note_lastupdated"));
-
-              event.getNotes().add(note);
-              notes.add(resultSet.getString("note_id"));
-            }
+            addNote(resultSet, event, notes);
           }
 
-          List<Relationship> relationships = relationshipStore.getById(relationshipIds);
+          addRelationshipItems(events, relationshipIds);
+
+          return events;
+        });
+  }
+
+  /**
+   * Maps the rows of the event query to events while they are read and passes them on to the
+   * consumer in batches of {@link #STREAM_BATCH_SIZE} so that the relationships of a batch can be
+   * fetched in a single query.
+   */
+  private class EventStreamHandler implements RowCallbackHandler {
+    private final EventQueryParams queryParams;
 
-          Multimap<String, RelationshipItem> map = LinkedListMultimap.create();
+    private final Consumer<Event> consumer;
 
-          for (Relationship relationship : relationships) {
-            if (relationship.getFrom().getEvent() != null) {
-              map.put(relationship.getFrom().getEvent().getUid(), relationship.getFrom());
-            }
-            if (relationship.getTo().getEvent() != null) {
-              map.put(relationship.getTo().getEvent().getUid(), relationship.getTo());
-            }
-          }
+    private final List<Event> batch = new ArrayList<>();
 
-          if (!map.isEmpty()) {
-            events.forEach(e -> e.getRelationshipItems().addAll(map.get(e.getUid())));
-          }
+    private final List<Long> relationshipIds = new ArrayList<>();
 
-          return events;
-        });
+    private final Set<String> notes = new HashSet<>();
+
+    private Event current;
+
+    EventStreamHandler(EventQueryParams queryParams, Consumer<Event> consumer) {
+      this.queryParams = queryParams;
+      this.consumer = consumer;
+    }
+
+    @Override
+    public void processRow(ResultSet resultSet) throws SQLException {
+      String eventUid = resultSet.getString(COLUMN_EVENT_UID);
+      if (eventUid == null) {
+        return;
+      }
+
+      validateIdentifiersPresence(resultSet, queryParams.getIdSchemes());
+
+      if (current == null || !current.getUid().equals(eventUid)) {
+        if (batch.size() >= STREAM_BATCH_SIZE) {
+          flush();
+        }
+        current = mapEvent(resultSet, queryParams, relationshipIds);
+        batch.add(current);
+        notes.clear();
+      }
+
+      addNote(resultSet, current, notes);
+    }
+
+    void flush() {
+      addRelationshipItems(batch, relationshipIds);
+      batch.forEach(consumer);
+      batch.clear();
+      relationshipIds.clear();
+    }
+  }
+
+  private Event mapEvent(
+      ResultSet resultSet, EventQueryParams queryParams, List<Long> relationshipIds)
+      throws SQLException {
+    Event event = new Event();
+    event.setUid(resultSet.getString(COLUMN_EVENT_UID));
+
+    TrackedEntity te = new TrackedEntity();
+    te.setUid(resultSet.getString(COLUMN_TRACKEDENTITY_UID));
+    event.setStatus(EventStatus.valueOf(resultSet.getString(COLUMN_EVENT_STATUS)));
+    ProgramType programType = ProgramType.fromValue(resultSet.getString("p_type"));
+    Program program = new Program();
+    program.setUid(resultSet.getString("p_identifier"));
+    program.setProgramType(programType);
+    Enrollment enrollment = new Enrollment();
+    enrollment.setUid(resultSet.getString(COLUMN_ENROLLMENT_UID));
+    enrollment.setProgram(program);
+    enrollment.setTrackedEntity(te);
+    OrganisationUnit ou = new OrganisationUnit();
+    ou.setUid(resultSet.getString(COLUMN_ORG_UNIT_UID));
+    ou.setCode(resultSet.getString(COLUMN_ORG_UNIT_CODE));
+    ProgramStage ps = new ProgramStage();
+    ps.setUid(resultSet.getString("ps_identifier"));
+    ps.setName(resultSet.getString(COLUMN_PROGRAM_STAGE_NAME));
+    event.setDeleted(resultSet.getBoolean(COLUMN_EVENT_DELETED));
+
+    enrollment.setStatus(ProgramStatus.valueOf(resultSet.getString(COLUMN_ENROLLMENT_STATUS)));
+    enrollment.setFollowup(resultSet.getBoolean(COLUMN_ENROLLMENT_FOLLOWUP));
+    event.setEnrollment(enrollment);
+    event.setProgramStage(ps);
+    event.setOrganisationUnit(ou);
+
+    CategoryOptionCombo coc = new CategoryOptionCombo();
+    coc.setUid(resultSet.getString("coc_identifier"));
+    Set<CategoryOption> options =
+        Arrays.stream(resultSet.getString("co_uids").split(TextUtils.COMMA))
+            .map(
+                optionUid -> {
+                  CategoryOption option = new CategoryOption();
+                  option.setUid(optionUid);
+                  return option;
+                })
+            .collect(Collectors.toSet());
+    coc.setCategoryOptions(options);
+    event.setAttributeOptionCombo(coc);
+
+    event.setStoredBy(resultSet.getString(COLUMN_EVENT_STORED_BY));
+    event.setScheduledDate(resultSet.getTimestamp(COLUMN_EVENT_SCHEDULED_DATE));
+    event.setOccurredDate(resultSet.getTimestamp(COLUMN_EVENT_OCCURRED_DATE));
+    event.setCreated(resultSet.getTimestamp(COLUMN_EVENT_CREATED));
+    event.setCreatedAtClient(resultSet.getTimestamp(COLUMN_EVENT_CREATED_AT_CLIENT));
+    event.setCreatedByUserInfo(
+        EventUtils.jsonToUserInfo(resultSet.getString(COLUMN_EVENT_CREATED_BY), jsonMapper));
+    event.setLastUpdated(resultSet.getTimestamp(COLUMN_EVENT_LAST_UPDATED));
+    event.setLastUpdatedAtClient(resultSet.getTimestamp(COLUMN_EVENT_LAST_UPDATED_AT_CLIENT));
+    event.setLastUpdatedByUserInfo(
+        EventUtils.jsonToUserInfo(resultSet.getString(COLUMN_EVENT_LAST_UPDATED_BY), jsonMapper));
+
+    event.setCompletedBy(resultSet.getString(COLUMN_EVENT_COMPLETED_BY));
+    event.setCompletedDate(resultSet.getTimestamp(COLUMN_EVENT_COMPLETED_DATE));
+
+    if (resultSet.getObject("ev_geometry") != null) {
+      try {
+        Geometry geom = new WKTReader().read(resultSet.getString("ev_geometry"));
+
+        event.setGeometry(geom);
+      } catch (ParseException e) {
+        log.error("Unable to read geometry for event: '{}'", event.getUid(), e);
+      }
+    }
+
+    if (resultSet.getObject("user_assigned") != null) {
+      User eventUser = new User();
+      eventUser.setUid(resultSet.getString("user_assigned"));
+      eventUser.setUsername(resultSet.getString(COLUMN_EVENT_ASSIGNED_USER_USERNAME));
+      eventUser.setName(resultSet.getString(COLUMN_EVENT_ASSIGNED_USER_DISPLAY_NAME));
+      eventUser.setFirstName(resultSet.getString("user_assigned_first_name"));
+      eventUser.setSurname(resultSet.getString("user_assigned_surname"));
+      event.setAssignedUser(eventUser);
+    }
+
+    if (!StringUtils.isEmpty(resultSet.getString("ev_eventdatavalues"))) {
+      Set<EventDataValue> eventDataValues =
+          convertEventDataValueJsonIntoSet(resultSet.getString("ev_eventdatavalues"));
+
+      event.getEventDataValues().addAll(eventDataValues);
+    }
+
+    if (queryParams.isIncludeRelationships() && resultSet.getObject("ev_rl") != null) {
+      PGobject pGobject = (PGobject) resultSet.getObject("ev_rl");
+
+      if (pGobject != null) {
+        String value = pGobject.getValue();
+
+        relationshipIds.addAll(Lists.newArrayList(GSON.fromJson(value, Long[].class)));
+      }
+    }
+
+    return event;
+  }
+
+  private void addNote(ResultSet resultSet, Event event, Set<String> notes) throws SQLException {
+    if (resultSet.getString("note_text") != null
+        && !notes.contains(resultSet.getString("note_id"))) {
+      Note note = new Note();
+      note.setUid(resultSet.getString("note_uid"));
+      note.setNoteText(resultSet.getString("note_text"));
+      note.setCreated(resultSet.getDate("note_created"));
+      note.setCreator(resultSet.getString("note_creator"));
+
+      if (resultSet.getObject("note_user_id") != null) {
+        User noteLastUpdatedBy = new User();
+        noteLastUpdatedBy.setId(resultSet.getLong("note_user_id"));
+        noteLastUpdatedBy.setCode(resultSet.getString("note_user_code"));
+        noteLastUpdatedBy.setUid(resultSet.getString("note_user_uid"));
+        noteLastUpdatedBy.setUsername(resultSet.getString("note_user_username"));
+        noteLastUpdatedBy.setFirstName(resultSet.getString("note_user_firstname"));
+        noteLastUpdatedBy.setSurname(resultSet.getString("note_user_surname"));
+        note.setLastUpdatedBy(noteLastUpdatedBy);
+      }
+
+      note.setLastUpdated(resultSet.getDate("note_lastupdated"));
+
+      event.getNotes().add(note);
+      notes.add(resultSet.getString("note_id"));
+    }
+  }
+
+  private void addRelationshipItems(List<Event> events, List<Long> relationshipIds) {
+    List<Relationship> relationships = relationshipStore.getById(relationshipIds);
+
+    Multimap<String, RelationshipItem> map = LinkedListMultimap.create();
+
+    for (Relationship relationship : relationships) {
+      if (relationship.getFrom().getEvent() != null) {
+        map.put(relationship.getFrom().getEvent().getUid(), relationship.getFrom());
+      }
+      if (relationship.getTo().getEvent() != null) {
+        map.put(relationship.getTo().getEvent().getUid(), relationship.getTo());
+      }
+    }
+
+    if (!map.isEmpty()) {
+      events.forEach(e -> e.getRelationshipItems().addAll(map.get(e.getUid())));
+    }
   }
 
   private Page<Event> getPage(PageParams pageParams, List<Event> events, LongSupplier eventCount) {
@@ -29,13 +29,17 @@ package org.hisp.dhis.tracker.export.trackedentity;
 
 import static org.hisp.dhis.user.CurrentUserUtil.getCurrentUsername;
 
+import com.google.common.collect.Iterators;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 import javax.annotation.CheckForNull;
 import lombok.RequiredArgsConstructor;
 import org.apache.commons.lang3.StringUtils;
@@ -82,6 +86,7 @@ import org.springframework.transaction.annotation.Transactional;
 @Service("org.hisp.dhis.tracker.export.trackedentity.TrackedEntityService")
 @RequiredArgsConstructor
 class DefaultTrackedEntityService implements TrackedEntityService {
+  private static final int STREAM_BATCH_SIZE = 1000;
 
   private final TrackedEntityStore trackedEntityStore;
 
@@ -505,6 +510,34 @@ class DefaultTrackedEntityService implements TrackedEntityService {
     return ids.withItems(trackedEntities);
   }
 
+  @Override
+  public void streamTrackedEntities(
+      TrackedEntityOperationParams operationParams, Consumer<TrackedEntity> consumer)
+      throws BadRequestException, ForbiddenException, NotFoundException {
+    TrackedEntityQueryParams queryParams = mapper.map(operationParams);
+
+    try (Stream<Long> ids = trackedEntityStore.streamTrackedEntityIds(queryParams)) {
+      Iterator<List<Long>> batches = Iterators.partition(ids.iterator(), STREAM_BATCH_SIZE);
+      while (batches.hasNext()) {
+        List<TrackedEntity> trackedEntities =
+            this.trackedEntityAggregate.find(
+                batches.next(),
+                operationParams.getTrackedEntityParams(),
+                queryParams,
+                operationParams.getOrgUnitMode());
+
+        mapRelationshipItems(
+            trackedEntities,
+            operationParams.getTrackedEntityParams(),
+            operationParams.isIncludeDeleted());
+
+        addSearchAudit(trackedEntities, queryParams.getUser());
+
+        trackedEntities.forEach(consumer);
+      }
+    }
+  }
+
   private List<Long> getTrackedEntityIds(TrackedEntityQueryParams params) {
     return trackedEntityStore.getTrackedEntityIds(params);
   }
@@ -46,6 +46,7 @@ import java.util.Set;
 import java.util.function.Function;
 import java.util.function.LongSupplier;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 import javax.persistence.EntityManager;
 import javax.persistence.criteria.CriteriaBuilder;
 import javax.persistence.criteria.Predicate;
@@ -89,6 +90,8 @@ class HibernateTrackedEntityStore extends SoftDeleteHibernateObjectStore<Tracked
 
   private static final String LIMIT = "LIMIT";
 
+  private static final int STREAM_FETCH_SIZE = 1000;
+
   private static final String ENROLLMENT_DATE_ALIAS = "en_enrollmentdate";
 
   private static final String ENROLLMENT_DATE_KEY = "enrollment.enrollmentDate";
@@ -178,6 +181,20 @@ class HibernateTrackedEntityStore extends SoftDeleteHibernateObjectStore<Tracked
     return getPage(pageParams, ids, teCount);
   }
 
+  @Override
+  public Stream<Long> streamTrackedEntityIds(TrackedEntityQueryParams params) {
+    if (params.getMaxTeLimit() > 0) {
+      // the limit is small and has to be checked before any result is returned
+      return getTrackedEntityIds(params).stream();
+    }
+    // the fetch size only makes PostgreSQL use a cursor within the read-only transaction of the
+    // caller, outside of it all rows would be read into memory at once
+    JdbcTemplate cursor = new JdbcTemplate(jdbcTemplate.getDataSource());
+    cursor.setFetchSize(STREAM_FETCH_SIZE);
+    return cursor.queryForStream(
+        getQuery(params, null), (rs, rowNum) -> rs.getLong("trackedentityid"));
+  }
+
   private Page<Long> getPage(
       PageParams pageParams, List<Long> teIds, LongSupplier enrollmentCount) {
     if (pageParams.isPageTotal()) {
@@ -29,6 +29,7 @@ package org.hisp.dhis.tracker.export.trackedentity;
 
 import java.util.List;
 import java.util.Set;
+import java.util.function.Consumer;
 import org.hisp.dhis.common.UID;
 import org.hisp.dhis.feedback.BadRequestException;
 import org.hisp.dhis.feedback.ForbiddenException;
@@ -62,6 +63,14 @@ public interface TrackedEntityService {
   Page<TrackedEntity> getTrackedEntities(TrackedEntityOperationParams params, PageParams pageParams)
       throws BadRequestException, ForbiddenException, NotFoundException;
 
+  /**
+   * Get all tracked entities matching given params without holding them all in memory. Tracked
+   * entities are fetched in batches and passed to the consumer in the same order {@link
+   * #getTrackedEntities(TrackedEntityOperationParams)} returns them.
+   */
+  void streamTrackedEntities(TrackedEntityOperationParams params, Consumer<TrackedEntity> consumer)
+      throws BadRequestException, ForbiddenException, NotFoundException;
+
   /**
    * Fields the {@link #getTrackedEntities(TrackedEntityOperationParams)} can order tracked entities
    * by. Ordering by fields other than these is considered a programmer error. Validation of user
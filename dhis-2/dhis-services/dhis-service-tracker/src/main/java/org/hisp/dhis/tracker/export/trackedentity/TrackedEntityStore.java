@@ -29,6 +29,7 @@ package org.hisp.dhis.tracker.export.trackedentity;
 
 import java.util.List;
 import java.util.Set;
+import java.util.stream.Stream;
 import org.hisp.dhis.common.IdentifiableObjectStore;
 import org.hisp.dhis.trackedentity.TrackedEntity;
 import org.hisp.dhis.tracker.export.Page;
@@ -43,6 +44,12 @@ interface TrackedEntityStore extends IdentifiableObjectStore<TrackedEntity> {
   /** Get a page of tracked entities matching given params. */
   Page<Long> getTrackedEntityIds(TrackedEntityQueryParams params, PageParams pageParams);
 
+  /**
+   * Get all tracked entity ids matching given params read lazily from a forward-only cursor. The
+   * returned stream must be closed and consumed within a transaction.
+   */
+  Stream<Long> streamTrackedEntityIds(TrackedEntityQueryParams params);
+
   /**
    * Fields the {@link #getTrackedEntityIds(TrackedEntityQueryParams)})} can order tracked entities
    * by. Ordering by fields other than these is considered a programmer error. Validation of user
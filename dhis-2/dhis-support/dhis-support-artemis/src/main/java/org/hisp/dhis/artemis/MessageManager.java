@@ -27,10 +27,14 @@
  */
 package org.hisp.dhis.artemis;
 
+import java.util.Collection;
+import javax.jms.MessageProducer;
+import javax.jms.TextMessage;
 import org.apache.activemq.artemis.jms.client.ActiveMQQueue;
 import org.apache.activemq.artemis.jms.client.ActiveMQTopic;
 import org.hisp.dhis.render.RenderService;
 import org.springframework.jms.core.JmsTemplate;
+import org.springframework.jms.support.JmsUtils;
 import org.springframework.stereotype.Component;
 
 /**
@@ -57,6 +61,36 @@ public class MessageManager {
         session -> session.createTextMessage(renderService.toJsonAsString(message)));
   }
 
+  /**
+   * Sends all messages to the topic using a single session and producer instead of one per
+   * message.
+   */
+  public void send(String destinationName, Collection<? extends Message> messages) {
+    jmsTopicTemplate.execute(
+        session -> {
+          MessageProducer producer = session.createProducer(new ActiveMQTopic(destinationName));
+          try {
+            for (Message message : messages) {
+              TextMessage text = session.createTextMessage(renderService.toJsonAsString(message));
+              if (jmsTopicTemplate.isExplicitQosEnabled()) {
+                producer.send(
+                    text,
+                    jmsTopicTemplate.getDeliveryMode(),
+                    jmsTopicTemplate.getPriority(),
+                    jmsTopicTemplate.getTimeToLive());
+              } else {
+                producer.send(text);
+              }
+            }
+            JmsUtils.commitIfNecessary(session);
+          } finally {
+            JmsUtils.closeMessageProducer(producer);
+          }
+          return null;
+        },
+        false);
+  }
+
   public void sendTopic(String destinationName, Message message) {
     jmsTopicTemplate.send(
         new ActiveMQTopic(destinationName),
@@ -28,6 +28,10 @@
 package org.hisp.dhis.artemis.audit;
 
 import com.google.common.base.Strings;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import lombok.extern.slf4j.Slf4j;
 import org.hisp.dhis.artemis.MessageManager;
@@ -67,6 +71,31 @@ public class AuditProducerSupplier {
     }
   }
 
+  /**
+   * Publishes the audits with one send per topic.
+   *
+   * @param audits the audits to publish
+   */
+  public void publish(Collection<Audit> audits) {
+    Map<String, List<Audit>> auditsByTopic = new LinkedHashMap<>();
+    for (Audit audit : audits) {
+      String topic = getTopicName(audit);
+      if (!Strings.isNullOrEmpty(topic)) {
+        auditsByTopic.computeIfAbsent(topic, key -> new ArrayList<>()).add(audit);
+      } else {
+        log.error(
+            String.format(
+                "Unable to map AuditScope [%s] to a topic name. Sending aborted",
+                audit.getAuditScope()));
+      }
+    }
+    auditsByTopic.forEach(
+        (topic, topicAudits) -> {
+          log.debug("sending {} auditing messages to topic: [{}]", topicAudits.size(), topic);
+          this.messageManager.send(topic, topicAudits);
+        });
+  }
+
   private String getTopicName(Audit audit) {
     return auditScopeDestinationMap.get(audit.getAuditScope());
   }
@@ -28,9 +28,14 @@
 package org.hisp.dhis.artemis.audit;
 
 import java.util.ArrayList;
-import java.util.Collection;
-import java.util.concurrent.BlockingQueue;
-import java.util.concurrent.DelayQueue;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import javax.annotation.PreDestroy;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
@@ -40,11 +45,13 @@ import org.springframework.stereotype.Component;
  * default (config key: audit.inmemory-queue.enabled) and should be used only in very high-traffic
  * environments. Note that upon a JVM crash, the Audit messages in this queue will be lost.
  *
- * <p>The buffer is based on a {@link DelayQueue} where messages are buffered for 5 seconds, before
- * being de-queued to the Artemis broker.
+ * <p>Messages are buffered for at least 5 seconds before being de-queued to the Artemis broker.
+ * Identical messages added while one is buffered are dropped. The buffer is a ring of buckets, one
+ * per second, so adding a message is a set insert and a queue append without any global lock.
+ * Buckets that are old enough are drained and published in a batch per topic.
  *
- * <p>To avoid excessive memory pressure, max 200 messages can stay in the queue: in-excess messages
- * are processed immediately.
+ * <p>To avoid excessive memory pressure, max 10000 messages can stay in the buffer: in-excess
+ * messages are processed immediately.
  *
  * @author Luciano Fiandesio
  */
@@ -53,40 +60,141 @@ import org.springframework.stereotype.Component;
 public class AuditScheduler {
   private static final long DELAY = 5_000; // 5 seconds
 
-  private static final int MAX_SIZE = 200;
+  /** Time span of messages collected in one bucket. */
+  private static final long BUCKET_WIDTH = 1_000;
+
+  /**
+   * Buckets in the ring. The buckets of the last 6 seconds are filling up, the others are drained.
+   */
+  private static final int BUCKETS = 8;
+
+  private static final int FILLING_BUCKETS = (int) (DELAY / BUCKET_WIDTH) + 1;
+
+  private static final int MAX_SIZE = 10_000;
 
   private final AuditProducerSupplier auditProducerSupplier;
 
-  private final BlockingQueue<QueuedAudit> delayed = new DelayQueue<>();
+  /** The messages currently buffered, used to drop identical messages. */
+  private final Set<Audit> buffered = ConcurrentHashMap.newKeySet();
+
+  private final List<Queue<Audit>> buckets = new ArrayList<>(BUCKETS);
+
+  private final AtomicInteger size = new AtomicInteger();
+
+  private final LongAdder duplicates = new LongAdder();
+
+  private final LongAdder overflows = new LongAdder();
+
+  private final LongAdder published = new LongAdder();
+
+  private final LongAdder publishedBatches = new LongAdder();
+
+  private final LongAdder publishNanos = new LongAdder();
 
   public AuditScheduler(AuditProducerSupplier auditProducerSupplier) {
     this.auditProducerSupplier = auditProducerSupplier;
+    for (int i = 0; i < BUCKETS; i++) {
+      buckets.add(new ConcurrentLinkedQueue<>());
+    }
   }
 
   public void addAuditItem(final Audit auditItem) {
+    addAuditItem(auditItem, System.currentTimeMillis());
+  }
+
+  void addAuditItem(Audit auditItem, long now) {
     if (log.isDebugEnabled()) {
       log.debug(
           String.format("add Audit object with content %s to delayed queue", auditItem.toLog()));
     }
 
-    final QueuedAudit postponed = new QueuedAudit(auditItem, DELAY);
+    if (!buffered.add(auditItem)) {
+      duplicates.increment();
+      return;
+    }
 
-    if (delayed.size() >= MAX_SIZE) {
+    if (size.incrementAndGet() > MAX_SIZE) {
+      size.decrementAndGet();
+      buffered.remove(auditItem);
+      overflows.increment();
       auditProducerSupplier.publish(auditItem);
     } else {
-      if (!delayed.contains(postponed)) {
-        boolean wasAddedToQueue = delayed.offer(postponed);
-        log.debug("Audit queue accepted new audit item: {}", wasAddedToQueue);
-      }
+      getBucket(now / BUCKET_WIDTH).offer(auditItem);
     }
   }
 
-  @Scheduled(fixedDelay = 5_000)
+  @Scheduled(fixedDelay = BUCKET_WIDTH)
   public void process() {
-    final Collection<QueuedAudit> expired = new ArrayList<>();
+    process(System.currentTimeMillis());
+  }
+
+  void process(long now) {
+    long slot = now / BUCKET_WIDTH;
+    List<Audit> expired = new ArrayList<>();
+    for (int age = FILLING_BUCKETS; age < BUCKETS; age++) {
+      drainTo(getBucket(slot - age), expired);
+    }
+    publish(expired);
+  }
+
+  /** Publishes all buffered messages regardless of their age. */
+  @PreDestroy
+  public void flush() {
+    List<Audit> all = new ArrayList<>();
+    buckets.forEach(bucket -> drainTo(bucket, all));
+    publish(all);
+  }
+
+  public int getBufferSize() {
+    return size.get();
+  }
+
+  public long getDuplicates() {
+    return duplicates.sum();
+  }
 
-    delayed.drainTo(expired);
+  public long getOverflows() {
+    return overflows.sum();
+  }
+
+  public long getPublished() {
+    return published.sum();
+  }
+
+  public long getPublishedBatches() {
+    return publishedBatches.sum();
+  }
 
-    expired.stream().map(QueuedAudit::getAuditItem).forEach(auditProducerSupplier::publish);
+  public long getPublishNanos() {
+    return publishNanos.sum();
+  }
+
+  private Queue<Audit> getBucket(long slot) {
+    return buckets.get((int) Math.floorMod(slot, BUCKETS));
+  }
+
+  private void drainTo(Queue<Audit> bucket, List<Audit> drained) {
+    Audit audit = bucket.poll();
+    while (audit != null) {
+      // identical messages added from now on are buffered again
+      buffered.remove(audit);
+      size.decrementAndGet();
+      drained.add(audit);
+      audit = bucket.poll();
+    }
+  }
+
+  private void publish(List<Audit> audits) {
+    if (audits.isEmpty()) {
+      return;
+    }
+    long start = System.nanoTime();
+    try {
+      auditProducerSupplier.publish(audits);
+    } finally {
+      publishNanos.add(System.nanoTime() - start);
+      publishedBatches.increment();
+      published.add(audits.size());
+    }
   }
 }
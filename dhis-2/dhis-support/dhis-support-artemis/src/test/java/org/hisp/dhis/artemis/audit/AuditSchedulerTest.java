@@ -0,0 +1,116 @@
+/*
+ * Copyright (c) 2004-2022, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ * Neither the name of the HISP project nor the names of its contributors may
+ * be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.artemis.audit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.util.List;
+import org.hisp.dhis.audit.AuditScope;
+import org.hisp.dhis.audit.AuditType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class AuditSchedulerTest {
+  @Mock private AuditProducerSupplier auditProducerSupplier;
+
+  private AuditScheduler scheduler;
+
+  @BeforeEach
+  void setUp() {
+    scheduler = new AuditScheduler(auditProducerSupplier);
+  }
+
+  @Test
+  void testAddAuditItem_Duplicate() {
+    scheduler.addAuditItem(createAudit("a"), 0);
+    scheduler.addAuditItem(createAudit("a"), 500);
+    scheduler.addAuditItem(createAudit("b"), 500);
+
+    assertEquals(2, scheduler.getBufferSize());
+    assertEquals(1, scheduler.getDuplicates());
+  }
+
+  @Test
+  void testProcess_HoldsBackRecentItems() {
+    scheduler.addAuditItem(createAudit("a"), 0);
+    scheduler.addAuditItem(createAudit("b"), 5_500);
+
+    scheduler.process(5_999);
+    verify(auditProducerSupplier, never()).publish(anyCollection());
+
+    scheduler.process(6_000);
+    verify(auditProducerSupplier).publish(List.of(createAudit("a")));
+    assertEquals(1, scheduler.getBufferSize());
+    assertEquals(1, scheduler.getPublished());
+    assertEquals(1, scheduler.getPublishedBatches());
+
+    // once published an identical item is buffered again
+    scheduler.addAuditItem(createAudit("a"), 6_000);
+    assertEquals(2, scheduler.getBufferSize());
+    assertEquals(0, scheduler.getDuplicates());
+  }
+
+  @Test
+  void testFlush() {
+    scheduler.addAuditItem(createAudit("a"), 0);
+    scheduler.addAuditItem(createAudit("b"), 3_000);
+
+    scheduler.flush();
+
+    verify(auditProducerSupplier).publish(List.of(createAudit("a"), createAudit("b")));
+    assertEquals(0, scheduler.getBufferSize());
+  }
+
+  @Test
+  void testAddAuditItem_Overflow() {
+    for (int i = 0; i < 10_001; i++) {
+      scheduler.addAuditItem(createAudit("a" + i), 0);
+    }
+
+    assertEquals(10_000, scheduler.getBufferSize());
+    assertEquals(1, scheduler.getOverflows());
+    verify(auditProducerSupplier, times(1)).publish(any(Audit.class));
+  }
+
+  private static Audit createAudit(String uid) {
+    return Audit.builder()
+        .auditType(AuditType.CREATE)
+        .auditScope(AuditScope.METADATA)
+        .uid(uid)
+        .build();
+  }
+}
@@ -43,14 +43,18 @@ import org.hisp.dhis.dataset.CompleteDataSetRegistration;
 import org.hisp.dhis.dataset.DataSet;
 import org.hisp.dhis.datavalue.DataValue;
 import org.hisp.dhis.organisationunit.OrganisationUnit;
+import org.hisp.dhis.organisationunit.OrganisationUnitCacheInvalidationEvent;
 import org.hisp.dhis.period.Period;
 import org.hisp.dhis.period.PeriodService;
+import org.hisp.dhis.security.apikey.ApiToken;
+import org.hisp.dhis.security.apikey.ApiTokenCacheInvalidationEvent;
 import org.hisp.dhis.trackedentity.TrackedEntity;
 import org.hisp.dhis.trackedentity.TrackedEntityAttribute;
 import org.hisp.dhis.trackedentity.TrackedEntityAttributeService;
 import org.hisp.dhis.trackedentity.TrackedEntityService;
 import org.hisp.dhis.trackedentityattributevalue.TrackedEntityAttributeValue;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.context.annotation.Conditional;
 import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Component;
@@ -69,6 +73,8 @@ public class CacheInvalidationListener extends BaseCacheEvictionService
     implements RedisPubSubListener<String, String> {
   protected String serverInstanceId;
 
+  private final ApplicationEventPublisher eventPublisher;
+
   public CacheInvalidationListener(
       SessionFactory sessionFactory,
       PaginationCacheManager paginationCacheManager,
@@ -77,6 +83,7 @@ public class CacheInvalidationListener extends BaseCacheEvictionService
       TrackedEntityAttributeService trackedEntityAttributeService,
       TrackedEntityService trackedEntityService,
       PeriodService periodService,
+      ApplicationEventPublisher eventPublisher,
       @Qualifier("cacheInvalidationServerId") String serverInstanceId) {
     super(
         sessionFactory,
@@ -87,6 +94,7 @@ public class CacheInvalidationListener extends BaseCacheEvictionService
         trackedEntityService,
         periodService);
 
+    this.eventPublisher = eventPublisher;
     this.serverInstanceId = serverInstanceId;
   }
 
@@ -130,6 +138,16 @@ public class CacheInvalidationListener extends BaseCacheEvictionService
     Class<?> entityClass = Class.forName(parts[2]);
     Objects.requireNonNull(entityClass, "Entity class can't be null");
 
+    if (ApiToken.class.isAssignableFrom(entityClass)) {
+      // API token caches are keyed by token key, which is unknown for deleted tokens
+      eventPublisher.publishEvent(new ApiTokenCacheInvalidationEvent(this));
+    }
+
+    if (OrganisationUnit.class.isAssignableFrom(entityClass)) {
+      eventPublisher.publishEvent(
+          new OrganisationUnitCacheInvalidationEvent(this, (Long) entityId));
+    }
+
     if (CacheEventOperation.INSERT == operationType) {
       // Make sure queries will refetch to capture the new object.
       queryCacheManager.evictQueryCache(sessionFactory.getCache(), entityClass);
@@ -27,6 +27,7 @@
  */
 package org.hisp.dhis.cacheinvalidation.redis;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.lenient;
@@ -39,15 +40,19 @@ import org.hibernate.service.spi.ServiceRegistryImplementor;
 import org.hisp.dhis.cache.PaginationCacheManager;
 import org.hisp.dhis.cache.QueryCacheManager;
 import org.hisp.dhis.common.IdentifiableObjectManager;
+import org.hisp.dhis.organisationunit.OrganisationUnitCacheInvalidationEvent;
 import org.hisp.dhis.period.PeriodService;
+import org.hisp.dhis.security.apikey.ApiTokenCacheInvalidationEvent;
 import org.hisp.dhis.trackedentity.TrackedEntityAttributeService;
 import org.hisp.dhis.trackedentity.TrackedEntityService;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.context.ApplicationEventPublisher;
 
 /**
  * @author Morten Svanæs <msvanaes@dhis2.org>
@@ -70,6 +75,8 @@ class CacheInvalidationListenerTest {
 
   @Mock protected DisabledCaching disabledCaching;
 
+  @Mock protected ApplicationEventPublisher eventPublisher;
+
   private CacheInvalidationListener cacheInvalidationListener;
 
   private AutoCloseable closeable;
@@ -89,6 +96,7 @@ class CacheInvalidationListenerTest {
             trackedEntityAttributeService,
             trackedEntityService,
             periodService,
+            eventPublisher,
             "SERVER_A");
 
     lenient().when(sessionFactory.getCache()).thenReturn(disabledCaching);
@@ -149,4 +157,34 @@ class CacheInvalidationListenerTest {
     verify(sessionFactory.getCache(), times(1)).evict(any(), any());
     verify(paginationCacheManager, times(1)).evictCache(anyString());
   }
+
+  @Test
+  @DisplayName("Should invalidate API token caches on API token DELETE messages")
+  void testApiTokenDeleteMessage() {
+    String message =
+        "SERVER_B" + ":" + "DELETE" + ":" + "org.hisp.dhis.security.apikey.ApiToken" + ":" + "1";
+    cacheInvalidationListener.message(CacheInvalidationConfiguration.CHANNEL_NAME, message);
+
+    verify(eventPublisher, times(1)).publishEvent(any(ApiTokenCacheInvalidationEvent.class));
+    verify(sessionFactory.getCache(), times(1)).evict(any(), any());
+  }
+
+  @Test
+  @DisplayName("Should signal organisation unit changes on organisation unit UPDATE messages")
+  void testOrganisationUnitUpdateMessage() {
+    String message =
+        "SERVER_B"
+            + ":"
+            + "UPDATE"
+            + ":"
+            + "org.hisp.dhis.organisationunit.OrganisationUnit"
+            + ":"
+            + "42";
+    cacheInvalidationListener.message(CacheInvalidationConfiguration.CHANNEL_NAME, message);
+
+    ArgumentCaptor<OrganisationUnitCacheInvalidationEvent> event =
+        ArgumentCaptor.forClass(OrganisationUnitCacheInvalidationEvent.class);
+    verify(eventPublisher, times(1)).publishEvent(event.capture());
+    assertEquals(42L, event.getValue().getOrganisationUnitId());
+  }
 }
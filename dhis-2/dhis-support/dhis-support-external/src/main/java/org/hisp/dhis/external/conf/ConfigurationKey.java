@@ -27,6 +27,7 @@
  */
 package org.hisp.dhis.external.conf;
 
+import static java.util.concurrent.TimeUnit.HOURS;
 import static java.util.concurrent.TimeUnit.SECONDS;
 
 import java.util.Arrays;
@@ -373,6 +374,22 @@ public enum ConfigurationKey {
   /** Use SSL for connecting to redis. (default: false) */
   REDIS_USE_SSL("redis.use.ssl", Constants.OFF, false),
 
+  /**
+   * Keep a local copy of redis cache entries and drop it only for keys changed on other nodes.
+   * Requires redis.enabled. (default: false)
+   */
+  REDIS_NEAR_CACHE_ENABLED("redis.near_cache.enabled", Constants.OFF, false),
+
+  /**
+   * Share the Hibernate second-level cache entries of entities and collections between nodes
+   * through redis. Requires redis.enabled. (default: false)
+   */
+  REDIS_NEAR_CACHE_HIBERNATE_ENABLED("redis.near_cache.hibernate.enabled", Constants.OFF, false),
+
+  /** Time in seconds shared Hibernate second-level cache entries live in redis. (default: 3600) */
+  REDIS_NEAR_CACHE_HIBERNATE_TTL(
+      "redis.near_cache.hibernate.ttl", String.valueOf(HOURS.toSeconds(1)), false),
+
   /**
    * Allows Flyway migrations to be run "out of order".
    *
@@ -404,6 +421,47 @@ public enum ConfigurationKey {
    */
   ANALYTICS_TABLE_SKIP_COLUMN("analytics.table.skip_column", "", false),
 
+  /**
+   * Pre-aggregated rollup tables to create after the data value analytics table update, as a
+   * comma-separated list of period type and lowest org unit level, e.g. {@code
+   * Yearly:2,Monthly:3}. Experimental.
+   */
+  ANALYTICS_TABLE_ROLLUPS("analytics.table.rollups", "", false),
+
+  /**
+   * Pre-aggregated event cluster tables to create after the event analytics table update, as a
+   * comma-separated list of grid cell sizes in meters, e.g. {@code 100,1000,10000}. Experimental.
+   */
+  ANALYTICS_TABLE_CLUSTER_RESOLUTIONS("analytics.table.cluster_resolutions", "", false),
+
+  /**
+   * Event program indicators to store as columns in the enrollment analytics tables, as a
+   * comma-separated list of program indicator identifiers. Experimental.
+   */
+  ANALYTICS_TABLE_MATERIALIZED_PROGRAM_INDICATORS(
+      "analytics.table.materialized_program_indicators", "", false),
+
+  /**
+   * Max number of analytics queries running concurrently for all users, defaults to half of the
+   * analytics connection pool size. Experimental.
+   */
+  ANALYTICS_QUERY_MAX_CONCURRENCY("analytics.query.max_concurrency", "", false),
+
+  /** Max number of analytics queries running concurrently per user (default: 8). Experimental. */
+  ANALYTICS_QUERY_MAX_USER_CONCURRENCY("analytics.query.max_user_concurrency", "8", false),
+
+  /**
+   * Max time in seconds an analytics query waits for a free slot before failing (default: 60).
+   * Experimental.
+   */
+  ANALYTICS_QUERY_QUEUE_TIMEOUT("analytics.query.queue_timeout", "60", false),
+
+  /**
+   * Max time in seconds an analytics query can run before it is cancelled, 0 means no limit
+   * (default: 0). Experimental.
+   */
+  ANALYTICS_QUERY_TIMEOUT("analytics.query.timeout", "0", false),
+
   /**
    * Artemis support mode, 2 modes supported: EMBEDDED (starts up an embedded Artemis which lives in
    * the same process as your DHIS2 instance), NATIVE (connects to an external Artemis instance,
@@ -493,6 +551,26 @@ public enum ConfigurationKey {
   /** CPU monitoring. (default: off) */
   MONITORING_CPU_ENABLED("monitoring.cpu.enabled", Constants.OFF, false),
 
+  /**
+   * SQL statement statistics per HTTP request and per job. When enabled every JDBC result set is
+   * proxied and each call of its next method is counted, which adds overhead to large reads.
+   * (default: off)
+   */
+  MONITORING_SQL_ENABLED("monitoring.sql.enabled", Constants.OFF, false),
+
+  /**
+   * Time in milliseconds spent in SQL statements above which a request or job is logged with its
+   * query fingerprints. 0 disables the threshold. (default: 5000)
+   */
+  MONITORING_SQL_LOG_TIME_THRESHOLD(
+      "monitoring.sql.log.time_threshold", String.valueOf(SECONDS.toMillis(5)), false),
+
+  /**
+   * Number of SQL statements above which a request or job is logged with its query fingerprints. 0
+   * disables the threshold. (default: 1000)
+   */
+  MONITORING_SQL_LOG_STATEMENT_THRESHOLD("monitoring.sql.log.statement_threshold", "1000", false),
+
   /** AppHub base URL. (default: https://apps.dhis2.org). */
   APPHUB_BASE_URL("apphub.base.url", "https://apps.dhis2.org", false),
 
@@ -612,6 +690,20 @@ public enum ConfigurationKey {
 
   ACTIVE_READ_REPLICAS("active.read.replicas", "0", false),
 
+  /**
+   * Max replication lag in seconds for a read replica to receive queries. Replicas lagging further
+   * behind the primary are skipped until they catch up. Experimental.
+   */
+  READ_REPLICA_MAX_LAG("read.replica.max_lag", "30", false),
+
+  /** Interval in seconds between read replica lag and health checks. Experimental. */
+  READ_REPLICA_HEALTH_CHECK_INTERVAL("read.replica.health_check.interval", "10", false),
+
+  /**
+   * Routes read-only transactions of opted-in GET endpoints to the read replicas. Experimental.
+   */
+  READ_REPLICA_ENDPOINT_ROUTING("read.replica.endpoint_routing", Constants.OFF, false),
+
   /**
    * Allows enabling/disabling audits system-wide (without configuring the audit matrix). (default:
    * true)
@@ -625,6 +717,13 @@ public enum ConfigurationKey {
   ENABLE_JWT_OIDC_TOKEN_AUTHENTICATION(
       "oidc.jwt.token.authentication.enabled", Constants.OFF, false),
 
+  /**
+   * Caches verified HTTP Basic credentials for a few minutes to avoid repeated password hash
+   * computations. Experimental.
+   */
+  BASIC_AUTH_CREDENTIAL_CACHE_ENABLED(
+      "system.basic_auth.credential_cache.enabled", Constants.OFF, false),
+
   /** API authentication feature. Enable or disable personal access tokens. */
   ENABLE_API_TOKEN_AUTHENTICATION("enable.api_token.authentication", Constants.ON, false),
 
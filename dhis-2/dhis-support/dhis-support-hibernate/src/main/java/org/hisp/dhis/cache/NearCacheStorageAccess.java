@@ -0,0 +1,120 @@
+/*
+ * Copyright (c) 2004-2022, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ * Neither the name of the HISP project nor the names of its contributors may
+ * be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.cache;
+
+import lombok.RequiredArgsConstructor;
+import org.hibernate.cache.spi.access.SoftLock;
+import org.hibernate.cache.spi.support.DomainDataStorageAccess;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+
+/**
+ * Storage of a Hibernate domain data region which reads through a local storage to a {@link
+ * SharedCacheTier} and writes to both.
+ *
+ * <p>The entries are the versioned items and soft locks of Hibernate's cache concurrency strategy,
+ * so stale or locked shared entries are recognised as such when read. Evicting a single key only
+ * drops the local copy: single keys are evicted when another node changed the entity, and that
+ * node already wrote the new entry to the shared tier.
+ *
+ * <p>Soft locks and timestamps of Hibernate's read-write strategy only guard the entries of one
+ * node, so a value loaded on one node could overwrite the update of another node in the shared
+ * tier. Soft locks are therefore always shared, but other entries only replace the shared entry
+ * this node has seen. If the shared entry changed in between, the local entry is dropped and the
+ * next read goes to the shared tier.
+ */
+@RequiredArgsConstructor
+public class NearCacheStorageAccess implements DomainDataStorageAccess {
+  private final String region;
+
+  private final DomainDataStorageAccess local;
+
+  private final SharedCacheTier shared;
+
+  @Override
+  public Object getFromCache(Object key, SharedSessionContractImplementor session) {
+    Object value = local.getFromCache(key, session);
+    if (value == null) {
+      value = shared.get(region, toSharedKey(key));
+      if (value != null) {
+        local.putIntoCache(key, value, session);
+      }
+    }
+    return value;
+  }
+
+  @Override
+  public void putIntoCache(Object key, Object value, SharedSessionContractImplementor session) {
+    Object expected = local.getFromCache(key, session);
+    local.putIntoCache(key, value, session);
+    if (value instanceof SoftLock) {
+      shared.put(region, toSharedKey(key), value);
+    } else if (!shared.replace(region, toSharedKey(key), expected, value)) {
+      local.evictData(key);
+    }
+  }
+
+  @Override
+  public void removeFromCache(Object key, SharedSessionContractImplementor session) {
+    local.removeFromCache(key, session);
+    shared.evict(region, toSharedKey(key));
+  }
+
+  @Override
+  public void clearCache(SharedSessionContractImplementor session) {
+    evictData();
+  }
+
+  @Override
+  public boolean contains(Object key) {
+    return local.contains(key);
+  }
+
+  @Override
+  public void evictData() {
+    local.evictData();
+    shared.evictAll(region);
+  }
+
+  @Override
+  public void evictData(Object key) {
+    local.evictData(key);
+  }
+
+  @Override
+  public void release() {
+    local.release();
+  }
+
+  /**
+   * Hibernate cache keys print as entity or role name followed by the identifier, which is the
+   * same on all nodes.
+   */
+  private static String toSharedKey(Object key) {
+    return String.valueOf(key);
+  }
+}
@@ -0,0 +1,74 @@
+/*
+ * Copyright (c) 2004-2022, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ * Neither the name of the HISP project nor the names of its contributors may
+ * be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.cache;
+
+import javax.annotation.CheckForNull;
+
+/**
+ * A cache store shared by all nodes of a cluster which backs the local Hibernate second-level cache
+ * regions of {@link NearCacheRegionFactory}. Implementations must not throw, a failing shared tier
+ * behaves like an empty one.
+ */
+public interface SharedCacheTier {
+  /**
+   * @param region the cache region
+   * @param key the key within the region
+   * @return the shared entry, or null if there is none or it cannot be read
+   */
+  @CheckForNull
+  Object get(String region, String key);
+
+  /**
+   * @param region the cache region
+   * @param key the key within the region
+   * @param value the entry to share
+   */
+  void put(String region, String key, Object value);
+
+  /**
+   * Shares the entry only if the current shared entry is the expected one, as seen by this node.
+   *
+   * @param region the cache region
+   * @param key the key within the region
+   * @param expected the shared entry expected to be replaced, or null if none is expected
+   * @param value the entry to share
+   * @return true, if the entry was shared
+   */
+  boolean replace(String region, String key, @CheckForNull Object expected, Object value);
+
+  /**
+   * @param region the cache region
+   * @param key the key within the region to remove
+   */
+  void evict(String region, String key);
+
+  /**
+   * @param region the cache region to remove all entries of
+   */
+  void evictAll(String region);
+}
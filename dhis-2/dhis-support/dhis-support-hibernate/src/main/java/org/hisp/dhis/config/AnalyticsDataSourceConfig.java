@@ -104,9 +104,10 @@ public class AnalyticsDataSourceConfig {
   @Bean("analyticsReadOnlyJdbcTemplate")
   @DependsOn("analyticsDataSource")
   public JdbcTemplate readOnlyJdbcTemplate(
-      @Qualifier("analyticsDataSource") DataSource dataSource) {
-    ReadOnlyDataSourceManager manager = new ReadOnlyDataSourceManager(config);
-    DataSource ds = MoreObjects.firstNonNull(manager.getReadOnlyDataSource(), dataSource);
+      @Qualifier("analyticsDataSource") DataSource dataSource,
+      @Qualifier("readOnlyDataSourceManager") ReadOnlyDataSourceManager manager) {
+    DataSource ds =
+        MoreObjects.firstNonNull(manager.getReadOnlyDataSource(dataSource), dataSource);
     return getJdbcTemplate(ds);
   }
 
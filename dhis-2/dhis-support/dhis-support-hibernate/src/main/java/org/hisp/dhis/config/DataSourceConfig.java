@@ -45,7 +45,9 @@ import org.hibernate.engine.jdbc.internal.Formatter;
 import org.hisp.dhis.common.CodeGenerator;
 import org.hisp.dhis.commons.util.DebugUtils;
 import org.hisp.dhis.datasource.DatabasePoolUtils;
+import org.hisp.dhis.datasource.QueryStatisticsListener;
 import org.hisp.dhis.datasource.ReadOnlyDataSourceManager;
+import org.hisp.dhis.datasource.ReplicaRoutingDataSource;
 import org.hisp.dhis.datasource.model.PoolConfig;
 import org.hisp.dhis.external.conf.ConfigurationKey;
 import org.hisp.dhis.external.conf.DhisConfigurationProvider;
@@ -56,6 +58,7 @@ import org.springframework.context.annotation.DependsOn;
 import org.springframework.context.annotation.Primary;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
 
 /**
  * @author Morten Svanæs <msvanaes@dhis2.org>
@@ -84,13 +87,21 @@ public class DataSourceConfig {
     return jdbcTemplate;
   }
 
+  @Bean("readOnlyDataSourceManager")
+  @DependsOn("actualDataSource")
+  public ReadOnlyDataSourceManager readOnlyDataSourceManager(
+      @Qualifier("actualDataSource") DataSource actualDataSource) {
+    return new ReadOnlyDataSourceManager(config, actualDataSource);
+  }
+
   @Bean("readOnlyJdbcTemplate")
   @DependsOn("dataSource")
-  public JdbcTemplate readOnlyJdbcTemplate(@Qualifier("dataSource") DataSource dataSource) {
-    ReadOnlyDataSourceManager manager = new ReadOnlyDataSourceManager(config);
-
+  public JdbcTemplate readOnlyJdbcTemplate(
+      @Qualifier("dataSource") DataSource dataSource,
+      @Qualifier("readOnlyDataSourceManager") ReadOnlyDataSourceManager manager) {
     JdbcTemplate jdbcTemplate =
-        new JdbcTemplate(MoreObjects.firstNonNull(manager.getReadOnlyDataSource(), dataSource));
+        new JdbcTemplate(
+            MoreObjects.firstNonNull(manager.getReadOnlyDataSource(dataSource), dataSource));
     jdbcTemplate.setFetchSize(1000);
 
     return jdbcTemplate;
@@ -122,11 +133,29 @@ public class DataSourceConfig {
   static DataSource createLoggingDataSource(
       DhisConfigurationProvider dhisConfig, DataSource actualDataSource) {
     boolean enableQueryLogging = dhisConfig.isEnabled(ConfigurationKey.ENABLE_QUERY_LOGGING);
+    boolean enableQueryStatistics = dhisConfig.isEnabled(ConfigurationKey.MONITORING_SQL_ENABLED);
 
-    if (!enableQueryLogging) {
+    if (!enableQueryLogging && !enableQueryStatistics) {
       return actualDataSource;
     }
 
+    ProxyDataSourceBuilder builder =
+        ProxyDataSourceBuilder.create(actualDataSource)
+            .name(
+                "ProxyDS_DHIS2_"
+                    + dhisConfig.getProperty(ConfigurationKey.DB_POOL_TYPE)
+                    + "_"
+                    + CodeGenerator.generateCode(5));
+
+    if (enableQueryStatistics) {
+      QueryStatisticsListener statisticsListener = new QueryStatisticsListener();
+      builder.listener(statisticsListener).methodListener(statisticsListener).proxyResultSet();
+    }
+
+    if (!enableQueryLogging) {
+      return builder.build();
+    }
+
     PrettyQueryEntryCreator creator = new PrettyQueryEntryCreator();
     creator.setMultiline(true);
 
@@ -135,20 +164,14 @@ public class DataSourceConfig {
     listener.setLogLevel(SLF4JLogLevel.INFO);
     listener.setQueryLogEntryCreator(creator);
 
-    ProxyDataSourceBuilder builder =
-        ProxyDataSourceBuilder.create(actualDataSource)
-            .name(
-                "ProxyDS_DHIS2_"
-                    + dhisConfig.getProperty(ConfigurationKey.DB_POOL_TYPE)
-                    + "_"
-                    + CodeGenerator.generateCode(5))
-            .logSlowQueryBySlf4j(
-                Integer.parseInt(
-                    dhisConfig.getProperty(ConfigurationKey.SLOW_QUERY_LOGGING_THRESHOLD_TIME_MS)),
-                TimeUnit.MILLISECONDS,
-                SLF4JLogLevel.WARN)
-            .listener(listener)
-            .proxyResultSet();
+    builder
+        .logSlowQueryBySlf4j(
+            Integer.parseInt(
+                dhisConfig.getProperty(ConfigurationKey.SLOW_QUERY_LOGGING_THRESHOLD_TIME_MS)),
+            TimeUnit.MILLISECONDS,
+            SLF4JLogLevel.WARN)
+        .listener(listener)
+        .proxyResultSet();
 
     boolean elapsedTimeLogging =
         dhisConfig.isEnabled(ConfigurationKey.ELAPSED_TIME_QUERY_LOGGING_ENABLED);
@@ -171,8 +194,21 @@ public class DataSourceConfig {
   @Bean("dataSource")
   @DependsOn("actualDataSource")
   @Primary
-  public DataSource dataSource(@Qualifier("actualDataSource") DataSource actualDataSource) {
-    return createLoggingDataSource(config, actualDataSource);
+  public DataSource dataSource(
+      @Qualifier("actualDataSource") DataSource actualDataSource,
+      @Qualifier("readOnlyDataSourceManager") ReadOnlyDataSourceManager manager) {
+    DataSource dataSource = createLoggingDataSource(config, actualDataSource);
+    DataSource readOnlyDataSource = manager.getReadOnlyDataSource(dataSource);
+
+    if (readOnlyDataSource == null
+        || !config.isEnabled(ConfigurationKey.READ_REPLICA_ENDPOINT_ROUTING)) {
+      return dataSource;
+    }
+
+    log.info("Read-only transactions of opted-in endpoints are routed to read replicas");
+
+    return new LazyConnectionDataSourceProxy(
+        new ReplicaRoutingDataSource(dataSource, readOnlyDataSource));
   }
 
   @Bean("actualDataSource")
@@ -34,6 +34,7 @@ import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Properties;
+import javax.annotation.CheckForNull;
 import javax.persistence.EntityManager;
 import javax.persistence.EntityManagerFactory;
 import javax.persistence.SharedCacheMode;
@@ -45,11 +46,14 @@ import org.hibernate.SessionFactory;
 import org.hibernate.cache.ehcache.internal.EhcacheRegionFactory;
 import org.hibernate.cfg.AvailableSettings;
 import org.hisp.dhis.cache.DefaultHibernateCacheManager;
+import org.hisp.dhis.cache.NearCacheRegionFactory;
+import org.hisp.dhis.cache.SharedCacheTier;
 import org.hisp.dhis.dbms.DbmsManager;
 import org.hisp.dhis.dbms.HibernateDbmsManager;
 import org.hisp.dhis.external.conf.ConfigurationKey;
 import org.hisp.dhis.external.conf.DhisConfigurationProvider;
 import org.hisp.dhis.hibernate.EntityManagerBeanDefinitionRegistrarPostProcessor;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.config.BeanFactoryPostProcessor;
 import org.springframework.context.annotation.Bean;
@@ -122,7 +126,9 @@ public class HibernateConfig {
   @Bean("entityManagerFactory")
   @DependsOn({"flyway"})
   public EntityManagerFactory entityManagerFactoryBean(
-      DhisConfigurationProvider dhisConfig, DataSource dataSource) {
+      DhisConfigurationProvider dhisConfig,
+      DataSource dataSource,
+      ObjectProvider<SharedCacheTier> sharedCacheTier) {
     HibernateJpaVendorAdapter adapter = new HibernateJpaVendorAdapter();
     adapter.setDatabasePlatform(dhisConfig.getProperty(ConfigurationKey.CONNECTION_DIALECT));
     adapter.setGenerateDdl(shouldGenerateDDL(dhisConfig));
@@ -134,7 +140,8 @@ public class HibernateConfig {
     factory.setPackagesToScan("org.hisp.dhis");
     factory.setSharedCacheMode(SharedCacheMode.ENABLE_SELECTIVE);
     factory.setValidationMode(ValidationMode.AUTO);
-    factory.setJpaProperties(getAdditionalProperties(dhisConfig));
+    factory.setJpaProperties(
+        getAdditionalProperties(dhisConfig, sharedCacheTier.getIfAvailable()));
     factory.setMappingResources(loadResources());
     factory.afterPropertiesSet();
     return factory.getObject();
@@ -142,8 +149,12 @@ public class HibernateConfig {
 
   /**
    * Returns additional properties to be used by the {@link LocalContainerEntityManagerFactoryBean}
+   *
+   * @param sharedCacheTier the store shared between nodes backing the second-level cache, or null
+   *     to only cache locally
    */
-  private Properties getAdditionalProperties(DhisConfigurationProvider dhisConfig) {
+  private Properties getAdditionalProperties(
+      DhisConfigurationProvider dhisConfig, @CheckForNull SharedCacheTier sharedCacheTier) {
     Properties properties = new Properties();
     properties.put(
         "hibernate.current_session_context_class",
@@ -151,7 +162,14 @@ public class HibernateConfig {
 
     if (dhisConfig.getProperty(USE_SECOND_LEVEL_CACHE).equals("true")) {
       properties.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, "true");
-      properties.put(AvailableSettings.CACHE_REGION_FACTORY, EhcacheRegionFactory.class.getName());
+      if (sharedCacheTier != null) {
+        log.info("Hibernate second-level cache is shared between nodes through redis");
+        properties.put(
+            AvailableSettings.CACHE_REGION_FACTORY, new NearCacheRegionFactory(sharedCacheTier));
+      } else {
+        properties.put(
+            AvailableSettings.CACHE_REGION_FACTORY, EhcacheRegionFactory.class.getName());
+      }
       properties.put(AvailableSettings.USE_QUERY_CACHE, dhisConfig.getProperty(USE_QUERY_CACHE));
     }
 
@@ -27,28 +27,134 @@
  */
 package org.hisp.dhis.datasource;
 
-import com.google.common.collect.Iterators;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import java.sql.Connection;
+import java.sql.ResultSet;
 import java.sql.SQLException;
-import java.util.Collections;
-import java.util.Iterator;
+import java.sql.Statement;
 import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.annotation.CheckForNull;
 import javax.sql.DataSource;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.jdbc.datasource.AbstractDataSource;
 
 /**
  * Data source implementation which routes to the configured target data sources in a circular
  * fashion.
  *
+ * <p>When health checks are started, the WAL replay position (LSN) and replication lag of each
+ * target data source is checked periodically. A target which has replayed the WAL up to the current
+ * position of the primary has no lag. Targets which are unreachable or lag further behind the
+ * primary than the max lag are skipped, as are targets which have not yet replayed the WAL up to
+ * the last write of the current session (see {@link ReplicaRoutingContext}). Among the eligible
+ * targets, the one with the most available pool connections is selected, where ties are resolved
+ * in a circular fashion. When no target is eligible, the fallback data source is used if present.
+ *
  * @author Lars Helge Overland
  */
-public class CircularRoutingDataSource extends AbstractDataSource {
-  private Iterator<DataSource> dataSourceIterator;
+@Slf4j
+public class CircularRoutingDataSource extends AbstractDataSource implements AutoCloseable {
+  /** Returns the current WAL position of the primary in bytes. */
+  static final String PRIMARY_LSN_SQL = "select pg_wal_lsn_diff(pg_current_wal_lsn(), '0/0')";
+
+  /**
+   * Returns the replayed WAL position of a replica in bytes, and the time in seconds since the last
+   * replayed transaction was committed on the primary.
+   */
+  static final String REPLICA_STATE_SQL =
+      "select pg_wal_lsn_diff(case when pg_is_in_recovery() then pg_last_wal_replay_lsn() "
+          + "else pg_current_wal_lsn() end, '0/0'), "
+          + "coalesce(extract(epoch from now() - pg_last_xact_replay_timestamp()), 0)";
+
+  private static final int HEALTH_CHECK_QUERY_TIMEOUT_SECONDS = 5;
+
+  private final List<Replica> replicas;
+
+  private final DataSource fallbackDataSource;
+
+  private final long maxLagMillis;
+
+  private final AtomicInteger counter = new AtomicInteger();
 
-  public CircularRoutingDataSource() {}
+  /** The primary data source, which the replication lag is measured against. */
+  private final DataSource primaryDataSource;
+
+  private ScheduledExecutorService healthCheckExecutor;
 
   public CircularRoutingDataSource(List<DataSource> targetDataSources) {
-    this.dataSourceIterator = Iterators.cycle(Collections.synchronizedList(targetDataSources));
+    this(targetDataSources, null, Long.MAX_VALUE);
+  }
+
+  /**
+   * @param targetDataSources the target data sources.
+   * @param primaryDataSource the primary data source, or null if unknown, in which case the lag of
+   *     the targets is measured by time only.
+   * @param maxLagMillis the max replication lag in milliseconds for a target to be eligible.
+   */
+  public CircularRoutingDataSource(
+      List<DataSource> targetDataSources,
+      @CheckForNull DataSource primaryDataSource,
+      long maxLagMillis) {
+    this(
+        targetDataSources.stream().map(Replica::new).toList(),
+        null,
+        primaryDataSource,
+        maxLagMillis);
+  }
+
+  private CircularRoutingDataSource(
+      List<Replica> replicas,
+      DataSource fallbackDataSource,
+      DataSource primaryDataSource,
+      long maxLagMillis) {
+    this.replicas = replicas;
+    this.fallbackDataSource = fallbackDataSource;
+    this.primaryDataSource = primaryDataSource;
+    this.maxLagMillis = maxLagMillis;
+  }
+
+  /**
+   * Returns a data source which shares the targets and health state of this data source, and which
+   * routes to the given fallback data source when no target is eligible.
+   *
+   * @param fallbackDataSource the fallback {@link DataSource}, typically the primary.
+   * @return a {@link CircularRoutingDataSource}.
+   */
+  public CircularRoutingDataSource withFallback(DataSource fallbackDataSource) {
+    return new CircularRoutingDataSource(
+        replicas, fallbackDataSource, primaryDataSource, maxLagMillis);
+  }
+
+  /**
+   * Starts checking the health and replication lag of the targets periodically.
+   *
+   * @param intervalMillis the interval between checks in milliseconds.
+   */
+  public synchronized void startHealthChecks(long intervalMillis) {
+    if (healthCheckExecutor != null || intervalMillis <= 0) {
+      return;
+    }
+
+    healthCheckExecutor =
+        Executors.newSingleThreadScheduledExecutor(
+            new ThreadFactoryBuilder()
+                .setNameFormat("READ-REPLICA-HEALTH-CHECK-%d")
+                .setDaemon(true)
+                .build());
+    healthCheckExecutor.scheduleWithFixedDelay(
+        this::checkHealth, 0, intervalMillis, TimeUnit.MILLISECONDS);
+  }
+
+  @Override
+  public synchronized void close() {
+    if (healthCheckExecutor != null) {
+      healthCheckExecutor.shutdownNow();
+      healthCheckExecutor = null;
+    }
   }
 
   // -------------------------------------------------------------------------
@@ -65,11 +171,157 @@ public class CircularRoutingDataSource extends AbstractDataSource {
     return getDataSource().getConnection(username, password);
   }
 
+  // -------------------------------------------------------------------------
+  // Health checks
+  // -------------------------------------------------------------------------
+
+  /**
+   * Checks the health, replayed WAL position and replication lag of each target. A target which
+   * has replayed the WAL up to the position of the primary at the start of the check has no lag.
+   * Otherwise, the lag is the time since the last replayed transaction was committed. Targets with
+   * a saturated pool are not checked, as acquiring a connection would block, and keep their
+   * previous state.
+   */
+  void checkHealth() {
+    long primaryLsn = getPrimaryLsn();
+
+    for (int i = 0; i < replicas.size(); i++) {
+      Replica replica = replicas.get(i);
+
+      if (DatabasePoolUtils.getAvailableConnections(replica.dataSource) == 0) {
+        continue;
+      }
+
+      try (Connection connection = replica.dataSource.getConnection();
+          Statement statement = connection.createStatement()) {
+        statement.setQueryTimeout(HEALTH_CHECK_QUERY_TIMEOUT_SECONDS);
+
+        try (ResultSet resultSet = statement.executeQuery(REPLICA_STATE_SQL)) {
+          resultSet.next();
+
+          long replayedLsn = resultSet.getLong(1);
+          long lagMillis =
+              replayedLsn >= primaryLsn ? 0 : Math.round(resultSet.getDouble(2) * 1000);
+
+          if (!replica.healthy
+              || (replica.lagMillis > maxLagMillis) != (lagMillis > maxLagMillis)) {
+            log.info("Read replica {} is available with replication lag: {} ms", i + 1, lagMillis);
+          }
+
+          replica.replayedLsn = replayedLsn;
+          replica.lagMillis = lagMillis;
+          replica.healthy = true;
+        }
+      } catch (SQLException | RuntimeException ex) {
+        if (replica.healthy) {
+          log.warn("Read replica {} is unavailable: '{}'", i + 1, ex.getMessage());
+        }
+
+        replica.healthy = false;
+      }
+    }
+  }
+
+  /**
+   * Returns the current WAL position of the primary, or {@link Long#MAX_VALUE} if the primary is
+   * unknown or unavailable, in which case the lag of the targets is measured by time only.
+   */
+  private long getPrimaryLsn() {
+    if (primaryDataSource == null) {
+      return Long.MAX_VALUE;
+    }
+
+    try {
+      return getCurrentLsn(primaryDataSource);
+    } catch (SQLException | RuntimeException ex) {
+      log.warn("Could not get WAL position of primary: '{}'", ex.getMessage());
+      return Long.MAX_VALUE;
+    }
+  }
+
+  /**
+   * Returns the current WAL position of the given primary data source.
+   *
+   * @param dataSource the primary {@link DataSource}.
+   * @return the current WAL position in bytes.
+   * @throws SQLException if the position could not be retrieved.
+   */
+  static long getCurrentLsn(DataSource dataSource) throws SQLException {
+    try (Connection connection = dataSource.getConnection();
+        Statement statement = connection.createStatement()) {
+      statement.setQueryTimeout(HEALTH_CHECK_QUERY_TIMEOUT_SECONDS);
+
+      try (ResultSet resultSet = statement.executeQuery(PRIMARY_LSN_SQL)) {
+        resultSet.next();
+        return resultSet.getLong(1);
+      }
+    }
+  }
+
   // -------------------------------------------------------------------------
   // Private methods
   // -------------------------------------------------------------------------
 
-  private synchronized DataSource getDataSource() {
-    return dataSourceIterator.next();
+  DataSource getDataSource() {
+    int offset = Math.floorMod(counter.getAndIncrement(), replicas.size());
+    Replica replica = selectReplica(offset, ReplicaRoutingContext.getLastWriteLsn());
+
+    if (replica != null) {
+      return replica.dataSource;
+    }
+
+    return fallbackDataSource != null ? fallbackDataSource : replicas.get(offset).dataSource;
+  }
+
+  /**
+   * Selects the eligible target with the most available connections, starting from the given
+   * offset. Saturated targets are only selected if there is no fallback data source.
+   *
+   * @param offset the offset of the first target to consider.
+   * @param lastWriteLsn the WAL position of the last write of the current session, or 0.
+   * @return the selected target, or null if no target is eligible.
+   */
+  @CheckForNull
+  private Replica selectReplica(int offset, long lastWriteLsn) {
+    Replica selected = null;
+    int selectedCapacity = Integer.MIN_VALUE;
+
+    for (int i = 0; i < replicas.size(); i++) {
+      Replica replica = replicas.get((offset + i) % replicas.size());
+
+      if (!replica.isEligible(maxLagMillis, lastWriteLsn)) {
+        continue;
+      }
+
+      int capacity = DatabasePoolUtils.getAvailableConnections(replica.dataSource);
+      capacity = capacity < 0 ? Integer.MAX_VALUE : capacity;
+
+      if (capacity > selectedCapacity && (capacity > 0 || fallbackDataSource == null)) {
+        selected = replica;
+        selectedCapacity = capacity;
+      }
+    }
+
+    return selected;
+  }
+
+  /** Health state of a target data source. */
+  private static class Replica {
+    private final DataSource dataSource;
+
+    private volatile boolean healthy = true;
+
+    private volatile long lagMillis;
+
+    /** WAL position in bytes up to which the target has replayed all writes. */
+    private volatile long replayedLsn;
+
+    Replica(DataSource dataSource) {
+      this.dataSource = dataSource;
+    }
+
+    boolean isEligible(long maxLagMillis, long lastWriteLsn) {
+      return healthy && lagMillis <= maxLagMillis && replayedLsn >= lastWriteLsn;
+    }
   }
 }
@@ -73,6 +73,7 @@ import com.google.common.collect.ImmutableMap;
 import com.mchange.v2.c3p0.ComboPooledDataSource;
 import com.zaxxer.hikari.HikariConfig;
 import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
 import java.beans.PropertyVetoException;
 import java.sql.Connection;
 import java.sql.SQLException;
@@ -306,6 +307,30 @@ public final class DatabasePoolUtils {
     return pooledDataSource;
   }
 
+  /**
+   * Returns the number of connections which can currently be checked out of the given data source
+   * before it is saturated.
+   *
+   * @param dataSource the {@link DataSource}.
+   * @return the number of available connections, or -1 if the data source is not a known pool.
+   */
+  public static int getAvailableConnections(DataSource dataSource) {
+    if (dataSource instanceof HikariDataSource hikari) {
+      HikariPoolMXBean pool = hikari.getHikariPoolMXBean();
+      return pool != null
+          ? hikari.getMaximumPoolSize() - pool.getActiveConnections()
+          : hikari.getMaximumPoolSize();
+    } else if (dataSource instanceof ComboPooledDataSource c3p0) {
+      try {
+        return c3p0.getMaxPoolSize() - c3p0.getNumBusyConnectionsDefaultUser();
+      } catch (SQLException e) {
+        return -1;
+      }
+    }
+
+    return -1;
+  }
+
   public static void testConnection(DataSource dataSource) {
     try (Connection conn = dataSource.getConnection();
         Statement stmt = conn.createStatement()) {
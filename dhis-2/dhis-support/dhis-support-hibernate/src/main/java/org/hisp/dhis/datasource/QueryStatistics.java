@@ -0,0 +1,151 @@
+/*
+ * Copyright (c) 2004-2022, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ * Neither the name of the HISP project nor the names of its contributors may
+ * be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.datasource;
+
+import static java.util.Comparator.comparingLong;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * The SQL statements issued by one HTTP request or job. An instance is only ever updated by the
+ * thread the request or job runs on.
+ */
+@Getter
+@RequiredArgsConstructor(access = AccessLevel.PACKAGE)
+public final class QueryStatistics {
+  /** Statements beyond this number of distinct fingerprints are counted as {@link #OTHER}. */
+  static final int MAX_FINGERPRINTS = 200;
+
+  static final String OTHER = "(other)";
+
+  private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+
+  private static final Pattern NUMBER_LITERAL = Pattern.compile("\\b\\d+(?:\\.\\d+)?\\b");
+
+  private static final Pattern VALUE_LIST = Pattern.compile("\\(\\s*\\?(?:\\s*,\\s*\\?)*\\s*\\)");
+
+  private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+  public enum Source {
+    REQUEST,
+    JOB
+  }
+
+  private final Source source;
+
+  /** The handler pattern of a request or the type of a job. */
+  private final String name;
+
+  private int statements;
+
+  private long rows;
+
+  private long queryNanos;
+
+  private int connections;
+
+  private long connectionWaitNanos;
+
+  @Getter(AccessLevel.NONE)
+  private final Map<String, Fingerprint> fingerprints = new HashMap<>();
+
+  /** Start of the statement or connection checkout in progress. */
+  @Getter(AccessLevel.NONE)
+  private long startNanos;
+
+  /** Statements of the same fingerprint. */
+  @Getter
+  @RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+  public static final class Fingerprint {
+    private final String sql;
+
+    private int statements;
+
+    private long queryNanos;
+  }
+
+  void markStart() {
+    startNanos = System.nanoTime();
+  }
+
+  long sinceStart() {
+    return System.nanoTime() - startNanos;
+  }
+
+  void addStatement(String sql, long nanos) {
+    statements++;
+    queryNanos += nanos;
+    String key = fingerprint(sql);
+    if (fingerprints.size() >= MAX_FINGERPRINTS && !fingerprints.containsKey(key)) {
+      key = OTHER;
+    }
+    Fingerprint fingerprint = fingerprints.computeIfAbsent(key, Fingerprint::new);
+    fingerprint.statements++;
+    fingerprint.queryNanos += nanos;
+  }
+
+  void addRows(long count) {
+    rows += count;
+  }
+
+  void addConnection(long waitNanos) {
+    connections++;
+    connectionWaitNanos += waitNanos;
+  }
+
+  /**
+   * @param limit maximum number of fingerprints returned
+   * @return the fingerprints which took the most time first
+   */
+  public List<Fingerprint> getTopFingerprints(int limit) {
+    return fingerprints.values().stream()
+        .sorted(comparingLong(Fingerprint::getQueryNanos).reversed())
+        .limit(limit)
+        .toList();
+  }
+
+  /**
+   * Reduces a SQL statement to its shape so that statements only differing in literal values or
+   * the length of value lists share a fingerprint.
+   *
+   * @param sql a SQL statement
+   * @return the fingerprint of the statement
+   */
+  static String fingerprint(String sql) {
+    String shape = STRING_LITERAL.matcher(sql).replaceAll("?");
+    shape = NUMBER_LITERAL.matcher(shape).replaceAll("?");
+    shape = VALUE_LIST.matcher(shape).replaceAll("(?...)");
+    return WHITESPACE.matcher(shape).replaceAll(" ").trim();
+  }
+}
@@ -0,0 +1,101 @@
+/*
+ * Copyright (c) 2004-2022, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ * Neither the name of the HISP project nor the names of its contributors may
+ * be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.datasource;
+
+import javax.annotation.CheckForNull;
+import org.hisp.dhis.datasource.QueryStatistics.Source;
+
+/**
+ * Holds the {@link QueryStatistics} of the HTTP request or job running on the current thread.
+ * Statements issued on other threads, for example by parallel analytics queries, are not included.
+ */
+public final class QueryStatisticsContext {
+  private QueryStatisticsContext() {
+    throw new UnsupportedOperationException("Utility class");
+  }
+
+  private static final ThreadLocal<Scope> SCOPE = new ThreadLocal<>();
+
+  /** The statistics being collected and how many nested begins are still waiting for their end. */
+  private static final class Scope {
+    private final QueryStatistics statistics;
+
+    private int nested;
+
+    Scope(QueryStatistics statistics) {
+      this.statistics = statistics;
+    }
+  }
+
+  /**
+   * Starts collecting statistics for the current thread.
+   *
+   * <p>When statistics are already collected, for example for a job run within a request, the
+   * nested begin is ignored and its statements count towards the outer request or job.
+   *
+   * @param source whether a request or a job runs on the current thread
+   * @param name the handler pattern of the request or the type of the job
+   */
+  public static void begin(Source source, String name) {
+    Scope scope = SCOPE.get();
+    if (scope != null) {
+      scope.nested++;
+    } else {
+      SCOPE.set(new Scope(new QueryStatistics(source, name)));
+    }
+  }
+
+  /**
+   * Stops collecting statistics for the current thread unless this ends a nested begin.
+   *
+   * @return the statistics collected since the outermost {@link #begin(Source, String)}, or null if
+   *     collection was not started or this ends a nested begin
+   */
+  @CheckForNull
+  public static QueryStatistics end() {
+    Scope scope = SCOPE.get();
+    if (scope == null) {
+      return null;
+    }
+    if (scope.nested > 0) {
+      scope.nested--;
+      return null;
+    }
+    SCOPE.remove();
+    return scope.statistics;
+  }
+
+  /**
+   * @return the statistics collected for the current thread, or null if not collecting.
+   */
+  @CheckForNull
+  static QueryStatistics current() {
+    Scope scope = SCOPE.get();
+    return scope == null ? null : scope.statistics;
+  }
+}
@@ -0,0 +1,102 @@
+/*
+ * Copyright (c) 2004-2022, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ * Neither the name of the HISP project nor the names of its contributors may
+ * be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.datasource;
+
+import java.sql.ResultSet;
+import java.util.List;
+import javax.sql.DataSource;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.MethodExecutionContext;
+import net.ttddyy.dsproxy.listener.MethodExecutionListener;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+
+/**
+ * Records statements, rows and connection checkouts of the proxied data source into the {@link
+ * QueryStatistics} of the current thread. Does nothing on threads without statistics.
+ */
+public final class QueryStatisticsListener
+    implements QueryExecutionListener, MethodExecutionListener {
+  @Override
+  public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+    QueryStatistics statistics = QueryStatisticsContext.current();
+    if (statistics != null) {
+      statistics.markStart();
+    }
+  }
+
+  @Override
+  public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+    QueryStatistics statistics = QueryStatisticsContext.current();
+    if (statistics == null) {
+      return;
+    }
+    long nanos = statistics.sinceStart();
+    String sql = queryInfoList.isEmpty() ? "" : queryInfoList.get(0).getQuery();
+    statistics.addStatement(sql, nanos);
+    Object result = execInfo.getResult();
+    if (result instanceof Integer updated && updated > 0) {
+      statistics.addRows(updated);
+    } else if (result instanceof Long updated && updated > 0) {
+      statistics.addRows(updated);
+    } else if (result instanceof int[] batchUpdated) {
+      for (int updated : batchUpdated) {
+        statistics.addRows(Math.max(0, updated));
+      }
+    }
+  }
+
+  @Override
+  public void beforeMethod(MethodExecutionContext executionContext) {
+    QueryStatistics statistics = QueryStatisticsContext.current();
+    if (statistics != null && isGetConnection(executionContext)) {
+      statistics.markStart();
+    }
+  }
+
+  @Override
+  public void afterMethod(MethodExecutionContext executionContext) {
+    QueryStatistics statistics = QueryStatisticsContext.current();
+    if (statistics == null) {
+      return;
+    }
+    if (executionContext.getTarget() instanceof ResultSet) {
+      if (Boolean.TRUE.equals(executionContext.getResult())
+          && "next".equals(executionContext.getMethod().getName())) {
+        statistics.addRows(1);
+      }
+    } else if (isGetConnection(executionContext) && executionContext.getThrown() == null) {
+      statistics.addConnection(statistics.sinceStart());
+    }
+  }
+
+  private static boolean isGetConnection(MethodExecutionContext executionContext) {
+    return executionContext.getTarget() instanceof DataSource
+        && "getConnection".equals(executionContext.getMethod().getName());
+  }
+}
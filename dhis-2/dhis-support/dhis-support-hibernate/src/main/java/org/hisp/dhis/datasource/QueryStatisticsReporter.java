@@ -0,0 +1,139 @@
+/*
+ * Copyright (c) 2004-2022, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ * Neither the name of the HISP project nor the names of its contributors may
+ * be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.datasource;
+
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+import lombok.extern.slf4j.Slf4j;
+import org.hisp.dhis.datasource.QueryStatistics.Fingerprint;
+import org.hisp.dhis.datasource.QueryStatistics.Source;
+import org.hisp.dhis.external.conf.ConfigurationKey;
+import org.hisp.dhis.external.conf.DhisConfigurationProvider;
+import org.springframework.stereotype.Component;
+
+/**
+ * Starts and ends the collection of {@link QueryStatistics} for requests and jobs when enabled by
+ * {@link ConfigurationKey#MONITORING_SQL_ENABLED}. Ended statistics are passed to the registered
+ * listeners, and logged with their most expensive fingerprints when above a configured threshold.
+ */
+@Slf4j
+@Component
+public class QueryStatisticsReporter {
+  private static final int LOGGED_FINGERPRINTS = 10;
+
+  private final boolean enabled;
+
+  private final long timeThresholdMillis;
+
+  private final int statementThreshold;
+
+  private final List<Consumer<QueryStatistics>> listeners = new CopyOnWriteArrayList<>();
+
+  public QueryStatisticsReporter(DhisConfigurationProvider config) {
+    this.enabled = config.isEnabled(ConfigurationKey.MONITORING_SQL_ENABLED);
+    this.timeThresholdMillis =
+        Long.parseLong(config.getProperty(ConfigurationKey.MONITORING_SQL_LOG_TIME_THRESHOLD));
+    this.statementThreshold =
+        Integer.parseInt(
+            config.getProperty(ConfigurationKey.MONITORING_SQL_LOG_STATEMENT_THRESHOLD));
+  }
+
+  public boolean isEnabled() {
+    return enabled;
+  }
+
+  /**
+   * @param listener called with the statistics of each ended request or job
+   */
+  public void addListener(Consumer<QueryStatistics> listener) {
+    listeners.add(listener);
+  }
+
+  /**
+   * Starts collecting statistics for the request or job running on the current thread.
+   *
+   * @param source whether a request or a job runs on the current thread
+   * @param name the handler pattern of the request or the type of the job
+   */
+  public void begin(Source source, String name) {
+    if (enabled) {
+      QueryStatisticsContext.begin(source, name);
+    }
+  }
+
+  /** Ends collecting statistics for the current thread and reports them. */
+  public void end() {
+    QueryStatistics statistics = QueryStatisticsContext.end();
+    if (statistics == null) {
+      return;
+    }
+    for (Consumer<QueryStatistics> listener : listeners) {
+      try {
+        listener.accept(statistics);
+      } catch (RuntimeException ex) {
+        log.warn("Query statistics listener failed", ex);
+      }
+    }
+    if (isAboveThreshold(statistics)) {
+      log.warn(toLog(statistics));
+    }
+  }
+
+  private boolean isAboveThreshold(QueryStatistics statistics) {
+    return (timeThresholdMillis > 0
+            && NANOSECONDS.toMillis(statistics.getQueryNanos()) > timeThresholdMillis)
+        || (statementThreshold > 0 && statistics.getStatements() > statementThreshold);
+  }
+
+  private static String toLog(QueryStatistics statistics) {
+    StringBuilder str =
+        new StringBuilder(
+            String.format(
+                "%s %s issued %d statements in %d ms, read or wrote %d rows, "
+                    + "waited %d ms for %d connections",
+                statistics.getSource().name().toLowerCase(),
+                statistics.getName(),
+                statistics.getStatements(),
+                NANOSECONDS.toMillis(statistics.getQueryNanos()),
+                statistics.getRows(),
+                NANOSECONDS.toMillis(statistics.getConnectionWaitNanos()),
+                statistics.getConnections()));
+    for (Fingerprint fingerprint : statistics.getTopFingerprints(LOGGED_FINGERPRINTS)) {
+      str.append(
+          String.format(
+              "%n  %dx %d ms: %s",
+              fingerprint.getStatements(),
+              NANOSECONDS.toMillis(fingerprint.getQueryNanos()),
+              fingerprint.getSql()));
+    }
+    return str.toString();
+  }
+}
@@ -37,11 +37,14 @@ import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+import javax.annotation.CheckForNull;
 import javax.sql.DataSource;
 import lombok.AccessLevel;
 import lombok.NoArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.math.NumberUtils;
 import org.hisp.dhis.commons.util.DebugUtils;
 import org.hisp.dhis.datasource.model.PoolConfig;
 import org.hisp.dhis.datasource.model.ReadOnlyDataSourceConfig;
@@ -56,7 +59,7 @@ import org.hisp.dhis.util.ObjectUtils;
  */
 @Slf4j
 @NoArgsConstructor(access = AccessLevel.PUBLIC)
-public class ReadOnlyDataSourceManager {
+public class ReadOnlyDataSourceManager implements AutoCloseable {
   private static final String FORMAT_READ_PREFIX = "read%d.";
 
   private static final String FORMAT_CONNECTION_URL = FORMAT_READ_PREFIX + CONNECTION_URL.getKey();
@@ -74,12 +77,26 @@ public class ReadOnlyDataSourceManager {
   private static final int MAX_READ_REPLICAS = 5;
 
   public ReadOnlyDataSourceManager(DhisConfigurationProvider config) {
+    this(config, null);
+  }
+
+  /**
+   * @param config the {@link DhisConfigurationProvider}.
+   * @param primaryDataSource the primary {@link DataSource}, which the replication lag of the read
+   *     replicas is measured against.
+   */
+  public ReadOnlyDataSourceManager(
+      DhisConfigurationProvider config, @CheckForNull DataSource primaryDataSource) {
     checkNotNull(config);
+    this.primaryDataSource = primaryDataSource;
     init(config);
   }
 
+  /** The primary data source, which the replication lag of the replicas is measured against. */
+  private DataSource primaryDataSource;
+
   /** State holder for the resolved read only data source. */
-  private DataSource internalReadOnlyDataSource;
+  private CircularRoutingDataSource internalReadOnlyDataSource;
 
   /** State holder for explicitly defined read only data sources. */
   private List<DataSource> internalReadOnlyInstanceList;
@@ -92,21 +109,55 @@ public class ReadOnlyDataSourceManager {
     List<DataSource> ds = getReadOnlyDataSources(config);
 
     this.internalReadOnlyInstanceList = ds;
-    this.internalReadOnlyDataSource = !ds.isEmpty() ? new CircularRoutingDataSource(ds) : null;
+    this.internalReadOnlyDataSource = null;
+
+    if (!ds.isEmpty()) {
+      long maxLag = getSeconds(config, ConfigurationKey.READ_REPLICA_MAX_LAG);
+      long interval = getSeconds(config, ConfigurationKey.READ_REPLICA_HEALTH_CHECK_INTERVAL);
+
+      this.internalReadOnlyDataSource =
+          new CircularRoutingDataSource(ds, primaryDataSource, TimeUnit.SECONDS.toMillis(maxLag));
+      this.internalReadOnlyDataSource.startHealthChecks(TimeUnit.SECONDS.toMillis(interval));
+    }
   }
 
   public DataSource getReadOnlyDataSource() {
     return internalReadOnlyDataSource;
   }
 
+  /**
+   * Returns a read only data source which routes to the given fallback data source when no read
+   * replica is healthy, caught up with the primary and has available connections.
+   *
+   * @param fallbackDataSource the fallback {@link DataSource}, typically the primary.
+   * @return a {@link DataSource}, or null if no read replicas are configured.
+   */
+  @CheckForNull
+  public DataSource getReadOnlyDataSource(DataSource fallbackDataSource) {
+    return internalReadOnlyDataSource != null
+        ? internalReadOnlyDataSource.withFallback(fallbackDataSource)
+        : null;
+  }
+
   public int getReadReplicaCount() {
     return internalReadOnlyInstanceList != null ? internalReadOnlyInstanceList.size() : 0;
   }
 
+  @Override
+  public void close() {
+    if (internalReadOnlyDataSource != null) {
+      internalReadOnlyDataSource.close();
+    }
+  }
+
   // -------------------------------------------------------------------------
   // Supportive methods
   // -------------------------------------------------------------------------
 
+  private long getSeconds(DhisConfigurationProvider config, ConfigurationKey key) {
+    return NumberUtils.toLong(config.getProperty(key), NumberUtils.toLong(key.getDefaultValue()));
+  }
+
   private List<DataSource> getReadOnlyDataSources(DhisConfigurationProvider config) {
     String mainUser = config.getProperty(ConfigurationKey.CONNECTION_USERNAME);
     String mainPassword = config.getProperty(ConfigurationKey.CONNECTION_PASSWORD);
@@ -0,0 +1,121 @@
+/*
+ * Copyright (c) 2004-2022, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ * Neither the name of the HISP project nor the names of its contributors may
+ * be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.datasource;
+
+import java.util.function.LongConsumer;
+import javax.annotation.CheckForNull;
+
+/**
+ * Holds the read replica routing state of the current request. A request may opt in to having its
+ * read-only transactions served by a read replica.
+ *
+ * <p>For read-your-writes consistency, the WAL position (LSN) of the primary is recorded after
+ * each committed write transaction of a request, and passed to a write listener which stores it
+ * for the session, so that subsequent reads of the same session are only served by replicas which
+ * have replayed the WAL up to that position. The request begins with the last recorded position of
+ * its session.
+ */
+public final class ReplicaRoutingContext {
+  private ReplicaRoutingContext() {
+    throw new UnsupportedOperationException("Utility class");
+  }
+
+  private static final ThreadLocal<State> STATE = new ThreadLocal<>();
+
+  /**
+   * Binds the routing state of the current request to the current thread.
+   *
+   * @param lastWriteLsn the WAL position of the last write of the session, or 0.
+   * @param replicaReads whether read-only transactions may be served by a read replica.
+   * @param writeListener the listener to notify of the WAL position of committed writes, or null
+   *     if writes of the request are not recorded.
+   */
+  public static void begin(
+      long lastWriteLsn, boolean replicaReads, @CheckForNull LongConsumer writeListener) {
+    STATE.set(new State(replicaReads, writeListener, lastWriteLsn));
+  }
+
+  /** Removes the routing state of the current request from the current thread. */
+  public static void clear() {
+    STATE.remove();
+  }
+
+  /**
+   * @return true if read-only transactions of the current request may be served by a replica.
+   */
+  public static boolean isReplicaReadEnabled() {
+    State state = STATE.get();
+    return state != null && state.replicaReads;
+  }
+
+  /**
+   * @return true if committed writes of the current request are recorded.
+   */
+  public static boolean isRecordingWrites() {
+    State state = STATE.get();
+    return state != null && state.writeListener != null;
+  }
+
+  /**
+   * Records a committed write of the current request.
+   *
+   * @param lsn the WAL position of the primary after the write was committed.
+   */
+  public static void recordWrite(long lsn) {
+    State state = STATE.get();
+
+    if (state != null && state.writeListener != null) {
+      state.lastWriteLsn = Math.max(state.lastWriteLsn, lsn);
+      state.writeListener.accept(state.lastWriteLsn);
+    }
+  }
+
+  /**
+   * @return the WAL position of the last write of the session of the current request, or 0 if no
+   *     write is recorded.
+   */
+  public static long getLastWriteLsn() {
+    State state = STATE.get();
+    return state != null ? state.lastWriteLsn : 0L;
+  }
+
+  /** Routing state of a request. */
+  private static final class State {
+    private final boolean replicaReads;
+
+    private final LongConsumer writeListener;
+
+    private long lastWriteLsn;
+
+    State(boolean replicaReads, LongConsumer writeListener, long lastWriteLsn) {
+      this.replicaReads = replicaReads;
+      this.writeListener = writeListener;
+      this.lastWriteLsn = lastWriteLsn;
+    }
+  }
+}
@@ -0,0 +1,125 @@
+/*
+ * Copyright (c) 2004-2022, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ * Neither the name of the HISP project nor the names of its contributors may
+ * be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.datasource;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import javax.sql.DataSource;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Data source implementation which routes read-only transactions of requests which opted in to
+ * replica reads (see {@link ReplicaRoutingContext}) to the read-only data source, and everything
+ * else to the primary data source.
+ *
+ * <p>The read-only flag of a transaction is only known after the transaction has begun, so this
+ * data source must be wrapped in a {@link LazyConnectionDataSourceProxy} which defers fetching the
+ * connection until the first statement is executed.
+ *
+ * <p>When a read-write transaction of a request which records writes commits, the current WAL
+ * position of the primary is recorded in the {@link ReplicaRoutingContext}. This happens as part
+ * of the commit, and hence before the response of the request is written.
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class ReplicaRoutingDataSource extends AbstractDataSource {
+  private final DataSource primaryDataSource;
+
+  private final DataSource readOnlyDataSource;
+
+  /** Key of the transaction resource which marks that the write of a transaction is recorded. */
+  private final Object writeSynchronizationKey = new Object();
+
+  @Override
+  public Connection getConnection() throws SQLException {
+    return getDataSource().getConnection();
+  }
+
+  @Override
+  public Connection getConnection(String username, String password) throws SQLException {
+    return getDataSource().getConnection(username, password);
+  }
+
+  DataSource getDataSource() {
+    boolean readOnly = TransactionSynchronizationManager.isCurrentTransactionReadOnly();
+
+    if (ReplicaRoutingContext.isReplicaReadEnabled() && readOnly) {
+      return readOnlyDataSource;
+    }
+
+    if (!readOnly && ReplicaRoutingContext.isRecordingWrites()) {
+      registerWriteSynchronization();
+    }
+
+    return primaryDataSource;
+  }
+
+  /**
+   * Registers a synchronization with the current transaction, if any, which records the WAL
+   * position of the primary after the transaction has committed. Registers at most one
+   * synchronization per transaction.
+   */
+  private void registerWriteSynchronization() {
+    if (!TransactionSynchronizationManager.isSynchronizationActive()
+        || TransactionSynchronizationManager.hasResource(writeSynchronizationKey)) {
+      return;
+    }
+
+    TransactionSynchronizationManager.bindResource(writeSynchronizationKey, Boolean.TRUE);
+    TransactionSynchronizationManager.registerSynchronization(
+        new TransactionSynchronization() {
+          @Override
+          public void afterCommit() {
+            recordWrite();
+          }
+
+          @Override
+          public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResourceIfPossible(writeSynchronizationKey);
+          }
+        });
+  }
+
+  /**
+   * Records the current WAL position of the primary as the last write. If the position cannot be
+   * retrieved, subsequent reads of the session are served by the primary.
+   */
+  private void recordWrite() {
+    try {
+      ReplicaRoutingContext.recordWrite(CircularRoutingDataSource.getCurrentLsn(primaryDataSource));
+    } catch (SQLException | RuntimeException ex) {
+      log.warn("Could not get WAL position of primary after write: '{}'", ex.getMessage());
+      ReplicaRoutingContext.recordWrite(Long.MAX_VALUE);
+    }
+  }
+}
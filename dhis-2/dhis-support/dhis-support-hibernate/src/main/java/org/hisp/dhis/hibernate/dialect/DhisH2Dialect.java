@@ -31,6 +31,7 @@ import com.vladmihalcea.hibernate.type.array.StringArrayType;
 import java.sql.Types;
 import org.hibernate.boot.model.TypeContributions;
 import org.hibernate.dialect.H2Dialect;
+import org.hibernate.dialect.function.NoArgSQLFunction;
 import org.hibernate.dialect.function.StandardSQLFunction;
 import org.hibernate.service.ServiceRegistry;
 import org.hibernate.type.StandardBasicTypes;
@@ -68,6 +69,8 @@ public class DhisH2Dialect extends H2Dialect {
         JsonbFunctions.CHECK_USER_ACCESS,
         new StandardSQLFunction(JsonbFunctions.CHECK_USER_ACCESS, StandardBasicTypes.BOOLEAN));
     registerFunction("array_agg", new StandardSQLFunction("array_agg", StringArrayType.INSTANCE));
+    // renders as count(*) over() window function
+    registerFunction("count_over", new NoArgSQLFunction("count(*) over", StandardBasicTypes.LONG));
   }
 
   @Override
@@ -29,6 +29,8 @@ package org.hisp.dhis.hibernate.dialect;
 
 import com.vladmihalcea.hibernate.type.array.StringArrayType;
 import java.sql.Types;
+import org.hibernate.dialect.function.NoArgSQLFunction;
+import org.hibernate.dialect.function.SQLFunctionTemplate;
 import org.hibernate.dialect.function.StandardSQLFunction;
 import org.hibernate.spatial.dialect.postgis.PostgisPG95Dialect;
 import org.hibernate.type.StandardBasicTypes;
@@ -69,6 +71,11 @@ public class DhisPostgresDialect extends PostgisPG95Dialect {
     registerFunction(
         JsonbFunctions.REGEXP_SEARCH,
         new StandardSQLFunction(JsonbFunctions.REGEXP_SEARCH, StandardBasicTypes.BOOLEAN));
+    registerFunction(
+        JsonbFunctions.CONTAINS,
+        new SQLFunctionTemplate(StandardBasicTypes.BOOLEAN, "(?1 @> cast(?2 as jsonb))"));
     registerFunction("array_agg", new StandardSQLFunction("array_agg", StringArrayType.INSTANCE));
+    // renders as count(*) over() window function
+    registerFunction("count_over", new NoArgSQLFunction("count(*) over", StandardBasicTypes.LONG));
   }
 }
@@ -74,6 +74,16 @@ public class JsonbFunctions {
   /** Built-in function of PostgresQL */
   public static final String JSONB_TYPEOF = "jsonb_typeof";
 
+  /**
+   * Renders as the {@code @>} operator $1: jsonb value $2: JSON text of the contained value
+   *
+   * <p>The operator form (and not the built-in function of the same name) is used so that GIN
+   * indexes on $1 can be used.
+   *
+   * @return True if the jsonb value contains the given value
+   */
+  public static final String CONTAINS = "jsonb_contains";
+
   /**
    * Use the regex operator '~*' to match a given string with a given regular expression $1 String
    * to search $2 Regular expression for matching
@@ -0,0 +1,97 @@
+/*
+ * Copyright (c) 2004-2022, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ * Neither the name of the HISP project nor the names of its contributors may
+ * be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.cache;
+
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.hibernate.cache.spi.access.SoftLock;
+import org.hibernate.cache.spi.support.DomainDataStorageAccess;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class NearCacheStorageAccessTest {
+  @Mock private DomainDataStorageAccess local;
+
+  @Mock private SharedCacheTier shared;
+
+  @Mock private SoftLock lock;
+
+  private NearCacheStorageAccess storage;
+
+  @BeforeEach
+  void setUp() {
+    storage = new NearCacheStorageAccess("test", local, shared);
+  }
+
+  @Test
+  void testPutIntoCache_ReplacesSeenEntry() {
+    when(local.getFromCache("a", null)).thenReturn("old");
+    when(shared.replace("test", "a", "old", "new")).thenReturn(true);
+
+    storage.putIntoCache("a", "new", null);
+
+    verify(local).putIntoCache("a", "new", null);
+    verify(local, never()).evictData("a");
+  }
+
+  @Test
+  void testPutIntoCache_DropsLocalEntryIfSharedEntryChanged() {
+    when(shared.replace("test", "a", null, "new")).thenReturn(false);
+
+    storage.putIntoCache("a", "new", null);
+
+    verify(local).evictData("a");
+  }
+
+  @Test
+  void testPutIntoCache_AlwaysSharesSoftLock() {
+    when(local.getFromCache("a", null)).thenReturn("old");
+
+    storage.putIntoCache("a", lock, null);
+
+    verify(shared).put("test", "a", lock);
+    verify(shared, never()).replace(any(), any(), any(), any());
+  }
+
+  @Test
+  void testGetFromCache_ReadsThroughToSharedTier() {
+    when(shared.get("test", "a")).thenReturn("shared");
+
+    assertSame("shared", storage.getFromCache("a", null));
+
+    verify(local).putIntoCache("a", "shared", null);
+  }
+}
@@ -0,0 +1,189 @@
+/*
+ * Copyright (c) 2004-2022, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ * Neither the name of the HISP project nor the names of its contributors may
+ * be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.datasource;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class CircularRoutingDataSourceTest {
+  private final DataSource replicaA = mock(DataSource.class);
+
+  private final DataSource replicaB = mock(DataSource.class);
+
+  private final DataSource primary = mock(DataSource.class);
+
+  @AfterEach
+  void tearDown() {
+    ReplicaRoutingContext.clear();
+  }
+
+  @Test
+  void testGetDataSourceCircular() {
+    CircularRoutingDataSource dataSource =
+        new CircularRoutingDataSource(List.of(replicaA, replicaB));
+
+    assertSame(replicaA, dataSource.getDataSource());
+    assertSame(replicaB, dataSource.getDataSource());
+    assertSame(replicaA, dataSource.getDataSource());
+  }
+
+  @Test
+  void testGetDataSourceSkipsLaggingReplica() throws SQLException {
+    mockLsn(primary, 100);
+    mockReplicaState(replicaA, 50, 120);
+    mockReplicaState(replicaB, 90, 1);
+
+    CircularRoutingDataSource dataSource =
+        new CircularRoutingDataSource(List.of(replicaA, replicaB), primary, 30_000)
+            .withFallback(primary);
+    dataSource.checkHealth();
+
+    assertSame(replicaB, dataSource.getDataSource());
+    assertSame(replicaB, dataSource.getDataSource());
+  }
+
+  @Test
+  void testGetDataSourceCaughtUpReplicaHasNoLag() throws SQLException {
+    mockLsn(primary, 100);
+    mockReplicaState(replicaA, 100, 3600);
+
+    CircularRoutingDataSource dataSource =
+        new CircularRoutingDataSource(List.of(replicaA), primary, 30_000).withFallback(primary);
+    dataSource.checkHealth();
+
+    assertSame(replicaA, dataSource.getDataSource());
+  }
+
+  @Test
+  void testGetDataSourceSkipsUnavailableReplica() throws SQLException {
+    mockLsn(primary, 100);
+    when(replicaA.getConnection()).thenThrow(new SQLException("Connection refused"));
+    mockReplicaState(replicaB, 100, 0);
+
+    CircularRoutingDataSource dataSource =
+        new CircularRoutingDataSource(List.of(replicaA, replicaB), primary, 30_000)
+            .withFallback(primary);
+    dataSource.checkHealth();
+
+    assertSame(replicaB, dataSource.getDataSource());
+    assertSame(replicaB, dataSource.getDataSource());
+  }
+
+  @Test
+  void testGetDataSourceFallbackWhenAllLagging() throws SQLException {
+    mockLsn(primary, 100);
+    mockReplicaState(replicaA, 50, 120);
+    mockReplicaState(replicaB, 50, 120);
+
+    CircularRoutingDataSource dataSource =
+        new CircularRoutingDataSource(List.of(replicaA, replicaB), primary, 30_000)
+            .withFallback(primary);
+    dataSource.checkHealth();
+
+    assertSame(primary, dataSource.getDataSource());
+  }
+
+  @Test
+  void testGetDataSourceReadYourWrites() throws SQLException {
+    mockLsn(primary, 100);
+    mockReplicaState(replicaA, 100, 0);
+
+    CircularRoutingDataSource dataSource =
+        new CircularRoutingDataSource(List.of(replicaA), primary, 30_000).withFallback(primary);
+    dataSource.checkHealth();
+
+    ReplicaRoutingContext.begin(0, true, null);
+    assertSame(replicaA, dataSource.getDataSource());
+
+    ReplicaRoutingContext.begin(150, true, null);
+    assertSame(primary, dataSource.getDataSource());
+
+    ReplicaRoutingContext.begin(100, true, null);
+    assertSame(replicaA, dataSource.getDataSource());
+  }
+
+  @Test
+  void testRecordWrite() {
+    List<Long> writes = new ArrayList<>();
+
+    ReplicaRoutingContext.begin(100, false, writes::add);
+    ReplicaRoutingContext.recordWrite(120);
+    ReplicaRoutingContext.recordWrite(110);
+
+    assertEquals(List.of(120L, 120L), writes);
+    assertEquals(120, ReplicaRoutingContext.getLastWriteLsn());
+  }
+
+  @Test
+  void testRecordWriteWithoutListener() {
+    ReplicaRoutingContext.begin(100, true, null);
+    ReplicaRoutingContext.recordWrite(120);
+
+    assertFalse(ReplicaRoutingContext.isRecordingWrites());
+    assertEquals(100, ReplicaRoutingContext.getLastWriteLsn());
+  }
+
+  private void mockLsn(DataSource dataSource, long lsn) throws SQLException {
+    ResultSet resultSet = mockResultSet(dataSource);
+    when(resultSet.getLong(1)).thenReturn(lsn);
+  }
+
+  private void mockReplicaState(DataSource dataSource, long replayedLsn, double lagSeconds)
+      throws SQLException {
+    ResultSet resultSet = mockResultSet(dataSource);
+    when(resultSet.getLong(1)).thenReturn(replayedLsn);
+    when(resultSet.getDouble(2)).thenReturn(lagSeconds);
+  }
+
+  private ResultSet mockResultSet(DataSource dataSource) throws SQLException {
+    Connection connection = mock(Connection.class);
+    Statement statement = mock(Statement.class);
+    ResultSet resultSet = mock(ResultSet.class);
+
+    when(dataSource.getConnection()).thenReturn(connection);
+    when(connection.createStatement()).thenReturn(statement);
+    when(statement.executeQuery(anyString())).thenReturn(resultSet);
+    when(resultSet.next()).thenReturn(true);
+
+    return resultSet;
+  }
+}
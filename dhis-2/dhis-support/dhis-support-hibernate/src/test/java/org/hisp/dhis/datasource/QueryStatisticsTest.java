@@ -0,0 +1,126 @@
+/*
+ * Copyright (c) 2004-2022, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ * Neither the name of the HISP project nor the names of its contributors may
+ * be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.datasource;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.util.List;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import org.hisp.dhis.datasource.QueryStatistics.Fingerprint;
+import org.hisp.dhis.datasource.QueryStatistics.Source;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class QueryStatisticsTest {
+  @AfterEach
+  void tearDown() {
+    QueryStatisticsContext.end();
+  }
+
+  @Test
+  void testFingerprint() {
+    assertEquals(
+        "select * from dataelement where uid = ? and code in (?...) and id > ?",
+        QueryStatistics.fingerprint(
+            "select *  from dataelement\n where uid = 'a''b' and code in ('x', 'y') and id > 42"));
+    assertEquals(
+        "select dataelemen0_.uid from dataelement dataelemen0_ where dataelemen0_.uid in (?...)",
+        QueryStatistics.fingerprint(
+            "select dataelemen0_.uid from dataelement dataelemen0_ where dataelemen0_.uid in (?, ?)"));
+  }
+
+  @Test
+  void testGetTopFingerprints() {
+    QueryStatistics statistics = new QueryStatistics(Source.REQUEST, "GET /dataElements");
+    statistics.addStatement("select * from dataelement where id = 1", 10);
+    statistics.addStatement("select * from dataelement where id = 2", 10);
+    statistics.addStatement("select * from indicator", 5);
+
+    assertEquals(3, statistics.getStatements());
+    assertEquals(25, statistics.getQueryNanos());
+    List<Fingerprint> top = statistics.getTopFingerprints(1);
+    assertEquals(1, top.size());
+    assertEquals("select * from dataelement where id = ?", top.get(0).getSql());
+    assertEquals(2, top.get(0).getStatements());
+  }
+
+  @Test
+  void testAddStatement_MaxFingerprints() {
+    QueryStatistics statistics = new QueryStatistics(Source.JOB, "ANALYTICS_TABLE");
+    for (int i = 0; i < QueryStatistics.MAX_FINGERPRINTS + 10; i++) {
+      statistics.addStatement("select * from table" + i, 1);
+    }
+
+    List<Fingerprint> all = statistics.getTopFingerprints(Integer.MAX_VALUE);
+    assertEquals(QueryStatistics.MAX_FINGERPRINTS + 1, all.size());
+    assertEquals(QueryStatistics.OTHER, all.get(0).getSql());
+    assertEquals(10, all.get(0).getStatements());
+  }
+
+  @Test
+  void testListener() {
+    QueryStatisticsListener listener = new QueryStatisticsListener();
+    ExecutionInfo execInfo = new ExecutionInfo();
+    execInfo.setResult(3);
+    List<QueryInfo> queries = List.of(new QueryInfo("update dataelement set name = ?"));
+
+    listener.beforeQuery(execInfo, queries);
+    listener.afterQuery(execInfo, queries);
+    assertNull(QueryStatisticsContext.current());
+
+    QueryStatisticsContext.begin(Source.REQUEST, "PUT /dataElements/{uid}");
+    listener.beforeQuery(execInfo, queries);
+    listener.afterQuery(execInfo, queries);
+    execInfo.setResult(new int[] {1, 1, -2});
+    listener.beforeQuery(execInfo, queries);
+    listener.afterQuery(execInfo, queries);
+
+    QueryStatistics statistics = QueryStatisticsContext.end();
+    assertEquals(2, statistics.getStatements());
+    assertEquals(5, statistics.getRows());
+    assertSame(Source.REQUEST, statistics.getSource());
+    assertNull(QueryStatisticsContext.end());
+  }
+
+  @Test
+  void testNestedBegin() {
+    QueryStatisticsContext.begin(Source.REQUEST, "POST /jobConfigurations/{uid}/execute");
+    QueryStatistics outer = QueryStatisticsContext.current();
+
+    QueryStatisticsContext.begin(Source.JOB, "ANALYTICS_TABLE");
+    assertSame(outer, QueryStatisticsContext.current());
+    assertNull(QueryStatisticsContext.end());
+
+    assertSame(outer, QueryStatisticsContext.current());
+    assertSame(outer, QueryStatisticsContext.end());
+    assertNull(QueryStatisticsContext.current());
+  }
+}
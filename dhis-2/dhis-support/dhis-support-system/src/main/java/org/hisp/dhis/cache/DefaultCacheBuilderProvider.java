@@ -44,9 +44,11 @@ public class DefaultCacheBuilderProvider implements CacheBuilderProvider {
 
   private RedisTemplate<String, ?> redisTemplate;
 
+  private NearCacheBroker nearCacheBroker;
+
   @Override
   public <V> CacheBuilder<V> newCacheBuilder() {
-    return new ExtendedCacheBuilder<>(redisTemplate, configurationProvider);
+    return new ExtendedCacheBuilder<>(redisTemplate, nearCacheBroker, configurationProvider);
   }
 
   @Autowired
@@ -59,4 +61,9 @@ public class DefaultCacheBuilderProvider implements CacheBuilderProvider {
   public void setRedisTemplate(RedisTemplate<String, ?> redisTemplate) {
     this.redisTemplate = redisTemplate;
   }
+
+  @Autowired(required = false)
+  public void setNearCacheBroker(NearCacheBroker nearCacheBroker) {
+    this.nearCacheBroker = nearCacheBroker;
+  }
 }
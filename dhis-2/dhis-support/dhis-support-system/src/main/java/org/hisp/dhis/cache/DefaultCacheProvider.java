@@ -107,6 +107,7 @@ public class DefaultCacheProvider implements CacheProvider {
     metadataAttributes,
     canDataWriteCocCache,
     analyticsSql,
+    analyticsQueryPlan,
     dataElementCache,
     propertyTransformerCache,
     programHasRulesCache,
@@ -119,6 +120,7 @@ public class DefaultCacheProvider implements CacheProvider {
     catOptOrgUnitAssocCache,
     dataSetOrgUnitAssocCache,
     apiTokensCache,
+    unknownApiTokensCache,
     programCache,
     teiAttributesCache,
     programTeiAttributesCache,
@@ -129,7 +131,9 @@ public class DefaultCacheProvider implements CacheProvider {
     jobCancelRequested,
     dataIntegritySummaryCache,
     dataIntegrityDetailsCache,
-    queryAliasCache
+    queryAliasCache,
+    verifiedCredentialCache,
+    datastoreIndexes
   }
 
   private final Map<String, Cache<?>> allCaches = new ConcurrentHashMap<>();
@@ -418,6 +422,17 @@ public class DefaultCacheProvider implements CacheProvider {
             .withMaximumSize(orZeroInTestRun(getActualSize(SIZE_10K))));
   }
 
+  @Override
+  public <V> Cache<V> createAnalyticsQueryPlanCache() {
+    return registerCache(
+        this.<V>newBuilder()
+            .forRegion(Region.analyticsQueryPlan.name())
+            .expireAfterWrite(1, TimeUnit.HOURS)
+            .withInitialCapacity((int) getActualSize(SIZE_100))
+            .forceInMemory()
+            .withMaximumSize(orZeroInTestRun(getActualSize(SIZE_1K))));
+  }
+
   @Override
   public <V> Cache<V> createDataElementCache() {
     return registerCache(
@@ -547,6 +562,18 @@ public class DefaultCacheProvider implements CacheProvider {
             .withMaximumSize(orZeroInTestRun(getActualSize(SIZE_10K))));
   }
 
+  /** Negative cache for API token keys which are unknown or expired. */
+  @Override
+  public <V> Cache<V> createUnknownApiKeyCache() {
+    return registerCache(
+        this.<V>newBuilder()
+            .forRegion(Region.unknownApiTokensCache.name())
+            .expireAfterWrite(5, TimeUnit.MINUTES)
+            .withInitialCapacity((int) getActualSize(SIZE_100))
+            .forceInMemory()
+            .withMaximumSize(orZeroInTestRun(getActualSize(SIZE_10K))));
+  }
+
   @Override
   public <V> Cache<V> createProgramCache() {
     return registerCache(
@@ -638,4 +665,34 @@ public class DefaultCacheProvider implements CacheProvider {
             .forceInMemory()
             .withMaximumSize(orZeroInTestRun(getActualSize(SIZE_10K))));
   }
+
+  /**
+   * Cache for verified user credentials. Never distributed, as the entries are only valid for the
+   * secret key of this instance.
+   */
+  @Override
+  public <V> Cache<V> createVerifiedCredentialCache() {
+    return registerCache(
+        this.<V>newBuilder()
+            .forRegion(Region.verifiedCredentialCache.name())
+            .expireAfterWrite(5, TimeUnit.MINUTES)
+            .withInitialCapacity((int) getActualSize(SIZE_100))
+            .forceInMemory()
+            .withMaximumSize(orZeroInTestRun(getActualSize(SIZE_10K))));
+  }
+
+  /**
+   * Cache for the indexes declared per datastore namespace. Indexes are rarely changed so other
+   * instances can pick up a change when the entry expires.
+   */
+  @Override
+  public <V> Cache<V> createDatastoreIndexCache() {
+    return registerCache(
+        this.<V>newBuilder()
+            .forRegion(Region.datastoreIndexes.name())
+            .expireAfterWrite(5, TimeUnit.MINUTES)
+            .withInitialCapacity((int) getActualSize(SIZE_100))
+            .forceInMemory()
+            .withMaximumSize(orZeroInTestRun(getActualSize(SIZE_1K))));
+  }
 }
@@ -45,12 +45,17 @@ public class ExtendedCacheBuilder<V> extends SimpleCacheBuilder<V> {
 
   private final RedisTemplate<String, ?> redisTemplate;
 
+  private final NearCacheBroker nearCacheBroker;
+
   private boolean forceInMemory;
 
   public ExtendedCacheBuilder(
-      RedisTemplate<String, ?> redisTemplate, DhisConfigurationProvider configuration) {
+      RedisTemplate<String, ?> redisTemplate,
+      NearCacheBroker nearCacheBroker,
+      DhisConfigurationProvider configuration) {
     this.configuration = configuration;
     this.redisTemplate = redisTemplate;
+    this.nearCacheBroker = nearCacheBroker;
     this.forceInMemory = false;
   }
 
@@ -76,10 +81,11 @@ public class ExtendedCacheBuilder<V> extends SimpleCacheBuilder<V> {
    * Caffeine backed cache implementation {@link LocalCache} will be returned. For Local cache,
    * every instance created using this method will be logically separate and will not share any
    * state. However, when using Redis Cache, every instance created using this method will use the
-   * same redis store.
+   * same redis store. If {@code redis.near_cache.enabled} is also set a {@link NearCache} is
+   * returned instead, which keeps a local copy of the redis store.
    *
    * @return A cache instance based on the system configuration and input parameters. Returns one of
-   *     {@link RedisCache}, {@link LocalCache} or {@link NoOpCache}
+   *     {@link NearCache}, {@link RedisCache}, {@link LocalCache} or {@link NoOpCache}
    */
   @Override
   public Cache<V> build() {
@@ -92,6 +98,10 @@ public class ExtendedCacheBuilder<V> extends SimpleCacheBuilder<V> {
           String.format("Local Cache (forced) instance created for region:'%s'", getRegion()));
       return new LocalCache<>(this);
     }
+    if (configuration.isEnabled(ConfigurationKey.REDIS_ENABLED) && nearCacheBroker != null) {
+      log.debug(String.format("Near Cache instance created for region:'%s'", getRegion()));
+      return new NearCache<>(this, nearCacheBroker);
+    }
     if (configuration.isEnabled(ConfigurationKey.REDIS_ENABLED)) {
       log.debug(String.format("Redis Cache instance created for region:'%s'", getRegion()));
       return new RedisCache<>(this);
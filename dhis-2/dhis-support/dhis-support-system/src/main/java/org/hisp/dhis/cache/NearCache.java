@@ -0,0 +1,364 @@
+/*
+ * Copyright (c) 2004-2022, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ * Neither the name of the HISP project nor the names of its contributors may
+ * be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.cache;
+
+import static java.util.Collections.emptySet;
+import static java.util.concurrent.TimeUnit.MINUTES;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static java.util.stream.Collectors.toSet;
+import static org.springframework.util.Assert.hasText;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.SessionCallback;
+
+/**
+ * A {@link Cache} which keeps a local in-memory copy of the entries of a shared redis cache. Reads
+ * are served locally and only go to redis for keys not known locally, so a new node starts with
+ * the entries the other nodes already loaded.
+ *
+ * <p>Every write is stored in redis with a version issued by the {@link NearCacheBroker}, which
+ * also tells the other nodes the changed key and version. These only drop their local copy of that
+ * key if it is older, and remember the version for a while so that an older entry read from redis
+ * concurrently is not kept locally.
+ *
+ * <p>A value loaded on a miss is versioned before it is loaded and only stored in redis if the key
+ * is still absent and was not invalidated since, as an invalidation leaves the version of the
+ * change in redis for a while. A load which raced with a change on another node is therefore
+ * returned to the caller but not shared.
+ *
+ * @param <V> the value type
+ */
+public class NearCache<V> implements Cache<V> {
+  private static final String VALUE_CANNOT_BE_NULL = "Value cannot be null";
+
+  private static final String KEY_PREFIX = "near:";
+
+  private static final String CHANGED_KEY_PREFIX = "near-changed:";
+
+  /** How long the version of an invalidation is kept in redis to reject older loaded values. */
+  private static final long CHANGED_TTL_IN_SECONDS = MINUTES.toSeconds(1);
+
+  private final String cacheRegion;
+
+  private final Cache<NearCacheEntry<V>> local;
+
+  /** The version of the last change of a key by another node. */
+  private final Cache<Long> changed;
+
+  /** The version of the last change of all keys by another node. */
+  private volatile long allChanged;
+
+  private final RedisTemplate<String, NearCacheEntry<V>> redisTemplate;
+
+  private final NearCacheBroker broker;
+
+  private final V defaultValue;
+
+  private final boolean expiryEnabled;
+
+  private final long expiryInSeconds;
+
+  /**
+   * Constructor for instantiating NearCache.
+   *
+   * @param cacheBuilder The cache builder instance
+   * @param broker The broker exchanging changes with other nodes
+   */
+  @SuppressWarnings("unchecked")
+  public NearCache(ExtendedCacheBuilder<V> cacheBuilder, NearCacheBroker broker) {
+    this.cacheRegion = cacheBuilder.getRegion();
+    this.redisTemplate = (RedisTemplate<String, NearCacheEntry<V>>) cacheBuilder.getRedisTemplate();
+    this.broker = broker;
+    this.defaultValue = cacheBuilder.getDefaultValue();
+    this.expiryEnabled = cacheBuilder.isExpiryEnabled();
+    this.expiryInSeconds = cacheBuilder.getExpiryInSeconds();
+
+    CacheBuilder<NearCacheEntry<V>> localBuilder =
+        new SimpleCacheBuilder<NearCacheEntry<V>>()
+            .forRegion(cacheRegion)
+            .withMaximumSize(cacheBuilder.getMaximumSize());
+    if (expiryEnabled) {
+      localBuilder.expireAfterWrite(expiryInSeconds, SECONDS);
+    }
+    this.local = new LocalCache<>(localBuilder);
+    this.changed =
+        new LocalCache<>(
+            new SimpleCacheBuilder<Long>()
+                .forRegion(cacheRegion)
+                .withMaximumSize(cacheBuilder.getMaximumSize())
+                .expireAfterWrite(1, MINUTES));
+
+    broker.register(cacheRegion, this);
+  }
+
+  @Override
+  public Optional<V> getIfPresent(String key) {
+    return Optional.ofNullable(load(key));
+  }
+
+  @Override
+  public Optional<V> get(String key) {
+    return Optional.ofNullable(Optional.ofNullable(load(key)).orElse(defaultValue));
+  }
+
+  @Override
+  public V get(String key, Function<String, V> mappingFunction) {
+    if (null == mappingFunction) {
+      throw new IllegalArgumentException("MappingFunction cannot be null");
+    }
+
+    V value = load(key);
+
+    if (null == value) {
+      // versioned before loading so that any change made while loading is newer
+      long version = broker.nextVersion();
+      value = mappingFunction.apply(key);
+
+      if (null != value) {
+        // a loaded value is no change, other nodes can keep what they have
+        NearCacheEntry<V> entry = new NearCacheEntry<>(version, value);
+        if (writeLoaded(key, entry, expiryEnabled ? expiryInSeconds : 0)) {
+          putLocal(key, entry);
+        }
+      }
+    }
+
+    return Optional.ofNullable(value).orElse(defaultValue);
+  }
+
+  @Override
+  public Stream<V> getAll() {
+    Set<String> keySet = redisTemplate.keys(generateKey("*"));
+    if (keySet == null) {
+      return Stream.empty();
+    }
+    List<NearCacheEntry<V>> entries = redisTemplate.opsForValue().multiGet(keySet);
+    return entries == null
+        ? Stream.empty()
+        : entries.stream().filter(Objects::nonNull).map(NearCacheEntry::getValue);
+  }
+
+  @Override
+  public Set<String> keys() {
+    Set<String> keys = redisTemplate.keys(generateKey("*"));
+    int prefixLength = generateKey("").length();
+    return keys == null
+        ? emptySet()
+        : keys.stream().map(key -> key.substring(prefixLength)).collect(toSet());
+  }
+
+  @Override
+  public void put(String key, V value) {
+    if (null == value) {
+      throw new IllegalArgumentException(VALUE_CANNOT_BE_NULL);
+    }
+    NearCacheEntry<V> entry = write(key, value, expiryEnabled ? expiryInSeconds : 0);
+    local.put(key, entry);
+    broker.publish(cacheRegion, key, entry.getVersion());
+  }
+
+  @Override
+  public void put(String key, V value, long ttlInSeconds) {
+    hasText(key, VALUE_CANNOT_BE_NULL);
+    NearCacheEntry<V> entry = write(key, value, ttlInSeconds);
+    local.put(key, entry, ttlInSeconds);
+    broker.publish(cacheRegion, key, entry.getVersion());
+  }
+
+  @Override
+  public boolean putIfAbsent(String key, V value) {
+    if (null == value) {
+      throw new IllegalArgumentException(VALUE_CANNOT_BE_NULL);
+    }
+    NearCacheEntry<V> entry = new NearCacheEntry<>(broker.nextVersion(), value);
+    var ops = redisTemplate.boundValueOps(generateKey(key));
+    Boolean absent =
+        expiryEnabled
+            ? ops.setIfAbsent(entry, expiryInSeconds, SECONDS)
+            : ops.setIfAbsent(entry);
+    if (absent != Boolean.TRUE) {
+      return false;
+    }
+    local.put(key, entry);
+    broker.publish(cacheRegion, key, entry.getVersion());
+    return true;
+  }
+
+  @Override
+  public void invalidate(String key) {
+    long version = broker.nextVersion();
+    writeChanged(generateChangedKey(key), version);
+    redisTemplate.delete(generateKey(key));
+    local.invalidate(key);
+    broker.publish(cacheRegion, key, version);
+  }
+
+  @Override
+  public void invalidateAll() {
+    long version = broker.nextVersion();
+    writeChanged(generateChangedKey(), version);
+    Set<String> keysToDelete = redisTemplate.keys(generateKey("*"));
+    if (keysToDelete != null && !keysToDelete.isEmpty()) {
+      redisTemplate.delete(keysToDelete);
+    }
+    local.invalidateAll();
+    broker.publish(cacheRegion, "", version);
+  }
+
+  @Override
+  public CacheType getCacheType() {
+    return CacheType.REDIS;
+  }
+
+  /**
+   * Drops the local copy of a key changed by another node unless it is newer than the change.
+   *
+   * @param key the changed key
+   * @param version the version of the change
+   */
+  void evictLocal(String key, long version) {
+    Optional<NearCacheEntry<V>> entry = local.getIfPresent(key);
+    if (entry.isPresent() && entry.get().getVersion() < version) {
+      local.invalidate(key);
+    }
+    if (changed.getIfPresent(key).orElse(0L) < version) {
+      changed.put(key, version);
+    }
+  }
+
+  /**
+   * Drops the local copies of all keys after all keys were changed by another node.
+   *
+   * @param version the version of the change
+   */
+  void evictLocal(long version) {
+    allChanged = Math.max(allChanged, version);
+    local.invalidateAll();
+  }
+
+  private V load(String key) {
+    Optional<NearCacheEntry<V>> cached = local.getIfPresent(key);
+    if (cached.isPresent()) {
+      return cached.get().getValue();
+    }
+    NearCacheEntry<V> entry = redisTemplate.boundValueOps(generateKey(key)).get();
+    if (entry == null) {
+      return null;
+    }
+    putLocal(key, entry);
+    return entry.getValue();
+  }
+
+  /** Keeps the entry locally unless another node changed the key since it was versioned. */
+  private void putLocal(String key, NearCacheEntry<V> entry) {
+    if (entry.getVersion() > allChanged
+        && entry.getVersion() >= changed.getIfPresent(key).orElse(0L)) {
+      local.put(key, entry);
+    }
+  }
+
+  /**
+   * Stores a loaded value in redis unless the key is present or was invalidated after the value
+   * was versioned. The check and the write are done in one redis transaction which is discarded if
+   * any of the checked keys is changed in between.
+   *
+   * @return true, if the value was stored
+   */
+  private boolean writeLoaded(String key, NearCacheEntry<V> entry, long ttlInSeconds) {
+    String redisKey = generateKey(key);
+    List<String> checkedKeys = List.of(redisKey, generateChangedKey(key), generateChangedKey());
+    List<Object> results =
+        redisTemplate.execute(
+            new SessionCallback<List<Object>>() {
+              @Override
+              @SuppressWarnings("unchecked")
+              public <K, T> List<Object> execute(RedisOperations<K, T> operations) {
+                RedisOperations<String, NearCacheEntry<V>> ops =
+                    (RedisOperations<String, NearCacheEntry<V>>) operations;
+                ops.watch(checkedKeys);
+                List<NearCacheEntry<V>> current = ops.opsForValue().multiGet(checkedKeys);
+                if (current == null
+                    || current.get(0) != null
+                    || isNewer(current.get(1), entry)
+                    || isNewer(current.get(2), entry)) {
+                  ops.unwatch();
+                  return null;
+                }
+                ops.multi();
+                if (ttlInSeconds > 0) {
+                  ops.opsForValue().set(redisKey, entry, ttlInSeconds, SECONDS);
+                } else {
+                  ops.opsForValue().set(redisKey, entry);
+                }
+                return ops.exec();
+              }
+            });
+    return results != null && !results.isEmpty();
+  }
+
+  /** Leaves the version of an invalidation in redis for a while. */
+  private void writeChanged(String changedKey, long version) {
+    redisTemplate
+        .boundValueOps(changedKey)
+        .set(new NearCacheEntry<>(version, null), CHANGED_TTL_IN_SECONDS, SECONDS);
+  }
+
+  private static boolean isNewer(NearCacheEntry<?> change, NearCacheEntry<?> entry) {
+    return change != null && change.getVersion() > entry.getVersion();
+  }
+
+  /** Stores the value in redis with a new version, for ever if the TTL is 0. */
+  private NearCacheEntry<V> write(String key, V value, long ttlInSeconds) {
+    NearCacheEntry<V> entry = new NearCacheEntry<>(broker.nextVersion(), value);
+    if (ttlInSeconds > 0) {
+      redisTemplate.boundValueOps(generateKey(key)).set(entry, ttlInSeconds, SECONDS);
+    } else {
+      redisTemplate.boundValueOps(generateKey(key)).set(entry);
+    }
+    return entry;
+  }
+
+  private String generateKey(String key) {
+    return KEY_PREFIX.concat(cacheRegion).concat(":").concat(key);
+  }
+
+  private String generateChangedKey(String key) {
+    return generateChangedKey().concat(":").concat(key);
+  }
+
+  private String generateChangedKey() {
+    return CHANGED_KEY_PREFIX.concat(cacheRegion);
+  }
+}
@@ -0,0 +1,113 @@
+/*
+ * Copyright (c) 2004-2022, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ * Neither the name of the HISP project nor the names of its contributors may
+ * be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.cache;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import lombok.extern.slf4j.Slf4j;
+import org.hisp.dhis.common.CodeGenerator;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+/**
+ * Issues the versions of {@link NearCache} writes and tells the other nodes which keys changed so
+ * that they drop only their local copies of these keys.
+ *
+ * <p>Messages have the form {@code instance:version:region:key} where an empty key stands for all
+ * keys of the region.
+ */
+@Slf4j
+public class NearCacheBroker implements MessageListener {
+  public static final String CHANNEL_NAME = "dhis2_near_cache";
+
+  private static final String VERSION_KEY = "near:version";
+
+  private final String instanceId = CodeGenerator.generateUid();
+
+  private final StringRedisTemplate redisTemplate;
+
+  /** Several caches can share a region, each of them keeps its own local copies. */
+  private final Map<String, Set<NearCache<?>>> cachesByRegion = new ConcurrentHashMap<>();
+
+  public NearCacheBroker(StringRedisTemplate redisTemplate) {
+    this.redisTemplate = redisTemplate;
+  }
+
+  void register(String region, NearCache<?> cache) {
+    cachesByRegion.computeIfAbsent(region, key -> ConcurrentHashMap.newKeySet()).add(cache);
+  }
+
+  /**
+   * @return a version higher than any version issued before on any node
+   */
+  long nextVersion() {
+    Long version = redisTemplate.opsForValue().increment(VERSION_KEY);
+    return version == null ? 0L : version;
+  }
+
+  /**
+   * Tells the other nodes that a key changed.
+   *
+   * @param region the cache region
+   * @param key the changed key, or an empty string if all keys changed
+   * @param version the version of the change
+   */
+  void publish(String region, String key, long version) {
+    redisTemplate.convertAndSend(
+        CHANNEL_NAME, String.join(":", instanceId, String.valueOf(version), region, key));
+  }
+
+  @Override
+  public void onMessage(Message message, byte[] pattern) {
+    String body = new String(message.getBody(), UTF_8);
+    String[] parts = body.split(":", 4);
+    if (parts.length < 4 || instanceId.equals(parts[0])) {
+      return;
+    }
+    Set<NearCache<?>> caches = cachesByRegion.get(parts[2]);
+    if (caches == null) {
+      return;
+    }
+    try {
+      long version = Long.parseLong(parts[1]);
+      for (NearCache<?> cache : caches) {
+        if (parts[3].isEmpty()) {
+          cache.evictLocal(version);
+        } else {
+          cache.evictLocal(parts[3], version);
+        }
+      }
+    } catch (RuntimeException ex) {
+      log.error("Error handling near cache message: " + body, ex);
+    }
+  }
+}
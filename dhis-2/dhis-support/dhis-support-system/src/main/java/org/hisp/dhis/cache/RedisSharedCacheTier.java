@@ -0,0 +1,140 @@
+/*
+ * Copyright (c) 2004-2022, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ * Neither the name of the HISP project nor the names of its contributors may
+ * be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.cache;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.serializer.GenericToStringSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+/**
+ * {@link SharedCacheTier} keeping Hibernate second-level cache entries in redis with a TTL. Entries
+ * which cannot be serialized, and any redis failure, are logged and otherwise treated as a miss.
+ *
+ * <p>Entries are replaced conditionally by a script comparing the serialized current entry with
+ * the serialized expected entry, so the check and the write are atomic.
+ */
+@Slf4j
+public class RedisSharedCacheTier implements SharedCacheTier {
+  private static final String KEY_PREFIX = "hibernate:";
+
+  /** Sets the key to ARGV[2] with a TTL of ARGV[3] if its value is ARGV[1], or absent if empty. */
+  private static final RedisScript<Long> REPLACE_SCRIPT =
+      RedisScript.of(
+          "if (redis.call('get', KEYS[1]) or '') == ARGV[1] then "
+              + "redis.call('set', KEYS[1], ARGV[2], 'EX', ARGV[3]) return 1 end return 0",
+          Long.class);
+
+  private final RedisTemplate<String, Object> redisTemplate;
+
+  private final long ttlInSeconds;
+
+  public RedisSharedCacheTier(RedisTemplate<String, Object> redisTemplate, long ttlInSeconds) {
+    this.redisTemplate = redisTemplate;
+    this.ttlInSeconds = ttlInSeconds;
+  }
+
+  @Override
+  public Object get(String region, String key) {
+    try {
+      return redisTemplate.opsForValue().get(generateKey(region, key));
+    } catch (RuntimeException ex) {
+      log.debug("Failed to read shared cache entry " + key, ex);
+      return null;
+    }
+  }
+
+  @Override
+  public void put(String region, String key, Object value) {
+    try {
+      redisTemplate.opsForValue().set(generateKey(region, key), value, ttlInSeconds, SECONDS);
+    } catch (RuntimeException ex) {
+      log.debug("Failed to write shared cache entry " + key, ex);
+      evict(region, key);
+    }
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public boolean replace(String region, String key, Object expected, Object value) {
+    try {
+      RedisSerializer<Object> serializer =
+          (RedisSerializer<Object>) redisTemplate.getValueSerializer();
+      Long replaced =
+          redisTemplate.execute(
+              REPLACE_SCRIPT,
+              RedisSerializer.byteArray(),
+              new GenericToStringSerializer<>(Long.class),
+              List.of(generateKey(region, key)),
+              expected == null ? new byte[0] : serializer.serialize(expected),
+              serializer.serialize(value),
+              String.valueOf(ttlInSeconds).getBytes(UTF_8));
+      return replaced != null && replaced == 1L;
+    } catch (RuntimeException ex) {
+      log.debug("Failed to write shared cache entry " + key, ex);
+      evict(region, key);
+      return false;
+    }
+  }
+
+  @Override
+  public void evict(String region, String key) {
+    try {
+      redisTemplate.delete(generateKey(region, key));
+    } catch (RuntimeException ex) {
+      log.warn("Failed to evict shared cache entry " + key, ex);
+    }
+  }
+
+  @Override
+  public void evictAll(String region) {
+    ScanOptions options = ScanOptions.scanOptions().match(generateKey(region, "*")).build();
+    try (Cursor<String> keys = redisTemplate.scan(options)) {
+      Set<String> keysToDelete = new HashSet<>();
+      keys.forEachRemaining(keysToDelete::add);
+      if (!keysToDelete.isEmpty()) {
+        redisTemplate.delete(keysToDelete);
+      }
+    } catch (RuntimeException ex) {
+      log.warn("Failed to evict shared cache region " + region, ex);
+    }
+  }
+
+  private static String generateKey(String region, String key) {
+    return KEY_PREFIX.concat(region).concat(":").concat(key);
+  }
+}
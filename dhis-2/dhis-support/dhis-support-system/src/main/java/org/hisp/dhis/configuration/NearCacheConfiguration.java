@@ -0,0 +1,82 @@
+/*
+ * Copyright (c) 2004-2022, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ * Neither the name of the HISP project nor the names of its contributors may
+ * be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.configuration;
+
+import org.hisp.dhis.cache.NearCache;
+import org.hisp.dhis.cache.NearCacheBroker;
+import org.hisp.dhis.cache.RedisSharedCacheTier;
+import org.hisp.dhis.cache.SharedCacheTier;
+import org.hisp.dhis.condition.HibernateNearCacheEnabledCondition;
+import org.hisp.dhis.condition.NearCacheEnabledCondition;
+import org.hisp.dhis.external.conf.ConfigurationKey;
+import org.hisp.dhis.external.conf.DhisConfigurationProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Conditional;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+/**
+ * Configures the redis backed near caches: {@link NearCache} for application caches and the
+ * {@link SharedCacheTier} of the Hibernate second-level cache. Each is registered only if enabled
+ * in dhis.conf in addition to redis.
+ */
+@Configuration
+public class NearCacheConfiguration {
+  @Bean
+  @Conditional(NearCacheEnabledCondition.class)
+  public NearCacheBroker nearCacheBroker(
+      @Qualifier("stringRedisTemplate") StringRedisTemplate stringRedisTemplate) {
+    return new NearCacheBroker(stringRedisTemplate);
+  }
+
+  @Bean
+  @Conditional(NearCacheEnabledCondition.class)
+  public RedisMessageListenerContainer nearCacheListenerContainer(
+      RedisConnectionFactory connectionFactory, NearCacheBroker nearCacheBroker) {
+    RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+    container.setConnectionFactory(connectionFactory);
+    container.addMessageListener(nearCacheBroker, new ChannelTopic(NearCacheBroker.CHANNEL_NAME));
+    return container;
+  }
+
+  @Bean
+  @Conditional(HibernateNearCacheEnabledCondition.class)
+  @SuppressWarnings("unchecked")
+  public SharedCacheTier sharedCacheTier(
+      @Qualifier("redisTemplate") RedisTemplate<String, ?> redisTemplate,
+      DhisConfigurationProvider config) {
+    return new RedisSharedCacheTier(
+        (RedisTemplate<String, Object>) redisTemplate,
+        Long.parseLong(config.getProperty(ConfigurationKey.REDIS_NEAR_CACHE_HIBERNATE_TTL)));
+  }
+}
@@ -25,86 +25,60 @@
  * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
  * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
  */
-package org.hisp.dhis.artemis.audit;
+package org.hisp.dhis.system.grid;
 
-import static com.google.common.base.Preconditions.checkNotNull;
+import static org.hisp.dhis.common.adapter.OutputFormatter.maybeFormat;
 
-import java.util.concurrent.Delayed;
-import java.util.concurrent.TimeUnit;
+import com.csvreader.CsvWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.util.List;
+import org.apache.commons.lang3.StringUtils;
+import org.hisp.dhis.common.GridHeader;
 
-/**
- * @author Luciano Fiandesio
- */
-public class QueuedAudit implements Delayed {
-  private final long origin;
-
-  private final long delay;
-
-  private final Audit audit;
+/** {@link GridRowWriter} which renders CSV in the same format as {@link GridUtils#toCsv}. */
+public class CsvGridRowWriter implements GridRowWriter {
+  private static final char CSV_DELIMITER = ',';
 
-  public QueuedAudit(Audit audit, long delay) {
-    checkNotNull(audit);
+  private final CsvWriter csvWriter;
 
-    this.origin = System.currentTimeMillis();
-    this.audit = audit;
-    this.delay = delay;
-  }
-
-  public Audit getAuditItem() {
-    return audit;
+  public CsvGridRowWriter(Writer writer) {
+    this.csvWriter = new CsvWriter(writer, CSV_DELIMITER);
   }
 
   @Override
-  public long getDelay(TimeUnit unit) {
-    return unit.convert(delay - (System.currentTimeMillis() - origin), TimeUnit.MILLISECONDS);
-  }
-
-  @Override
-  public int compareTo(Delayed delayed) {
-    if (delayed == this) {
-      return 0;
+  public void writeHeaders(List<GridHeader> headers) {
+    if (headers.isEmpty()) {
+      return;
     }
 
-    if (delayed instanceof QueuedAudit) {
-      long diff = delay - ((QueuedAudit) delayed).delay;
-      return ((diff == 0) ? 0 : ((diff < 0) ? -1 : 1));
-    }
+    try {
+      for (GridHeader header : headers) {
+        csvWriter.write(header.getDisplayColumn());
+      }
 
-    long d = (getDelay(TimeUnit.MILLISECONDS) - delayed.getDelay(TimeUnit.MILLISECONDS));
-
-    return ((d == 0) ? 0 : ((d < 0) ? -1 : 1));
+      csvWriter.endRecord();
+    } catch (IOException ex) {
+      throw new UncheckedIOException(ex);
+    }
   }
 
   @Override
-  public int hashCode() {
-    final int prime = 31;
-
-    int result = 1;
-    result = prime * result + ((audit == null) ? 0 : audit.hashCode());
-
-    return result;
+  public void writeRow(List<Object> row) {
+    try {
+      for (Object value : row) {
+        csvWriter.write(value != null ? String.valueOf(maybeFormat(value)) : StringUtils.EMPTY);
+      }
+
+      csvWriter.endRecord();
+    } catch (IOException ex) {
+      throw new UncheckedIOException(ex);
+    }
   }
 
   @Override
-  public boolean equals(Object obj) {
-    if (this == obj) {
-      return true;
-    }
-
-    if (obj == null) {
-      return false;
-    }
-
-    if (!(obj instanceof QueuedAudit)) {
-      return false;
-    }
-
-    final QueuedAudit other = (QueuedAudit) obj;
-
-    if (audit == null) {
-      return other.audit == null;
-    } else {
-      return audit.equals(other.audit);
-    }
+  public void close() {
+    csvWriter.flush();
   }
 }
@@ -0,0 +1,225 @@
+/*
+ * Copyright (c) 2004-2022, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ * Neither the name of the HISP project nor the names of its contributors may
+ * be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.cache;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Arrays;
+import java.util.List;
+import org.hisp.dhis.external.conf.DhisConfigurationProvider;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.core.BoundValueOperations;
+import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+
+@ExtendWith(MockitoExtension.class)
+class NearCacheTest {
+  @Mock private RedisTemplate<String, NearCacheEntry<String>> redisTemplate;
+
+  @Mock private BoundValueOperations<String, NearCacheEntry<String>> ops;
+
+  @Mock private RedisOperations<String, NearCacheEntry<String>> session;
+
+  @Mock private ValueOperations<String, NearCacheEntry<String>> sessionOps;
+
+  @Mock private NearCacheBroker broker;
+
+  @Mock private DhisConfigurationProvider config;
+
+  @Mock private StringRedisTemplate stringRedisTemplate;
+
+  private NearCache<String> cache;
+
+  @BeforeEach
+  void setUp() {
+    ExtendedCacheBuilder<String> builder =
+        new ExtendedCacheBuilder<>(redisTemplate, broker, config);
+    builder.forRegion("test").withMaximumSize(100);
+    cache = new NearCache<>(builder, broker);
+    when(redisTemplate.boundValueOps("near:test:a")).thenReturn(ops);
+  }
+
+  @Test
+  void testGet_ReadsRedisOnlyOnce() {
+    when(ops.get()).thenReturn(new NearCacheEntry<>(5, "x"));
+
+    assertEquals("x", cache.get("a").orElse(null));
+    assertEquals("x", cache.get("a").orElse(null));
+
+    verify(ops, times(1)).get();
+  }
+
+  @Test
+  void testEvictLocal_KeepsNewerEntry() {
+    when(ops.get()).thenReturn(new NearCacheEntry<>(5, "x"));
+    cache.get("a");
+
+    cache.evictLocal("a", 4);
+    cache.get("a");
+    verify(ops, times(1)).get();
+
+    cache.evictLocal("a", 6);
+    cache.get("a");
+    verify(ops, times(2)).get();
+  }
+
+  @Test
+  void testGet_DoesNotKeepEntryOlderThanChange() {
+    when(ops.get()).thenReturn(new NearCacheEntry<>(5, "x"));
+    cache.evictLocal("a", 7);
+
+    assertEquals("x", cache.get("a").orElse(null));
+    assertEquals("x", cache.get("a").orElse(null));
+
+    verify(ops, times(2)).get();
+  }
+
+  @Test
+  void testPut_PublishesVersion() {
+    when(broker.nextVersion()).thenReturn(9L);
+
+    cache.put("a", "y");
+
+    verify(ops).set(new NearCacheEntry<>(9, "y"));
+    verify(broker).publish("test", "a", 9);
+    assertEquals("y", cache.get("a").orElse(null));
+    verify(ops, never()).get();
+  }
+
+  @Test
+  void testGet_StoresLoadedValue() {
+    when(broker.nextVersion()).thenReturn(5L);
+    mockSession(null, null, null);
+    when(session.exec()).thenReturn(List.of(true));
+
+    assertEquals("x", cache.get("a", key -> "x"));
+    assertEquals("x", cache.get("a").orElse(null));
+
+    verify(sessionOps).set("near:test:a", new NearCacheEntry<>(5, "x"));
+    verify(ops, times(1)).get();
+  }
+
+  @Test
+  void testGet_LoadDoesNotOverwriteConcurrentPut() {
+    when(broker.nextVersion()).thenReturn(5L, 6L);
+    mockSession(new NearCacheEntry<>(6, "y"), null, null);
+
+    // the put happens while the value is loaded
+    assertEquals(
+        "x",
+        cache.get(
+            "a",
+            key -> {
+              cache.put("a", "y");
+              return "x";
+            }));
+
+    verify(ops).set(new NearCacheEntry<>(6, "y"));
+    verify(sessionOps, never()).set(anyString(), any());
+    verify(session, never()).exec();
+    assertEquals("y", cache.get("a").orElse(null));
+  }
+
+  @Test
+  void testGet_LoadDoesNotOverwriteConcurrentInvalidate() {
+    when(broker.nextVersion()).thenReturn(5L);
+    mockSession(null, new NearCacheEntry<>(6, null), null);
+
+    assertEquals("x", cache.get("a", key -> "x"));
+
+    verify(sessionOps, never()).set(anyString(), any());
+    verify(session, never()).exec();
+  }
+
+  @Test
+  void testGet_DoesNotKeepLoadedValueOlderThanChange() {
+    when(broker.nextVersion()).thenReturn(5L);
+    mockSession(null, null, null);
+    when(session.exec()).thenReturn(List.of(true));
+
+    assertEquals(
+        "x",
+        cache.get(
+            "a",
+            key -> {
+              cache.evictLocal("a", 6);
+              return "x";
+            }));
+    cache.get("a");
+
+    verify(ops, times(2)).get();
+  }
+
+  @Test
+  void testOnMessage_EvictsAllCachesOfRegion() {
+    NearCacheBroker realBroker = new NearCacheBroker(stringRedisTemplate);
+    ExtendedCacheBuilder<String> builder =
+        new ExtendedCacheBuilder<>(redisTemplate, realBroker, config);
+    builder.forRegion("test").withMaximumSize(100);
+    NearCache<String> first = new NearCache<>(builder, realBroker);
+    NearCache<String> second = new NearCache<>(builder, realBroker);
+    when(ops.get()).thenReturn(new NearCacheEntry<>(5, "x"));
+    first.get("a");
+    second.get("a");
+    verify(ops, times(2)).get();
+
+    realBroker.onMessage(
+        new DefaultMessage(
+            NearCacheBroker.CHANNEL_NAME.getBytes(UTF_8), "other:6:test:a".getBytes(UTF_8)),
+        null);
+
+    first.get("a");
+    second.get("a");
+    verify(ops, times(4)).get();
+  }
+
+  @SafeVarargs
+  @SuppressWarnings("unchecked")
+  private void mockSession(NearCacheEntry<String>... current) {
+    when(redisTemplate.execute(any(SessionCallback.class)))
+        .thenAnswer(call -> call.<SessionCallback<?>>getArgument(0).execute(session));
+    when(session.opsForValue()).thenReturn(sessionOps);
+    when(sessionOps.multiGet(anyList())).thenReturn(Arrays.asList(current));
+  }
+}
@@ -38,6 +38,7 @@ import org.hisp.dhis.common.DimensionalObject;
 import org.hisp.dhis.common.Grid;
 import org.hisp.dhis.dxf2.datavalueset.DataValueSet;
 import org.hisp.dhis.period.Period;
+import org.hisp.dhis.system.grid.GridRowWriter;
 
 /** Configurable mock implementation of AnalyticsService for testing purposes. */
 public class MockAnalyticsService implements AnalyticsService {
@@ -80,6 +81,11 @@ public class MockAnalyticsService implements AnalyticsService {
     throw new NotImplementedException("");
   }
 
+  @Override
+  public void streamRawDataValues(DataQueryParams params, GridRowWriter writer) {
+    throw new NotImplementedException("");
+  }
+
   @Override
   public DataValueSet getAggregatedDataValueSet(DataQueryParams params) {
     throw new NotImplementedException("");
@@ -30,6 +30,7 @@ package org.hisp.dhis.analytics.event.data;
 import static org.hisp.dhis.common.DimensionalObject.PERIOD_DIM_ID;
 import static org.hisp.dhis.common.DimensionalObjectUtils.getList;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
@@ -372,6 +373,43 @@ class EventQueryPlannerTest extends SingleSetupIntegrationTestBase {
     testPlanAggregateDataQueryFirstOrLastValue(AnalyticsAggregationType.LAST);
   }
 
+  @Test
+  void testIsClusterTableEligibleWithStartEndDates() {
+    EventQueryParams params =
+        new EventQueryParams.Builder()
+            .withProgram(prA)
+            .withStartDate(new DateTime(2010, 1, 1, 0, 0).toDate())
+            .withEndDate(new DateTime(2010, 12, 31, 0, 0).toDate())
+            .withOrganisationUnits(Lists.newArrayList(ouA))
+            .withClusterSize(20000L)
+            .build();
+    assertTrue(DefaultEventQueryPlanner.isClusterTableEligible(params));
+  }
+
+  @Test
+  void testIsClusterTableEligibleWithYearlyPeriods() {
+    EventQueryParams params =
+        new EventQueryParams.Builder()
+            .withProgram(prA)
+            .withPeriods(createPeriods("2010", "2011"), "yearly")
+            .withOrganisationUnits(Lists.newArrayList(ouA))
+            .withClusterSize(20000L)
+            .build();
+    assertTrue(DefaultEventQueryPlanner.isClusterTableEligible(params));
+  }
+
+  @Test
+  void testIsClusterTableEligibleWithMonthlyPeriods() {
+    EventQueryParams params =
+        new EventQueryParams.Builder()
+            .withProgram(prA)
+            .withPeriods(createPeriods("201001", "201002"), "monthly")
+            .withOrganisationUnits(Lists.newArrayList(ouA))
+            .withClusterSize(20000L)
+            .build();
+    assertFalse(DefaultEventQueryPlanner.isClusterTableEligible(params));
+  }
+
   private void testPlanAggregateDataQueryFirstOrLastValue(
       AnalyticsAggregationType analyticsAggregationType) {
     DataQueryParams dataQueryParams =
@@ -68,6 +68,8 @@ class FileResourceEventListenerTest extends IntegrationTestBase {
 
   @Mock HibernateFileResourceStore fileResourceStore;
 
+  @Mock ImageProcessingService imageProcessingService;
+
   @BeforeEach
   public void init() {
     userService = _userService;
@@ -79,10 +81,10 @@ class FileResourceEventListenerTest extends IntegrationTestBase {
                 null,
                 fileResourceContentStore,
                 null,
-                null,
                 mock(EntityManager.class)),
             fileResourceContentStore,
-            new DefaultAuthenticationService(userService));
+            new DefaultAuthenticationService(userService),
+            imageProcessingService);
   }
 
   @Test
@@ -94,6 +96,7 @@ class FileResourceEventListenerTest extends IntegrationTestBase {
 
     Map<ImageFileDimension, File> map = Map.of(ImageFileDimension.LARGE, file);
 
+    when(imageProcessingService.createImages(fileResource, file)).thenReturn(map);
     when(fileResourceContentStore.saveFileResourceContent(fileResource, map)).thenReturn("uid");
     when(fileResourceStore.getByUid(fileResource.getUid())).thenReturn(fileResource);
     doCallRealMethod().when(fileResourceStore).update(any(FileResource.class));
@@ -102,7 +105,9 @@ class FileResourceEventListenerTest extends IntegrationTestBase {
         () ->
             fileResourceEventListener.saveImageFile(
                 new ImageFileSavedEvent(
-                    fileResource.getUid(), map, CurrentUserUtil.getCurrentUserDetails().getUid())));
+                    fileResource.getUid(),
+                    file,
+                    CurrentUserUtil.getCurrentUserDetails().getUid())));
 
     verify(fileResourceStore).update(any(FileResource.class), any(UserDetails.class));
   }
@@ -1170,4 +1170,46 @@ class AclServiceTest extends TransactionalIntegrationTest {
 
     assertFalse(aclService.canRead(userA, categoryOption));
   }
+
+  @Test
+  void testBatchGetAccessMatchesSingleObjectChecks() {
+    User admin = createAndAddAdminUser("ALL");
+    User userA = makeUser("A");
+    manager.save(userA);
+    UserGroup group = createUserGroup('A', Set.of(userA));
+    manager.save(group);
+    userA.getGroups().add(group);
+
+    CategoryOption ownedByA = createCategoryOption('A');
+    ownedByA.getSharing().setPublicAccess(AccessStringHelper.DEFAULT);
+    ownedByA.getSharing().setOwner(userA);
+    CategoryOption privateOption = createCategoryOption('B');
+    privateOption.getSharing().setPublicAccess(AccessStringHelper.DEFAULT);
+    privateOption.getSharing().setOwner(admin);
+    CategoryOption groupOption = createCategoryOption('C');
+    groupOption.getSharing().setPublicAccess(AccessStringHelper.DEFAULT);
+    groupOption.getSharing().setOwner(admin);
+    groupOption.getSharing().addUserGroupAccess(new UserGroupAccess(group, "rwrw----"));
+    manager.save(ownedByA, false);
+    manager.save(privateOption, false);
+    manager.save(groupOption, false);
+
+    UserDetails userDetails = UserDetails.fromUser(userA);
+    List<CategoryOption> options = List.of(ownedByA, privateOption, groupOption, privateOption);
+    List<Access> access = aclService.getAccess(options, userDetails);
+    for (int i = 0; i < options.size(); i++) {
+      Access expected = aclService.getAccess(options.get(i), userDetails);
+      assertEquals(expected.isRead(), access.get(i).isRead());
+      assertEquals(expected.isWrite(), access.get(i).isWrite());
+      assertEquals(expected.isUpdate(), access.get(i).isUpdate());
+      assertEquals(expected.isDelete(), access.get(i).isDelete());
+      assertEquals(expected.isManage(), access.get(i).isManage());
+      assertEquals(expected.isExternalize(), access.get(i).isExternalize());
+      assertEquals(expected.getData().isRead(), access.get(i).getData().isRead());
+      assertEquals(expected.getData().isWrite(), access.get(i).getData().isWrite());
+    }
+    assertFalse(access.get(1).isRead());
+    assertTrue(access.get(2).isRead());
+    assertTrue(access.get(2).getData().isRead());
+  }
 }
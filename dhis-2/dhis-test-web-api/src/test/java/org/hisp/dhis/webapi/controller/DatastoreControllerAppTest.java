@@ -84,6 +84,14 @@ class DatastoreControllerAppTest extends DhisControllerConvenienceTest {
         GET("/dataStore/test-app-ns").error(HttpStatus.FORBIDDEN).getMessage());
   }
 
+  @Test
+  void testGetIndexesInNamespace() {
+    switchToNewUser("has-no-app-authority");
+    assertEquals(
+        "Namespace 'test-app-ns' is protected, access denied",
+        GET("/dataStoreIndexes/test-app-ns").error(HttpStatus.FORBIDDEN).getMessage());
+  }
+
   @Test
   void testDeleteNamespace() {
     assertStatus(HttpStatus.CREATED, POST("/dataStore/test-app-ns/key1", "[]"));
@@ -498,6 +498,51 @@ class DatastoreControllerTest extends DhisControllerConvenienceTest {
             .getMessage());
   }
 
+  @Test
+  void testPutEntries() {
+    assertStatus(HttpStatus.CREATED, POST("/dataStore/pets/cat", "{}"));
+    assertStatus(HttpStatus.CREATED, POST("/dataStore/pets/emu", "{}"));
+    JsonObject statuses =
+        PUT("/dataStore/pets", "{'cat':{'name':'tom'},'dog':{'x':[1,2]},'emu':null,'cow':null}")
+            .content(HttpStatus.OK);
+    assertEquals("UPDATED", statuses.getString("cat").string());
+    assertEquals("CREATED", statuses.getString("dog").string());
+    assertEquals("DELETED", statuses.getString("emu").string());
+    assertEquals("NOT_FOUND", statuses.getString("cow").string());
+
+    JsonDatastoreValue cat = GET("/dataStore/pets/cat").content().as(JsonDatastoreValue.class);
+    assertEquals("tom", cat.getString("name").string());
+    assertEquals(asList(1, 2), GET("/dataStore/pets/dog").content().getArray("x").numberValues());
+    assertStatus(HttpStatus.NOT_FOUND, GET("/dataStore/pets/emu"));
+  }
+
+  @Test
+  void testPutEntries_ProtectedNamespaceWhenRestricted() {
+    setUpNamespaceProtection("pets", ProtectionType.RESTRICTED, "pets-admin");
+    switchToNewUser("anonymous");
+    assertEquals(
+        "Namespace 'pets' is protected, access denied",
+        PUT("/dataStore/pets", "{'cat':{}}").error(HttpStatus.FORBIDDEN).getMessage());
+  }
+
+  @Test
+  void testPutEntries_ProtectedNamespaceWithSharing() {
+    setUpNamespaceProtectionWithSharing("pets", ProtectionType.HIDDEN, "pets-admin");
+    assertStatus(HttpStatus.CREATED, POST("/dataStore/pets/cat", "{}"));
+    String uid = GET("/dataStore/pets/cat/metaData").content().as(JsonDatastoreValue.class).getId();
+    assertStatus(
+        HttpStatus.OK,
+        POST("/sharing?type=dataStore&id=" + uid, "{'object':{'publicAccess':'r-------'}}"));
+    // a user with required authority cannot update (ACL fails)
+    switchToNewUser("someone", "pets-admin");
+    JsonObject statuses = PUT("/dataStore/pets", "{'cat':{'name':'tom'}}").content(HttpStatus.OK);
+    assertEquals("DENIED", statuses.getString("cat").string());
+    // but the owner still can
+    switchToSuperuser();
+    statuses = PUT("/dataStore/pets", "{'cat':{'name':'tom'}}").content(HttpStatus.OK);
+    assertEquals("UPDATED", statuses.getString("cat").string());
+  }
+
   private void setUpNamespaceProtection(
       String namespace, ProtectionType readWrite, String... authorities) {
     service.addProtection(new DatastoreNamespaceProtection(namespace, readWrite, authorities));
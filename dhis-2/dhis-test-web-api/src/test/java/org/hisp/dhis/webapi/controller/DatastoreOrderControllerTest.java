@@ -30,6 +30,7 @@ package org.hisp.dhis.webapi.controller;
 import java.util.List;
 import javax.servlet.http.HttpServletResponse;
 import org.hisp.dhis.datastore.DatastoreParams;
+import org.hisp.dhis.web.HttpStatus;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
@@ -78,4 +79,29 @@ class DatastoreOrderControllerTest extends AbstractDatastoreControllerTest {
         "[{'key':'cow'},{'key':'cat'},{'key':'pig'},{'key':'dog'}]",
         GET("/dataStore/pets?fields=&headless=true&order=age:ndesc"));
   }
+
+  @Test
+  void testOrder_Keyset_Asc() {
+    assertJson(
+        "[{'key':'dog'},{'key':'pig'}]",
+        GET("/dataStore/pets?fields=&headless=true&pageSize=2&after=cow"));
+  }
+
+  @Test
+  void testOrder_Keyset_Desc() {
+    assertJson(
+        "[{'key':'cow'},{'key':'cat'}]",
+        GET("/dataStore/pets?fields=&headless=true&pageSize=2&order=_:desc&after=dog"));
+  }
+
+  @Test
+  void testOrder_Keyset_NonKeyOrder() {
+    assertWebMessage(
+        "Conflict",
+        409,
+        "ERROR",
+        "Illegal `after` key `cow`: keyset pagination requires the entries ordered by key",
+        GET("/dataStore/pets?fields=&headless=true&order=name&after=cow")
+            .content(HttpStatus.CONFLICT));
+  }
 }
@@ -45,6 +45,7 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockHttpServletRequest;
 import org.springframework.mock.web.MockHttpServletResponse;
 
 @ExtendWith(MockitoExtension.class)
@@ -71,7 +72,8 @@ class FileResourceControllerMockTest {
     when(fileResourceService.getFileResource("id")).thenReturn(fileResource);
 
     User currentUser = userService.getUserByUsername(CurrentUserUtil.getCurrentUsername());
-    controller.getFileResourceData("id", new MockHttpServletResponse(), null, currentUser);
+    controller.getFileResourceData(
+        "id", new MockHttpServletRequest(), new MockHttpServletResponse(), null, currentUser);
 
     verify(fileResourceService).copyFileResourceContent(any(), any());
   }
@@ -90,6 +92,11 @@ class FileResourceControllerMockTest {
     assertThrows(
         ForbiddenException.class,
         () ->
-            controller.getFileResourceData("id", new MockHttpServletResponse(), null, currentUser));
+            controller.getFileResourceData(
+                "id",
+                new MockHttpServletRequest(),
+                new MockHttpServletResponse(),
+                null,
+                currentUser));
   }
 }
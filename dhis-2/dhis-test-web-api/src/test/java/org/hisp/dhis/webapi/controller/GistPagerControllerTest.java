@@ -104,6 +104,85 @@ class GistPagerControllerTest extends AbstractGistControllerTest {
     assertEquals("extra5", dataSets.getObject(2).getString("name").string());
   }
 
+  @Test
+  void testPager_Total_WindowFunction() {
+    createDataSetsForOrganisationUnit(10, orgUnitId, "extra");
+    String url =
+        "/organisationUnits/{id}/dataSets/gist?fields=name&total=true&totalType=WINDOW&pageSize=3&order=name&filter=name:startsWith:extra";
+    JsonObject gist = GET(url, orgUnitId).content();
+    assertHasPager(gist, 1, 3, 10);
+    gist = GET(url + "&page=2", orgUnitId).content();
+    assertHasPager(gist, 2, 3, 10);
+    JsonArray dataSets = gist.getArray("dataSets");
+    assertEquals("extra3", dataSets.getObject(0).getString("name").string());
+    assertEquals("extra5", dataSets.getObject(2).getString("name").string());
+    // page beyond the last falls back to the count query
+    assertHasPager(GET(url + "&page=5", orgUnitId).content(), 5, 3, 10);
+  }
+
+  @Test
+  void testPager_Total_EstimateUnfiltered() {
+    createDataSetsForOrganisationUnit(10, orgUnitId, "extra");
+    // no table statistics on H2 so the estimate falls back to the exact count
+    JsonObject gist =
+        GET("/dataSets/gist?fields=name&total=true&totalType=ESTIMATE&pageSize=3&order=name")
+            .content();
+    assertHasPager(gist, 1, 3, 11);
+  }
+
+  @Test
+  void testPager_Total_EstimateFiltered() {
+    createDataSetsForOrganisationUnit(10, orgUnitId, "extra");
+    String url =
+        "/organisationUnits/{id}/dataSets/gist?fields=name&total=true&totalType=ESTIMATE&pageSize=3&order=name&filter=name:startsWith:extra";
+    assertHasPager(GET(url, orgUnitId).content(), 1, 3, 10);
+  }
+
+  @Test
+  void testPager_Keyset() {
+    createDataSetsForOrganisationUnit(10, orgUnitId, "extra");
+    String url =
+        "/organisationUnits/{id}/dataSets/gist?fields=id,name&pageSize=4&filter=name:startsWith:extra&after=";
+    JsonObject gist = GET(url, orgUnitId).content();
+    JsonArray dataSets = gist.getArray("dataSets");
+    assertEquals(4, dataSets.size());
+    String lastId = dataSets.getObject(3).getString("id").string();
+    String nextPage = gist.getObject("pager").getString("nextPage").string();
+    assertTrue(nextPage.endsWith("&after=" + lastId));
+
+    gist = GET(url + lastId, orgUnitId).content();
+    dataSets = gist.getArray("dataSets");
+    assertEquals(4, dataSets.size());
+    assertTrue(lastId.compareTo(dataSets.getObject(0).getString("id").string()) < 0);
+  }
+
+  @Test
+  void testPager_KeysetWithOrder() {
+    assertEquals(
+        "after cannot be combined with order as it orders by id",
+        GET("/users/{uid}/userGroups/gist?after=&order=name", getSuperuserUid())
+            .error(HttpStatus.BAD_REQUEST)
+            .getMessage());
+  }
+
+  @Test
+  void testPager_NoPagingStream() {
+    createDataSetsForOrganisationUnit(10, orgUnitId, "extra");
+    JsonObject gist =
+        GET(
+                "/organisationUnits/{id}/dataSets/gist?fields=name&pageSize=3&paging=false&filter=name:startsWith:extra",
+                orgUnitId)
+            .content();
+    assertTrue(gist.getObject("pager").isUndefined());
+    assertEquals(10, gist.getArray("dataSets").size());
+    JsonArray headless =
+        GET(
+                "/organisationUnits/{id}/dataSets/gist?fields=name&paging=false&headless=true&filter=name:startsWith:extra",
+                orgUnitId)
+            .content();
+    assertEquals(10, headless.size());
+  }
+
   @Test
   void testHeadless() {
     String baseUrl = "/users/{uid}/userGroups/gist";
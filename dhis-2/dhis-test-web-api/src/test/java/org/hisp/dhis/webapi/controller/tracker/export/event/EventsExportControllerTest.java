@@ -32,10 +32,12 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.params.provider.Arguments.arguments;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.when;
 
 import java.util.List;
 import java.util.Set;
+import java.util.function.Consumer;
 import java.util.stream.Stream;
 import org.hisp.dhis.common.CodeGenerator;
 import org.hisp.dhis.common.IdentifiableObjectManager;
@@ -167,6 +169,30 @@ class EventsExportControllerTest extends DhisControllerConvenienceTest {
     assertNotNull(res.content(expectedContentType));
   }
 
+  @Test
+  void shouldStreamEventsAsNdjson() throws ForbiddenException, BadRequestException {
+    doAnswer(
+            invocation -> {
+              Consumer<org.hisp.dhis.program.Event> consumer = invocation.getArgument(1);
+              consumer.accept(event("Hq3Kc6HK4OZ"));
+              consumer.accept(event("FQnYqKlIHxd"));
+              return null;
+            })
+        .when(eventService)
+        .streamEvents(any(), any());
+    injectSecurityContextUser(user);
+
+    String content = GET("/tracker/events.ndjson?fields=event").content("application/x-ndjson");
+
+    assertEquals("{\"event\":\"Hq3Kc6HK4OZ\"}\n{\"event\":\"FQnYqKlIHxd\"}\n", content);
+  }
+
+  private static org.hisp.dhis.program.Event event(String uid) {
+    org.hisp.dhis.program.Event event = new org.hisp.dhis.program.Event();
+    event.setUid(uid);
+    return event;
+  }
+
   private UserAccess userAccess() {
     UserAccess a = new UserAccess();
     a.setUser(user);
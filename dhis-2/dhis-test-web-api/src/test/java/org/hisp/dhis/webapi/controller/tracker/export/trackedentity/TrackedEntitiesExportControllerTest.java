@@ -414,6 +414,26 @@ class TrackedEntitiesExportControllerTest extends DhisControllerConvenienceTest
             assertTrue(response.content().toString().contains("trackedEntity,trackedEntityType")));
   }
 
+  @Test
+  void shouldStreamTrackedEntitiesAsNdjson() {
+    TrackedEntity te1 = trackedEntity();
+    TrackedEntity te2 = trackedEntity();
+    injectSecurityContextUser(user);
+
+    String content =
+        GET(
+                "/tracker/trackedEntities.ndjson?trackedEntityType={type}&orgUnits={ou}&fields=trackedEntity",
+                trackedEntityType.getUid(),
+                orgUnit.getUid())
+            .content("application/x-ndjson");
+
+    assertEquals(
+        Set.of(
+            "{\"trackedEntity\":\"" + te1.getUid() + "\"}",
+            "{\"trackedEntity\":\"" + te2.getUid() + "\"}"),
+        Set.of(content.split("\n")));
+  }
+
   @Test
   void getTrackedEntityCsvById() {
     TrackedEntity te = trackedEntity();
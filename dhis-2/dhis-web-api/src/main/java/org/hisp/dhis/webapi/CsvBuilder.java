@@ -102,25 +102,49 @@ public final class CsvBuilder {
   }
 
   public void toRows(List<String> fields, List<?> values) {
+    toHeaders(fields);
+    final int columns = fields.size();
+    for (Object value : values) {
+      toRow(columns, value);
+    }
+  }
+
+  /**
+   * Writes the header row unless headers are skipped.
+   *
+   * @param fields names of the columns
+   */
+  public void toHeaders(List<String> fields) {
+    if (preferences.contains(Preference.SKIP_HEADERS)) {
+      return;
+    }
     try {
-      if (!preferences.contains(Preference.SKIP_HEADERS)) {
-        for (String header : fields) {
-          out.write(header);
-        }
-        out.endRecord();
+      for (String header : fields) {
+        out.write(header);
       }
-      final int columns = fields.size();
-      for (Object value : values) {
-        if (value instanceof Object[]) {
-          Object[] row = (Object[]) value;
-          for (int c = 0; c < columns; c++) {
-            out.write(toCsvValue(row[c]));
-          }
-        } else {
-          out.write(toCsvValue(value));
+      out.endRecord();
+    } catch (IOException ex) {
+      throw new UncheckedIOException(ex);
+    }
+  }
+
+  /**
+   * Writes a single row.
+   *
+   * @param columns number of columns
+   * @param value either a single value (one column) or an {@link Object[]} of column values
+   */
+  public void toRow(int columns, Object value) {
+    try {
+      if (value instanceof Object[]) {
+        Object[] row = (Object[]) value;
+        for (int c = 0; c < columns; c++) {
+          out.write(toCsvValue(row[c]));
         }
-        out.endRecord();
+      } else {
+        out.write(toCsvValue(value));
       }
+      out.endRecord();
     } catch (IOException ex) {
       throw new UncheckedIOException(ex);
     }
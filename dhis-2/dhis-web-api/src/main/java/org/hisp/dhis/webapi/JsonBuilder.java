@@ -103,15 +103,22 @@ public final class JsonBuilder {
   public ArrayNode toArray(List<String> fields, List<?> values) {
     ArrayNode arr = jackson.createArrayNode();
     for (Object e : values) {
-      if (fields.size() == 1) {
-        arr.add(toElement(e));
-      } else {
-        arr.add(toElement(fields, e));
-      }
+      arr.add(toArrayElement(fields, e));
     }
     return arr;
   }
 
+  /**
+   * Same as {@link #toArray(List, List)} for a single element of the array.
+   *
+   * @param fields names of the fields of the element
+   * @param e the element value(s)
+   * @return the element as it would be added to the array
+   */
+  public JsonNode toArrayElement(List<String> fields, Object e) {
+    return fields.size() == 1 ? toElement(e) : toElement(fields, e);
+  }
+
   private JsonNode toElement(List<String> fields, Object e) {
     if (e instanceof Object[]) {
       return toObject(fields, (Object[]) e);
@@ -91,6 +91,7 @@ import org.hisp.dhis.user.UserDetails;
 import org.hisp.dhis.user.UserSettingKey;
 import org.hisp.dhis.user.UserSettingService;
 import org.hisp.dhis.webapi.mvc.annotation.ApiVersion;
+import org.hisp.dhis.webapi.mvc.annotation.ReplicaRead;
 import org.hisp.dhis.webapi.openapi.Api.PropertyNames;
 import org.hisp.dhis.webapi.service.ContextService;
 import org.hisp.dhis.webapi.service.LinkService;
@@ -181,6 +182,7 @@ public abstract class AbstractFullReadOnlyController<T extends IdentifiableObjec
   @OpenApi.Param(name = "filter", value = String[].class)
   @OpenApi.Params(WebOptions.class)
   @OpenApi.Response(ObjectListResponse.class)
+  @ReplicaRead
   @GetMapping
   public @ResponseBody ResponseEntity<StreamingJsonRoot<T>> getObjectList(
       @RequestParam Map<String, String> rpParameters,
@@ -255,6 +257,7 @@ public abstract class AbstractFullReadOnlyController<T extends IdentifiableObjec
   @OpenApi.Param(name = "fields", value = String[].class)
   @OpenApi.Param(name = "filter", value = String[].class)
   @OpenApi.Params(WebOptions.class)
+  @ReplicaRead
   @GetMapping(produces = {"text/csv", "application/text"})
   public ResponseEntity<String> getObjectListCsv(
       @RequestParam Map<String, String> rpParameters,
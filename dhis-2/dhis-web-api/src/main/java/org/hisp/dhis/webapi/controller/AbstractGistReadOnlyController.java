@@ -31,11 +31,13 @@ import static java.util.Arrays.asList;
 import static org.springframework.http.CacheControl.noCache;
 import static org.springframework.http.MediaType.APPLICATION_JSON_VALUE;
 
+import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ArrayNode;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
 import java.util.List;
@@ -66,6 +68,7 @@ import org.hisp.dhis.user.UserSettingKey;
 import org.hisp.dhis.webapi.CsvBuilder;
 import org.hisp.dhis.webapi.JsonBuilder;
 import org.hisp.dhis.webapi.mvc.annotation.ApiVersion;
+import org.hisp.dhis.webapi.mvc.annotation.ReplicaRead;
 import org.hisp.dhis.webapi.openapi.Api.PropertyNames;
 import org.hisp.dhis.webapi.utils.ContextUtils;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -94,6 +97,7 @@ public abstract class AbstractGistReadOnlyController<T extends PrimaryKeyObject>
   // --------------------------------------------------------------------------
 
   @OpenApi.Response(value = ObjectNode.class)
+  @ReplicaRead
   @GetMapping(value = "/{uid}/gist", produces = APPLICATION_JSON_VALUE)
   public @ResponseBody ResponseEntity<JsonNode> getObjectGist(
       @OpenApi.Param(UID.class) @PathVariable("uid") String uid, GistParams params)
@@ -105,6 +109,7 @@ public abstract class AbstractGistReadOnlyController<T extends PrimaryKeyObject>
   }
 
   @OpenApi.Response(String.class)
+  @ReplicaRead
   @GetMapping(
       value = {"/{uid}/gist", "/{uid}/gist.csv"},
       produces = "text/csv")
@@ -132,6 +137,7 @@ public abstract class AbstractGistReadOnlyController<T extends PrimaryKeyObject>
   }
 
   @OpenApi.Response({GistListResponse.class, ObjectNode[].class})
+  @ReplicaRead
   @GetMapping(value = "/gist", produces = APPLICATION_JSON_VALUE)
   public @ResponseBody ResponseEntity<JsonNode> getObjectListGist(
       GistParams params, HttpServletRequest request) throws BadRequestException {
@@ -139,7 +145,17 @@ public abstract class AbstractGistReadOnlyController<T extends PrimaryKeyObject>
         request, params, createGistQuery(params, getEntityClass(), GistAutoType.S), getSchema());
   }
 
+  @OpenApi.Response({ObjectNode.class, ObjectNode[].class})
+  @ReplicaRead
+  @GetMapping(value = "/gist", produces = APPLICATION_JSON_VALUE, params = "paging=false")
+  public @ResponseBody ResponseEntity<JsonNode> getObjectListGistStream(
+      GistParams params, HttpServletResponse response) throws BadRequestException, IOException {
+    return gistToJsonArrayStreamResponse(
+        response, params, createGistQuery(params, getEntityClass(), GistAutoType.S), getSchema());
+  }
+
   @OpenApi.Response(value = String.class)
+  @ReplicaRead
   @GetMapping(
       value = {"/gist", "/gist.csv"},
       produces = "text/csv")
@@ -153,6 +169,7 @@ public abstract class AbstractGistReadOnlyController<T extends PrimaryKeyObject>
   }
 
   @OpenApi.Response({ObjectNode.class, ArrayNode.class})
+  @ReplicaRead
   @GetMapping(value = "/{uid}/{property}/gist", produces = APPLICATION_JSON_VALUE)
   public @ResponseBody ResponseEntity<JsonNode> getObjectPropertyGist(
       @OpenApi.Param(UID.class) @PathVariable("uid") String uid,
@@ -181,7 +198,35 @@ public abstract class AbstractGistReadOnlyController<T extends PrimaryKeyObject>
         schemaService.getDynamicSchema(objProperty.getItemKlass()));
   }
 
+  @OpenApi.Response({ObjectNode.class, ObjectNode[].class})
+  @ReplicaRead
+  @GetMapping(
+      value = "/{uid}/{property}/gist",
+      produces = APPLICATION_JSON_VALUE,
+      params = "paging=false")
+  public @ResponseBody ResponseEntity<JsonNode> getObjectPropertyGistStream(
+      @OpenApi.Param(UID.class) @PathVariable("uid") String uid,
+      @OpenApi.Param(PropertyNames.class) @PathVariable("property") String property,
+      GistParams params,
+      HttpServletRequest request,
+      HttpServletResponse response)
+      throws BadRequestException, NotFoundException, IOException {
+    Property objProperty = getSchema().getProperty(property);
+    if (objProperty == null
+        || !objProperty.isCollection()
+        || !PrimaryKeyObject.class.isAssignableFrom(objProperty.getItemKlass())) {
+      // not a list, nothing to stream
+      return getObjectPropertyGist(uid, property, params, request);
+    }
+    return gistToJsonArrayStreamResponse(
+        response,
+        params,
+        createPropertyQuery(uid, property, params, objProperty),
+        schemaService.getDynamicSchema(objProperty.getItemKlass()));
+  }
+
   @OpenApi.Response(String.class)
+  @ReplicaRead
   @GetMapping(
       value = {"/{uid}/{property}/gist", "/{uid}/{property}/gist.csv"},
       produces = "text/csv")
@@ -268,6 +313,47 @@ public abstract class AbstractGistReadOnlyController<T extends PrimaryKeyObject>
     return ResponseEntity.ok().cacheControl(noCache().cachePrivate()).body(body);
   }
 
+  /**
+   * Writes all matches of the query to the response as they are read from the database.
+   *
+   * @return null, as the response has been written already, except for describe requests
+   */
+  private ResponseEntity<JsonNode> gistToJsonArrayStreamResponse(
+      HttpServletResponse response, GistParams params, GistQuery query, Schema schema)
+      throws IOException {
+    if (query.isDescribe()) {
+      return gistDescribeToJsonObjectResponse(query);
+    }
+    GistQuery planned = gistService.plan(query);
+    List<String> fields = planned.getFieldNames();
+    JsonBuilder elementBuilder = new JsonBuilder(jsonMapper).skipNullOrEmpty();
+    response.setContentType(APPLICATION_JSON_VALUE);
+    response.setHeader(HttpHeaders.CACHE_CONTROL, noCache().cachePrivate().getHeaderValue());
+    try (JsonGenerator out = jsonMapper.getFactory().createGenerator(response.getOutputStream())) {
+      if (!planned.isHeadless()) {
+        out.writeStartObject();
+        out.writeFieldName(
+            params.getPageListName() == null ? schema.getPlural() : params.getPageListName());
+      }
+      out.writeStartArray();
+      gistService.gist(
+          planned, row -> writeTree(out, elementBuilder.toArrayElement(fields, row)));
+      out.writeEndArray();
+      if (!planned.isHeadless()) {
+        out.writeEndObject();
+      }
+    }
+    return null;
+  }
+
+  private void writeTree(JsonGenerator out, JsonNode node) {
+    try {
+      jsonMapper.writeTree(out, node);
+    } catch (IOException ex) {
+      throw new UncheckedIOException(ex);
+    }
+  }
+
   private ResponseEntity<JsonNode> gistDescribeToJsonObjectResponse(GistQuery query) {
     return ResponseEntity.ok()
         .cacheControl(noCache().cachePrivate())
@@ -277,10 +363,17 @@ public abstract class AbstractGistReadOnlyController<T extends PrimaryKeyObject>
   private void gistToCsvResponse(HttpServletResponse response, GistQuery query) throws IOException {
     query = gistService.plan(query).toBuilder().references(false).build();
     response.addHeader(HttpHeaders.CONTENT_TYPE, "text/csv");
-    new CsvBuilder(response.getWriter())
-        .withLocale(query.getTranslationLocale())
-        .skipHeaders(query.isHeadless())
-        .toRows(query.getFieldNames(), gistService.gist(query));
+    CsvBuilder csv =
+        new CsvBuilder(response.getWriter())
+            .withLocale(query.getTranslationLocale())
+            .skipHeaders(query.isHeadless());
+    List<String> fields = query.getFieldNames();
+    if (query.isPaging()) {
+      csv.toRows(fields, gistService.gist(query));
+    } else {
+      csv.toHeaders(fields);
+      gistService.gist(query, row -> csv.toRow(fields.size(), row));
+    }
   }
 
   // --------------------------------------------------------------------------
@@ -29,10 +29,12 @@ package org.hisp.dhis.webapi.controller;
 
 import static org.apache.commons.lang3.StringUtils.isNotBlank;
 import static org.hisp.dhis.common.DimensionalObjectUtils.getItemsFromParam;
+import static org.hisp.dhis.commons.jackson.config.JacksonObjectMapperConfig.staticJsonMapper;
 import static org.springframework.http.MediaType.APPLICATION_JSON_VALUE;
 import static org.springframework.http.MediaType.TEXT_HTML_VALUE;
 import static org.springframework.http.MediaType.TEXT_PLAIN_VALUE;
 
+import java.io.IOException;
 import javax.annotation.Nonnull;
 import javax.servlet.http.HttpServletResponse;
 import lombok.AllArgsConstructor;
@@ -49,7 +51,9 @@ import org.hisp.dhis.common.OpenApi;
 import org.hisp.dhis.common.cache.CacheStrategy;
 import org.hisp.dhis.dxf2.datavalueset.DataValueSet;
 import org.hisp.dhis.external.conf.DhisConfigurationProvider;
+import org.hisp.dhis.system.grid.CsvGridRowWriter;
 import org.hisp.dhis.system.grid.GridUtils;
+import org.hisp.dhis.system.grid.JsonGridRowWriter;
 import org.hisp.dhis.webapi.mvc.annotation.ApiVersion;
 import org.hisp.dhis.webapi.utils.ContextUtils;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -235,6 +239,32 @@ public class AnalyticsController {
     return analyticsService.getRawDataValues(params);
   }
 
+  /**
+   * Streams raw data as JSON with headers and rows only, without building the full grid in memory.
+   */
+  @GetMapping(value = RESOURCE_PATH + RAW_DATA_PATH + ".json", params = "stream=true")
+  public void getRawDataJsonStream(
+      AggregateAnalyticsQueryCriteria criteria,
+      DhisApiVersion apiVersion,
+      HttpServletResponse response)
+      throws IOException {
+    DataQueryRequest request =
+        DataQueryRequest.newBuilder().fromCriteria(criteria).apiVersion(apiVersion).build();
+
+    DataQueryParams params = dataQueryService.getFromRequest(request);
+
+    contextUtils.configureAnalyticsResponse(
+        response,
+        ContextUtils.CONTENT_TYPE_JSON,
+        CacheStrategy.RESPECT_SYSTEM_SETTING,
+        null,
+        false,
+        params.getLatestEndDate());
+
+    analyticsService.streamRawDataValues(
+        params, new JsonGridRowWriter(staticJsonMapper(), response.getWriter()));
+  }
+
   @GetMapping(value = RESOURCE_PATH + RAW_DATA_PATH + ".csv")
   public void getRawDataCsv(
       AggregateAnalyticsQueryCriteria criteria,
@@ -254,9 +284,7 @@ public class AnalyticsController {
         false,
         params.getLatestEndDate());
 
-    Grid grid = analyticsService.getRawDataValues(params);
-
-    GridUtils.toCsv(grid, response.getWriter());
+    analyticsService.streamRawDataValues(params, new CsvGridRowWriter(response.getWriter()));
   }
 
   // -------------------------------------------------------------------------
@@ -33,10 +33,13 @@ import static org.hisp.dhis.dxf2.webmessage.WebMessageUtils.ok;
 import static org.hisp.dhis.webapi.utils.ContextUtils.setNoStore;
 import static org.springframework.http.MediaType.APPLICATION_JSON_VALUE;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import java.io.IOException;
 import java.lang.reflect.InvocationTargetException;
 import java.util.Date;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import javax.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import org.apache.commons.beanutils.BeanUtils;
@@ -47,6 +50,7 @@ import org.hisp.dhis.datastore.DatastoreEntry;
 import org.hisp.dhis.datastore.DatastoreParams;
 import org.hisp.dhis.datastore.DatastoreQuery;
 import org.hisp.dhis.datastore.DatastoreService;
+import org.hisp.dhis.datastore.DatastoreWriteStatus;
 import org.hisp.dhis.dxf2.webmessage.WebMessage;
 import org.hisp.dhis.feedback.BadRequestException;
 import org.hisp.dhis.feedback.ConflictException;
@@ -244,6 +248,29 @@ public class DatastoreController extends AbstractDatastoreController {
     return ok(String.format("Key updated: '%s'", key));
   }
 
+  /**
+   * Creates, updates or deletes many keys of the given namespace in a single transaction.
+   *
+   * <p>The body is an object with a member for each key. A {@code null} value deletes the key, any
+   * other value is set as the value of the key. The response has the outcome for each key.
+   */
+  @ResponseBody
+  @PutMapping(
+      value = "/{namespace}",
+      produces = APPLICATION_JSON_VALUE,
+      consumes = APPLICATION_JSON_VALUE)
+  public Map<String, DatastoreWriteStatus> putEntries(
+      @PathVariable String namespace,
+      @RequestBody Map<String, JsonNode> entries,
+      @RequestParam(defaultValue = "false") boolean encrypt) {
+    Map<String, String> valuesByKey = new LinkedHashMap<>();
+    for (Map.Entry<String, JsonNode> entry : entries.entrySet()) {
+      JsonNode value = entry.getValue();
+      valuesByKey.put(entry.getKey(), value == null || value.isNull() ? null : value.toString());
+    }
+    return service.writeEntries(namespace, valuesByKey, encrypt);
+  }
+
   /** Delete a key from the given namespace. */
   @ResponseBody
   @DeleteMapping(value = "/{namespace}/{key}", produces = APPLICATION_JSON_VALUE)
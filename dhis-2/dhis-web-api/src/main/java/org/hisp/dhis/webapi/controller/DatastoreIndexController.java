@@ -0,0 +1,93 @@
+/*
+ * Copyright (c) 2004-2022, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ * Neither the name of the HISP project nor the names of its contributors may
+ * be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.webapi.controller;
+
+import static org.hisp.dhis.dxf2.webmessage.WebMessageUtils.ok;
+import static org.springframework.http.MediaType.APPLICATION_JSON_VALUE;
+
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import org.hisp.dhis.common.DhisApiVersion;
+import org.hisp.dhis.common.OpenApi;
+import org.hisp.dhis.datastore.DatastoreIndex;
+import org.hisp.dhis.datastore.DatastoreService;
+import org.hisp.dhis.dxf2.webmessage.WebMessage;
+import org.hisp.dhis.feedback.ConflictException;
+import org.hisp.dhis.webapi.mvc.annotation.ApiVersion;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Manages the database indexes declared for datastore namespaces.
+ *
+ * <p>This is separate from {@link DatastoreController} as its paths would otherwise clash with the
+ * {@code /dataStore/{namespace}/{key}} paths.
+ */
+@OpenApi.Tags("data")
+@RestController
+@RequestMapping("/dataStoreIndexes")
+@ApiVersion({DhisApiVersion.DEFAULT, DhisApiVersion.ALL})
+@RequiredArgsConstructor
+public class DatastoreIndexController {
+
+  private final DatastoreService service;
+
+  @GetMapping(value = "/{namespace}", produces = APPLICATION_JSON_VALUE)
+  public List<DatastoreIndex> getIndexes(@PathVariable String namespace) {
+    return service.getIndexes(namespace);
+  }
+
+  @PostMapping(value = "/{namespace}", produces = APPLICATION_JSON_VALUE)
+  @PreAuthorize("hasRole('ALL')")
+  public WebMessage addIndex(
+      @PathVariable String namespace,
+      @RequestParam String path,
+      @RequestParam(required = false, defaultValue = "BTREE") DatastoreIndex.Type type)
+      throws ConflictException {
+    DatastoreIndex index = new DatastoreIndex(namespace, path, type);
+    service.addIndex(index);
+    return ok(String.format("Index '%s' created for path '%s'", index.getName(), path));
+  }
+
+  @DeleteMapping(value = "/{namespace}", produces = APPLICATION_JSON_VALUE)
+  @PreAuthorize("hasRole('ALL')")
+  public WebMessage removeIndex(
+      @PathVariable String namespace,
+      @RequestParam String path,
+      @RequestParam(required = false, defaultValue = "BTREE") DatastoreIndex.Type type) {
+    DatastoreIndex index = new DatastoreIndex(namespace, path, type);
+    service.removeIndex(index);
+    return ok(String.format("Index '%s' dropped for path '%s'", index.getName(), path));
+  }
+}
@@ -32,6 +32,7 @@ import static org.hisp.dhis.dxf2.webmessage.WebMessageUtils.notFound;
 
 import java.io.IOException;
 import java.io.InputStream;
+import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.io.IOUtils;
@@ -47,6 +48,7 @@ import org.hisp.dhis.fileresource.FileResource;
 import org.hisp.dhis.fileresource.FileResourceService;
 import org.hisp.dhis.schema.descriptors.DocumentSchemaDescriptor;
 import org.hisp.dhis.webapi.utils.ContextUtils;
+import org.hisp.dhis.webapi.utils.FileResourceUtils;
 import org.hisp.dhis.webapi.utils.HeaderUtils;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpHeaders;
@@ -76,7 +78,8 @@ public class DocumentController extends AbstractCrudController<Document> {
   @Autowired private DhisConfigurationProvider dhisConfig;
 
   @GetMapping("/{uid}/data")
-  public void getDocumentContent(@PathVariable("uid") String uid, HttpServletResponse response)
+  public void getDocumentContent(
+      @PathVariable("uid") String uid, HttpServletRequest request, HttpServletResponse response)
       throws Exception {
     Document document = documentService.getDocument(uid);
 
@@ -90,13 +93,13 @@ public class DocumentController extends AbstractCrudController<Document> {
       FileResource fileResource = document.getFileResource();
 
       response.setContentType(fileResource.getContentType());
-      response.setContentLengthLong(fileResource.getContentLength());
       response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "filename=" + fileResource.getName());
       HeaderUtils.setSecurityHeaders(
           response, dhisConfig.getProperty(ConfigurationKey.CSP_HEADER_VALUE));
 
       try {
-        fileResourceService.copyFileResourceContent(fileResource, response.getOutputStream());
+        FileResourceUtils.writeFileResourceContent(
+            fileResourceService, request, response, fileResource, fileResource.getContentLength());
       } catch (IOException e) {
         throw new WebMessageException(
             error(
@@ -123,6 +123,7 @@ public class FileResourceController extends AbstractFullReadOnlyController<FileR
   @GetMapping(value = "/{uid}/data")
   public void getFileResourceData(
       @PathVariable String uid,
+      HttpServletRequest request,
       HttpServletResponse response,
       @RequestParam(required = false) ImageFileDimension dimension,
       @CurrentUser User currentUser)
@@ -144,17 +145,18 @@ public class FileResourceController extends AbstractFullReadOnlyController<FileR
     }
 
     response.setContentType(fileResource.getContentType());
-
-    response.setHeader(
-        HttpHeaders.CONTENT_LENGTH,
-        String.valueOf(fileResourceService.getFileResourceContentLength(fileResource)));
     response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "filename=" + fileResource.getName());
 
     HeaderUtils.setSecurityHeaders(
         response, dhisConfig.getProperty(ConfigurationKey.CSP_HEADER_VALUE));
 
     try {
-      fileResourceService.copyFileResourceContent(fileResource, response.getOutputStream());
+      FileResourceUtils.writeFileResourceContent(
+          fileResourceService,
+          request,
+          response,
+          fileResource,
+          fileResourceService.getFileResourceContentLength(fileResource));
     } catch (IOException e) {
       log.error("Could not retrieve file.", e);
       throw new WebMessageException(
@@ -925,6 +925,7 @@ public class MessageConversationController
       @PathVariable(value = "msgUid") String msgUid,
       @PathVariable(value = "fileUid") String fileUid,
       @CurrentUser UserDetails currentUser,
+      HttpServletRequest request,
       HttpServletResponse response)
       throws WebMessageException {
 
@@ -954,7 +955,7 @@ public class MessageConversationController
       throw new WebMessageException(conflict("Invalid messageattachment."));
     }
 
-    fileResourceUtils.configureFileResourceResponse(response, fr, dhisConfig);
+    fileResourceUtils.configureFileResourceResponse(request, response, fr, dhisConfig);
   }
 
   // --------------------------------------------------------------------------
@@ -63,6 +63,7 @@ import org.hisp.dhis.webapi.mvc.annotation.ApiVersion;
 import org.hisp.dhis.webapi.service.ContextService;
 import org.hisp.dhis.webapi.service.LinkService;
 import org.hisp.dhis.webapi.utils.ContextUtils;
+import org.hisp.dhis.webapi.utils.FileResourceUtils;
 import org.hisp.dhis.webapi.utils.HeaderUtils;
 import org.springframework.http.CacheControl;
 import org.springframework.http.HttpHeaders;
@@ -123,10 +124,11 @@ public class IconController {
   }
 
   @GetMapping(value = "/{key}/icon")
-  public void getIconData(@PathVariable String key, HttpServletResponse response)
+  public void getIconData(
+      @PathVariable String key, HttpServletRequest request, HttpServletResponse response)
       throws NotFoundException, ConflictException {
     Icon icon = iconService.getIcon(key);
-    downloadIconImage(icon, response);
+    downloadIconImage(icon, request, response);
   }
 
   @GetMapping(value = "/{key}")
@@ -171,7 +173,8 @@ public class IconController {
     return ok(format("Icon with key %s deleted", key));
   }
 
-  private void downloadIconImage(Icon icon, HttpServletResponse response)
+  private void downloadIconImage(
+      Icon icon, HttpServletRequest request, HttpServletResponse response)
       throws NotFoundException, ConflictException {
     FileResource image = fileResourceService.getFileResource(icon.getFileResource().getUid());
     if (image == null) {
@@ -179,14 +182,14 @@ public class IconController {
     }
 
     response.setContentType(image.getContentType());
-    response.setHeader(HttpHeaders.CONTENT_LENGTH, String.valueOf(image.getContentLength()));
     response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "filename=" + image.getName());
     response.setHeader("Cache-Control", CacheControl.maxAge(TTL, TimeUnit.DAYS).getHeaderValue());
     HeaderUtils.setSecurityHeaders(
         response, dhisConfig.getProperty(ConfigurationKey.CSP_HEADER_VALUE));
 
     try {
-      fileResourceService.copyFileResourceContent(image, response.getOutputStream());
+      FileResourceUtils.writeFileResourceContent(
+          fileResourceService, request, response, image, image.getContentLength());
     } catch (IOException e) {
       log.error("Could not retrieve file.", e);
       throw new ConflictException("Failed fetching the file from storage")
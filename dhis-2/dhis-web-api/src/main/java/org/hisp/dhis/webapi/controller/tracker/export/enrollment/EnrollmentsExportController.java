@@ -52,6 +52,7 @@ import org.hisp.dhis.tracker.export.enrollment.EnrollmentService;
 import org.hisp.dhis.webapi.controller.tracker.view.Enrollment;
 import org.hisp.dhis.webapi.controller.tracker.view.Page;
 import org.hisp.dhis.webapi.mvc.annotation.ApiVersion;
+import org.hisp.dhis.webapi.mvc.annotation.ReplicaRead;
 import org.mapstruct.factory.Mappers;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
@@ -63,6 +64,7 @@ import org.springframework.web.bind.annotation.RestController;
 
 @OpenApi.EntityType(Enrollment.class)
 @OpenApi.Tags("tracker")
+@ReplicaRead
 @RestController
 @RequestMapping(value = RESOURCE_PATH + "/" + EnrollmentsExportController.ENROLLMENTS)
 @ApiVersion({DhisApiVersion.DEFAULT, DhisApiVersion.ALL})
@@ -42,10 +42,12 @@ import static org.hisp.dhis.webapi.utils.ContextUtils.CONTENT_TYPE_JSON_GZIP;
 import static org.hisp.dhis.webapi.utils.ContextUtils.CONTENT_TYPE_JSON_ZIP;
 import static org.hisp.dhis.webapi.utils.ContextUtils.CONTENT_TYPE_TEXT_CSV;
 import static org.springframework.http.MediaType.APPLICATION_JSON_VALUE;
+import static org.springframework.http.MediaType.APPLICATION_NDJSON_VALUE;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.List;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
@@ -71,10 +73,12 @@ import org.hisp.dhis.webapi.controller.tracker.export.ChangeLogRequestParams;
 import org.hisp.dhis.webapi.controller.tracker.export.CsvService;
 import org.hisp.dhis.webapi.controller.tracker.export.FieldFilterRequestHandler;
 import org.hisp.dhis.webapi.controller.tracker.export.FileResourceRequestHandler;
+import org.hisp.dhis.webapi.controller.tracker.export.NdjsonWriter;
 import org.hisp.dhis.webapi.controller.tracker.export.ResponseHeader;
 import org.hisp.dhis.webapi.controller.tracker.view.Event;
 import org.hisp.dhis.webapi.controller.tracker.view.Page;
 import org.hisp.dhis.webapi.mvc.annotation.ApiVersion;
+import org.hisp.dhis.webapi.mvc.annotation.ReplicaRead;
 import org.mapstruct.factory.Mappers;
 import org.springframework.core.io.InputStreamResource;
 import org.springframework.http.MediaType;
@@ -87,6 +91,7 @@ import org.springframework.web.bind.annotation.RestController;
 
 @OpenApi.EntityType(Event.class)
 @OpenApi.Tags("tracker")
+@ReplicaRead
 @RestController
 @RequestMapping(value = RESOURCE_PATH + "/" + EventsExportController.EVENTS)
 @ApiVersion({DhisApiVersion.DEFAULT, DhisApiVersion.ALL})
@@ -183,6 +188,26 @@ class EventsExportController {
         .body(Page.withoutPager(EVENTS, objectNodes));
   }
 
+  @GetMapping(produces = APPLICATION_NDJSON_VALUE)
+  void getEventsAsNdjson(EventRequestParams requestParams, HttpServletResponse response)
+      throws BadRequestException, ForbiddenException, IOException {
+    validatePaginationParameters(requestParams);
+    EventOperationParams eventOperationParams = eventParamsMapper.map(requestParams);
+
+    response.setContentType(APPLICATION_NDJSON_VALUE);
+
+    NdjsonWriter writer = new NdjsonWriter(response.getOutputStream(), objectMapper.writer());
+    List<FieldPath> fields = requestParams.getFields();
+    try {
+      eventService.streamEvents(
+          eventOperationParams,
+          event ->
+              writer.write(fieldFilterService.toObjectNode(EVENTS_MAPPER.from(event), fields)));
+    } catch (UncheckedIOException ex) {
+      throw ex.getCause();
+    }
+  }
+
   @GetMapping(produces = CONTENT_TYPE_JSON_GZIP)
   void getEventsAsJsonGzip(EventRequestParams eventRequestParams, HttpServletResponse response)
       throws BadRequestException, IOException, ForbiddenException {
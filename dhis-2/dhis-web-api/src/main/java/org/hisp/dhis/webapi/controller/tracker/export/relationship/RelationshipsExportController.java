@@ -50,6 +50,7 @@ import org.hisp.dhis.tracker.export.relationship.RelationshipService;
 import org.hisp.dhis.webapi.controller.tracker.view.Page;
 import org.hisp.dhis.webapi.controller.tracker.view.Relationship;
 import org.hisp.dhis.webapi.mvc.annotation.ApiVersion;
+import org.hisp.dhis.webapi.mvc.annotation.ReplicaRead;
 import org.mapstruct.factory.Mappers;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
@@ -61,6 +62,7 @@ import org.springframework.web.bind.annotation.RestController;
 
 @OpenApi.EntityType(Relationship.class)
 @OpenApi.Tags("tracker")
+@ReplicaRead
 @RestController
 @RequestMapping(
     produces = APPLICATION_JSON_VALUE,
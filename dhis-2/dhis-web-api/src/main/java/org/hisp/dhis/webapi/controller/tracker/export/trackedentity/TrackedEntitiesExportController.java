@@ -38,10 +38,13 @@ import static org.hisp.dhis.webapi.utils.ContextUtils.CONTENT_TYPE_CSV_GZIP;
 import static org.hisp.dhis.webapi.utils.ContextUtils.CONTENT_TYPE_CSV_ZIP;
 import static org.hisp.dhis.webapi.utils.ContextUtils.CONTENT_TYPE_TEXT_CSV;
 import static org.springframework.http.MediaType.APPLICATION_JSON_VALUE;
+import static org.springframework.http.MediaType.APPLICATION_NDJSON_VALUE;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 import java.io.IOException;
 import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.util.List;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
@@ -70,11 +73,13 @@ import org.hisp.dhis.webapi.controller.tracker.export.ChangeLogRequestParams;
 import org.hisp.dhis.webapi.controller.tracker.export.CsvService;
 import org.hisp.dhis.webapi.controller.tracker.export.FieldFilterRequestHandler;
 import org.hisp.dhis.webapi.controller.tracker.export.FileResourceRequestHandler;
+import org.hisp.dhis.webapi.controller.tracker.export.NdjsonWriter;
 import org.hisp.dhis.webapi.controller.tracker.export.ResponseHeader;
 import org.hisp.dhis.webapi.controller.tracker.view.Attribute;
 import org.hisp.dhis.webapi.controller.tracker.view.Page;
 import org.hisp.dhis.webapi.controller.tracker.view.TrackedEntity;
 import org.hisp.dhis.webapi.mvc.annotation.ApiVersion;
+import org.hisp.dhis.webapi.mvc.annotation.ReplicaRead;
 import org.mapstruct.factory.Mappers;
 import org.springframework.core.io.InputStreamResource;
 import org.springframework.http.HttpHeaders;
@@ -88,6 +93,7 @@ import org.springframework.web.bind.annotation.RestController;
 
 @OpenApi.EntityType(TrackedEntity.class)
 @OpenApi.Tags("tracker")
+@ReplicaRead
 @RestController
 @RequestMapping(value = RESOURCE_PATH + "/" + TrackedEntitiesExportController.TRACKED_ENTITIES)
 @ApiVersion({DhisApiVersion.DEFAULT, DhisApiVersion.ALL})
@@ -129,6 +135,8 @@ class TrackedEntitiesExportController {
   private final FieldFilterRequestHandler fieldFilterRequestHandler;
   private final FileResourceRequestHandler fileResourceRequestHandler;
 
+  private final ObjectMapper objectMapper;
+
   public TrackedEntitiesExportController(
       TrackedEntityService trackedEntityService,
       TrackedEntityRequestParamsMapper paramsMapper,
@@ -137,7 +145,8 @@ class TrackedEntitiesExportController {
       TrackedEntityFieldsParamMapper fieldsMapper,
       TrackedEntityChangeLogService trackedEntityChangeLogService,
       FieldFilterRequestHandler fieldFilterRequestHandler,
-      FileResourceRequestHandler fileResourceRequestHandler) {
+      FileResourceRequestHandler fileResourceRequestHandler,
+      ObjectMapper objectMapper) {
     this.trackedEntityService = trackedEntityService;
     this.paramsMapper = paramsMapper;
     this.entityCsvService = csvEventService;
@@ -146,6 +155,7 @@ class TrackedEntitiesExportController {
     this.trackedEntityChangeLogService = trackedEntityChangeLogService;
     this.fieldFilterRequestHandler = fieldFilterRequestHandler;
     this.fileResourceRequestHandler = fileResourceRequestHandler;
+    this.objectMapper = objectMapper;
 
     assertUserOrderableFieldsAreSupported(
         "tracked entity",
@@ -195,6 +205,31 @@ class TrackedEntitiesExportController {
         .body(Page.withoutPager(TRACKED_ENTITIES, objectNodes));
   }
 
+  @GetMapping(produces = APPLICATION_NDJSON_VALUE)
+  void getTrackedEntitiesAsNdjson(
+      TrackedEntityRequestParams requestParams,
+      HttpServletResponse response,
+      @CurrentUser User currentUser)
+      throws BadRequestException, ForbiddenException, NotFoundException, IOException {
+    validatePaginationParameters(requestParams);
+    TrackedEntityOperationParams operationParams = paramsMapper.map(requestParams, currentUser);
+
+    response.setContentType(APPLICATION_NDJSON_VALUE);
+
+    NdjsonWriter writer = new NdjsonWriter(response.getOutputStream(), objectMapper.writer());
+    List<FieldPath> fields = requestParams.getFields();
+    try {
+      trackedEntityService.streamTrackedEntities(
+          operationParams,
+          trackedEntity ->
+              writer.write(
+                  fieldFilterService.toObjectNode(
+                      TRACKED_ENTITY_MAPPER.from(trackedEntity), fields)));
+    } catch (UncheckedIOException ex) {
+      throw ex.getCause();
+    }
+  }
+
   @GetMapping(produces = {CONTENT_TYPE_CSV, CONTENT_TYPE_TEXT_CSV})
   void getTrackedEntitiesAsCsv(
       TrackedEntityRequestParams trackedEntityRequestParams,
@@ -0,0 +1,93 @@
+/*
+ * Copyright (c) 2004-2022, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ * Neither the name of the HISP project nor the names of its contributors may
+ * be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.webapi.mvc.interceptor;
+
+import java.util.Set;
+import java.util.function.LongConsumer;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import javax.servlet.http.HttpSession;
+import org.hisp.dhis.datasource.ReplicaRoutingContext;
+import org.hisp.dhis.webapi.mvc.annotation.ReplicaRead;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+/**
+ * Binds the read replica routing state of a request to the request thread. GET requests to
+ * endpoints annotated with {@link ReplicaRead} opt in to replica reads.
+ *
+ * <p>For read-your-writes consistency, the WAL position of the last committed write of a write
+ * request is stored in the HTTP session as part of the commit, before the response is written, and
+ * later requests of the session only read from replicas which have replayed it. As the position is
+ * stored in the session, this applies across instances when sessions are shared between instances,
+ * and does not apply to requests without a session.
+ */
+public final class ReplicaRoutingInterceptor implements HandlerInterceptor {
+  private static final String LAST_WRITE_LSN_ATTRIBUTE = "replicaRoutingLastWriteLsn";
+
+  private static final Set<String> READ_METHODS = Set.of("GET", "HEAD", "OPTIONS", "TRACE");
+
+  @Override
+  public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler)
+      throws Exception {
+    boolean replicaReads =
+        "GET".equals(request.getMethod())
+            && handler instanceof HandlerMethod method
+            && (method.hasMethodAnnotation(ReplicaRead.class)
+                || AnnotatedElementUtils.hasAnnotation(method.getBeanType(), ReplicaRead.class));
+
+    HttpSession session = request.getSession(false);
+
+    long lastWriteLsn =
+        session != null && session.getAttribute(LAST_WRITE_LSN_ATTRIBUTE) instanceof Long lsn
+            ? lsn
+            : 0L;
+
+    LongConsumer writeListener =
+        !READ_METHODS.contains(request.getMethod()) ? lsn -> storeLastWrite(request, lsn) : null;
+
+    ReplicaRoutingContext.begin(lastWriteLsn, replicaReads, writeListener);
+    return true;
+  }
+
+  @Override
+  public void afterCompletion(
+      HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex)
+      throws Exception {
+    ReplicaRoutingContext.clear();
+  }
+
+  private void storeLastWrite(HttpServletRequest request, long lsn) {
+    HttpSession session = request.getSession(false);
+
+    if (session != null) {
+      session.setAttribute(LAST_WRITE_LSN_ATTRIBUTE, lsn);
+    }
+  }
+}
@@ -32,13 +32,16 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
 import org.hisp.dhis.cache.Cache;
 import org.hisp.dhis.cache.CacheProvider;
 import org.hisp.dhis.organisationunit.OrganisationUnitService;
 import org.hisp.dhis.security.apikey.ApiToken;
 import org.hisp.dhis.security.apikey.ApiTokenAuthenticationToken;
+import org.hisp.dhis.security.apikey.ApiTokenCacheInvalidationEvent;
 import org.hisp.dhis.security.apikey.ApiTokenDeletedEvent;
 import org.hisp.dhis.security.apikey.ApiTokenService;
+import org.hisp.dhis.security.apikey.ApiTokenUpdatedEvent;
 import org.hisp.dhis.user.User;
 import org.hisp.dhis.user.UserDetails;
 import org.hisp.dhis.user.UserService;
@@ -59,6 +62,11 @@ import org.springframework.stereotype.Service;
  */
 @Service
 public class ApiTokenAuthManager implements AuthenticationManager {
+  private static final String TOKEN_NOT_FOUND = "The API token does not exists";
+
+  private static final String TOKEN_EXPIRED =
+      "Failed to authenticate API token, token has expired.";
+
   private final ApiTokenService apiTokenService;
   private final OrganisationUnitService organisationUnitService;
   private final UserService userService;
@@ -68,6 +76,18 @@ public class ApiTokenAuthManager implements AuthenticationManager {
 
   private final Cache<ApiTokenAuthenticationToken> apiTokenCache;
 
+  /**
+   * Negative cache of token keys which do not resolve to a valid token. The value is true if the
+   * token is expired and false if the token does not exist.
+   */
+  private final Cache<Boolean> unknownApiTokenCache;
+
+  private final AtomicLong cacheHits = new AtomicLong();
+
+  private final AtomicLong negativeCacheHits = new AtomicLong();
+
+  private final AtomicLong cacheMisses = new AtomicLong();
+
   public ApiTokenAuthManager(
       UserStore userStore,
       ApiTokenService apiTokenService,
@@ -82,6 +102,7 @@ public class ApiTokenAuthManager implements AuthenticationManager {
     this.organisationUnitService = organisationUnitService;
 
     this.apiTokenCache = cacheProvider.createApiKeyCache();
+    this.unknownApiTokenCache = cacheProvider.createUnknownApiKeyCache();
   }
 
   @EventListener
@@ -89,6 +110,39 @@ public class ApiTokenAuthManager implements AuthenticationManager {
     apiTokenCache.invalidate(event.getTokenHash());
   }
 
+  @EventListener
+  public void handleApiTokenUpdated(ApiTokenUpdatedEvent event) {
+    apiTokenCache.invalidate(event.getTokenHash());
+    unknownApiTokenCache.invalidate(event.getTokenHash());
+  }
+
+  @EventListener
+  public void handleApiTokenCacheInvalidation(ApiTokenCacheInvalidationEvent event) {
+    apiTokenCache.invalidateAll();
+    unknownApiTokenCache.invalidateAll();
+  }
+
+  /**
+   * @return the number of token lookups served by the cache of resolved tokens.
+   */
+  public long getCacheHits() {
+    return cacheHits.get();
+  }
+
+  /**
+   * @return the number of token lookups rejected by the cache of unknown and expired tokens.
+   */
+  public long getNegativeCacheHits() {
+    return negativeCacheHits.get();
+  }
+
+  /**
+   * @return the number of token lookups which required a database lookup.
+   */
+  public long getCacheMisses() {
+    return cacheMisses.get();
+  }
+
   @Override
   public Authentication authenticate(Authentication authentication) throws AuthenticationException {
     final String tokenKey = ((ApiTokenAuthenticationToken) authentication).getTokenKey();
@@ -96,16 +150,31 @@ public class ApiTokenAuthManager implements AuthenticationManager {
     final Optional<ApiTokenAuthenticationToken> cachedToken = apiTokenCache.getIfPresent(tokenKey);
 
     if (cachedToken.isPresent()) {
+      cacheHits.incrementAndGet();
       validateTokenExpiry(cachedToken.get().getToken().getExpire());
       return cachedToken.get();
     } else {
+      Optional<Boolean> unknownToken = unknownApiTokenCache.getIfPresent(tokenKey);
+
+      if (unknownToken.isPresent()) {
+        negativeCacheHits.incrementAndGet();
+        throw Boolean.TRUE.equals(unknownToken.get())
+            ? new ApiTokenExpiredException(TOKEN_EXPIRED)
+            : new ApiTokenAuthenticationException(ApiTokenErrors.invalidToken(TOKEN_NOT_FOUND));
+      }
+
+      cacheMisses.incrementAndGet();
+
       ApiToken apiToken = apiTokenService.getByKey(tokenKey);
       if (apiToken == null) {
-        throw new ApiTokenAuthenticationException(
-            ApiTokenErrors.invalidToken("The API token does not exists"));
+        unknownApiTokenCache.put(tokenKey, false);
+        throw new ApiTokenAuthenticationException(ApiTokenErrors.invalidToken(TOKEN_NOT_FOUND));
       }
 
-      validateTokenExpiry(apiToken.getExpire());
+      if (isExpired(apiToken.getExpire())) {
+        unknownApiTokenCache.put(tokenKey, true);
+        throw new ApiTokenExpiredException(TOKEN_EXPIRED);
+      }
 
       UserDetails currentUserDetails = validateAndCreateUserDetails(apiToken.getCreatedBy());
 
@@ -164,8 +233,12 @@ public class ApiTokenAuthManager implements AuthenticationManager {
   }
 
   private static void validateTokenExpiry(Long expiry) {
-    if (expiry <= System.currentTimeMillis()) {
-      throw new ApiTokenExpiredException("Failed to authenticate API token, token has expired.");
+    if (isExpired(expiry)) {
+      throw new ApiTokenExpiredException(TOKEN_EXPIRED);
     }
   }
+
+  private static boolean isExpired(Long expiry) {
+    return expiry <= System.currentTimeMillis();
+  }
 }
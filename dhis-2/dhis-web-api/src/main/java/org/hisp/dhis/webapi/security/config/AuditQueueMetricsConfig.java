@@ -0,0 +1,78 @@
+/*
+ * Copyright (c) 2004-2022, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ * Neither the name of the HISP project nor the names of its contributors may
+ * be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.webapi.security.config;
+
+import static org.hisp.dhis.external.conf.ConfigurationKey.MONITORING_API_ENABLED;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.concurrent.TimeUnit;
+import org.hisp.dhis.artemis.audit.AuditScheduler;
+import org.hisp.dhis.external.conf.ConfigurationKey;
+import org.hisp.dhis.monitoring.metrics.MetricsEnabler;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Conditional;
+import org.springframework.context.annotation.Configuration;
+
+/** Exposes the state of the in-memory audit buffer of {@link AuditScheduler}. */
+@Configuration
+@Conditional(AuditQueueMetricsConfig.AuditQueueMetricsEnabledCondition.class)
+public class AuditQueueMetricsConfig {
+  @Autowired
+  public void bindAuditQueue(MeterRegistry registry, AuditScheduler scheduler) {
+    Gauge.builder("audit_queue_depth", scheduler, AuditScheduler::getBufferSize)
+        .description("Audit messages buffered and waiting to be published")
+        .register(registry);
+    FunctionCounter.builder("audit_queue_dedup_hits", scheduler, AuditScheduler::getDuplicates)
+        .description("Audit messages dropped as identical to a buffered message")
+        .register(registry);
+    FunctionCounter.builder("audit_queue_overflow", scheduler, AuditScheduler::getOverflows)
+        .description("Audit messages published immediately because the buffer was full")
+        .register(registry);
+    FunctionCounter.builder("audit_queue_published", scheduler, AuditScheduler::getPublished)
+        .description("Audit messages published from the buffer")
+        .register(registry);
+    FunctionTimer.builder(
+            "audit_queue_publish",
+            scheduler,
+            AuditScheduler::getPublishedBatches,
+            AuditScheduler::getPublishNanos,
+            TimeUnit.NANOSECONDS)
+        .description("Batches of buffered audit messages published to the broker")
+        .register(registry);
+  }
+
+  static class AuditQueueMetricsEnabledCondition extends MetricsEnabler {
+    @Override
+    protected ConfigurationKey getConfigKey() {
+      return MONITORING_API_ENABLED;
+    }
+  }
+}
@@ -0,0 +1,88 @@
+/*
+ * Copyright (c) 2004-2022, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ * Neither the name of the HISP project nor the names of its contributors may
+ * be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.webapi.security.config;
+
+import static org.hisp.dhis.external.conf.ConfigurationKey.MONITORING_API_ENABLED;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hisp.dhis.external.conf.ConfigurationKey;
+import org.hisp.dhis.monitoring.metrics.MetricsEnabler;
+import org.hisp.dhis.security.basic.VerifiedCredentialCache;
+import org.hisp.dhis.webapi.security.apikey.ApiTokenAuthManager;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Conditional;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Exposes hits and misses of the {@link VerifiedCredentialCache} of HTTP Basic authentication and
+ * of the API token caches of the {@link ApiTokenAuthManager}.
+ */
+@Configuration
+@Conditional(AuthenticationCacheMetricsConfig.AuthenticationCacheMetricsEnabledCondition.class)
+public class AuthenticationCacheMetricsConfig {
+  @Autowired
+  public void bindVerifiedCredentialCache(MeterRegistry registry, VerifiedCredentialCache cache) {
+    FunctionCounter.builder(
+            "auth_verified_credential_cache", cache, VerifiedCredentialCache::getHits)
+        .description("Password hash computations avoided by the verified credential cache")
+        .tag("result", "hit")
+        .register(registry);
+    FunctionCounter.builder(
+            "auth_verified_credential_cache", cache, VerifiedCredentialCache::getMisses)
+        .description("Password hash computations performed on verified credential cache misses")
+        .tag("result", "miss")
+        .register(registry);
+  }
+
+  @Autowired
+  public void bindApiTokenCache(MeterRegistry registry, ApiTokenAuthManager apiTokenAuthManager) {
+    FunctionCounter.builder(
+            "auth_api_token_cache", apiTokenAuthManager, ApiTokenAuthManager::getCacheHits)
+        .description("API token lookups served by the cache of resolved tokens")
+        .tag("result", "hit")
+        .register(registry);
+    FunctionCounter.builder(
+            "auth_api_token_cache", apiTokenAuthManager, ApiTokenAuthManager::getNegativeCacheHits)
+        .description("API token lookups rejected by the cache of unknown and expired tokens")
+        .tag("result", "negative_hit")
+        .register(registry);
+    FunctionCounter.builder(
+            "auth_api_token_cache", apiTokenAuthManager, ApiTokenAuthManager::getCacheMisses)
+        .description("API token lookups which required a database lookup")
+        .tag("result", "miss")
+        .register(registry);
+  }
+
+  static class AuthenticationCacheMetricsEnabledCondition extends MetricsEnabler {
+    @Override
+    protected ConfigurationKey getConfigKey() {
+      return MONITORING_API_ENABLED;
+    }
+  }
+}
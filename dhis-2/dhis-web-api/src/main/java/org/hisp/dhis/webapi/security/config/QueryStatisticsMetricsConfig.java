@@ -0,0 +1,106 @@
+/*
+ * Copyright (c) 2004-2022, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ * Neither the name of the HISP project nor the names of its contributors may
+ * be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.webapi.security.config;
+
+import static org.hisp.dhis.external.conf.ConfigurationKey.MONITORING_SQL_ENABLED;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import org.hisp.dhis.datasource.QueryStatistics;
+import org.hisp.dhis.datasource.QueryStatisticsReporter;
+import org.hisp.dhis.external.conf.ConfigurationKey;
+import org.hisp.dhis.monitoring.metrics.MetricsEnabler;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Conditional;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Exposes histograms of the SQL statements issued per request and per job as collected by {@link
+ * QueryStatisticsReporter}. Requests are tagged with their handler pattern, jobs with their type.
+ */
+@Configuration
+@Conditional(QueryStatisticsMetricsConfig.QueryStatisticsMetricsEnabledCondition.class)
+public class QueryStatisticsMetricsConfig {
+  private static final double[] COUNT_BUCKETS = {1, 5, 10, 50, 100, 500, 1_000, 5_000, 10_000};
+
+  private static final Duration[] TIME_BUCKETS = {
+    Duration.ofMillis(10),
+    Duration.ofMillis(50),
+    Duration.ofMillis(100),
+    Duration.ofMillis(500),
+    Duration.ofSeconds(1),
+    Duration.ofSeconds(5),
+    Duration.ofSeconds(30)
+  };
+
+  @Autowired
+  public void bindQueryStatistics(MeterRegistry registry, QueryStatisticsReporter reporter) {
+    reporter.addListener(statistics -> record(registry, statistics));
+  }
+
+  private static void record(MeterRegistry registry, QueryStatistics statistics) {
+    Tags tags =
+        Tags.of(
+            "source", statistics.getSource().name().toLowerCase(), "name", statistics.getName());
+    DistributionSummary.builder("sql_statements")
+        .description("SQL statements issued per request or job")
+        .tags(tags)
+        .serviceLevelObjectives(COUNT_BUCKETS)
+        .register(registry)
+        .record(statistics.getStatements());
+    DistributionSummary.builder("sql_rows")
+        .description("Rows read or written by SQL statements per request or job")
+        .tags(tags)
+        .serviceLevelObjectives(COUNT_BUCKETS)
+        .register(registry)
+        .record(statistics.getRows());
+    Timer.builder("sql_time")
+        .description("Time spent executing SQL statements per request or job")
+        .tags(tags)
+        .serviceLevelObjectives(TIME_BUCKETS)
+        .register(registry)
+        .record(statistics.getQueryNanos(), TimeUnit.NANOSECONDS);
+    Timer.builder("sql_connection_wait")
+        .description("Time spent waiting for database connections per request or job")
+        .tags(tags)
+        .serviceLevelObjectives(TIME_BUCKETS)
+        .register(registry)
+        .record(statistics.getConnectionWaitNanos(), TimeUnit.NANOSECONDS);
+  }
+
+  static class QueryStatisticsMetricsEnabledCondition extends MetricsEnabler {
+    @Override
+    protected ConfigurationKey getConfigKey() {
+      return MONITORING_SQL_ENABLED;
+    }
+  }
+}
@@ -38,6 +38,7 @@ import java.util.Map;
 import java.util.regex.Pattern;
 import org.hisp.dhis.common.Compression;
 import org.hisp.dhis.common.DefaultRequestInfoService;
+import org.hisp.dhis.datasource.QueryStatisticsReporter;
 import org.hisp.dhis.dxf2.metadata.MetadataExportService;
 import org.hisp.dhis.fieldfiltering.FieldFilterService;
 import org.hisp.dhis.fieldfiltering.FieldPathConverter;
@@ -47,6 +48,8 @@ import org.hisp.dhis.user.UserSettingService;
 import org.hisp.dhis.webapi.mvc.CurrentUserHandlerMethodArgumentResolver;
 import org.hisp.dhis.webapi.mvc.CustomRequestMappingHandlerMapping;
 import org.hisp.dhis.webapi.mvc.DhisApiVersionHandlerMethodArgumentResolver;
+import org.hisp.dhis.webapi.mvc.interceptor.QueryStatisticsInterceptor;
+import org.hisp.dhis.webapi.mvc.interceptor.ReplicaRoutingInterceptor;
 import org.hisp.dhis.webapi.mvc.interceptor.RequestInfoInterceptor;
 import org.hisp.dhis.webapi.mvc.interceptor.UserContextInterceptor;
 import org.hisp.dhis.webapi.mvc.messageconverter.CsvMessageConverter;
@@ -119,6 +122,8 @@ public class WebMvcConfig extends DelegatingWebMvcConfiguration {
 
   @Autowired private UserSettingService userSettingService;
 
+  @Autowired private QueryStatisticsReporter queryStatisticsReporter;
+
   @Autowired
   @Qualifier("jsonMapper")
   private ObjectMapper jsonMapper;
@@ -243,6 +248,11 @@ public class WebMvcConfig extends DelegatingWebMvcConfiguration {
   public void addInterceptors(InterceptorRegistry registry) {
     registry.addInterceptor(new UserContextInterceptor(userSettingService));
     registry.addInterceptor(new RequestInfoInterceptor(requestInfoService));
+    registry.addInterceptor(new ReplicaRoutingInterceptor());
+
+    if (queryStatisticsReporter.isEnabled()) {
+      registry.addInterceptor(new QueryStatisticsInterceptor(queryStatisticsReporter));
+    }
   }
 
   private Map<String, MediaType> mediaTypeMap =
@@ -250,6 +260,7 @@ public class WebMvcConfig extends DelegatingWebMvcConfiguration {
           .put("json", MediaType.APPLICATION_JSON)
           .put("json.gz", parseMediaType("application/json+gzip"))
           .put("json.zip", parseMediaType("application/json+zip"))
+          .put("ndjson", MediaType.APPLICATION_NDJSON)
           .put("jsonp", parseMediaType("application/javascript"))
           .put("xml", MediaType.APPLICATION_XML)
           .put("xml.gz", parseMediaType("application/xml+gzip"))
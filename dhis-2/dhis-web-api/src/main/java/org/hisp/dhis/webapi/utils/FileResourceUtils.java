@@ -40,11 +40,13 @@ import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.util.List;
 import java.util.Objects;
 import javax.annotation.Nonnull;
 import javax.imageio.ImageIO;
+import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -66,6 +68,7 @@ import org.hisp.dhis.scheduling.JobRunner;
 import org.imgscalr.Scalr.Mode;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
 import org.springframework.stereotype.Component;
 import org.springframework.util.InvalidMimeTypeException;
 import org.springframework.util.MimeTypeUtils;
@@ -184,15 +187,18 @@ public class FileResourceUtils {
   }
 
   public void configureFileResourceResponse(
-      HttpServletResponse response, FileResource fileResource, DhisConfigurationProvider dhisConfig)
+      HttpServletRequest request,
+      HttpServletResponse response,
+      FileResource fileResource,
+      DhisConfigurationProvider dhisConfig)
       throws WebMessageException {
     response.setContentType(fileResource.getContentType());
-    response.setContentLengthLong(fileResource.getContentLength());
     response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "filename=" + fileResource.getName());
     HeaderUtils.setSecurityHeaders(response, dhisConfig.getProperty(CSP_HEADER_VALUE));
 
     try {
-      fileResourceService.copyFileResourceContent(fileResource, response.getOutputStream());
+      writeFileResourceContent(
+          fileResourceService, request, response, fileResource, fileResource.getContentLength());
     } catch (IOException e) {
       throw new WebMessageException(
           error(
@@ -202,6 +208,118 @@ public class FileResourceUtils {
     }
   }
 
+  /**
+   * Writes the content of the given file resource to the response, honoring conditional and byte
+   * range requests. A strong ETag is derived from the content hash of the file resource. If the
+   * {@code If-None-Match} header matches the ETag, {@code 304 Not Modified} is returned without
+   * content. If a single satisfiable {@code Range} is requested, and any {@code If-Range} header
+   * matches the ETag, only that range is written with {@code 206 Partial Content}. Multiple ranges
+   * and malformed range headers are ignored and the full content is written.
+   *
+   * @param fileResourceService the {@link FileResourceService}.
+   * @param request the {@link HttpServletRequest}.
+   * @param response the {@link HttpServletResponse}.
+   * @param fileResource the {@link FileResource}.
+   * @param contentLength the length of the stored content in bytes.
+   * @throws IOException if the content could not be read from the storage backend.
+   */
+  public static void writeFileResourceContent(
+      FileResourceService fileResourceService,
+      HttpServletRequest request,
+      HttpServletResponse response,
+      FileResource fileResource,
+      long contentLength)
+      throws IOException {
+    String etag = getStrongEtag(fileResource);
+
+    if (etag != null) {
+      response.setHeader(HttpHeaders.ETAG, etag);
+
+      if (ResponseEntityUtils.checkNotModified(etag, request)) {
+        response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+        return;
+      }
+    }
+
+    response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+
+    HttpRange range = getSingleRange(request, etag, contentLength);
+
+    if (range == null) {
+      response.setContentLengthLong(contentLength);
+      fileResourceService.copyFileResourceContent(fileResource, response.getOutputStream());
+      return;
+    }
+
+    long start = range.getRangeStart(contentLength);
+    long end = range.getRangeEnd(contentLength);
+
+    if (start >= contentLength || start > end) {
+      response.setStatus(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+      response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + contentLength);
+      return;
+    }
+
+    long length = end - start + 1;
+
+    response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+    response.setHeader(
+        HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + contentLength);
+    response.setContentLengthLong(length);
+    fileResourceService.copyFileResourceContent(
+        fileResource, response.getOutputStream(), start, length);
+  }
+
+  /**
+   * Returns a strong ETag for the given file resource based on its content hash, or null if the
+   * content hash is unknown. The storage key is included as image dimensions are stored as
+   * separate objects derived from the same original content.
+   *
+   * @param fileResource the {@link FileResource}.
+   * @return a quoted ETag value, or null.
+   */
+  static String getStrongEtag(FileResource fileResource) {
+    if (StringUtils.isBlank(fileResource.getContentMd5())) {
+      return null;
+    }
+
+    String hash =
+        Hashing.sha256()
+            .hashString(
+                fileResource.getContentMd5() + ":" + fileResource.getStorageKey(),
+                StandardCharsets.UTF_8)
+            .toString();
+
+    return "\"" + hash + "\"";
+  }
+
+  /**
+   * Returns the single byte range requested by the given request, or null if no range, multiple
+   * ranges or a malformed range is requested, or if the {@code If-Range} header does not match the
+   * given ETag.
+   */
+  private static HttpRange getSingleRange(
+      HttpServletRequest request, String etag, long contentLength) {
+    String rangeHeader = request.getHeader(HttpHeaders.RANGE);
+
+    if (StringUtils.isBlank(rangeHeader) || contentLength <= 0) {
+      return null;
+    }
+
+    String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+
+    if (ifRange != null && !ifRange.trim().equals(etag)) {
+      return null;
+    }
+
+    try {
+      List<HttpRange> ranges = HttpRange.parseRanges(rangeHeader);
+      return ranges.size() == 1 ? ranges.get(0) : null;
+    } catch (IllegalArgumentException ex) {
+      return null;
+    }
+  }
+
   public FileResource saveFileResource(MultipartFile file, FileResourceDomain domain)
       throws IOException, ConflictException {
     return saveFileResource(null, file, domain);
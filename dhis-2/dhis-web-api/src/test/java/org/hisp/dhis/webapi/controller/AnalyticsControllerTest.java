@@ -32,6 +32,7 @@ import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.is;
 import static org.hamcrest.Matchers.notNullValue;
 import static org.hamcrest.Matchers.startsWith;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
@@ -60,6 +61,7 @@ import org.hisp.dhis.common.IdScheme;
 import org.hisp.dhis.common.IdentifiableObjectManager;
 import org.hisp.dhis.dataelement.DataElement;
 import org.hisp.dhis.external.conf.DhisConfigurationProvider;
+import org.hisp.dhis.system.grid.GridRowWriter;
 import org.hisp.dhis.system.grid.ListGrid;
 import org.hisp.dhis.user.UserSettingService;
 import org.hisp.dhis.webapi.utils.ContextUtils;
@@ -251,6 +253,56 @@ class AnalyticsControllerTest {
         .andExpect(status().isOk());
   }
 
+  @Test
+  void verifyRawDataCsvStreamRequest() throws Exception {
+    doAnswer(
+            invocation -> {
+              GridRowWriter writer = invocation.getArgument(1);
+              Grid grid = buildMockGrid();
+              writer.writeHeaders(grid.getHeaders());
+              grid.getRows().forEach(writer::writeRow);
+              writer.close();
+              return null;
+            })
+        .when(analyticsService)
+        .streamRawDataValues(Mockito.any(DataQueryParams.class), Mockito.any());
+
+    mockMvc
+        .perform(
+            get(ENDPOINT + "/rawData.csv")
+                .param("dimension", "dx:fbfJHSPpUQD;cYeuwXTCPkU")
+                .param("filter", "pe:2014Q1;2014Q2"))
+        .andExpect(content().string("a,b,c,d\nde1,ou2,pe1,3\n" + "de2,ou3,pe2,5\n"))
+        .andExpect(status().isOk());
+  }
+
+  @Test
+  void verifyRawDataJsonStreamRequest() throws Exception {
+    doAnswer(
+            invocation -> {
+              GridRowWriter writer = invocation.getArgument(1);
+              Grid grid = buildMockGrid();
+              writer.writeHeaders(grid.getHeaders());
+              grid.getRows().forEach(writer::writeRow);
+              writer.close();
+              return null;
+            })
+        .when(analyticsService)
+        .streamRawDataValues(Mockito.any(DataQueryParams.class), Mockito.any());
+
+    mockMvc
+        .perform(
+            get(ENDPOINT + "/rawData.json")
+                .param("dimension", "dx:fbfJHSPpUQD;cYeuwXTCPkU")
+                .param("filter", "pe:2014Q1;2014Q2")
+                .param("stream", "true"))
+        .andExpect(jsonPath("$.headers[0].name", is("a")))
+        .andExpect(jsonPath("$.rows[1][0]", is("de2")))
+        .andExpect(jsonPath("$.height", is(2)))
+        .andExpect(jsonPath("$.width", is(4)))
+        .andExpect(status().isOk());
+  }
+
   private Grid buildMockGrid() {
     Grid grid = new ListGrid();
     grid.addHeader(new GridHeader("a"));
@@ -0,0 +1,143 @@
+/*
+ * Copyright (c) 2004-2022, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ * Neither the name of the HISP project nor the names of its contributors may
+ * be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.webapi.security.apikey;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.concurrent.TimeUnit;
+import org.hisp.dhis.cache.CacheProvider;
+import org.hisp.dhis.cache.TestCache;
+import org.hisp.dhis.organisationunit.OrganisationUnitService;
+import org.hisp.dhis.security.apikey.ApiToken;
+import org.hisp.dhis.security.apikey.ApiTokenAuthenticationToken;
+import org.hisp.dhis.security.apikey.ApiTokenService;
+import org.hisp.dhis.security.apikey.ApiTokenUpdatedEvent;
+import org.hisp.dhis.user.User;
+import org.hisp.dhis.user.UserService;
+import org.hisp.dhis.user.UserSettingService;
+import org.hisp.dhis.user.UserStore;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class ApiTokenAuthManagerTest {
+  private static final String TOKEN_KEY = "tokenhash";
+
+  @Mock private UserStore userStore;
+
+  @Mock private ApiTokenService apiTokenService;
+
+  @Mock private CacheProvider cacheProvider;
+
+  @Mock private UserService userService;
+
+  @Mock private UserSettingService userSettingService;
+
+  @Mock private OrganisationUnitService organisationUnitService;
+
+  private ApiTokenAuthManager authManager;
+
+  @BeforeEach
+  void setUp() {
+    when(cacheProvider.createApiKeyCache()).thenReturn(new TestCache<>());
+    when(cacheProvider.createUnknownApiKeyCache()).thenReturn(new TestCache<>());
+
+    authManager =
+        new ApiTokenAuthManager(
+            userStore,
+            apiTokenService,
+            cacheProvider,
+            userService,
+            userSettingService,
+            organisationUnitService);
+  }
+
+  @Test
+  void testUnknownTokenIsLookedUpOnce() {
+    assertThrows(ApiTokenAuthenticationException.class, this::authenticate);
+    assertThrows(ApiTokenAuthenticationException.class, this::authenticate);
+
+    verify(apiTokenService, times(1)).getByKey(TOKEN_KEY);
+    assertEquals(1, authManager.getCacheMisses());
+    assertEquals(1, authManager.getNegativeCacheHits());
+  }
+
+  @Test
+  void testExpiredTokenIsLookedUpOnce() {
+    when(apiTokenService.getByKey(TOKEN_KEY))
+        .thenReturn(createToken(System.currentTimeMillis() - TimeUnit.HOURS.toMillis(1)));
+
+    assertThrows(ApiTokenExpiredException.class, this::authenticate);
+    assertThrows(ApiTokenExpiredException.class, this::authenticate);
+
+    verify(apiTokenService, times(1)).getByKey(TOKEN_KEY);
+    assertEquals(1, authManager.getNegativeCacheHits());
+  }
+
+  @Test
+  void testTokenIsAcceptedAfterUpdate() {
+    ApiToken token = createToken(System.currentTimeMillis() - TimeUnit.HOURS.toMillis(1));
+    when(apiTokenService.getByKey(TOKEN_KEY)).thenReturn(token);
+    assertThrows(ApiTokenExpiredException.class, this::authenticate);
+
+    token.setExpire(System.currentTimeMillis() + TimeUnit.DAYS.toMillis(1));
+    when(userStore.getUserByUsername("admin")).thenReturn(token.getCreatedBy());
+    when(userService.userNonExpired(token.getCreatedBy())).thenReturn(true);
+    authManager.handleApiTokenUpdated(new ApiTokenUpdatedEvent(this, TOKEN_KEY));
+
+    ApiTokenAuthenticationToken authentication = authenticate();
+
+    assertSame(token, authentication.getToken());
+    assertEquals("admin", authentication.getPrincipal().getUsername());
+    verify(apiTokenService, times(2)).getByKey(TOKEN_KEY);
+    assertEquals(0, authManager.getNegativeCacheHits());
+  }
+
+  private ApiTokenAuthenticationToken authenticate() {
+    return (ApiTokenAuthenticationToken)
+        authManager.authenticate(new ApiTokenAuthenticationToken(TOKEN_KEY));
+  }
+
+  private static ApiToken createToken(long expire) {
+    User owner = new User();
+    owner.setUsername("admin");
+    ApiToken token = new ApiToken();
+    token.setKey(TOKEN_KEY);
+    token.setExpire(expire);
+    token.setCreatedBy(owner);
+    return token;
+  }
+}
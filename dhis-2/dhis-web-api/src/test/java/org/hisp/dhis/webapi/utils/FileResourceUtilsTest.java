@@ -28,19 +28,32 @@
 package org.hisp.dhis.webapi.utils;
 
 import static org.hisp.dhis.utils.Assertions.assertContains;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 import java.awt.image.BufferedImage;
 import java.io.IOException;
 import java.io.InputStream;
 import javax.imageio.ImageIO;
+import javax.servlet.http.HttpServletResponse;
 import org.hisp.dhis.common.IllegalQueryException;
+import org.hisp.dhis.fileresource.FileResource;
+import org.hisp.dhis.fileresource.FileResourceService;
+import org.hisp.dhis.fileresource.ImageFileDimension;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
 import org.springframework.mock.web.MockMultipartFile;
 import org.springframework.web.multipart.MultipartFile;
 
@@ -49,6 +62,8 @@ class FileResourceUtilsTest {
 
   @Mock private MultipartFile multipartFile;
 
+  @Mock private FileResourceService fileResourceService;
+
   @Test
   void shouldWorkWhenCustomIconIsValid() {
     when(multipartFile.getOriginalFilename()).thenReturn("OU_profile_image.png");
@@ -92,4 +107,98 @@ class FileResourceUtilsTest {
     Assertions.assertEquals(48, bufferedImage.getWidth());
     Assertions.assertEquals(48, bufferedImage.getHeight());
   }
+
+  @Test
+  void shouldWritePartialContentWhenSingleRangeIsRequested() throws IOException {
+    FileResource fileResource = createFileResource();
+    MockHttpServletRequest request = new MockHttpServletRequest();
+    request.addHeader(HttpHeaders.RANGE, "bytes=2-5");
+    MockHttpServletResponse response = new MockHttpServletResponse();
+
+    FileResourceUtils.writeFileResourceContent(
+        fileResourceService, request, response, fileResource, 10);
+
+    assertEquals(HttpServletResponse.SC_PARTIAL_CONTENT, response.getStatus());
+    assertEquals("bytes 2-5/10", response.getHeader(HttpHeaders.CONTENT_RANGE));
+    assertEquals(4, response.getContentLengthLong());
+    verify(fileResourceService).copyFileResourceContent(eq(fileResource), any(), eq(2L), eq(4L));
+  }
+
+  @Test
+  void shouldWriteSuffixRange() throws IOException {
+    FileResource fileResource = createFileResource();
+    MockHttpServletRequest request = new MockHttpServletRequest();
+    request.addHeader(HttpHeaders.RANGE, "bytes=-3");
+    MockHttpServletResponse response = new MockHttpServletResponse();
+
+    FileResourceUtils.writeFileResourceContent(
+        fileResourceService, request, response, fileResource, 10);
+
+    assertEquals(HttpServletResponse.SC_PARTIAL_CONTENT, response.getStatus());
+    assertEquals("bytes 7-9/10", response.getHeader(HttpHeaders.CONTENT_RANGE));
+    verify(fileResourceService).copyFileResourceContent(eq(fileResource), any(), eq(7L), eq(3L));
+  }
+
+  @Test
+  void shouldRejectUnsatisfiableRange() throws IOException {
+    MockHttpServletRequest request = new MockHttpServletRequest();
+    request.addHeader(HttpHeaders.RANGE, "bytes=20-30");
+    MockHttpServletResponse response = new MockHttpServletResponse();
+
+    FileResourceUtils.writeFileResourceContent(
+        fileResourceService, request, response, createFileResource(), 10);
+
+    assertEquals(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE, response.getStatus());
+    assertEquals("bytes */10", response.getHeader(HttpHeaders.CONTENT_RANGE));
+    verifyNoInteractions(fileResourceService);
+  }
+
+  @Test
+  void shouldWriteFullContentWhenIfRangeDoesNotMatch() throws IOException {
+    FileResource fileResource = createFileResource();
+    MockHttpServletRequest request = new MockHttpServletRequest();
+    request.addHeader(HttpHeaders.RANGE, "bytes=2-5");
+    request.addHeader(HttpHeaders.IF_RANGE, "\"outdated\"");
+    MockHttpServletResponse response = new MockHttpServletResponse();
+
+    FileResourceUtils.writeFileResourceContent(
+        fileResourceService, request, response, fileResource, 10);
+
+    assertEquals(HttpServletResponse.SC_OK, response.getStatus());
+    assertEquals(10, response.getContentLengthLong());
+    verify(fileResourceService).copyFileResourceContent(eq(fileResource), any());
+  }
+
+  @Test
+  void shouldReturnNotModifiedWhenEtagMatches() throws IOException {
+    FileResource fileResource = createFileResource();
+    String etag = FileResourceUtils.getStrongEtag(fileResource);
+    MockHttpServletRequest request = new MockHttpServletRequest();
+    request.addHeader(HttpHeaders.IF_NONE_MATCH, etag);
+    MockHttpServletResponse response = new MockHttpServletResponse();
+
+    FileResourceUtils.writeFileResourceContent(
+        fileResourceService, request, response, fileResource, 10);
+
+    assertEquals(HttpServletResponse.SC_NOT_MODIFIED, response.getStatus());
+    assertEquals(etag, response.getHeader(HttpHeaders.ETAG));
+    verifyNoInteractions(fileResourceService);
+  }
+
+  @Test
+  void shouldDeriveDistinctEtagsForImageDimensions() {
+    FileResource original = createFileResource();
+    FileResource small = createFileResource();
+    small.setStorageKey(original.getStorageKey() + ImageFileDimension.SMALL.getDimension());
+
+    assertNotEquals(
+        FileResourceUtils.getStrongEtag(original), FileResourceUtils.getStrongEtag(small));
+  }
+
+  private FileResource createFileResource() {
+    FileResource fileResource = new FileResource();
+    fileResource.setStorageKey("fileResource/abc");
+    fileResource.setContentMd5("sMbfWXr3MkmATyr+1tY7cQ==");
+    return fileResource;
+  }
 }